@@ -107,16 +107,12 @@ public class CDAltGroup extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitNamedAlternativeGroup(this);
-    for (CDGroup group : groups) {
-      group.accept(visitor);
-    }
-    for (CDFragment fragment : fragments) {
-      fragment.accept(visitor);
-    }
-    for (CDText text : captions) {
-      text.accept(visitor);
+    if (!descend(visitor, visitor.enterNamedAlternativeGroup(this))) {
+      return;
     }
+    acceptAll(visitor, groups);
+    acceptAll(visitor, fragments);
+    acceptAll(visitor, captions);
     super.accept(visitor);
   }
 }
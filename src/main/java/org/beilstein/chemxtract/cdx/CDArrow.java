@@ -223,8 +223,9 @@ public class CDArrow extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitArrow(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterArrow(this))) {
+      super.accept(visitor);
+    }
   }
 
   public CDFillType getFillType() {
@@ -44,132 +44,199 @@ import org.beilstein.chemxtract.cdx.datatypes.CDUnsaturation;
 
 /** Basic part of a substance, usually denoting a single atom. */
 public class CDAtom extends CDObject {
-  /** The abnormal valence restriction on the atom. */
-  private boolean abnormalValenceAllowed = false;
+  private static final CDAtomGeometry[] ATOM_GEOMETRIES = CDAtomGeometry.values();
+  private static final CDLabelDisplay[] LABEL_DISPLAYS = CDLabelDisplay.values();
+  private static final CDNodeType[] NODE_TYPES = CDNodeType.values();
+  private static final CDRadical[] RADICALS = CDRadical.values();
+  private static final CDAtomCIPType[] CIP_TYPES = CDAtomCIPType.values();
+
+  // slots and flags in the packed field
+  private static final int ATOM_GEOMETRY = 0;
+  private static final int LABEL_DISPLAY = ATOM_GEOMETRY + PackedEnums.SLOT_BITS;
+  private static final int NODE_TYPE = LABEL_DISPLAY + PackedEnums.SLOT_BITS;
+  private static final int RADICAL = NODE_TYPE + PackedEnums.SLOT_BITS;
+  private static final int STEREOCHEMISTRY = RADICAL + PackedEnums.SLOT_BITS;
+  private static final int ABNORMAL_VALENCE_ALLOWED = 32;
+  private static final int H_DASH = 33;
+  private static final int H_DOT = 34;
+  private static final int IMPLICIT_HYDROGENS_ALLOWED = 35;
+  private static final int RESTRICT_REACTION_CHANGE = 36;
+
+  /** Packed value of an atom with default geometry, label display, type, radical and CIP type. */
+  private static final long DEFAULT_PACKED = defaultPacked();
+
+  /** Query and reaction features of an atom without any of them. */
+  private static final Features NO_FEATURES = new Features();
 
-  /** The geometry of the atom. */
-  private CDAtomGeometry atomGeometry = CDAtomGeometry.Unknown;
+  /**
+   * The geometry, label display type, node type, radical and absolute stereochemistry of the atom,
+   * and its abnormal valence, H-dash, H-dot, implicit hydrogen and reaction change flags.
+   */
+  private long packed = DEFAULT_PACKED;
 
   /** The atom number of the atom. */
   private String atomNumber;
 
-  /** the collection of attached atoms, for multi-center atoms and variable attachment points. */
-  private List<CDAtom> attachedAtoms;
-
-  /** The type of the external attachment point, for atoms that are external attachment points. */
-  private CDExternalConnectionType attachmentPointType = CDExternalConnectionType.Unspecified;
-
   /** The charge of the atom. */
   private int charge;
 
   /** The element number of the atom. */
   private int elementNumber = 6;
 
-  /** The group number (associated with Or and And enhanced stereochemistry types) on the atom. */
-  private int enhancedStereoGroupNumber;
+  /** The isotope of the atom. */
+  private int isotope;
 
-  /** The type of enhanced stereochemistry on the atom. */
-  private CDEnhancedStereoType enhancedStereoType;
+  /** The text of the atom's label. */
+  private String labelText;
 
-  /** whether the atom has an H-dash indicator. */
-  private boolean hDash = false;
+  /** The number of implicit hydrogens on the atom. */
+  private int numImplicitHydrogens;
 
-  /** Whether the atom has an H-dot indicator. */
-  private boolean hDot = false;
+  /** The fragment of the superatom/nickname, allocated with the first fragment. */
+  private List<CDFragment> fragments;
 
-  /** The implicit hydrogen restriction on the atom. */
-  private boolean implicitHydrogensAllowed = false;
+  /** The label of the atom. */
+  private CDText text;
 
-  /** The isotope of the atom. */
-  private int isotope;
+  /** 2D coordinates. */
+  private CDPoint2D position2D;
 
-  /** The isotopic abundance restriction on the atom. */
-  private CDIsotopicAbundance isotopicAbundance = CDIsotopicAbundance.Unspecified;
+  /** 3D coordinates. */
+  private CDPoint3D position3D;
 
-  /** The label display type of the atom. */
-  private CDLabelDisplay labelDisplay = CDLabelDisplay.Auto;
+  /** Rarely used query and reaction features, allocated when one of them is set. */
+  private Features features;
 
-  /** The text of the atom's label. */
-  private String labelText;
+  private static long defaultPacked() {
+    long bits = PackedEnums.set(0L, ATOM_GEOMETRY, CDAtomGeometry.Unknown);
+    bits = PackedEnums.set(bits, LABEL_DISPLAY, CDLabelDisplay.Auto);
+    bits = PackedEnums.set(bits, NODE_TYPE, CDNodeType.Element);
+    bits = PackedEnums.set(bits, RADICAL, CDRadical.None);
+    return PackedEnums.set(bits, STEREOCHEMISTRY, CDAtomCIPType.Undetermined);
+  }
 
-  /** The high end of the link count range, for link nodes. */
-  private int linkCountHigh;
+  /** Query and reaction features, which most drawn atoms don't use. */
+  private static final class Features {
+    /** the collection of attached atoms, for multi-center atoms and variable attachment points. */
+    private List<CDAtom> attachedAtoms;
 
-  /** The low end of the link count range, for link nodes. */
-  private int linkCountLow;
+    /** The type of the external attachment point, for atoms that are external attachment points. */
+    private CDExternalConnectionType attachmentPointType = CDExternalConnectionType.Unspecified;
 
-  /** The type of the atom. */
-  private CDNodeType nodeType = CDNodeType.Element;
+    /** The group number (associated with Or and And enhanced stereochemistry types) on the atom. */
+    private int enhancedStereoGroupNumber;
 
-  /** The number of implicit hydrogens on the atom. */
-  private int numImplicitHydrogens;
+    /** The type of enhanced stereochemistry on the atom. */
+    private CDEnhancedStereoType enhancedStereoType;
 
-  /** The radical of the atom. */
-  private CDRadical radical = CDRadical.None;
+    /** The isotopic abundance restriction on the atom. */
+    private CDIsotopicAbundance isotopicAbundance = CDIsotopicAbundance.Unspecified;
 
-  /** The reaction stereo restriction on the atom (feature of a query atom). */
-  private CDReactionStereo reactionStereo = CDReactionStereo.Unspecified;
+    /** The high end of the link count range, for link nodes. */
+    private int linkCountHigh;
 
-  /** The reaction change restriction on the atom (feature of a query atom). */
-  private boolean restrictReactionChange = false;
+    /** The low end of the link count range, for link nodes. */
+    private int linkCountLow;
 
-  /** The ring bong limit of the atom (feature of a query atom). */
-  private CDRingBondCount ringBondCount = CDRingBondCount.Unspecified;
+    /** The reaction stereo restriction on the atom (feature of a query atom). */
+    private CDReactionStereo reactionStereo = CDReactionStereo.Unspecified;
 
-  /** The absolute stereochemistry of the atom. */
-  private CDAtomCIPType stereochemistry = CDAtomCIPType.Undetermined;
+    /** The ring bong limit of the atom (feature of a query atom). */
+    private CDRingBondCount ringBondCount = CDRingBondCount.Unspecified;
 
-  /** The substitution restriction limit on the atom (feature of a query atom). */
-  private int substituentCount;
+    /** The substitution restriction limit on the atom (feature of a query atom). */
+    private int substituentCount;
 
-  /** The type of restricted substitution on the atom (feature of a query atom). */
-  private CDAtomSubstituentType substituentType = CDAtomSubstituentType.None;
+    /** The type of restricted substitution on the atom (feature of a query atom). */
+    private CDAtomSubstituentType substituentType = CDAtomSubstituentType.None;
 
-  /** The translation restriction on the atom (feature related to queries/matching behavior). */
-  private CDTranslation translation = CDTranslation.Equal;
+    /** The translation restriction on the atom (feature related to queries/matching behavior). */
+    private CDTranslation translation = CDTranslation.Equal;
 
-  /** The unsaturation restriction on the atom (feature of a query atom). */
-  private CDUnsaturation unsaturatedBonds = CDUnsaturation.Unspecified;
+    /** The unsaturation restriction on the atom (feature of a query atom). */
+    private CDUnsaturation unsaturatedBonds = CDUnsaturation.Unspecified;
 
-  /** The fragment of the superatom/nickname. */
-  private List<CDFragment> fragments = new ArrayList<>();
+    /** List of elements associated with this atom (feature of a query atom). */
+    private CDElementList elementList;
 
-  /** The label of the atom. */
-  private CDText text;
+    /**
+     * The chemical formula. It is not disclosed by CambridgeSoft how this is encoded. Consequently,
+     * the byte values are stored.
+     */
+    private byte[] formula;
 
-  /** 2D coordinates. */
-  private CDPoint2D position2D;
+    /** Important for retaining stereochemistry. */
+    private List<CDBond> bondOrdering;
 
-  /** 3D coordinates. */
-  private CDPoint3D position3D;
+    /** A container object holding fragments that represent alternative substituents for a query. */
+    private CDAltGroup altGroup;
 
-  /** List of elements associated with this atom (feature of a query atom). */
-  private CDElementList elementList;
+    /** A list of generic nicknames. */
+    private CDGenericList genericList;
 
-  /**
-   * The chemical formula. It is not disclosed by CambridgeSoft how this is encoded. Consequently,
-   * the byte values are stored.
-   */
-  private byte[] formula;
+    Features() {
+      // default features
+    }
 
-  /** Important for retaining stereochemistry. */
-  private List<CDBond> bondOrdering;
+    Features(Features template) {
+      this.attachedAtoms =
+          template.attachedAtoms != null ? new ArrayList<>(template.attachedAtoms) : null;
+      this.attachmentPointType = template.attachmentPointType;
+      this.enhancedStereoGroupNumber = template.enhancedStereoGroupNumber;
+      this.enhancedStereoType = template.enhancedStereoType;
+      this.isotopicAbundance = template.isotopicAbundance;
+      this.linkCountHigh = template.linkCountHigh;
+      this.linkCountLow = template.linkCountLow;
+      this.reactionStereo = template.reactionStereo;
+      this.ringBondCount = template.ringBondCount;
+      this.substituentCount = template.substituentCount;
+      this.substituentType = template.substituentType;
+      this.translation = template.translation;
+      this.unsaturatedBonds = template.unsaturatedBonds;
+      this.elementList = template.elementList;
+      this.formula = template.formula != null ? template.formula.clone() : null;
+      this.bondOrdering =
+          template.bondOrdering != null ? new ArrayList<>(template.bondOrdering) : null;
+      this.altGroup = template.altGroup;
+      this.genericList = template.genericList;
+    }
+  }
 
-  /** A container object holding fragments that represent alternative substituents for a query. */
-  private CDAltGroup altGroup;
+  /**
+   * Returns the features of this atom for reading.
+   *
+   * @return the atom's features, or the shared defaults if none is set
+   */
+  private Features features() {
+    return features == null ? NO_FEATURES : features;
+  }
 
-  /** A list of generic nicknames. */
-  private CDGenericList genericList;
+  /**
+   * Returns the features of this atom for modification, if a feature is set to a value different
+   * from its default or the atom already has its own features.
+   *
+   * @param isDefault whether the new value equals the feature's default
+   * @return the atom's own features, or {@code null} if nothing needs to be stored
+   */
+  private Features features(boolean isDefault) {
+    if (features == null && !isDefault) {
+      features = new Features();
+    }
+    return features;
+  }
 
   public List<CDFragment> getFragments() {
-    return Collections.unmodifiableList(fragments);
+    return fragments == null ? Collections.emptyList() : Collections.unmodifiableList(fragments);
   }
 
   public void setFragments(List<CDFragment> fragments) {
-    this.fragments = fragments == null ? new ArrayList<>() : new ArrayList<>(fragments);
+    this.fragments = fragments == null || fragments.isEmpty() ? null : new ArrayList<>(fragments);
   }
 
   public void addFragment(CDFragment fragment) {
+    if (fragments == null) {
+      fragments = new ArrayList<>();
+    }
     this.fragments.add(fragment);
   }
 
@@ -198,19 +265,19 @@ public class CDAtom extends CDObject {
   }
 
   public CDNodeType getNodeType() {
-    return nodeType;
+    return PackedEnums.get(packed, NODE_TYPE, NODE_TYPES);
   }
 
   public void setNodeType(CDNodeType nodeType) {
-    this.nodeType = nodeType;
+    packed = PackedEnums.set(packed, NODE_TYPE, nodeType);
   }
 
   public CDLabelDisplay getLabelDisplay() {
-    return labelDisplay;
+    return PackedEnums.get(packed, LABEL_DISPLAY, LABEL_DISPLAYS);
   }
 
   public void setLabelDisplay(CDLabelDisplay labelDisplay) {
-    this.labelDisplay = labelDisplay;
+    packed = PackedEnums.set(packed, LABEL_DISPLAY, labelDisplay);
   }
 
   public int getElementNumber() {
@@ -222,19 +289,25 @@ public class CDAtom extends CDObject {
   }
 
   public CDElementList getElementList() {
-    return elementList;
+    return features().elementList;
   }
 
   public void setElementList(CDElementList elementList) {
-    this.elementList = elementList;
+    Features target = features(elementList == null);
+    if (target != null) {
+      target.elementList = elementList;
+    }
   }
 
   public byte[] getFormula() {
-    return formula;
+    return features().formula;
   }
 
   public void setFormula(byte[] formula) {
-    this.formula = formula;
+    Features target = features(formula == null);
+    if (target != null) {
+      target.formula = formula;
+    }
   }
 
   public int getIsotope() {
@@ -254,59 +327,68 @@ public class CDAtom extends CDObject {
   }
 
   public CDRadical getRadical() {
-    return radical;
+    return PackedEnums.get(packed, RADICAL, RADICALS);
   }
 
   public void setRadical(CDRadical radical) {
-    this.radical = radical;
+    packed = PackedEnums.set(packed, RADICAL, radical);
   }
 
   public boolean isImplicitHydrogensAllowed() {
-    return implicitHydrogensAllowed;
+    return PackedEnums.getFlag(packed, IMPLICIT_HYDROGENS_ALLOWED);
   }
 
   public void setImplicitHydrogensAllowed(boolean implicitHydrogensAllowed) {
-    this.implicitHydrogensAllowed = implicitHydrogensAllowed;
+    packed = PackedEnums.setFlag(packed, IMPLICIT_HYDROGENS_ALLOWED, implicitHydrogensAllowed);
   }
 
   public CDRingBondCount getRingBondCount() {
-    return ringBondCount;
+    return features().ringBondCount;
   }
 
   public void setRingBondCount(CDRingBondCount ringBondCount) {
-    this.ringBondCount = ringBondCount;
+    Features target = features(ringBondCount == NO_FEATURES.ringBondCount);
+    if (target != null) {
+      target.ringBondCount = ringBondCount;
+    }
   }
 
   public CDUnsaturation getUnsaturatedBonds() {
-    return unsaturatedBonds;
+    return features().unsaturatedBonds;
   }
 
   public void setUnsaturatedBonds(CDUnsaturation unsaturatedBonds) {
-    this.unsaturatedBonds = unsaturatedBonds;
+    Features target = features(unsaturatedBonds == NO_FEATURES.unsaturatedBonds);
+    if (target != null) {
+      target.unsaturatedBonds = unsaturatedBonds;
+    }
   }
 
   public boolean isRestrictReactionChange() {
-    return restrictReactionChange;
+    return PackedEnums.getFlag(packed, RESTRICT_REACTION_CHANGE);
   }
 
   public void setRestrictReactionChange(boolean restrictReactionChange) {
-    this.restrictReactionChange = restrictReactionChange;
+    packed = PackedEnums.setFlag(packed, RESTRICT_REACTION_CHANGE, restrictReactionChange);
   }
 
   public CDReactionStereo getReactionStereo() {
-    return reactionStereo;
+    return features().reactionStereo;
   }
 
   public void setReactionStereo(CDReactionStereo reactionStereo) {
-    this.reactionStereo = reactionStereo;
+    Features target = features(reactionStereo == NO_FEATURES.reactionStereo);
+    if (target != null) {
+      target.reactionStereo = reactionStereo;
+    }
   }
 
   public boolean isAbnormalValenceAllowed() {
-    return abnormalValenceAllowed;
+    return PackedEnums.getFlag(packed, ABNORMAL_VALENCE_ALLOWED);
   }
 
   public void setAbnormalValenceAllowed(boolean abnormalValenceAllowed) {
-    this.abnormalValenceAllowed = abnormalValenceAllowed;
+    packed = PackedEnums.setFlag(packed, ABNORMAL_VALENCE_ALLOWED, abnormalValenceAllowed);
   }
 
   public int getNumImplicitHydrogens() {
@@ -318,43 +400,51 @@ public class CDAtom extends CDObject {
   }
 
   public boolean isHDot() {
-    return hDot;
+    return PackedEnums.getFlag(packed, H_DOT);
   }
 
   public void setHDot(boolean dot) {
-    hDot = dot;
+    packed = PackedEnums.setFlag(packed, H_DOT, dot);
   }
 
   public boolean isHDash() {
-    return hDash;
+    return PackedEnums.getFlag(packed, H_DASH);
   }
 
   public void setHDash(boolean dash) {
-    hDash = dash;
+    packed = PackedEnums.setFlag(packed, H_DASH, dash);
   }
 
   public CDAtomGeometry getAtomGeometry() {
-    return atomGeometry;
+    return PackedEnums.get(packed, ATOM_GEOMETRY, ATOM_GEOMETRIES);
   }
 
   public void setAtomGeometry(CDAtomGeometry atomGeometry) {
-    this.atomGeometry = atomGeometry;
+    packed = PackedEnums.set(packed, ATOM_GEOMETRY, atomGeometry);
   }
 
   public List<CDBond> getBondOrdering() {
+    List<CDBond> bondOrdering = features().bondOrdering;
     return bondOrdering == null ? null : Collections.unmodifiableList(bondOrdering);
   }
 
   public void setBondOrdering(List<CDBond> bondOrdering) {
-    this.bondOrdering = bondOrdering == null ? null : new ArrayList<>(bondOrdering);
+    Features target = features(bondOrdering == null);
+    if (target != null) {
+      target.bondOrdering = bondOrdering == null ? null : new ArrayList<>(bondOrdering);
+    }
   }
 
   public List<CDAtom> getAttachedAtoms() {
+    List<CDAtom> attachedAtoms = features().attachedAtoms;
     return attachedAtoms == null ? null : Collections.unmodifiableList(attachedAtoms);
   }
 
   public void setAttachedAtoms(List<CDAtom> attachedAtoms) {
-    this.attachedAtoms = attachedAtoms == null ? null : new ArrayList<>(attachedAtoms);
+    Features target = features(attachedAtoms == null);
+    if (target != null) {
+      target.attachedAtoms = attachedAtoms == null ? null : new ArrayList<>(attachedAtoms);
+    }
   }
 
   public String getLabelText() {
@@ -366,43 +456,55 @@ public class CDAtom extends CDObject {
   }
 
   public CDAltGroup getAltGroup() {
-    return altGroup;
+    return features().altGroup;
   }
 
   public void setAltGroup(CDAltGroup altGroup) {
-    this.altGroup = altGroup;
+    Features target = features(altGroup == null);
+    if (target != null) {
+      target.altGroup = altGroup;
+    }
   }
 
   public int getSubstituentCount() {
-    return substituentCount;
+    return features().substituentCount;
   }
 
   public void setSubstituentCount(int substituentCount) {
-    this.substituentCount = substituentCount;
+    Features target = features(substituentCount == NO_FEATURES.substituentCount);
+    if (target != null) {
+      target.substituentCount = substituentCount;
+    }
   }
 
   public CDAtomSubstituentType getSubstituentType() {
-    return substituentType;
+    return features().substituentType;
   }
 
   public void setSubstituentType(CDAtomSubstituentType substituentType) {
-    this.substituentType = substituentType;
+    Features target = features(substituentType == NO_FEATURES.substituentType);
+    if (target != null) {
+      target.substituentType = substituentType;
+    }
   }
 
   public CDAtomCIPType getStereochemistry() {
-    return stereochemistry;
+    return PackedEnums.get(packed, STEREOCHEMISTRY, CIP_TYPES);
   }
 
   public void setStereochemistry(CDAtomCIPType stereochemistry) {
-    this.stereochemistry = stereochemistry;
+    packed = PackedEnums.set(packed, STEREOCHEMISTRY, stereochemistry);
   }
 
   public CDTranslation getTranslation() {
-    return translation;
+    return features().translation;
   }
 
   public void setTranslation(CDTranslation translation) {
-    this.translation = translation;
+    Features target = features(translation == NO_FEATURES.translation);
+    if (target != null) {
+      target.translation = translation;
+    }
   }
 
   public String getAtomNumber() {
@@ -414,49 +516,69 @@ public class CDAtom extends CDObject {
   }
 
   public int getLinkCountLow() {
-    return linkCountLow;
+    return features().linkCountLow;
   }
 
   public void setLinkCountLow(int linkCountLow) {
-    this.linkCountLow = linkCountLow;
+    Features target = features(linkCountLow == NO_FEATURES.linkCountLow);
+    if (target != null) {
+      target.linkCountLow = linkCountLow;
+    }
   }
 
   public int getLinkCountHigh() {
-    return linkCountHigh;
+    return features().linkCountHigh;
   }
 
   public void setLinkCountHigh(int linkCountHigh) {
-    this.linkCountHigh = linkCountHigh;
+    Features target = features(linkCountHigh == NO_FEATURES.linkCountHigh);
+    if (target != null) {
+      target.linkCountHigh = linkCountHigh;
+    }
   }
 
   public CDIsotopicAbundance getIsotopicAbundance() {
-    return isotopicAbundance;
+    return features().isotopicAbundance;
   }
 
   public void setIsotopicAbundance(CDIsotopicAbundance isotopicAbundance) {
-    this.isotopicAbundance = isotopicAbundance;
+    Features target = features(isotopicAbundance == NO_FEATURES.isotopicAbundance);
+    if (target != null) {
+      target.isotopicAbundance = isotopicAbundance;
+    }
   }
 
   public CDExternalConnectionType getAttachmentPointType() {
-    return attachmentPointType;
+    return features().attachmentPointType;
   }
 
   public void setAttachmentPointType(CDExternalConnectionType externalConnectionType) {
-    attachmentPointType = externalConnectionType;
+    Features target = features(externalConnectionType == NO_FEATURES.attachmentPointType);
+    if (target != null) {
+      target.attachmentPointType = externalConnectionType;
+    }
   }
 
   public CDGenericList getGenericList() {
-    return genericList;
+    return features().genericList;
   }
 
   public void setGenericList(CDGenericList genericList) {
-    this.genericList = genericList;
+    Features target = features(genericList == null);
+    if (target != null) {
+      target.genericList = genericList;
+    }
   }
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitAtom(this);
-    for (CDFragment fragment : fragments) {
+    if (!descend(visitor, visitor.enterAtom(this))) {
+      return;
+    }
+    for (CDFragment fragment : getFragments()) {
+      if (visitor.isTerminated()) {
+        break;
+      }
       if (fragment.getBounds() == null) {
         if (this.getBounds() != null) {
           fragment.setBounds(this.getBounds());
@@ -466,7 +588,7 @@ public class CDAtom extends CDObject {
       }
       fragment.accept(visitor);
     }
-    if (text != null) {
+    if (text != null && !visitor.isTerminated()) {
       text.accept(visitor);
     }
     super.accept(visitor);
@@ -478,32 +600,11 @@ public class CDAtom extends CDObject {
 
   public CDAtom(CDAtom template) {
     // Primitive types and enums (direct assignments)
-    this.abnormalValenceAllowed = template.abnormalValenceAllowed;
-    this.atomGeometry = template.atomGeometry;
-    this.attachmentPointType = template.attachmentPointType;
+    this.packed = template.packed;
     this.charge = template.charge;
     this.elementNumber = template.elementNumber;
-    this.enhancedStereoGroupNumber = template.enhancedStereoGroupNumber;
-    this.enhancedStereoType = template.enhancedStereoType;
-    this.hDash = template.hDash;
-    this.hDot = template.hDot;
-    this.implicitHydrogensAllowed = template.implicitHydrogensAllowed;
     this.isotope = template.isotope;
-    this.isotopicAbundance = template.isotopicAbundance;
-    this.labelDisplay = template.labelDisplay;
-    this.linkCountHigh = template.linkCountHigh;
-    this.linkCountLow = template.linkCountLow;
-    this.nodeType = template.nodeType;
     this.numImplicitHydrogens = template.numImplicitHydrogens;
-    this.radical = template.radical;
-    this.reactionStereo = template.reactionStereo;
-    this.restrictReactionChange = template.restrictReactionChange;
-    this.ringBondCount = template.ringBondCount;
-    this.stereochemistry = template.stereochemistry;
-    this.substituentCount = template.substituentCount;
-    this.substituentType = template.substituentType;
-    this.translation = template.translation;
-    this.unsaturatedBonds = template.unsaturatedBonds;
 
     // Strings (immutable, safe to copy directly)
     this.atomNumber = template.atomNumber;
@@ -513,40 +614,15 @@ public class CDAtom extends CDObject {
     if (template.fragments != null) {
       this.fragments = new ArrayList<>(template.fragments);
     }
-    if (template.bondOrdering != null) {
-      this.bondOrdering = new ArrayList<>(template.bondOrdering);
-    }
-
-    if (template.attachedAtoms != null) {
-      this.attachedAtoms = new ArrayList<>(template.attachedAtoms);
-    }
 
     // Objects (shallow or deep copy depending on whether they are mutable)
-    this.text = (template.text != null) ? template.text : null; // Assuming CDText has a copy method
-    this.position2D =
-        (template.position2D != null)
-            ? template.position2D
-            : null; // Assuming CDPoint2D has a copy method
-    this.position3D =
-        (template.position3D != null)
-            ? template.position3D
-            : null; // Assuming CDPoint3D has a copy method
-    this.elementList =
-        (template.elementList != null)
-            ? template.elementList
-            : null; // Assuming CDElementList has a copy method
-    this.altGroup =
-        (template.altGroup != null)
-            ? template.altGroup
-            : null; // Assuming CDAltGroup has a copy method
-    this.genericList =
-        (template.genericList != null)
-            ? template.genericList
-            : null; // Assuming CDGenericList has a copy method
-
-    // Byte arrays (deep copy)
-    if (template.formula != null) {
-      this.formula = template.formula.clone();
+    this.text = template.text;
+    this.position2D = template.position2D;
+    this.position3D = template.position3D;
+
+    // Query and reaction features (lists and byte arrays are copied)
+    if (template.features != null) {
+      this.features = new Features(template.features);
     }
   }
 }
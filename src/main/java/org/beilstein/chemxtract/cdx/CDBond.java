@@ -22,8 +22,9 @@
 package org.beilstein.chemxtract.cdx;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import org.beilstein.chemxtract.cdx.datatypes.CDBondCIPType;
@@ -38,6 +39,27 @@ import org.beilstein.chemxtract.cdx.datatypes.CDBondTopology;
  * begin and end atom.
  */
 public class CDBond extends CDObject {
+  private static final CDBondDisplay[] DISPLAYS = CDBondDisplay.values();
+  private static final CDBondDoublePosition[] DOUBLE_POSITIONS = CDBondDoublePosition.values();
+  private static final CDBondOrder[] ORDERS = CDBondOrder.values();
+  private static final CDBondReactionParticipation[] REACTION_PARTICIPATIONS =
+      CDBondReactionParticipation.values();
+  private static final CDBondCIPType[] CIP_TYPES = CDBondCIPType.values();
+  private static final CDBondTopology[] TOPOLOGIES = CDBondTopology.values();
+
+  // slots and flags in the packed field
+  private static final int BOND_DISPLAY = 0;
+  private static final int BOND_DISPLAY2 = BOND_DISPLAY + PackedEnums.SLOT_BITS;
+  private static final int BOND_DOUBLE_POSITION = BOND_DISPLAY2 + PackedEnums.SLOT_BITS;
+  private static final int BOND_ORDER = BOND_DOUBLE_POSITION + PackedEnums.SLOT_BITS;
+  private static final int REACTION_PARTICIPATION = BOND_ORDER + PackedEnums.SLOT_BITS;
+  private static final int STEREOCHEMISTRY = REACTION_PARTICIPATION + PackedEnums.SLOT_BITS;
+  private static final int TOPOLOGY = STEREOCHEMISTRY + PackedEnums.SLOT_BITS;
+  private static final int COORDINATION = 40;
+
+  /** Packed value of a solid single bond without reaction, stereo or topology information. */
+  private static final long DEFAULT_PACKED = defaultPacked();
+
   /** The atom at the first end of the bond. */
   private CDAtom begin;
 
@@ -56,71 +78,66 @@ public class CDBond extends CDObject {
    */
   private int endAttach = -1;
 
-  /** The primary display type of the bond. */
-  private CDBondDisplay bondDisplay = CDBondDisplay.Solid;
-
-  /** The secondary display type of the bond. */
-  private CDBondDisplay bondDisplay2 = CDBondDisplay.Solid;
-
-  /** The positioning type of the bond. */
-  private CDBondDoublePosition bondDoublePosition = CDBondDoublePosition.AutoLeft;
-
-  /** The bond order of the bond. */
-  private CDBondOrder bondOrder = CDBondOrder.Single;
+  /**
+   * The primary and secondary display type, the positioning type, the bond order, the reaction
+   * participation, the absolute stereochemistry and the topology of the bond, and the coordination
+   * flag.
+   */
+  private long packed = DEFAULT_PACKED;
 
-  /** The bonds that cross the bond. */
+  /** The bonds that cross the bond, in document order so that it is written back stably. */
   private Set<CDBond> crossingBonds;
 
-  /** The reaction participation of the bond. */
-  private CDBondReactionParticipation reactionParticipation =
-      CDBondReactionParticipation.Unspecified;
-
-  /** The absolute stereochemistry of the bond. */
-  private CDBondCIPType stereochemistry = CDBondCIPType.Undetermined;
-
-  /** The topology of the bond. */
-  private CDBondTopology topology = CDBondTopology.Unspecified;
-
   /** Ordered list of attached bond IDs; plays a role in retaining stereochemistry. */
   private List<CDBond> bondCircularOrdering;
 
   /**
-   * Internal marker (not part of the CDX specification) flagging a bond synthesised from a
-   * multicenter (haptic) attachment. Such coordination bonds connect a central atom to each atom of
-   * a coordinated &pi;-system and must not reduce the ligand atom's hydrogen count.
+   * The fragments whose cached adjacency views include this bond, told when the ends change. The
+   * array is replaced rather than modified, so it can be read without locking.
    */
-  private boolean coordination = false;
+  private volatile CDFragment[] graphOwners;
+
+  private static long defaultPacked() {
+    long bits = PackedEnums.set(0L, BOND_DISPLAY, CDBondDisplay.Solid);
+    bits = PackedEnums.set(bits, BOND_DISPLAY2, CDBondDisplay.Solid);
+    bits = PackedEnums.set(bits, BOND_DOUBLE_POSITION, CDBondDoublePosition.AutoLeft);
+    bits = PackedEnums.set(bits, BOND_ORDER, CDBondOrder.Single);
+    bits =
+        PackedEnums.set(bits, REACTION_PARTICIPATION, CDBondReactionParticipation.Unspecified);
+    bits = PackedEnums.set(bits, STEREOCHEMISTRY, CDBondCIPType.Undetermined);
+    return PackedEnums.set(bits, TOPOLOGY, CDBondTopology.Unspecified);
+  }
 
   public CDBondOrder getBondOrder() {
-    return bondOrder;
+    return PackedEnums.get(packed, BOND_ORDER, ORDERS);
   }
 
   public void setBondOrder(CDBondOrder bondOrder) {
-    this.bondOrder = bondOrder;
+    packed = PackedEnums.set(packed, BOND_ORDER, bondOrder);
   }
 
   public CDBondDisplay getBondDisplay() {
-    return bondDisplay;
+    return PackedEnums.get(packed, BOND_DISPLAY, DISPLAYS);
   }
 
   public void setBondDisplay(CDBondDisplay bondDisplay) {
-    this.bondDisplay = bondDisplay;
+    packed = PackedEnums.set(packed, BOND_DISPLAY, bondDisplay);
   }
 
   public CDBondDisplay getBondDisplay2() {
-    return bondDisplay2;
+    return PackedEnums.get(packed, BOND_DISPLAY2, DISPLAYS);
   }
 
   public void setBondDisplay2(CDBondDisplay display2) {
-    bondDisplay2 = display2;
+    packed = PackedEnums.set(packed, BOND_DISPLAY2, display2);
   }
 
   public CDBondDoublePosition getBondDoublePosition() {
-    return bondDoublePosition;
+    return PackedEnums.get(packed, BOND_DOUBLE_POSITION, DOUBLE_POSITIONS);
   }
 
   public void setBondDoublePosition(CDBondDoublePosition bondDoublePosition) {
-    this.bondDoublePosition = bondDoublePosition;
+    packed = PackedEnums.set(packed, BOND_DOUBLE_POSITION, bondDoublePosition);
   }
 
   public CDAtom getBegin() {
@@ -129,6 +146,7 @@ public class CDBond extends CDObject {
 
   public void setBegin(CDAtom begin) {
     this.begin = begin;
+    invalidateGraph();
   }
 
   public CDAtom getEnd() {
@@ -137,22 +155,65 @@ public class CDBond extends CDObject {
 
   public void setEnd(CDAtom end) {
     this.end = end;
+    invalidateGraph();
+  }
+
+  /**
+   * Registers a fragment whose adjacency view includes this bond. A bond can be shared by several
+   * fragments, and they may build their views concurrently.
+   *
+   * @param fragment the fragment to tell when the ends of this bond change
+   */
+  void addGraphOwner(CDFragment fragment) {
+    if (isGraphOwner(graphOwners, fragment)) {
+      return;
+    }
+    synchronized (this) {
+      CDFragment[] owners = graphOwners;
+      if (owners == null) {
+        graphOwners = new CDFragment[] {fragment};
+      } else if (!isGraphOwner(owners, fragment)) {
+        CDFragment[] added = Arrays.copyOf(owners, owners.length + 1);
+        added[owners.length] = fragment;
+        graphOwners = added;
+      }
+    }
+  }
+
+  private static boolean isGraphOwner(CDFragment[] owners, CDFragment fragment) {
+    if (owners != null) {
+      for (CDFragment owner : owners) {
+        if (owner == fragment) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void invalidateGraph() {
+    CDFragment[] owners = graphOwners;
+    if (owners != null) {
+      for (CDFragment owner : owners) {
+        owner.invalidateGraph();
+      }
+    }
   }
 
   public CDBondTopology getTopology() {
-    return topology;
+    return PackedEnums.get(packed, TOPOLOGY, TOPOLOGIES);
   }
 
   public void setTopology(CDBondTopology topology) {
-    this.topology = topology;
+    packed = PackedEnums.set(packed, TOPOLOGY, topology);
   }
 
   public CDBondReactionParticipation getReactionParticipation() {
-    return reactionParticipation;
+    return PackedEnums.get(packed, REACTION_PARTICIPATION, REACTION_PARTICIPATIONS);
   }
 
   public void setReactionParticipation(CDBondReactionParticipation reactionParticipation) {
-    this.reactionParticipation = reactionParticipation;
+    packed = PackedEnums.set(packed, REACTION_PARTICIPATION, reactionParticipation);
   }
 
   public int getBeginAttach() {
@@ -172,11 +233,11 @@ public class CDBond extends CDObject {
   }
 
   public CDBondCIPType getStereochemistry() {
-    return stereochemistry;
+    return PackedEnums.get(packed, STEREOCHEMISTRY, CIP_TYPES);
   }
 
   public void setStereochemistry(CDBondCIPType stereochemistry) {
-    this.stereochemistry = stereochemistry;
+    packed = PackedEnums.set(packed, STEREOCHEMISTRY, stereochemistry);
   }
 
   public List<CDBond> getBondCircularOrdering() {
@@ -203,7 +264,7 @@ public class CDBond extends CDObject {
    * @return {@code true} if this is a coordination bond
    */
   public boolean isCoordination() {
-    return coordination;
+    return PackedEnums.getFlag(packed, COORDINATION);
   }
 
   /**
@@ -212,13 +273,14 @@ public class CDBond extends CDObject {
    * @param coordination {@code true} to flag the bond as a coordination bond
    */
   public void setCoordination(boolean coordination) {
-    this.coordination = coordination;
+    packed = PackedEnums.setFlag(packed, COORDINATION, coordination);
   }
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitBond(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterBond(this))) {
+      super.accept(visitor);
+    }
   }
 
   public CDBond() {
@@ -234,16 +296,10 @@ public class CDBond extends CDObject {
     this.end = other.end; // Note: Reference copied; consider deep copy if necessary
     this.beginAttach = other.beginAttach;
     this.endAttach = other.endAttach;
-    this.bondDisplay = other.bondDisplay;
-    this.bondDisplay2 = other.bondDisplay2;
-    this.bondDoublePosition = other.bondDoublePosition;
-    this.bondOrder = other.bondOrder;
-    this.crossingBonds = other.crossingBonds != null ? new HashSet<>(other.crossingBonds) : null;
-    this.reactionParticipation = other.reactionParticipation;
-    this.stereochemistry = other.stereochemistry;
-    this.topology = other.topology;
+    this.packed = other.packed;
+    this.crossingBonds =
+        other.crossingBonds != null ? new LinkedHashSet<>(other.crossingBonds) : null;
     this.bondCircularOrdering =
         other.bondCircularOrdering != null ? new ArrayList<>(other.bondCircularOrdering) : null;
-    this.coordination = other.coordination;
   }
 }
@@ -143,10 +143,10 @@ public class CDBracket extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitBracketedGroup(this);
-    for (CDBracket bracket : brackets) {
-      bracket.accept(visitor);
+    if (!descend(visitor, visitor.enterBracketedGroup(this))) {
+      return;
     }
+    acceptAll(visitor, brackets);
     super.accept(visitor);
   }
 }
@@ -111,7 +111,8 @@ public class CDConstraint extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitConstraint(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterConstraint(this))) {
+      super.accept(visitor);
+    }
   }
 }
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 import org.beilstein.chemxtract.cdx.datatypes.CDPoint2D;
 
 /** The root of the CDX object model. Contains at least one page object. */
@@ -208,6 +209,29 @@ public class CDDocument {
     this.pages.add(page);
   }
 
+  /**
+   * Returns a stream of the pages of this document and all objects on them, in the order in which
+   * a {@link CDVisitor} visits them. The stream splits at group and fragment boundaries, so it can
+   * be made {@link Stream#parallel() parallel} on large documents.
+   *
+   * @return stream of all objects of the document
+   */
+  public Stream<CDObject> objects() {
+    return CDObjectSpliterator.stream(pages);
+  }
+
+  /**
+   * Returns a stream of all objects of the given type in this document.
+   *
+   * @param type the type of objects, e.g. {@code CDFragment.class}
+   * @param <T> the type of objects
+   * @return stream of the matching objects, in visiting order
+   * @see #objects()
+   */
+  public <T extends CDObject> Stream<T> objects(Class<T> type) {
+    return objects().filter(type::isInstance).map(type::cast);
+  }
+
   public byte[] getMacPrintInfo() {
     return macPrintInfo;
   }
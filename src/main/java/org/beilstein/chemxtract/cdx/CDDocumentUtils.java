@@ -425,24 +425,40 @@ public class CDDocumentUtils {
    * @param texts The list of CDText objects to be considered as potential labels.
    */
   public static void assignLabelToFragment(CDFragment fragment, List<CDText> texts) {
-    double shortestDist = Double.MAX_VALUE;
+    assignLabelToFragment(fragment, createLabelIndex(texts));
+  }
+
+  /**
+   * Experimental code Assigns a label to a given fragment based on proximity and distance cutoff,
+   * using an index of the structure labels of a page. Build the index once with {@link
+   * #createLabelIndex(List)} and reuse it for all fragments of the page.
+   *
+   * @param fragment The CDFragment object to which a label will be assigned.
+   * @param labels The index of the structure labels to be considered.
+   */
+  public static void assignLabelToFragment(CDFragment fragment, CDSpatialIndex<CDText> labels) {
     double cutOff = LABEL_MAX_DISTANCE_CUT_OFF + getLongestSideOfCDRectangle(fragment.getBounds());
-    CDText label = null;
-    for (CDText text : texts) {
-      if (!containsStructureLabel(text)) {
-        continue;
-      }
-      double dist = getDistanceOfFragmentToText(fragment, text);
-      if (dist < shortestDist && dist < cutOff) {
-        shortestDist = dist;
-        label = text;
-      }
-    }
+    CDText label =
+        labels.nearest(
+            CDSpatialIndex.centerOf(fragment.getBounds()), Math.nextDown(cutOff), text -> true);
     if (label != null) {
       fragment.addText(label);
     }
   }
 
+  /**
+   * Experimental code Creates an index of the texts containing a structure label (determined by
+   * the containsStructureLabel method), positioned at the centers of the texts.
+   *
+   * @param texts The list of CDText objects to be considered as potential labels.
+   * @return The index of the structure labels.
+   */
+  public static CDSpatialIndex<CDText> createLabelIndex(List<CDText> texts) {
+    return new CDSpatialIndex<>(
+        texts.stream().filter(CDDocumentUtils::containsStructureLabel).toList(),
+        text -> CDSpatialIndex.centerOf(text.getBounds()));
+  }
+
   /**
    * Returns the longest side of a CDRectangle object. This method compares the width and height of
    * the rectangle and returns the larger value.
@@ -465,10 +481,11 @@ public class CDDocumentUtils {
    */
   public static List<CDBracket> getFragmentBrackets(CDFragment fragment, List<CDBracket> brackets) {
     List<CDBracket> fragmentBrackets = new ArrayList<>();
+    CDFragmentGraph graph = fragment.getGraph();
     outer:
     for (CDBracket b : brackets) {
       for (Object o : b.getBracketedObjects()) {
-        if (o instanceof CDAtom && fragment.getAtoms().contains(o)) {
+        if (o instanceof CDAtom atom && graph.contains(atom)) {
           fragmentBrackets.add(b);
           continue outer;
         }
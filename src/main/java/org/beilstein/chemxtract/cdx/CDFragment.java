@@ -22,9 +22,13 @@
 package org.beilstein.chemxtract.cdx;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
 import org.beilstein.chemxtract.cdx.datatypes.CDSequenceType;
 import org.beilstein.chemxtract.utils.Definitions;
@@ -69,20 +73,37 @@ public class CDFragment extends CDObject {
    */
   private CDSequenceType sequenceType = CDSequenceType.Unknown;
 
+  /** Cached adjacency view of the atoms and bonds, {@code null} if not built or outdated. */
+  private volatile CDFragmentGraph graph;
+
+  /**
+   * Private copies of shared atoms and bonds, keyed by the shared object; {@code null} if this
+   * fragment is not an overlay.
+   */
+  private Map<CDObject, CDObject> overlayCopies;
+
+  /** Atoms and bonds that belong to this overlay only and may be changed in place. */
+  private Set<CDObject> overlayOwned;
+
   public List<CDAtom> getAtoms() {
     return Collections.unmodifiableList(atoms);
   }
 
   public void setAtoms(List<CDAtom> atoms) {
     this.atoms = atoms == null ? new ArrayList<>() : new ArrayList<>(atoms);
+    invalidateGraph();
   }
 
   public void addAtom(CDAtom atom) {
     this.atoms.add(atom);
+    own(atom);
+    invalidateGraph();
   }
 
-  public void addAllAtoms(java.util.Collection<? extends CDAtom> atoms) {
+  public void addAllAtoms(Collection<? extends CDAtom> atoms) {
     this.atoms.addAll(atoms);
+    atoms.forEach(this::own);
+    invalidateGraph();
   }
 
   public List<CDBond> getBonds() {
@@ -91,10 +112,13 @@ public class CDFragment extends CDObject {
 
   public void setBonds(List<CDBond> bonds) {
     this.bonds = bonds == null ? new ArrayList<>() : new ArrayList<>(bonds);
+    invalidateGraph();
   }
 
   public void addBond(CDBond bond) {
     this.bonds.add(bond);
+    own(bond);
+    invalidateGraph();
   }
 
   /**
@@ -104,6 +128,19 @@ public class CDFragment extends CDObject {
    */
   public void removeAtom(CDAtom atom) {
     this.atoms.remove(atom);
+    invalidateGraph();
+  }
+
+  /**
+   * Removes all given atoms from this fragment by object identity in a single pass.
+   *
+   * @param atoms the atoms to remove
+   */
+  public void removeAtoms(Collection<? extends CDAtom> atoms) {
+    Set<CDAtom> remove = Collections.newSetFromMap(new IdentityHashMap<>());
+    remove.addAll(atoms);
+    this.atoms.removeIf(remove::contains);
+    invalidateGraph();
   }
 
   /**
@@ -113,6 +150,187 @@ public class CDFragment extends CDObject {
    */
   public void removeBond(CDBond bond) {
     this.bonds.remove(bond);
+    invalidateGraph();
+  }
+
+  /**
+   * Removes all given bonds from this fragment by object identity in a single pass.
+   *
+   * @param bonds the bonds to remove
+   */
+  public void removeBonds(Collection<? extends CDBond> bonds) {
+    Set<CDBond> remove = Collections.newSetFromMap(new IdentityHashMap<>());
+    remove.addAll(bonds);
+    this.bonds.removeIf(remove::contains);
+    invalidateGraph();
+  }
+
+  /**
+   * Returns the adjacency view of the atoms and bonds of this fragment. The view is built on first
+   * use and cached until atoms or bonds are added or removed, or a bond of this fragment gets a new
+   * begin or end atom. A bond shared by several fragments invalidates the views of all of them.
+   *
+   * @return the adjacency view
+   */
+  public CDFragmentGraph getGraph() {
+    CDFragmentGraph current = graph;
+    if (current == null) {
+      for (CDBond bond : bonds) {
+        // shared bonds of an overlay are never changed in place, and registering the short-lived
+        // overlay on them would keep it reachable for as long as the source fragment
+        if (overlayOwned == null || overlayOwned.contains(bond)) {
+          bond.addGraphOwner(this);
+        }
+      }
+      current = new CDFragmentGraph(atoms, bonds);
+      graph = current;
+    }
+    return current;
+  }
+
+  /** Discards the cached adjacency view, see {@link #getGraph()}. */
+  void invalidateGraph() {
+    graph = null;
+  }
+
+  /**
+   * Creates a copy-on-write overlay of this fragment for a single extraction pass. The overlay has
+   * its own lists of atoms, bonds and other children and its own fragment properties, but shares
+   * the atoms and bonds themselves with this fragment. Changes to an atom or bond must go through
+   * {@link #getWritable(CDAtom)} or {@link #getWritable(CDBond)}, which give the overlay a private
+   * copy on first write. Atoms and bonds added to the overlay belong to it.
+   *
+   * <p>This fragment is not modified by changes to the overlay, so several overlays of the same
+   * fragment can be used concurrently as long as the fragment itself is not changed.
+   *
+   * @return a new overlay
+   */
+  public CDFragment overlay() {
+    CDFragment overlay = new CDFragment();
+    overlay.copyObjectProperties(this);
+    overlay.atoms = new ArrayList<>(atoms);
+    overlay.bonds = new ArrayList<>(bonds);
+    overlay.graphics = new ArrayList<>(graphics);
+    overlay.curves = new ArrayList<>(curves);
+    overlay.texts = new ArrayList<>(texts);
+    overlay.arrows = new ArrayList<>(arrows);
+    overlay.coloredMolecularAreas = new ArrayList<>(coloredMolecularAreas);
+    overlay.racemic = racemic;
+    overlay.absolute = absolute;
+    overlay.relative = relative;
+    overlay.formula = formula;
+    overlay.weight = weight;
+    overlay.connectionOrder = new ArrayList<>(connectionOrder);
+    overlay.sequenceType = sequenceType;
+    overlay.overlayCopies = new IdentityHashMap<>();
+    overlay.overlayOwned = Collections.newSetFromMap(new IdentityHashMap<>());
+    if (overlayCopies != null) {
+      // the private copies of this overlay are shared objects of the new overlay
+      overlay.overlayCopies.putAll(overlayCopies);
+    }
+    return overlay;
+  }
+
+  /**
+   * Checks whether this fragment is a copy-on-write overlay, see {@link #overlay()}.
+   *
+   * @return {@code true} for an overlay
+   */
+  public boolean isOverlay() {
+    return overlayCopies != null;
+  }
+
+  /**
+   * Returns the current version of an atom: its private copy if the atom was copied by this
+   * overlay, otherwise the atom itself.
+   *
+   * @param atom the atom
+   * @return the atom as seen by this fragment
+   */
+  public CDAtom getCurrent(CDAtom atom) {
+    return overlayCopies == null ? atom : (CDAtom) overlayCopies.getOrDefault(atom, atom);
+  }
+
+  /**
+   * Returns the current version of a bond: its private copy if the bond was copied by this
+   * overlay, otherwise the bond itself.
+   *
+   * @param bond the bond
+   * @return the bond as seen by this fragment
+   */
+  public CDBond getCurrent(CDBond bond) {
+    return overlayCopies == null ? bond : (CDBond) overlayCopies.getOrDefault(bond, bond);
+  }
+
+  /**
+   * Returns a version of an atom that may be changed. A fragment that is not an overlay returns
+   * the atom itself. An overlay returns a private copy of a shared atom, which replaces the atom in
+   * this fragment, including as end of its bonds.
+   *
+   * @param atom the atom to change
+   * @return the atom or its private copy
+   */
+  public CDAtom getWritable(CDAtom atom) {
+    CDAtom current = getCurrent(atom);
+    if (overlayCopies == null || overlayOwned.contains(current)) {
+      return current;
+    }
+    List<CDBond> incident = getGraph().getBonds(current);
+    CDAtom copy = new CDAtom(current);
+    copy.copyObjectProperties(current);
+    overlayCopies.put(atom, copy);
+    overlayCopies.put(current, copy);
+    overlayOwned.add(copy);
+    replace(atoms, current, copy);
+    replace(connectionOrder, current, copy);
+    for (CDBond bond : incident) {
+      CDBond writable = getWritable(bond);
+      if (writable.getBegin() == current) {
+        writable.setBegin(copy);
+      }
+      if (writable.getEnd() == current) {
+        writable.setEnd(copy);
+      }
+    }
+    invalidateGraph();
+    return copy;
+  }
+
+  /**
+   * Returns a version of a bond that may be changed. A fragment that is not an overlay returns the
+   * bond itself. An overlay returns a private copy of a shared bond, which replaces the bond in
+   * this fragment.
+   *
+   * @param bond the bond to change
+   * @return the bond or its private copy
+   */
+  public CDBond getWritable(CDBond bond) {
+    CDBond current = getCurrent(bond);
+    if (overlayCopies == null || overlayOwned.contains(current)) {
+      return current;
+    }
+    CDBond copy = new CDBond(current);
+    copy.copyObjectProperties(current);
+    overlayCopies.put(bond, copy);
+    overlayCopies.put(current, copy);
+    overlayOwned.add(copy);
+    replace(bonds, current, copy);
+    invalidateGraph();
+    return copy;
+  }
+
+  private void own(CDObject object) {
+    if (overlayOwned != null) {
+      overlayOwned.add(object);
+    }
+  }
+
+  private static <T> void replace(List<T> list, T original, T copy) {
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == original) {
+        list.set(i, copy);
+      }
+    }
   }
 
   public List<CDGraphic> getGraphics() {
@@ -239,25 +457,15 @@ public class CDFragment extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitFragment(this);
-    for (CDAtom node : atoms) {
-      node.accept(visitor);
-    }
-    for (CDBond bond : bonds) {
-      bond.accept(visitor);
-    }
-    for (CDGraphic graphic : graphics) {
-      graphic.accept(visitor);
-    }
-    for (CDSpline spline : curves) {
-      spline.accept(visitor);
-    }
-    for (CDText text : texts) {
-      text.accept(visitor);
-    }
-    for (CDArrow arrow : arrows) {
-      arrow.accept(visitor);
+    if (!descend(visitor, visitor.enterFragment(this))) {
+      return;
     }
+    acceptAll(visitor, atoms);
+    acceptAll(visitor, bonds);
+    acceptAll(visitor, graphics);
+    acceptAll(visitor, curves);
+    acceptAll(visitor, texts);
+    acceptAll(visitor, arrows);
     super.accept(visitor);
   }
 
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable adjacency view of a {@link CDFragment}. Atoms are numbered in fragment order, followed
+ * by any bond end atoms that are not listed in the fragment, and the incident bonds and neighbours
+ * of every atom are stored in compressed sparse row arrays. Lookups take time proportional to the
+ * degree of the atom instead of the number of bonds in the fragment.
+ *
+ * <p>The incident bonds of an atom are reported in fragment bond order, just like a filter over
+ * {@link CDFragment#getBonds()}. Atoms and bonds are matched by object identity.
+ *
+ * <p>A graph is obtained with {@link CDFragment#getGraph()}, which caches it until the atoms or
+ * bonds of the fragment, or the end atoms of one of its bonds, are changed.
+ */
+public final class CDFragmentGraph {
+  private final List<CDAtom> atoms;
+  private final List<CDBond> bonds;
+  private final int fragmentAtomCount;
+  private final Map<CDAtom, Integer> atomIndex;
+  private final Map<CDBond, Integer> bondIndex;
+
+  /** Start of the adjacency entries of each atom, the entries of atom i end at offsets[i + 1]. */
+  private final int[] offsets;
+
+  /** Bond index of each adjacency entry. */
+  private final int[] adjacentBonds;
+
+  /** Neighbour atom index of each adjacency entry. */
+  private final int[] adjacentAtoms;
+
+  CDFragmentGraph(List<CDAtom> fragmentAtoms, List<CDBond> fragmentBonds) {
+    this.bonds = List.copyOf(fragmentBonds);
+    this.fragmentAtomCount = fragmentAtoms.size();
+    this.atomIndex = new IdentityHashMap<>(fragmentAtoms.size());
+    List<CDAtom> indexedAtoms = new ArrayList<>(fragmentAtoms.size());
+    for (CDAtom atom : fragmentAtoms) {
+      index(atom, indexedAtoms);
+    }
+    this.bondIndex = new IdentityHashMap<>(bonds.size());
+    for (int i = 0; i < bonds.size(); i++) {
+      CDBond bond = bonds.get(i);
+      bondIndex.putIfAbsent(bond, i);
+      index(bond.getBegin(), indexedAtoms);
+      index(bond.getEnd(), indexedAtoms);
+    }
+    this.atoms = Collections.unmodifiableList(indexedAtoms);
+
+    // count the degrees, then fill the rows in bond order
+    int[] degrees = new int[atoms.size()];
+    for (CDBond bond : bonds) {
+      if (bond.getBegin() != null && bond.getEnd() != null) {
+        degrees[atomIndex.get(bond.getBegin())]++;
+        if (bond.getBegin() != bond.getEnd()) {
+          degrees[atomIndex.get(bond.getEnd())]++;
+        }
+      }
+    }
+    this.offsets = new int[atoms.size() + 1];
+    for (int i = 0; i < atoms.size(); i++) {
+      offsets[i + 1] = offsets[i] + degrees[i];
+    }
+    this.adjacentBonds = new int[offsets[atoms.size()]];
+    this.adjacentAtoms = new int[offsets[atoms.size()]];
+    int[] fill = Arrays.copyOf(offsets, atoms.size());
+    for (int i = 0; i < bonds.size(); i++) {
+      CDBond bond = bonds.get(i);
+      if (bond.getBegin() == null || bond.getEnd() == null) {
+        continue;
+      }
+      int begin = atomIndex.get(bond.getBegin());
+      int end = atomIndex.get(bond.getEnd());
+      adjacentBonds[fill[begin]] = i;
+      adjacentAtoms[fill[begin]++] = end;
+      if (begin != end) {
+        adjacentBonds[fill[end]] = i;
+        adjacentAtoms[fill[end]++] = begin;
+      }
+    }
+  }
+
+  private void index(CDAtom atom, List<CDAtom> indexedAtoms) {
+    if (atom != null && atomIndex.putIfAbsent(atom, indexedAtoms.size()) == null) {
+      indexedAtoms.add(atom);
+    }
+  }
+
+  /**
+   * Returns the indexed atoms: the atoms of the fragment followed by bond end atoms that are not
+   * part of the fragment.
+   *
+   * @return atoms by index
+   */
+  public List<CDAtom> getAtoms() {
+    return atoms;
+  }
+
+  /**
+   * Returns the bonds of the fragment at the time the graph was built.
+   *
+   * @return bonds by index
+   */
+  public List<CDBond> getBonds() {
+    return bonds;
+  }
+
+  /**
+   * Returns the index of an atom.
+   *
+   * @param atom the atom
+   * @return the index, or {@code -1} if the atom is neither in the fragment nor the end of a bond
+   */
+  public int indexOf(CDAtom atom) {
+    Integer index = atomIndex.get(atom);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Returns the index of a bond.
+   *
+   * @param bond the bond
+   * @return the index, or {@code -1} if the bond is not in the fragment
+   */
+  public int indexOf(CDBond bond) {
+    Integer index = bondIndex.get(bond);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Checks whether an atom is listed in the fragment, as opposed to only being the end of one of
+   * its bonds.
+   *
+   * @param atom the atom
+   * @return {@code true} if the fragment contains the atom
+   */
+  public boolean contains(CDAtom atom) {
+    int index = indexOf(atom);
+    return index >= 0 && index < fragmentAtomCount;
+  }
+
+  /**
+   * Returns the number of bonds incident to an atom.
+   *
+   * @param atom the atom
+   * @return the degree, {@code 0} for an unknown atom
+   */
+  public int getDegree(CDAtom atom) {
+    int index = indexOf(atom);
+    return index < 0 ? 0 : offsets[index + 1] - offsets[index];
+  }
+
+  /**
+   * Returns the bonds incident to an atom in fragment bond order.
+   *
+   * @param atom the atom
+   * @return the incident bonds, empty for an unknown atom
+   */
+  public List<CDBond> getBonds(CDAtom atom) {
+    int index = indexOf(atom);
+    if (index < 0 || offsets[index] == offsets[index + 1]) {
+      return Collections.emptyList();
+    }
+    CDBond[] incident = new CDBond[offsets[index + 1] - offsets[index]];
+    for (int i = 0; i < incident.length; i++) {
+      incident[i] = bonds.get(adjacentBonds[offsets[index] + i]);
+    }
+    return List.of(incident);
+  }
+
+  /**
+   * Returns the atoms bonded to an atom, in the order of the connecting bonds.
+   *
+   * @param atom the atom
+   * @return the neighbour atoms, empty for an unknown atom
+   */
+  public List<CDAtom> getNeighbors(CDAtom atom) {
+    int index = indexOf(atom);
+    if (index < 0 || offsets[index] == offsets[index + 1]) {
+      return Collections.emptyList();
+    }
+    CDAtom[] neighbors = new CDAtom[offsets[index + 1] - offsets[index]];
+    for (int i = 0; i < neighbors.length; i++) {
+      neighbors[i] = atoms.get(adjacentAtoms[offsets[index] + i]);
+    }
+    return List.of(neighbors);
+  }
+
+  /**
+   * Returns the first bond connecting two atoms.
+   *
+   * @param first one atom
+   * @param second the other atom
+   * @return the connecting bond, or {@code null} if the atoms are not bonded
+   */
+  public CDBond getBond(CDAtom first, CDAtom second) {
+    int index = indexOf(first);
+    int other = indexOf(second);
+    if (index < 0 || other < 0) {
+      return null;
+    }
+    for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+      if (adjacentAtoms[i] == other) {
+        return bonds.get(adjacentBonds[i]);
+      }
+    }
+    return null;
+  }
+}
@@ -82,7 +82,8 @@ public class CDGeometry extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitGeometry(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterGeometry(this))) {
+      super.accept(visitor);
+    }
   }
 }
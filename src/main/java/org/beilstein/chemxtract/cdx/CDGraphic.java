@@ -267,8 +267,9 @@ public class CDGraphic extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitGraphic(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterGraphic(this))) {
+      super.accept(visitor);
+    }
   }
 
   public float getShadowSize() {
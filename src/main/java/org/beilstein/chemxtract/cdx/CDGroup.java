@@ -181,34 +181,18 @@ public class CDGroup extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitGroup(this);
-    for (CDGroup group : groups) {
-      group.accept(visitor);
-    }
-    for (CDFragment fragment : fragments) {
-      fragment.accept(visitor);
-    }
-    for (CDGraphic graphic : graphics) {
-      graphic.accept(visitor);
-    }
-    for (CDSpline curve : curves) {
-      curve.accept(visitor);
-    }
-    for (CDText text : captions) {
-      text.accept(visitor);
-    }
-    for (CDArrow arrow : arrows) {
-      arrow.accept(visitor);
-    }
-    for (CDAltGroup namedAlternativeGroup : altGroups) {
-      namedAlternativeGroup.accept(visitor);
-    }
-    for (CDSpectrum spectrum : spectra) {
-      spectrum.accept(visitor);
-    }
-    for (CDPicture embeddedObject : embeddedObjects) {
-      embeddedObject.accept(visitor);
+    if (!descend(visitor, visitor.enterGroup(this))) {
+      return;
     }
+    acceptAll(visitor, groups);
+    acceptAll(visitor, fragments);
+    acceptAll(visitor, graphics);
+    acceptAll(visitor, curves);
+    acceptAll(visitor, captions);
+    acceptAll(visitor, arrows);
+    acceptAll(visitor, altGroups);
+    acceptAll(visitor, spectra);
+    acceptAll(visitor, embeddedObjects);
     super.accept(visitor);
   }
 }
@@ -28,8 +28,11 @@ import org.beilstein.chemxtract.cdx.datatypes.CDColor;
 
 /** Abstract class for all drawable ChemDraw objects. */
 public abstract class CDObject {
-  /** The object's object tags. */
-  private List<CDObjectTag> objectTags = new ArrayList<>();
+  /** Settings in effect for all objects that don't override any of them. */
+  private static final CDSettings DEFAULT_SETTINGS = new CDSettings().freeze();
+
+  /** The object's object tags, allocated with the first tag. */
+  private List<CDObjectTag> objectTags;
 
   /** The relative back-to-front ordering of the object. */
   private int zOrder;
@@ -49,18 +52,25 @@ public abstract class CDObject {
   /** The color of the ChemDraw object. */
   private CDColor color;
 
-  /** The settings object. */
-  private final CDSettings settings = new CDSettings();
+  /** The settings object, allocated when the object overrides a setting for the first time. */
+  private CDSettings settings;
+
+  /** Whether the settings still belong to the object this one was copied from. */
+  private boolean settingsBorrowed;
 
   public List<CDObjectTag> getObjectTags() {
-    return Collections.unmodifiableList(objectTags);
+    return objectTags == null ? Collections.emptyList() : Collections.unmodifiableList(objectTags);
   }
 
   public void setObjectTags(List<CDObjectTag> objectTags) {
-    this.objectTags = objectTags == null ? new ArrayList<>() : new ArrayList<>(objectTags);
+    this.objectTags =
+        objectTags == null || objectTags.isEmpty() ? null : new ArrayList<>(objectTags);
   }
 
   public void addObjectTag(CDObjectTag objectTag) {
+    if (objectTags == null) {
+      objectTags = new ArrayList<>();
+    }
     this.objectTags.add(objectTag);
   }
 
@@ -112,13 +122,99 @@ public abstract class CDObject {
     this.color = color;
   }
 
+  /**
+   * Returns the settings of this object for modification. Objects share the default settings until
+   * this method is called for the first time, which gives the object its own copy. An object copied
+   * from another one likewise shares that object's settings until then.
+   *
+   * @return the object's own settings
+   */
   public CDSettings getSettings() {
+    if (settings == null) {
+      settings = new CDSettings();
+    } else if (settingsBorrowed) {
+      settings = new CDSettings(settings);
+    }
+    settingsBorrowed = false;
     return settings;
   }
 
+  /**
+   * Returns the settings in effect for this object without allocating own settings. If the object
+   * doesn't override any setting the shared default settings are returned, which are frozen: their
+   * setters throw an {@link UnsupportedOperationException}. The returned settings may also be
+   * shared with the object this one was copied from, so they must be changed through {@link
+   * #getSettings()} only.
+   *
+   * @return the object's own settings or the shared default settings
+   */
+  public CDSettings getEffectiveSettings() {
+    return settings == null ? DEFAULT_SETTINGS : settings;
+  }
+
+  /**
+   * Copies the properties common to all objects from another object. Tags are shared and the
+   * bounds are copied. The settings are borrowed from the source until {@link #getSettings()} gives
+   * this object its own copy, so changing them never changes the source.
+   *
+   * @param source the object to copy from
+   */
+  void copyObjectProperties(CDObject source) {
+    this.objectTags = source.objectTags == null ? null : new ArrayList<>(source.objectTags);
+    this.zOrder = source.zOrder;
+    this.ignoreWarnings = source.ignoreWarnings;
+    this.chemicalWarning = source.chemicalWarning;
+    this.visible = source.visible;
+    this.bounds = source.bounds == null ? null : copy(source.bounds);
+    this.color = source.color;
+    this.settings = source.settings;
+    this.settingsBorrowed = source.settings != null;
+  }
+
+  private static CDRectangle copy(CDRectangle rectangle) {
+    CDRectangle copy = new CDRectangle();
+    copy.setTop(rectangle.getTop());
+    copy.setLeft(rectangle.getLeft());
+    copy.setBottom(rectangle.getBottom());
+    copy.setRight(rectangle.getRight());
+    return copy;
+  }
+
   public void accept(CDVisitor visitor) {
-    for (CDObjectTag objectTag : objectTags) {
-      objectTag.accept(visitor);
+    if (objectTags != null) {
+      acceptAll(visitor, objectTags);
+    }
+    visitor.leaveObject(this);
+  }
+
+  /**
+   * Applies the result of the visitor's {@code enterXxx} callback for this object. If the children
+   * are not to be visited, the visit of this object is completed right away.
+   *
+   * @param visitor the visitor
+   * @param result the result of the callback
+   * @return {@code true} if the caller should go on with the children of this object
+   */
+  protected boolean descend(CDVisitor visitor, CDVisitResult result) {
+    if (visitor.descend(result)) {
+      return true;
+    }
+    visitor.leaveObject(this);
+    return false;
+  }
+
+  /**
+   * Lets the visitor visit the given objects in order, stopping as soon as it is terminated.
+   *
+   * @param visitor the visitor
+   * @param objects the objects to visit
+   */
+  protected static void acceptAll(CDVisitor visitor, List<? extends CDObject> objects) {
+    for (CDObject object : objects) {
+      if (visitor.isTerminated()) {
+        return;
+      }
+      object.accept(visitor);
     }
   }
 }
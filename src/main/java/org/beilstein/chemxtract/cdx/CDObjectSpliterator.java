@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spliterator over the object tree below a list of root objects, in the same pre-order in which a
+ * {@link CDVisitor} visits them. Pending subtrees are kept in a queue and only expanded into their
+ * children when they are reached, so splitting hands whole subtrees to the prefix spliterator. A
+ * page or group is expanded to split it, but a fragment is never split, so parallel streams get
+ * whole fragments as units of work. Subtrees are weighted by the number of atoms and bonds of
+ * fragments to balance the split.
+ */
+final class CDObjectSpliterator implements Spliterator<CDObject> {
+
+  /** Pending subtree, or only its root object if its children are already queued. */
+  private record Node(CDObject object, boolean expanded) {}
+
+  private final Deque<Node> pending;
+  private final ChildCollector collector = new ChildCollector();
+
+  private CDObjectSpliterator(Deque<Node> pending) {
+    this.pending = pending;
+  }
+
+  /**
+   * Returns a stream of the given roots and all objects below them.
+   *
+   * @param roots the root objects, e.g. the pages of a document
+   * @return a sequential stream in visiting order
+   */
+  static Stream<CDObject> stream(List<? extends CDObject> roots) {
+    Deque<Node> pending = new ArrayDeque<>(roots.size());
+    for (CDObject root : roots) {
+      pending.addLast(new Node(root, false));
+    }
+    return StreamSupport.stream(new CDObjectSpliterator(pending), false);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super CDObject> action) {
+    Node node = pending.pollFirst();
+    if (node == null) {
+      return false;
+    }
+    if (!node.expanded()) {
+      List<CDObject> children = collector.children(node.object());
+      for (int i = children.size() - 1; i >= 0; i--) {
+        pending.addFirst(new Node(children.get(i), false));
+      }
+    }
+    action.accept(node.object());
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super CDObject> action) {
+    // walk the remaining subtrees directly instead of queueing every object
+    CDVisitor visitor =
+        new CDVisitor() {
+          @Override
+          protected CDVisitResult enterDefault(CDObject object) {
+            action.accept(object);
+            return CDVisitResult.CONTINUE;
+          }
+        };
+    for (Node node = pending.pollFirst(); node != null; node = pending.pollFirst()) {
+      if (node.expanded()) {
+        action.accept(node.object());
+      } else {
+        node.object().accept(visitor);
+      }
+    }
+  }
+
+  @Override
+  public Spliterator<CDObject> trySplit() {
+    if (pending.size() == 1) {
+      Node node = pending.peekFirst();
+      if (node.expanded() || node.object() instanceof CDFragment) {
+        return null;
+      }
+      // expand the single subtree so that its children can be distributed
+      pending.clear();
+      pending.addLast(new Node(node.object(), true));
+      for (CDObject child : collector.children(node.object())) {
+        pending.addLast(new Node(child, false));
+      }
+    }
+    if (pending.size() < 2) {
+      return null;
+    }
+    long half = estimateSize() / 2;
+    Deque<Node> prefix = new ArrayDeque<>();
+    long weight = 0;
+    while (pending.size() > 1 && (prefix.isEmpty() || weight < half)) {
+      Node node = pending.pollFirst();
+      weight += weight(node);
+      prefix.addLast(node);
+    }
+    return new CDObjectSpliterator(prefix);
+  }
+
+  @Override
+  public long estimateSize() {
+    long size = 0;
+    for (Node node : pending) {
+      size += weight(node);
+    }
+    return size;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+
+  private static long weight(Node node) {
+    if (!node.expanded() && node.object() instanceof CDFragment fragment) {
+      return 1L + fragment.getAtoms().size() + fragment.getBonds().size();
+    }
+    return 1;
+  }
+
+  /** Collects the direct children of an object by pruning the visitor traversal below them. */
+  private static final class ChildCollector extends CDVisitor {
+    private CDObject parent;
+    private List<CDObject> children;
+
+    List<CDObject> children(CDObject object) {
+      parent = object;
+      children = new ArrayList<>();
+      object.accept(this);
+      return children;
+    }
+
+    @Override
+    protected CDVisitResult enterDefault(CDObject object) {
+      if (object == parent) {
+        return CDVisitResult.CONTINUE;
+      }
+      children.add(object);
+      return CDVisitResult.SKIP_SUBTREE;
+    }
+  }
+}
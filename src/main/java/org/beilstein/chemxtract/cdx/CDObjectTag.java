@@ -133,9 +133,10 @@ public class CDObjectTag extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitObjectTag(this);
-    for (CDText text : texts) {
-      text.accept(visitor);
+    if (!descend(visitor, visitor.enterObjectTag(this))) {
+      return;
     }
+    acceptAll(visitor, texts);
+    visitor.leaveObject(this);
   }
 }
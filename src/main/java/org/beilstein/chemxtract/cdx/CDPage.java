@@ -24,6 +24,7 @@ package org.beilstein.chemxtract.cdx;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 import org.beilstein.chemxtract.cdx.datatypes.CDDrawingSpaceType;
 import org.beilstein.chemxtract.cdx.datatypes.CDPageDefinition;
 
@@ -65,16 +66,21 @@ public class CDPage extends CDObject {
   private CDPageDefinition pageDefinition = CDPageDefinition.Undefined;
   private CDRectangle boundsInParent;
 
+  /** Lazily built index of the page contents, cleared whenever the page contents change. */
+  private volatile CDPageIndex index;
+
   public List<CDGroup> getGroups() {
     return Collections.unmodifiableList(groups);
   }
 
   public void setGroups(List<CDGroup> groups) {
     this.groups = groups == null ? new ArrayList<>() : new ArrayList<>(groups);
+    index = null;
   }
 
   public void addGroup(CDGroup group) {
     this.groups.add(group);
+    index = null;
   }
 
   public List<CDFragment> getFragments() {
@@ -83,10 +89,12 @@ public class CDPage extends CDObject {
 
   public void setFragments(List<CDFragment> fragments) {
     this.fragments = fragments == null ? new ArrayList<>() : new ArrayList<>(fragments);
+    index = null;
   }
 
   public void addFragment(CDFragment fragment) {
     this.fragments.add(fragment);
+    index = null;
   }
 
   public List<CDText> getTexts() {
@@ -95,10 +103,12 @@ public class CDPage extends CDObject {
 
   public void setTexts(List<CDText> texts) {
     this.texts = texts == null ? new ArrayList<>() : new ArrayList<>(texts);
+    index = null;
   }
 
   public void addText(CDText text) {
     this.texts.add(text);
+    index = null;
   }
 
   public List<CDGraphic> getGraphics() {
@@ -107,10 +117,12 @@ public class CDPage extends CDObject {
 
   public void setGraphics(List<CDGraphic> graphics) {
     this.graphics = graphics == null ? new ArrayList<>() : new ArrayList<>(graphics);
+    index = null;
   }
 
   public void addGraphic(CDGraphic graphic) {
     this.graphics.add(graphic);
+    index = null;
   }
 
   public List<CDBracket> getBracketedGroups() {
@@ -120,10 +132,12 @@ public class CDPage extends CDObject {
   public void setBracketedGroups(List<CDBracket> bracketedGroups) {
     this.bracketedGroups =
         bracketedGroups == null ? new ArrayList<>() : new ArrayList<>(bracketedGroups);
+    index = null;
   }
 
   public void addBracketedGroup(CDBracket bracketedGroup) {
     this.bracketedGroups.add(bracketedGroup);
+    index = null;
   }
 
   public List<CDSpline> getCurves() {
@@ -132,10 +146,12 @@ public class CDPage extends CDObject {
 
   public void setCurves(List<CDSpline> curves) {
     this.curves = curves == null ? new ArrayList<>() : new ArrayList<>(curves);
+    index = null;
   }
 
   public void addCurve(CDSpline curve) {
     this.curves.add(curve);
+    index = null;
   }
 
   public List<CDPicture> getEmbeddedObjects() {
@@ -145,10 +161,12 @@ public class CDPage extends CDObject {
   public void setEmbeddedObjects(List<CDPicture> embeddedObjects) {
     this.embeddedObjects =
         embeddedObjects == null ? new ArrayList<>() : new ArrayList<>(embeddedObjects);
+    index = null;
   }
 
   public void addEmbeddedObject(CDPicture embeddedObject) {
     this.embeddedObjects.add(embeddedObject);
+    index = null;
   }
 
   public List<CDTable> getTables() {
@@ -157,10 +175,12 @@ public class CDPage extends CDObject {
 
   public void setTables(List<CDTable> tables) {
     this.tables = tables == null ? new ArrayList<>() : new ArrayList<>(tables);
+    index = null;
   }
 
   public void addTable(CDTable table) {
     this.tables.add(table);
+    index = null;
   }
 
   public List<CDAltGroup> getNamedAlternativeGroups() {
@@ -172,10 +192,12 @@ public class CDPage extends CDObject {
         namedAlternativeGroups == null
             ? new ArrayList<>()
             : new ArrayList<>(namedAlternativeGroups);
+    index = null;
   }
 
   public void addNamedAlternativeGroup(CDAltGroup namedAlternativeGroup) {
     this.namedAlternativeGroups.add(namedAlternativeGroup);
+    index = null;
   }
 
   public List<CDReactionScheme> getReactionSchemes() {
@@ -185,10 +207,12 @@ public class CDPage extends CDObject {
   public void setReactionSchemes(List<CDReactionScheme> reactionSchemes) {
     this.reactionSchemes =
         reactionSchemes == null ? new ArrayList<>() : new ArrayList<>(reactionSchemes);
+    index = null;
   }
 
   public void addReactionScheme(CDReactionScheme reactionScheme) {
     this.reactionSchemes.add(reactionScheme);
+    index = null;
   }
 
   public List<CDReactionStep> getReactionSteps() {
@@ -197,10 +221,12 @@ public class CDPage extends CDObject {
 
   public void setReactionSteps(List<CDReactionStep> reactionSteps) {
     this.reactionSteps = reactionSteps == null ? new ArrayList<>() : new ArrayList<>(reactionSteps);
+    index = null;
   }
 
   public void addReactionStep(CDReactionStep reactionStep) {
     this.reactionSteps.add(reactionStep);
+    index = null;
   }
 
   public List<CDSpectrum> getSpectra() {
@@ -209,10 +235,12 @@ public class CDPage extends CDObject {
 
   public void setSpectra(List<CDSpectrum> spectra) {
     this.spectra = spectra == null ? new ArrayList<>() : new ArrayList<>(spectra);
+    index = null;
   }
 
   public void addSpectrum(CDSpectrum spectrum) {
     this.spectra.add(spectrum);
+    index = null;
   }
 
   public List<CDSequence> getSequences() {
@@ -221,10 +249,12 @@ public class CDPage extends CDObject {
 
   public void setSequences(List<CDSequence> sequences) {
     this.sequences = sequences == null ? new ArrayList<>() : new ArrayList<>(sequences);
+    index = null;
   }
 
   public void addSequence(CDSequence sequence) {
     this.sequences.add(sequence);
+    index = null;
   }
 
   public List<CDCrossReference> getCrossReferences() {
@@ -234,10 +264,12 @@ public class CDPage extends CDObject {
   public void setCrossReferences(List<CDCrossReference> crossReferences) {
     this.crossReferences =
         crossReferences == null ? new ArrayList<>() : new ArrayList<>(crossReferences);
+    index = null;
   }
 
   public void addCrossReference(CDCrossReference crossReference) {
     this.crossReferences.add(crossReference);
+    index = null;
   }
 
   public List<CDBorder> getBorders() {
@@ -246,10 +278,12 @@ public class CDPage extends CDObject {
 
   public void setBorders(List<CDBorder> borders) {
     this.borders = borders == null ? new ArrayList<>() : new ArrayList<>(borders);
+    index = null;
   }
 
   public void addBorder(CDBorder border) {
     this.borders.add(border);
+    index = null;
   }
 
   public List<CDGeometry> getGeometries() {
@@ -258,10 +292,12 @@ public class CDPage extends CDObject {
 
   public void setGeometries(List<CDGeometry> geometries) {
     this.geometries = geometries == null ? new ArrayList<>() : new ArrayList<>(geometries);
+    index = null;
   }
 
   public void addGeometry(CDGeometry geometry) {
     this.geometries.add(geometry);
+    index = null;
   }
 
   public List<CDConstraint> getConstraints() {
@@ -270,10 +306,12 @@ public class CDPage extends CDObject {
 
   public void setConstraints(List<CDConstraint> constraints) {
     this.constraints = constraints == null ? new ArrayList<>() : new ArrayList<>(constraints);
+    index = null;
   }
 
   public void addConstraint(CDConstraint constraint) {
     this.constraints.add(constraint);
+    index = null;
   }
 
   public List<CDTLCPlate> getTLCPlates() {
@@ -282,10 +320,12 @@ public class CDPage extends CDObject {
 
   public void setTLCPlates(List<CDTLCPlate> plates) {
     tLCPlates = plates == null ? new ArrayList<>() : new ArrayList<>(plates);
+    index = null;
   }
 
   public void addTLCPlate(CDTLCPlate plate) {
     this.tLCPlates.add(plate);
+    index = null;
   }
 
   public List<CDSplitter> getSplitters() {
@@ -294,10 +334,12 @@ public class CDPage extends CDObject {
 
   public void setSplitters(List<CDSplitter> splitters) {
     this.splitters = splitters == null ? new ArrayList<>() : new ArrayList<>(splitters);
+    index = null;
   }
 
   public void addSplitter(CDSplitter splitter) {
     this.splitters.add(splitter);
+    index = null;
   }
 
   public List<CDChemicalProperty> getChemicalProperties() {
@@ -307,10 +349,12 @@ public class CDPage extends CDObject {
   public void setChemicalProperties(List<CDChemicalProperty> chemicalProperties) {
     this.chemicalProperties =
         chemicalProperties == null ? new ArrayList<>() : new ArrayList<>(chemicalProperties);
+    index = null;
   }
 
   public void addChemicalProperty(CDChemicalProperty chemicalProperty) {
     this.chemicalProperties.add(chemicalProperty);
+    index = null;
   }
 
   public List<CDArrow> getArrows() {
@@ -319,10 +363,12 @@ public class CDPage extends CDObject {
 
   public void setArrows(List<CDArrow> arrows) {
     this.arrows = arrows == null ? new ArrayList<>() : new ArrayList<>(arrows);
+    index = null;
   }
 
   public void addArrow(CDArrow arrow) {
     this.arrows.add(arrow);
+    index = null;
   }
 
   public int getWidthPages() {
@@ -429,53 +475,72 @@ public class CDPage extends CDObject {
     this.boundsInParent = boundsInParent;
   }
 
+  /**
+   * Returns the index of the page contents, built in a single traversal on first use and cached
+   * until one of the page's object lists is modified. Changes made below the page (e.g. adding a
+   * fragment to a group) are not tracked; call {@link #invalidateIndex()} after such changes.
+   *
+   * @return the page index
+   */
+  public CDPageIndex getIndex() {
+    CDPageIndex result = index;
+    if (result == null) {
+      // the index is immutable, concurrent callers at worst build it twice
+      result = CDPageIndex.build(this);
+      index = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a stream of this page and all objects on it, in the order in which a {@link CDVisitor}
+   * visits them. The stream splits at group and fragment boundaries, so it can be made {@link
+   * Stream#parallel() parallel} on large pages.
+   *
+   * @return stream of all objects of the page
+   */
+  public Stream<CDObject> objects() {
+    return CDObjectSpliterator.stream(List.of(this));
+  }
+
+  /**
+   * Returns a stream of all objects of the given type on this page, e.g. {@code
+   * page.objects(CDFragment.class).parallel()}.
+   *
+   * @param type the type of objects
+   * @param <T> the type of objects
+   * @return stream of the matching objects, in visiting order
+   * @see #objects()
+   */
+  public <T extends CDObject> Stream<T> objects(Class<T> type) {
+    return objects().filter(type::isInstance).map(type::cast);
+  }
+
+  /** Discards the cached {@link #getIndex() index} so that it is rebuilt on next use. */
+  public void invalidateIndex() {
+    index = null;
+  }
+
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitPage(this);
-    for (CDGroup group : groups) {
-      group.accept(visitor);
-    }
-    for (CDFragment fragment : fragments) {
-      fragment.accept(visitor);
-    }
-    for (CDGraphic graphic : graphics) {
-      graphic.accept(visitor);
-    }
-    for (CDSpline curve : curves) {
-      curve.accept(visitor);
-    }
-    for (CDBracket bracketedGroup : bracketedGroups) {
-      bracketedGroup.accept(visitor);
-    }
-    for (CDText text : texts) {
-      text.accept(visitor);
-    }
-    for (CDArrow arrow : arrows) {
-      arrow.accept(visitor);
-    }
-    for (CDAltGroup namedAlternativeGroup : namedAlternativeGroups) {
-      namedAlternativeGroup.accept(visitor);
-    }
-    for (CDSpectrum spectrum : spectra) {
-      spectrum.accept(visitor);
-    }
-    for (CDPicture embeddedObject : embeddedObjects) {
-      embeddedObject.accept(visitor);
-    }
-    for (CDTable table : tables) {
-      table.accept(visitor);
-    }
-    for (CDGeometry geometry : geometries) {
-      geometry.accept(visitor);
-    }
-    for (CDConstraint constraint : constraints) {
-      constraint.accept(visitor);
-    }
-    for (CDTLCPlate tlcPlate : tLCPlates) {
-      tlcPlate.accept(visitor);
-    }
-    for (CDReactionScheme reactionScheme : reactionSchemes) {
-      reactionScheme.accept(visitor);
+    if (!descend(visitor, visitor.enterPage(this))) {
+      return;
     }
+    acceptAll(visitor, groups);
+    acceptAll(visitor, fragments);
+    acceptAll(visitor, graphics);
+    acceptAll(visitor, curves);
+    acceptAll(visitor, bracketedGroups);
+    acceptAll(visitor, texts);
+    acceptAll(visitor, arrows);
+    acceptAll(visitor, namedAlternativeGroups);
+    acceptAll(visitor, spectra);
+    acceptAll(visitor, embeddedObjects);
+    acceptAll(visitor, tables);
+    acceptAll(visitor, geometries);
+    acceptAll(visitor, constraints);
+    acceptAll(visitor, tLCPlates);
+    acceptAll(visitor, reactionSchemes);
+    visitor.leaveObject(this);
   }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
+
+/**
+ * Index of the contents of a {@link CDPage}, collected in a single traversal of the page. It holds
+ * the fragments, texts, brackets, alternative groups and reaction steps in visiting order, and the
+ * parent of every visited object, so that the extraction steps do not each have to walk the page
+ * again.
+ *
+ * <p>An index is immutable and reflects the page at the time it was built. It is usually obtained
+ * from {@link CDPage#getIndex()}, which caches it on the page.
+ */
+public final class CDPageIndex {
+
+  private final List<CDFragment> fragments = new ArrayList<>();
+  private final List<CDFragment> allFragments = new ArrayList<>();
+  private final List<CDText> texts = new ArrayList<>();
+  private final List<CDBracket> brackets = new ArrayList<>();
+  private final List<CDAltGroup> altGroups = new ArrayList<>();
+  private final List<CDReactionStep> reactionSteps = new ArrayList<>();
+  private final Map<CDObject, CDObject> parents = new IdentityHashMap<>();
+
+  private CDPageIndex() {
+    // filled by the builder
+  }
+
+  /**
+   * Builds the index of a page by traversing it once.
+   *
+   * @param page the page to index
+   * @return the page index
+   */
+  public static CDPageIndex build(CDPage page) {
+    CDPageIndex index = new CDPageIndex();
+    page.accept(index.new Builder());
+    return index;
+  }
+
+  /**
+   * Returns the fragments that do not contain external connection points, i.e. the fragments that
+   * represent complete structures.
+   *
+   * @return list of complete fragments
+   */
+  public List<CDFragment> getFragments() {
+    return Collections.unmodifiableList(fragments);
+  }
+
+  /**
+   * Returns all fragments of the page, including nested fragments and those with external
+   * connection points.
+   *
+   * @return list of all fragments
+   */
+  public List<CDFragment> getAllFragments() {
+    return Collections.unmodifiableList(allFragments);
+  }
+
+  /**
+   * Returns all texts of the page, including captions and atom labels.
+   *
+   * @return list of texts
+   */
+  public List<CDText> getTexts() {
+    return Collections.unmodifiableList(texts);
+  }
+
+  /**
+   * Returns all brackets of the page, including nested brackets.
+   *
+   * @return list of brackets
+   */
+  public List<CDBracket> getBrackets() {
+    return Collections.unmodifiableList(brackets);
+  }
+
+  /**
+   * Returns the named alternative groups of the page.
+   *
+   * @return list of alternative groups
+   */
+  public List<CDAltGroup> getAltGroups() {
+    return Collections.unmodifiableList(altGroups);
+  }
+
+  /**
+   * Returns the reaction steps of the reaction schemes on the page.
+   *
+   * @return list of reaction steps
+   */
+  public List<CDReactionStep> getReactionSteps() {
+    return Collections.unmodifiableList(reactionSteps);
+  }
+
+  /**
+   * Returns the object that contains the given object in the page tree, e.g. the fragment of an
+   * atom or the group of a fragment.
+   *
+   * @param object an object of the page
+   * @return the containing object, or {@code null} for the page itself and for objects that are not
+   *     part of the page
+   */
+  public CDObject getParent(CDObject object) {
+    return parents.get(object);
+  }
+
+  /** Visitor filling the index, tracking the objects currently being visited on a stack. */
+  private class Builder extends CDVisitor {
+    private final Deque<CDObject> path = new ArrayDeque<>();
+
+    private void enter(CDObject object) {
+      CDObject parent = path.peek();
+      if (parent != null) {
+        parents.putIfAbsent(object, parent);
+      }
+      path.push(object);
+    }
+
+    @Override
+    protected void visitDefault(Object object) {
+      if (object instanceof CDObject cdObject) {
+        enter(cdObject);
+      }
+    }
+
+    @Override
+    public void leaveObject(CDObject object) {
+      path.pop();
+    }
+
+    @Override
+    public void visitFragment(CDFragment fragment) {
+      enter(fragment);
+      if (fragment.getAtoms().stream()
+          .noneMatch(atom -> CDNodeType.ExternalConnectionPoint.equals(atom.getNodeType()))) {
+        fragments.add(fragment);
+      }
+      allFragments.add(fragment);
+    }
+
+    @Override
+    public void visitText(CDText text) {
+      enter(text);
+      texts.add(text);
+    }
+
+    @Override
+    public void visitBracketedGroup(CDBracket bracket) {
+      enter(bracket);
+      brackets.add(bracket);
+    }
+
+    @Override
+    public void visitNamedAlternativeGroup(CDAltGroup altGroup) {
+      enter(altGroup);
+      altGroups.add(altGroup);
+    }
+
+    @Override
+    public void visitReactionStep(CDReactionStep reactionStep) {
+      enter(reactionStep);
+      reactionSteps.add(reactionStep);
+    }
+  }
+}
@@ -138,7 +138,8 @@ public class CDPicture extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitEmbeddedObject(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterEmbeddedObject(this))) {
+      super.accept(visitor);
+    }
   }
 }
@@ -48,10 +48,10 @@ public class CDReactionScheme extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitReactionScheme(this);
-    for (CDReactionStep step : steps) {
-      step.accept(visitor);
+    if (!descend(visitor, visitor.enterReactionScheme(this))) {
+      return;
     }
+    acceptAll(visitor, steps);
     super.accept(visitor);
   }
 }
@@ -154,7 +154,8 @@ public class CDReactionStep extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitReactionStep(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterReactionStep(this))) {
+      super.accept(visitor);
+    }
   }
 }
@@ -153,11 +153,60 @@ public class CDSettings {
    */
   private boolean hideImplicitHydrogens = false;
 
+  /** Whether these are the shared default settings of {@link CDObject} and must not be modified. */
+  private boolean frozen;
+
+  public CDSettings() {}
+
+  /**
+   * Creates a modifiable copy of other settings. Colors, fonts and font faces are shared, since
+   * the values read from a document are interned and cannot be modified.
+   *
+   * @param other the settings to copy
+   */
+  public CDSettings(CDSettings other) {
+    this.color = other.color;
+    this.backgroundColor = other.backgroundColor;
+    this.highlightColor = other.highlightColor;
+    this.lineWidth = other.lineWidth;
+    this.boldWidth = other.boldWidth;
+    this.bondLength = other.bondLength;
+    this.bondSpacing = other.bondSpacing;
+    this.bondSpacingAbs = other.bondSpacingAbs;
+    this.chainAngle = other.chainAngle;
+    this.hashSpacing = other.hashSpacing;
+    this.marginWidth = other.marginWidth;
+    this.captionColor = other.captionColor;
+    this.captionFace = other.captionFace;
+    this.captionFont = other.captionFont;
+    this.captionSize = other.captionSize;
+    this.captionJustification = other.captionJustification;
+    this.captionLineHeight = other.captionLineHeight;
+    this.interpretChemically = other.interpretChemically;
+    this.labelColor = other.labelColor;
+    this.labelFace = other.labelFace;
+    this.labelFont = other.labelFont;
+    this.labelSize = other.labelSize;
+    this.labelJustification = other.labelJustification;
+    this.labelLineHeight = other.labelLineHeight;
+    this.showAtomEnhancedStereo = other.showAtomEnhancedStereo;
+    this.showAtomNumber = other.showAtomNumber;
+    this.showAtomQuery = other.showAtomQuery;
+    this.showAtomStereo = other.showAtomStereo;
+    this.showBondQuery = other.showBondQuery;
+    this.showBondReaction = other.showBondReaction;
+    this.showBondStereo = other.showBondStereo;
+    this.showNonTerminalCarbonLabels = other.showNonTerminalCarbonLabels;
+    this.showTerminalCarbonLabels = other.showTerminalCarbonLabels;
+    this.hideImplicitHydrogens = other.hideImplicitHydrogens;
+  }
+
   public CDColor getBackgroundColor() {
     return backgroundColor;
   }
 
   public void setBackgroundColor(CDColor backgroundColor) {
+    checkMutable();
     this.backgroundColor = backgroundColor;
   }
 
@@ -166,6 +215,7 @@ public class CDSettings {
   }
 
   public void setBoldWidth(float boldWidth) {
+    checkMutable();
     this.boldWidth = boldWidth;
   }
 
@@ -174,6 +224,7 @@ public class CDSettings {
   }
 
   public void setBondLength(float bondLength) {
+    checkMutable();
     this.bondLength = bondLength;
   }
 
@@ -182,6 +233,7 @@ public class CDSettings {
   }
 
   public void setBondSpacing(float bondSpacing) {
+    checkMutable();
     this.bondSpacing = bondSpacing;
   }
 
@@ -190,6 +242,7 @@ public class CDSettings {
   }
 
   public void setCaptionColor(CDColor captionColor) {
+    checkMutable();
     this.captionColor = captionColor;
   }
 
@@ -198,6 +251,7 @@ public class CDSettings {
   }
 
   public void setCaptionFace(CDFontFace captionFace) {
+    checkMutable();
     this.captionFace = captionFace;
   }
 
@@ -206,6 +260,7 @@ public class CDSettings {
   }
 
   public void setCaptionFont(CDFont captionFont) {
+    checkMutable();
     this.captionFont = captionFont;
   }
 
@@ -214,6 +269,7 @@ public class CDSettings {
   }
 
   public void setCaptionJustification(CDJustification captionJustification) {
+    checkMutable();
     this.captionJustification = captionJustification;
   }
 
@@ -222,6 +278,7 @@ public class CDSettings {
   }
 
   public void setCaptionLineHeight(float captionLineHeight) {
+    checkMutable();
     this.captionLineHeight = captionLineHeight;
   }
 
@@ -230,6 +287,7 @@ public class CDSettings {
   }
 
   public void setCaptionSize(float captionSize) {
+    checkMutable();
     this.captionSize = captionSize;
   }
 
@@ -238,6 +296,7 @@ public class CDSettings {
   }
 
   public void setChainAngle(float chainAngle) {
+    checkMutable();
     this.chainAngle = chainAngle;
   }
 
@@ -246,6 +305,7 @@ public class CDSettings {
   }
 
   public void setColor(CDColor color) {
+    checkMutable();
     this.color = color;
   }
 
@@ -254,6 +314,7 @@ public class CDSettings {
   }
 
   public void setHashSpacing(float hashSpacing) {
+    checkMutable();
     this.hashSpacing = hashSpacing;
   }
 
@@ -262,6 +323,7 @@ public class CDSettings {
   }
 
   public void setHighlightColor(CDColor highlightColor) {
+    checkMutable();
     this.highlightColor = highlightColor;
   }
 
@@ -270,6 +332,7 @@ public class CDSettings {
   }
 
   public void setHideImplicitHydrogens(boolean hideImplicitHydrogens) {
+    checkMutable();
     this.hideImplicitHydrogens = hideImplicitHydrogens;
   }
 
@@ -278,6 +341,7 @@ public class CDSettings {
   }
 
   public void setInterpretChemically(boolean interpretChemically) {
+    checkMutable();
     this.interpretChemically = interpretChemically;
   }
 
@@ -286,6 +350,7 @@ public class CDSettings {
   }
 
   public void setLabelColor(CDColor labelColor) {
+    checkMutable();
     this.labelColor = labelColor;
   }
 
@@ -294,6 +359,7 @@ public class CDSettings {
   }
 
   public void setLabelFace(CDFontFace labelFace) {
+    checkMutable();
     this.labelFace = labelFace;
   }
 
@@ -302,6 +368,7 @@ public class CDSettings {
   }
 
   public void setLabelFont(CDFont labelFont) {
+    checkMutable();
     this.labelFont = labelFont;
   }
 
@@ -310,6 +377,7 @@ public class CDSettings {
   }
 
   public void setLabelJustification(CDJustification labelJustification) {
+    checkMutable();
     this.labelJustification = labelJustification;
   }
 
@@ -318,6 +386,7 @@ public class CDSettings {
   }
 
   public void setLabelLineHeight(float labelLineHeight) {
+    checkMutable();
     this.labelLineHeight = labelLineHeight;
   }
 
@@ -326,6 +395,7 @@ public class CDSettings {
   }
 
   public void setLabelSize(float labelSize) {
+    checkMutable();
     this.labelSize = labelSize;
   }
 
@@ -334,6 +404,7 @@ public class CDSettings {
   }
 
   public void setLineWidth(float lineWidth) {
+    checkMutable();
     this.lineWidth = lineWidth;
   }
 
@@ -342,6 +413,7 @@ public class CDSettings {
   }
 
   public void setMarginWidth(float marginWidth) {
+    checkMutable();
     this.marginWidth = marginWidth;
   }
 
@@ -350,6 +422,7 @@ public class CDSettings {
   }
 
   public void setShowAtomEnhancedStereo(boolean showAtomEnhancedStereo) {
+    checkMutable();
     this.showAtomEnhancedStereo = showAtomEnhancedStereo;
   }
 
@@ -358,6 +431,7 @@ public class CDSettings {
   }
 
   public void setShowAtomNumber(boolean showAtomNumber) {
+    checkMutable();
     this.showAtomNumber = showAtomNumber;
   }
 
@@ -366,6 +440,7 @@ public class CDSettings {
   }
 
   public void setShowAtomQuery(boolean showAtomQuery) {
+    checkMutable();
     this.showAtomQuery = showAtomQuery;
   }
 
@@ -374,6 +449,7 @@ public class CDSettings {
   }
 
   public void setShowAtomStereo(boolean showAtomStereo) {
+    checkMutable();
     this.showAtomStereo = showAtomStereo;
   }
 
@@ -382,6 +458,7 @@ public class CDSettings {
   }
 
   public void setShowBondQuery(boolean showBondQuery) {
+    checkMutable();
     this.showBondQuery = showBondQuery;
   }
 
@@ -390,6 +467,7 @@ public class CDSettings {
   }
 
   public void setShowBondReaction(boolean showBondReaction) {
+    checkMutable();
     this.showBondReaction = showBondReaction;
   }
 
@@ -398,6 +476,7 @@ public class CDSettings {
   }
 
   public void setShowBondStereo(boolean showBondStereo) {
+    checkMutable();
     this.showBondStereo = showBondStereo;
   }
 
@@ -406,6 +485,7 @@ public class CDSettings {
   }
 
   public void setShowNonTerminalCarbonLabels(boolean showNonTerminalCarbonLabels) {
+    checkMutable();
     this.showNonTerminalCarbonLabels = showNonTerminalCarbonLabels;
   }
 
@@ -414,6 +494,7 @@ public class CDSettings {
   }
 
   public void setShowTerminalCarbonLabels(boolean showTerminalCarbonLabels) {
+    checkMutable();
     this.showTerminalCarbonLabels = showTerminalCarbonLabels;
   }
 
@@ -422,6 +503,19 @@ public class CDSettings {
   }
 
   public void setBondSpacingAbs(float bondSpacingAbs) {
+    checkMutable();
     this.bondSpacingAbs = bondSpacingAbs;
   }
+
+  /** Freezes these settings when they become the shared default settings of {@link CDObject}. */
+  CDSettings freeze() {
+    frozen = true;
+    return this;
+  }
+
+  private void checkMutable() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Default settings cannot be modified");
+    }
+  }
 }
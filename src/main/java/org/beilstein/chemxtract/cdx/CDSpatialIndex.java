@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Uniform grid over the bounding boxes of page objects, answering nearest-neighbour and
+ * intersection queries without scanning every object. The index is immutable; build it once per
+ * page and reuse it for all queries against the same set of objects.
+ *
+ * <p>Distances are gaps between axis-aligned boxes, {@code 0} if they overlap. Objects to be
+ * compared by their centres can be indexed with a degenerate box at the centre, see {@link
+ * #centerOf(CDRectangle)}. Ties are broken by the order in which the objects were given, so
+ * results match a linear scan keeping the first closest object.
+ *
+ * @param <T> the type of the indexed objects
+ */
+public final class CDSpatialIndex<T> {
+  /** Upper limit for the number of cells along one axis. */
+  private static final int MAX_CELLS = 256;
+
+  private final List<T> items;
+
+  /** Boxes of the items as minX, minY, maxX, maxY quadruples. */
+  private final double[] boxes;
+
+  private final double originX;
+  private final double originY;
+  private final double cellSize;
+  private final int columns;
+  private final int rows;
+
+  /** Item indices per cell, cell (column, row) at {@code row * columns + column}. */
+  private final int[][] cells;
+
+  /**
+   * Builds an index. Objects without bounds are not indexed.
+   *
+   * @param objects the objects to index
+   * @param bounds returns the bounding box of an object, or {@code null}
+   */
+  public CDSpatialIndex(List<? extends T> objects, Function<? super T, CDRectangle> bounds) {
+    List<T> indexed = new ArrayList<>(objects.size());
+    double[] b = new double[objects.size() * 4];
+    double minX = Double.MAX_VALUE;
+    double minY = Double.MAX_VALUE;
+    double maxX = -Double.MAX_VALUE;
+    double maxY = -Double.MAX_VALUE;
+    double sides = 0;
+    for (T object : objects) {
+      CDRectangle rectangle = object == null ? null : bounds.apply(object);
+      if (rectangle == null) {
+        continue;
+      }
+      int offset = indexed.size() * 4;
+      b[offset] = rectangle.getMinX();
+      b[offset + 1] = rectangle.getMinY();
+      b[offset + 2] = rectangle.getMaxX();
+      b[offset + 3] = rectangle.getMaxY();
+      minX = Math.min(minX, b[offset]);
+      minY = Math.min(minY, b[offset + 1]);
+      maxX = Math.max(maxX, b[offset + 2]);
+      maxY = Math.max(maxY, b[offset + 3]);
+      sides += Math.max(b[offset + 2] - b[offset], b[offset + 3] - b[offset + 1]);
+      indexed.add(object);
+    }
+    this.items = Collections.unmodifiableList(indexed);
+    this.boxes = Arrays.copyOf(b, indexed.size() * 4);
+
+    if (indexed.isEmpty()) {
+      originX = 0;
+      originY = 0;
+      cellSize = 1;
+      columns = 0;
+      rows = 0;
+      cells = new int[0][];
+      return;
+    }
+    // about one object per cell, but cells not smaller than the average object
+    double width = maxX - minX;
+    double height = maxY - minY;
+    double size = Math.max(Math.sqrt(width * height / indexed.size()), sides / indexed.size());
+    size = Math.max(size, Math.max(width, height) / MAX_CELLS);
+    if (!(size > 0)) {
+      size = 1;
+    }
+    this.originX = minX;
+    this.originY = minY;
+    this.cellSize = size;
+    this.columns = Math.min(MAX_CELLS, (int) (width / size) + 1);
+    this.rows = Math.min(MAX_CELLS, (int) (height / size) + 1);
+
+    int[] counts = new int[columns * rows];
+    for (int i = 0; i < indexed.size(); i++) {
+      forEachCell(i, cell -> counts[cell]++);
+    }
+    this.cells = new int[counts.length][];
+    for (int cell = 0; cell < counts.length; cell++) {
+      cells[cell] = new int[counts[cell]];
+      counts[cell] = 0;
+    }
+    for (int i = 0; i < indexed.size(); i++) {
+      int item = i;
+      forEachCell(i, cell -> cells[cell][counts[cell]++] = item);
+    }
+  }
+
+  private void forEachCell(int item, IntConsumer action) {
+    int column0 = column(boxes[item * 4]);
+    int row0 = row(boxes[item * 4 + 1]);
+    int column1 = column(boxes[item * 4 + 2]);
+    int row1 = row(boxes[item * 4 + 3]);
+    for (int row = row0; row <= row1; row++) {
+      for (int column = column0; column <= column1; column++) {
+        action.accept(row * columns + column);
+      }
+    }
+  }
+
+  private int column(double x) {
+    return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - originX) / cellSize)));
+  }
+
+  private int row(double y) {
+    return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - originY) / cellSize)));
+  }
+
+  /**
+   * Returns a degenerate rectangle at the centre of the given one, for indexing or querying by
+   * centre distance.
+   *
+   * @param rectangle the rectangle, may be {@code null}
+   * @return the centre as a rectangle, or {@code null} if no rectangle was given
+   */
+  public static CDRectangle centerOf(CDRectangle rectangle) {
+    if (rectangle == null) {
+      return null;
+    }
+    CDRectangle center = new CDRectangle();
+    center.setLeft(rectangle.getCenterX());
+    center.setRight(rectangle.getCenterX());
+    center.setTop(rectangle.getCenterY());
+    center.setBottom(rectangle.getCenterY());
+    return center;
+  }
+
+  /**
+   * Returns the indexed objects in the order they were given.
+   *
+   * @return the objects with bounds
+   */
+  public List<T> getObjects() {
+    return items;
+  }
+
+  /**
+   * Finds the object closest to the query box.
+   *
+   * @param query the query box
+   * @param maxDistance objects farther away than this are ignored
+   * @param filter objects not accepted by the filter are ignored
+   * @return the closest accepted object, the first given one on ties, or {@code null}
+   */
+  public T nearest(CDRectangle query, double maxDistance, Predicate<? super T> filter) {
+    if (query == null || items.isEmpty()) {
+      return null;
+    }
+    double qMinX = query.getMinX();
+    double qMinY = query.getMinY();
+    double qMaxX = query.getMaxX();
+    double qMaxY = query.getMaxY();
+    int column0 = column(qMinX);
+    int row0 = row(qMinY);
+    int column1 = column(qMaxX);
+    int row1 = row(qMaxY);
+
+    int best = -1;
+    double bestDistance = maxDistance;
+    BitSet seen = new BitSet(items.size());
+    for (int ring = 0; ; ring++) {
+      int left = column0 - ring;
+      int top = row0 - ring;
+      int right = column1 + ring;
+      int bottom = row1 + ring;
+      if (left < 0 && top < 0 && right >= columns && bottom >= rows && ring > 0) {
+        break;
+      }
+      for (int row = Math.max(0, top); row <= Math.min(rows - 1, bottom); row++) {
+        boolean edgeRow = row == top || row == bottom;
+        for (int column = Math.max(0, left); column <= Math.min(columns - 1, right); column++) {
+          if (ring > 0 && !edgeRow && column != left && column != right) {
+            continue;
+          }
+          for (int item : cells[row * columns + column]) {
+            if (seen.get(item)) {
+              continue;
+            }
+            seen.set(item);
+            double distance = distance(item, qMinX, qMinY, qMaxX, qMaxY);
+            boolean closer = distance < bestDistance || distance == bestDistance && item < best;
+            if ((closer || best < 0 && distance <= maxDistance) && filter.test(items.get(item))) {
+              best = item;
+              bestDistance = distance;
+            }
+          }
+        }
+      }
+      // objects not seen yet lie entirely outside the cells covered so far
+      if (outsideDistance(left, top, right, bottom, qMinX, qMinY, qMaxX, qMaxY) > bestDistance) {
+        break;
+      }
+    }
+    return best < 0 ? null : items.get(best);
+  }
+
+  /** Lower bound for the distance of objects outside the given cell range. */
+  private double outsideDistance(
+      int left,
+      int top,
+      int right,
+      int bottom,
+      double qMinX,
+      double qMinY,
+      double qMaxX,
+      double qMaxY) {
+    double bound = Double.POSITIVE_INFINITY;
+    if (left > 0) {
+      bound = Math.min(bound, qMinX - (originX + left * cellSize));
+    }
+    if (top > 0) {
+      bound = Math.min(bound, qMinY - (originY + top * cellSize));
+    }
+    if (right < columns - 1) {
+      bound = Math.min(bound, originX + (right + 1) * cellSize - qMaxX);
+    }
+    if (bottom < rows - 1) {
+      bound = Math.min(bound, originY + (bottom + 1) * cellSize - qMaxY);
+    }
+    return bound;
+  }
+
+  /**
+   * Finds all objects whose boxes intersect or touch the query box.
+   *
+   * @param query the query box
+   * @return the intersecting objects in the order they were given
+   */
+  public List<T> intersecting(CDRectangle query) {
+    return withinDistance(query, 0);
+  }
+
+  /**
+   * Finds all objects within the given distance of the query box.
+   *
+   * @param query the query box
+   * @param distance the maximum gap between the boxes
+   * @return the objects in the order they were given
+   */
+  public List<T> withinDistance(CDRectangle query, double distance) {
+    if (query == null || items.isEmpty()) {
+      return Collections.emptyList();
+    }
+    double qMinX = query.getMinX();
+    double qMinY = query.getMinY();
+    double qMaxX = query.getMaxX();
+    double qMaxY = query.getMaxY();
+    BitSet found = new BitSet(items.size());
+    for (int row = row(qMinY - distance); row <= row(qMaxY + distance); row++) {
+      for (int column = column(qMinX - distance); column <= column(qMaxX + distance); column++) {
+        for (int item : cells[row * columns + column]) {
+          if (!found.get(item) && distance(item, qMinX, qMinY, qMaxX, qMaxY) <= distance) {
+            found.set(item);
+          }
+        }
+      }
+    }
+    return found.stream().mapToObj(items::get).toList();
+  }
+
+  private double distance(int item, double qMinX, double qMinY, double qMaxX, double qMaxY) {
+    int offset = item * 4;
+    double dx = Math.max(0, Math.max(boxes[offset] - qMaxX, qMinX - boxes[offset + 2]));
+    double dy = Math.max(0, Math.max(boxes[offset + 1] - qMaxY, qMinY - boxes[offset + 3]));
+    return Math.hypot(dx, dy);
+  }
+}
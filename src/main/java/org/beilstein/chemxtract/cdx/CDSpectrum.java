@@ -120,7 +120,8 @@ public class CDSpectrum extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitSpectrum(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterSpectrum(this))) {
+      super.accept(visitor);
+    }
   }
 }
@@ -21,15 +21,15 @@
  */
 package org.beilstein.chemxtract.cdx;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import org.beilstein.chemxtract.cdx.datatypes.CDArrowHeadPositionType;
 import org.beilstein.chemxtract.cdx.datatypes.CDArrowHeadType;
 import org.beilstein.chemxtract.cdx.datatypes.CDFillType;
 import org.beilstein.chemxtract.cdx.datatypes.CDLineType;
 import org.beilstein.chemxtract.cdx.datatypes.CDPoint2D;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint2DList;
 import org.beilstein.chemxtract.cdx.datatypes.CDPoint3D;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint3DList;
 
 /** This object represents a Bezier curve. */
 public class CDSpline extends CDObject {
@@ -48,10 +48,10 @@ public class CDSpline extends CDObject {
   /** The line type of the spline. */
   private CDLineType lineType = new CDLineType();
 
-  /** The points used to describe the spline. */
-  private List<CDPoint2D> points2D;
+  /** The points used to describe the spline, packed into a coordinate array. */
+  private CDPoint2DList points2D;
 
-  private List<CDPoint3D> points3D;
+  private CDPoint3DList points3D;
 
   private boolean closed = false;
 
@@ -71,20 +71,20 @@ public class CDSpline extends CDObject {
     this.lineType = lineType;
   }
 
-  public List<CDPoint2D> getPoints2D() {
-    return points2D == null ? null : Collections.unmodifiableList(points2D);
+  public CDPoint2DList getPoints2D() {
+    return points2D;
   }
 
   public void setPoints2D(List<CDPoint2D> points2D) {
-    this.points2D = points2D == null ? null : new ArrayList<>(points2D);
+    this.points2D = points2D == null ? null : CDPoint2DList.copyOf(points2D);
   }
 
-  public List<CDPoint3D> getPoints3D() {
-    return points3D == null ? null : Collections.unmodifiableList(points3D);
+  public CDPoint3DList getPoints3D() {
+    return points3D;
   }
 
   public void setPoints3D(List<CDPoint3D> points3D) {
-    this.points3D = points3D == null ? null : new ArrayList<>(points3D);
+    this.points3D = points3D == null ? null : CDPoint3DList.copyOf(points3D);
   }
 
   public CDArrowHeadType getArrowHeadType() {
@@ -121,7 +121,8 @@ public class CDSpline extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitCurve(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterCurve(this))) {
+      super.accept(visitor);
+    }
   }
 }
@@ -172,7 +172,8 @@ public class CDTLCPlate extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitTLCPlate(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterTLCPlate(this))) {
+      super.accept(visitor);
+    }
   }
 }
@@ -43,10 +43,10 @@ public class CDTable extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitTable(this);
-    for (CDPage page : pages) {
-      page.accept(visitor);
+    if (!descend(visitor, visitor.enterTable(this))) {
+      return;
     }
+    acceptAll(visitor, pages);
     super.accept(visitor);
   }
 }
@@ -121,7 +121,8 @@ public class CDText extends CDObject {
 
   @Override
   public void accept(CDVisitor visitor) {
-    visitor.visitText(this);
-    super.accept(visitor);
+    if (descend(visitor, visitor.enterText(this))) {
+      super.accept(visitor);
+    }
   }
 }
@@ -35,11 +35,20 @@ import org.slf4j.LoggerFactory;
  * subclasses that only override a subset of the visitor protocol. Each method delegates to {@link
  * #visitDefault(Object)} so subclasses may also override that single hook to react to every
  * otherwise-unhandled visit.
+ *
+ * <p>The {@code accept} implementations call the result-returning {@code enterXxx} variants, which
+ * delegate to {@code visitXxx} and then to {@link #enterDefault(CDObject)}. Visitors that only need
+ * part of the tree override these to prune the traversal: {@link CDVisitResult#SKIP_SUBTREE} skips
+ * the children of an object and {@link CDVisitResult#TERMINATE} stops the traversal altogether.
+ * Every entered object is completed with {@link #leaveObject(CDObject)}.
  */
 public class CDVisitor {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CDVisitor.class);
 
+  /** Whether an {@code enterXxx} callback returned {@link CDVisitResult#TERMINATE}. */
+  private boolean terminated;
+
   /**
    * Default callback invoked from every unoverridden {@code visitXxx} method. The base
    * implementation only emits a TRACE-level log of the visited object; subclasses may override it
@@ -51,6 +60,53 @@ public class CDVisitor {
     LOGGER.trace("Unhandled visit: {}", object);
   }
 
+  /**
+   * Default result of every unoverridden {@code enterXxx} method, called after the corresponding
+   * {@code visitXxx} callback. The base implementation always returns {@link
+   * CDVisitResult#CONTINUE}; pruning visitors may override it to skip the subtrees of objects they
+   * are not interested in.
+   *
+   * @param object the entered object
+   * @return how the traversal continues
+   */
+  protected CDVisitResult enterDefault(CDObject object) {
+    return CDVisitResult.CONTINUE;
+  }
+
+  /**
+   * Returns whether the traversal has been stopped by an {@code enterXxx} callback returning {@link
+   * CDVisitResult#TERMINATE}. A terminated visitor stays terminated.
+   *
+   * @return {@code true} if no further objects are visited
+   */
+  public boolean isTerminated() {
+    return terminated;
+  }
+
+  /**
+   * Applies the result of an {@code enterXxx} callback. Called by the {@code accept}
+   * implementations.
+   *
+   * @param result the result of the callback
+   * @return {@code true} if the children of the entered object are to be visited
+   */
+  boolean descend(CDVisitResult result) {
+    if (result == CDVisitResult.TERMINATE) {
+      terminated = true;
+    }
+    return result == CDVisitResult.CONTINUE;
+  }
+
+  /**
+   * Callback invoked after an object and all of its children have been visited, so that visitors
+   * can follow the nesting of objects (e.g. to record parents). Does nothing by default.
+   *
+   * @param object the object whose subtree has been visited
+   */
+  public void leaveObject(CDObject object) {
+    // no-op by default
+  }
+
   public void visitDocument(CDDocument document) {
     visitDefault(document);
   }
@@ -182,4 +238,107 @@ public class CDVisitor {
   public void visitArrow(CDArrow arrow) {
     visitDefault(arrow);
   }
+
+  // Result-returning variants, called by the accept implementations. Each one delegates to the
+  // matching visitXxx method and then to enterDefault.
+
+  public CDVisitResult enterPage(CDPage page) {
+    visitPage(page);
+    return enterDefault(page);
+  }
+
+  public CDVisitResult enterGroup(CDGroup group) {
+    visitGroup(group);
+    return enterDefault(group);
+  }
+
+  public CDVisitResult enterFragment(CDFragment fragment) {
+    visitFragment(fragment);
+    return enterDefault(fragment);
+  }
+
+  public CDVisitResult enterAtom(CDAtom atom) {
+    visitAtom(atom);
+    return enterDefault(atom);
+  }
+
+  public CDVisitResult enterBond(CDBond bond) {
+    visitBond(bond);
+    return enterDefault(bond);
+  }
+
+  public CDVisitResult enterText(CDText text) {
+    visitText(text);
+    return enterDefault(text);
+  }
+
+  public CDVisitResult enterGraphic(CDGraphic graphic) {
+    visitGraphic(graphic);
+    return enterDefault(graphic);
+  }
+
+  public CDVisitResult enterBracketedGroup(CDBracket bracketedGroup) {
+    visitBracketedGroup(bracketedGroup);
+    return enterDefault(bracketedGroup);
+  }
+
+  public CDVisitResult enterCurve(CDSpline curve) {
+    visitCurve(curve);
+    return enterDefault(curve);
+  }
+
+  public CDVisitResult enterEmbeddedObject(CDPicture embeddedObject) {
+    visitEmbeddedObject(embeddedObject);
+    return enterDefault(embeddedObject);
+  }
+
+  public CDVisitResult enterTable(CDTable table) {
+    visitTable(table);
+    return enterDefault(table);
+  }
+
+  public CDVisitResult enterNamedAlternativeGroup(CDAltGroup namedAlternativeGroup) {
+    visitNamedAlternativeGroup(namedAlternativeGroup);
+    return enterDefault(namedAlternativeGroup);
+  }
+
+  public CDVisitResult enterReactionScheme(CDReactionScheme reactionScheme) {
+    visitReactionScheme(reactionScheme);
+    return enterDefault(reactionScheme);
+  }
+
+  public CDVisitResult enterReactionStep(CDReactionStep reactionStep) {
+    visitReactionStep(reactionStep);
+    return enterDefault(reactionStep);
+  }
+
+  public CDVisitResult enterSpectrum(CDSpectrum spectrum) {
+    visitSpectrum(spectrum);
+    return enterDefault(spectrum);
+  }
+
+  public CDVisitResult enterObjectTag(CDObjectTag objectTag) {
+    visitObjectTag(objectTag);
+    return enterDefault(objectTag);
+  }
+
+  public CDVisitResult enterGeometry(CDGeometry geometry) {
+    visitGeometry(geometry);
+    return enterDefault(geometry);
+  }
+
+  public CDVisitResult enterConstraint(CDConstraint constraint) {
+    visitConstraint(constraint);
+    return enterDefault(constraint);
+  }
+
+  public CDVisitResult enterTLCPlate(CDTLCPlate tlcPlate) {
+    visitTLCPlate(tlcPlate);
+    return enterDefault(tlcPlate);
+  }
+
+  public CDVisitResult enterArrow(CDArrow arrow) {
+    visitArrow(arrow);
+    return enterDefault(arrow);
+  }
 }
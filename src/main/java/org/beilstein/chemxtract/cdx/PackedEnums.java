@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+/**
+ * Helper for storing small enum values and flags in the bits of a single {@code long} field. Each
+ * enum occupies a slot of {@link #SLOT_BITS} bits holding its ordinal plus one, so that zero stands
+ * for {@code null}.
+ */
+final class PackedEnums {
+  /** Number of bits of an enum slot, enough for enums with up to 31 constants. */
+  static final int SLOT_BITS = 5;
+
+  private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+
+  private PackedEnums() {
+    // hide implicit public constructor
+  }
+
+  /**
+   * Reads the enum stored in a slot.
+   *
+   * @param bits the packed bits
+   * @param shift the position of the slot's lowest bit
+   * @param values the constants of the enum, in ordinal order
+   * @return the stored constant, or {@code null}
+   */
+  static <E extends Enum<E>> E get(long bits, int shift, E[] values) {
+    int value = (int) ((bits >>> shift) & SLOT_MASK);
+    return value == 0 ? null : values[value - 1];
+  }
+
+  /**
+   * Stores an enum in a slot.
+   *
+   * @param bits the packed bits
+   * @param shift the position of the slot's lowest bit
+   * @param value the constant to store, or {@code null}
+   * @return the updated bits
+   */
+  static long set(long bits, int shift, Enum<?> value) {
+    long stored = value == null ? 0 : value.ordinal() + 1;
+    if (stored > SLOT_MASK) {
+      throw new IllegalArgumentException("Enum constant " + value + " doesn't fit into a slot");
+    }
+    return (bits & ~(SLOT_MASK << shift)) | (stored << shift);
+  }
+
+  /**
+   * Reads a single flag bit.
+   *
+   * @param bits the packed bits
+   * @param bit the position of the flag
+   * @return the flag
+   */
+  static boolean getFlag(long bits, int bit) {
+    return (bits & (1L << bit)) != 0;
+  }
+
+  /**
+   * Sets or clears a single flag bit.
+   *
+   * @param bits the packed bits
+   * @param bit the position of the flag
+   * @param flag the new value of the flag
+   * @return the updated bits
+   */
+  static long setFlag(long bits, int bit, boolean flag) {
+    return flag ? bits | (1L << bit) : bits & ~(1L << bit);
+  }
+}
@@ -26,19 +26,22 @@ public class CDColor {
 
   private static final float DELTA = 0.001f;
 
-  public static final CDColor WHITE = new CDColor(1, 1, 1);
-  public static final CDColor BLACK = new CDColor(0, 0, 0);
-  public static final CDColor RED = new CDColor(1, 0, 0);
-  public static final CDColor YELLOW = new CDColor(1, 1, 0);
-  public static final CDColor GREEN = new CDColor(0, 1, 0);
-  public static final CDColor CYAN = new CDColor(0, 1, 1);
-  public static final CDColor BLUE = new CDColor(0, 0, 1);
-  public static final CDColor MAGENTA = new CDColor(1, 0, 1);
+  public static final CDColor WHITE = constant(1, 1, 1);
+  public static final CDColor BLACK = constant(0, 0, 0);
+  public static final CDColor RED = constant(1, 0, 0);
+  public static final CDColor YELLOW = constant(1, 1, 0);
+  public static final CDColor GREEN = constant(0, 1, 0);
+  public static final CDColor CYAN = constant(0, 1, 1);
+  public static final CDColor BLUE = constant(0, 0, 1);
+  public static final CDColor MAGENTA = constant(1, 0, 1);
 
   private float myRed;
   private float myGreen;
   private float myBlue;
 
+  /** Whether this value is shared by a {@link CDInterner} and must not be modified. */
+  private boolean frozen;
+
   public CDColor() {}
 
   public CDColor(float red, float green, float blue) {
@@ -47,11 +50,19 @@ public class CDColor {
     this.myBlue = blue;
   }
 
+  /** Creates one of the predefined colors, which are shared and therefore frozen. */
+  private static CDColor constant(float red, float green, float blue) {
+    CDColor color = new CDColor(red, green, blue);
+    color.freeze();
+    return color;
+  }
+
   public float getRed() {
     return myRed;
   }
 
   public void setRed(float red) {
+    checkMutable();
     this.myRed = red;
   }
 
@@ -60,6 +71,7 @@ public class CDColor {
   }
 
   public void setGreen(float green) {
+    checkMutable();
     this.myGreen = green;
   }
 
@@ -68,9 +80,21 @@ public class CDColor {
   }
 
   public void setBlue(float blue) {
+    checkMutable();
     this.myBlue = blue;
   }
 
+  /** Freezes this color when it becomes the shared instance of a {@link CDInterner}. */
+  void freeze() {
+    frozen = true;
+  }
+
+  private void checkMutable() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Interned " + this + " cannot be modified");
+    }
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -26,11 +26,15 @@ public class CDFont {
   private CDCharSet charSet;
   private String name;
 
+  /** Whether this value is shared by a {@link CDInterner} and must not be modified. */
+  private boolean frozen;
+
   public CDCharSet getCharSet() {
     return charSet;
   }
 
   public void setCharSet(CDCharSet charSet) {
+    checkMutable();
     this.charSet = charSet;
   }
 
@@ -39,9 +43,21 @@ public class CDFont {
   }
 
   public void setName(String name) {
+    checkMutable();
     this.name = name;
   }
 
+  /** Freezes this font when it becomes the shared instance of a {@link CDInterner}. */
+  void freeze() {
+    frozen = true;
+  }
+
+  private void checkMutable() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Interned " + this + " cannot be modified");
+    }
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -47,6 +47,9 @@ public class CDFontFace {
   /** Formula text style attribute. */
   private boolean formula = false;
 
+  /** Whether this value is shared by a {@link CDInterner} and must not be modified. */
+  private boolean frozen;
+
   /**
    * Return true, if the font face has no additional style attributes.
    *
@@ -69,6 +72,7 @@ public class CDFontFace {
    * @param plain True, if all additional style attributes should be removed
    */
   public void setPlain(boolean plain) {
+    checkMutable();
     if (plain) {
       setBold(false);
       setItalic(false);
@@ -86,6 +90,7 @@ public class CDFontFace {
   }
 
   public void setBold(boolean bold) {
+    checkMutable();
     this.bold = bold;
   }
 
@@ -94,6 +99,7 @@ public class CDFontFace {
   }
 
   public void setItalic(boolean italic) {
+    checkMutable();
     this.italic = italic;
   }
 
@@ -102,6 +108,7 @@ public class CDFontFace {
   }
 
   public void setUnderline(boolean underline) {
+    checkMutable();
     this.underline = underline;
   }
 
@@ -110,6 +117,7 @@ public class CDFontFace {
   }
 
   public void setOutline(boolean outline) {
+    checkMutable();
     this.outline = outline;
   }
 
@@ -118,6 +126,7 @@ public class CDFontFace {
   }
 
   public void setShadow(boolean shadow) {
+    checkMutable();
     this.shadow = shadow;
   }
 
@@ -126,6 +135,7 @@ public class CDFontFace {
   }
 
   public void setSubscript(boolean subscript) {
+    checkMutable();
     this.subscript = subscript;
     if (subscript) {
       setSuperscript(false);
@@ -138,6 +148,7 @@ public class CDFontFace {
   }
 
   public void setSuperscript(boolean superscript) {
+    checkMutable();
     this.superscript = superscript;
     if (superscript) {
       setSubscript(false);
@@ -150,6 +161,7 @@ public class CDFontFace {
   }
 
   public void setFormula(boolean formula) {
+    checkMutable();
     this.formula = formula;
     if (formula) {
       setSubscript(false);
@@ -157,6 +169,17 @@ public class CDFontFace {
     }
   }
 
+  /** Freezes this font face when it becomes the shared instance of a {@link CDInterner}. */
+  void freeze() {
+    frozen = true;
+  }
+
+  private void checkMutable() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Interned " + this + " cannot be modified");
+    }
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx.datatypes;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.beilstein.chemxtract.cdx.datatypes.CDStyledString.CDXChunk;
+
+/**
+ * Weak, thread-safe canonicalisation of the small value types that documents repeat over and over,
+ * such as colours, fonts, font faces, line types and short styled text chunks. The readers intern
+ * these values, so that equal values share one instance across all objects and all documents read
+ * by the application.
+ *
+ * <p>Interned values are frozen: their setters throw an {@link UnsupportedOperationException}, as a
+ * modification would affect every object sharing the value. Create a new value instead. The
+ * table only holds weak references, so values no longer used by any document are garbage
+ * collected.
+ *
+ * @param <T> the type of the interned values
+ */
+public final class CDInterner<T> {
+
+  /** Shared colours. */
+  public static final CDInterner<CDColor> COLORS = new CDInterner<>(CDColor::freeze);
+
+  /** Shared fonts. */
+  public static final CDInterner<CDFont> FONTS = new CDInterner<>(CDFont::freeze);
+
+  /** Shared font faces. */
+  public static final CDInterner<CDFontFace> FONT_FACES = new CDInterner<>(CDFontFace::freeze);
+
+  /** Shared line types. */
+  public static final CDInterner<CDLineType> LINE_TYPES = new CDInterner<>(CDLineType::freeze);
+
+  /** Maximum text length of the styled text chunks that are interned by {@link #internChunk}. */
+  public static final int MAX_CHUNK_LENGTH = 16;
+
+  private static final CDInterner<CDXChunk> CHUNKS = new CDInterner<>(CDXChunk::freeze);
+
+  private final ConcurrentHashMap<WeakKey<T>, WeakKey<T>> table = new ConcurrentHashMap<>();
+  private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+  private final Consumer<T> freezer;
+
+  private CDInterner(Consumer<T> freezer) {
+    this.freezer = freezer;
+  }
+
+  /**
+   * Returns the canonical instance of a styled text chunk. Only short chunks, like atom labels or
+   * the runs of a formula, are worth sharing; longer chunks are returned unchanged.
+   *
+   * @param chunk the chunk, whose font, font face and color should already be interned
+   * @return an equal, possibly shared, chunk
+   */
+  public static CDXChunk internChunk(CDXChunk chunk) {
+    if (chunk.getText() == null || chunk.getText().length() > MAX_CHUNK_LENGTH) {
+      return chunk;
+    }
+    return CHUNKS.intern(chunk);
+  }
+
+  /**
+   * Returns the canonical instance equal to the given value. If there is none, the value is frozen
+   * and becomes the canonical instance. The given value must not be modified afterwards.
+   *
+   * @param value the value to intern, may be {@code null}
+   * @return the canonical instance, {@code null} for a {@code null} value
+   */
+  public T intern(T value) {
+    if (value == null) {
+      return null;
+    }
+    expungeStaleEntries();
+    WeakKey<T> existing = table.get(new Probe(value));
+    T canonical = existing != null ? existing.get() : null;
+    if (canonical != null) {
+      return canonical;
+    }
+    freezer.accept(value);
+    WeakKey<T> key = new WeakKey<>(value, queue);
+    while (true) {
+      existing = table.putIfAbsent(key, key);
+      if (existing == null) {
+        return value;
+      }
+      canonical = existing.get();
+      if (canonical != null) {
+        return canonical;
+      }
+      // the previous canonical instance has just been collected
+      table.remove(existing, existing);
+    }
+  }
+
+  /**
+   * Returns the number of canonical instances currently held, including instances that have been
+   * collected but not yet removed.
+   *
+   * @return the size of the table
+   */
+  public int size() {
+    expungeStaleEntries();
+    return table.size();
+  }
+
+  private void expungeStaleEntries() {
+    Reference<? extends T> reference;
+    while ((reference = queue.poll()) != null) {
+      table.remove(reference);
+    }
+  }
+
+  /** Weak table key holding a canonical instance; equal to keys and probes of equal values. */
+  private static final class WeakKey<T> extends WeakReference<T> {
+    private final int hash;
+
+    WeakKey(T value, ReferenceQueue<T> queue) {
+      super(value, queue);
+      this.hash = value.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof WeakKey<?> other)) {
+        return false;
+      }
+      Object value = get();
+      return value != null && hash == other.hash && value.equals(other.get());
+    }
+  }
+
+  /** Lookup key for a value, avoiding the registration of a reference for every lookup. */
+  private final class Probe {
+    private final T value;
+
+    Probe(T value) {
+      this.value = Objects.requireNonNull(value);
+    }
+
+    @Override
+    public int hashCode() {
+      return value.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof WeakKey<?> key && value.equals(key.get());
+    }
+  }
+}
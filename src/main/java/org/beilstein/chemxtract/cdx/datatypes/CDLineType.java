@@ -28,11 +28,15 @@ public class CDLineType {
   private boolean bold = false;
   private boolean wavy = false;
 
+  /** Whether this value is shared by a {@link CDInterner} and must not be modified. */
+  private boolean frozen;
+
   public boolean isSolid() {
     return !isBold() && !isDashed() && !isWavy();
   }
 
   public void setSolid(boolean solid) {
+    checkMutable();
     if (solid) {
       setBold(false);
       setDashed(false);
@@ -45,6 +49,7 @@ public class CDLineType {
   }
 
   public void setDashed(boolean dashed) {
+    checkMutable();
     this.dashed = dashed;
   }
 
@@ -53,6 +58,7 @@ public class CDLineType {
   }
 
   public void setBold(boolean bold) {
+    checkMutable();
     this.bold = bold;
   }
 
@@ -61,9 +67,21 @@ public class CDLineType {
   }
 
   public void setWavy(boolean wavy) {
+    checkMutable();
     this.wavy = wavy;
   }
 
+  /** Freezes this line type when it becomes the shared instance of a {@link CDInterner}. */
+  void freeze() {
+    frozen = true;
+  }
+
+  private void checkMutable() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Interned " + this + " cannot be modified");
+    }
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
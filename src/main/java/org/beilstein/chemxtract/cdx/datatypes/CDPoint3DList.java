@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx.datatypes;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of 3D points, stored as packed x/y/z coordinates in a single {@code float[]}
+ * instead of one object per point. {@link CDPoint3D} objects are only created when an element is
+ * requested; use the coordinate accessors to read large point lists without allocation.
+ */
+public final class CDPoint3DList extends AbstractList<CDPoint3D> implements RandomAccess {
+
+  private static final CDPoint3DList EMPTY = new CDPoint3DList(new float[0]);
+
+  private final float[] coordinates;
+
+  private CDPoint3DList(float[] coordinates) {
+    this.coordinates = coordinates;
+  }
+
+  /**
+   * Creates a list backed by the given packed coordinates. The array is not copied and must not be
+   * modified afterwards.
+   *
+   * @param coordinates the coordinates in x/y/z order for each point
+   * @return the point list
+   * @throws IllegalArgumentException if the array length is not a multiple of 3
+   */
+  public static CDPoint3DList wrap(float[] coordinates) {
+    if (coordinates.length % 3 != 0) {
+      throw new IllegalArgumentException(
+          "Coordinate count " + coordinates.length + " is not a multiple of 3");
+    }
+    return coordinates.length == 0 ? EMPTY : new CDPoint3DList(coordinates);
+  }
+
+  /**
+   * Returns a packed copy of the given points. A {@code CDPoint3DList} is returned as it is.
+   *
+   * @param points the points to pack
+   * @return the point list
+   */
+  public static CDPoint3DList copyOf(List<CDPoint3D> points) {
+    if (points instanceof CDPoint3DList list) {
+      return list;
+    }
+    float[] coordinates = new float[points.size() * 3];
+    int offset = 0;
+    for (CDPoint3D point : points) {
+      Objects.requireNonNull(point, "Points must not be null.");
+      coordinates[offset] = point.getX();
+      coordinates[offset + 1] = point.getY();
+      coordinates[offset + 2] = point.getZ();
+      offset += 3;
+    }
+    return wrap(coordinates);
+  }
+
+  @Override
+  public int size() {
+    return coordinates.length / 3;
+  }
+
+  @Override
+  public CDPoint3D get(int index) {
+    int offset = checkIndex(index) * 3;
+    return new CDPoint3D(coordinates[offset], coordinates[offset + 1], coordinates[offset + 2]);
+  }
+
+  /**
+   * Returns the x-coordinate of a point without creating a point object.
+   *
+   * @param index the index of the point
+   * @return the x-coordinate
+   */
+  public float getX(int index) {
+    return coordinates[checkIndex(index) * 3];
+  }
+
+  /**
+   * Returns the y-coordinate of a point without creating a point object.
+   *
+   * @param index the index of the point
+   * @return the y-coordinate
+   */
+  public float getY(int index) {
+    return coordinates[checkIndex(index) * 3 + 1];
+  }
+
+  /**
+   * Returns the z-coordinate of a point without creating a point object.
+   *
+   * @param index the index of the point
+   * @return the z-coordinate
+   */
+  public float getZ(int index) {
+    return coordinates[checkIndex(index) * 3 + 2];
+  }
+
+  /**
+   * Returns a copy of the packed coordinates.
+   *
+   * @return the coordinates in x/y/z order for each point
+   */
+  public float[] toFloatArray() {
+    return Arrays.copyOf(coordinates, coordinates.length);
+  }
+
+  private int checkIndex(int index) {
+    return Objects.checkIndex(index, size());
+  }
+}
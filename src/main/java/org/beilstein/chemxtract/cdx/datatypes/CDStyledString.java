@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /** This class allows to store chunks of text with different text styles. */
 public class CDStyledString {
@@ -77,6 +78,9 @@ public class CDStyledString {
     /** Text. */
     private final String text;
 
+    /** Whether this chunk is shared by a {@link CDInterner} and must not be modified. */
+    private boolean frozen;
+
     public CDXChunk(CDFont font, float fontSize, CDFontFace fontType, CDColor color, String text) {
       this.font = font;
       this.fontSize = fontSize;
@@ -102,11 +106,40 @@ public class CDStyledString {
     }
 
     public void setColor(CDColor color) {
+      if (frozen) {
+        throw new UnsupportedOperationException("Interned chunk cannot be modified");
+      }
       this.color = color;
     }
 
     public String getText() {
       return text;
     }
+
+    /** Freezes this chunk when it becomes the shared instance of a {@link CDInterner}. */
+    void freeze() {
+      frozen = true;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(font, fontSize, fontType, color, text);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      final CDXChunk other = (CDXChunk) obj;
+      return Float.compare(fontSize, other.fontSize) == 0
+          && Objects.equals(font, other.font)
+          && Objects.equals(fontType, other.fontType)
+          && Objects.equals(color, other.color)
+          && Objects.equals(text, other.text);
+    }
   }
 }
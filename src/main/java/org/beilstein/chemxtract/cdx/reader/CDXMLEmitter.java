@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx.reader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
+
+/**
+ * Lightweight XML emitter used by {@link CDXMLWriter}. Writes the SAX events of the writer as UTF-8
+ * straight to an {@link OutputStream}, without the JAXP transformer pipeline. Only the subset of
+ * SAX needed for CDXML is supported: elements, attributes, character data and the document type.
+ */
+class CDXMLEmitter implements ContentHandler, LexicalHandler {
+  private static final String INDENT = "  ";
+
+  private final Writer writer;
+  private final boolean indent;
+
+  /** Current element depth. */
+  private int depth;
+
+  /** Whether the last start tag is still open, so an empty element can be closed with "/>". */
+  private boolean startTagOpen;
+
+  /** Whether the current element contains character data, which must not be indented. */
+  private boolean textContent;
+
+  /**
+   * Creates an emitter for the given stream. The stream is flushed but not closed at the end of the
+   * document.
+   *
+   * @param out the stream receiving UTF-8 encoded XML
+   * @param indent whether nested elements are written on indented lines
+   */
+  CDXMLEmitter(OutputStream out, boolean indent) {
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    this.indent = indent;
+  }
+
+  @Override
+  public void startDocument() throws SAXException {
+    write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+  }
+
+  @Override
+  public void endDocument() throws SAXException {
+    newLine();
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      throw new SAXException(e);
+    }
+  }
+
+  @Override
+  public void startDTD(String name, String publicId, String systemId) throws SAXException {
+    newLine();
+    write("<!DOCTYPE ");
+    write(name);
+    if (publicId != null) {
+      write(" PUBLIC \"");
+      write(publicId);
+      write("\" \"");
+    } else {
+      write(" SYSTEM \"");
+    }
+    write(systemId);
+    write("\">");
+  }
+
+  @Override
+  public void endDTD() {
+    // nothing to do, the document type is written in a single declaration
+  }
+
+  @Override
+  public void startElement(String uri, String localName, String qName, Attributes atts)
+      throws SAXException {
+    closeStartTag();
+    if (indent || depth == 0) {
+      newLine();
+      for (int i = 0; i < depth && indent; i++) {
+        write(INDENT);
+      }
+    }
+    write('<');
+    write(qName);
+    for (int i = 0; i < atts.getLength(); i++) {
+      String name = atts.getQName(i);
+      String value = atts.getValue(lastIndex(atts, name));
+      if (atts.getIndex(name) != i || value == null) {
+        // attribute repeated by the writer, already written with its last value, or without value
+        continue;
+      }
+      write(' ');
+      write(name);
+      write("=\"");
+      escape(value, true);
+      write('"');
+    }
+    startTagOpen = true;
+    textContent = false;
+    depth++;
+  }
+
+  @Override
+  public void endElement(String uri, String localName, String qName) throws SAXException {
+    depth--;
+    if (startTagOpen) {
+      write("/>");
+      startTagOpen = false;
+      return;
+    }
+    if (indent && !textContent) {
+      newLine();
+      for (int i = 0; i < depth; i++) {
+        write(INDENT);
+      }
+    }
+    textContent = false;
+    write("</");
+    write(qName);
+    write('>');
+  }
+
+  @Override
+  public void characters(char[] ch, int start, int length) throws SAXException {
+    closeStartTag();
+    textContent = true;
+    escape(new String(ch, start, length), false);
+  }
+
+  @Override
+  public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+    characters(ch, start, length);
+  }
+
+  private static int lastIndex(Attributes atts, String name) {
+    for (int i = atts.getLength() - 1; i >= 0; i--) {
+      if (name.equals(atts.getQName(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void closeStartTag() throws SAXException {
+    if (startTagOpen) {
+      write('>');
+      startTagOpen = false;
+    }
+  }
+
+  private void newLine() throws SAXException {
+    write('\n');
+  }
+
+  private void escape(String text, boolean attribute) throws SAXException {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '&':
+          write("&amp;");
+          break;
+        case '<':
+          write("&lt;");
+          break;
+        case '>':
+          write("&gt;");
+          break;
+        case '"':
+          write(attribute ? "&quot;" : "\"");
+          break;
+        case '\n':
+          write(attribute ? "&#10;" : "\n");
+          break;
+        case '\r':
+          write("&#13;");
+          break;
+        case '\t':
+          write(attribute ? "&#9;" : "\t");
+          break;
+        default:
+          write(c);
+      }
+    }
+  }
+
+  private void write(String text) throws SAXException {
+    try {
+      writer.write(text);
+    } catch (IOException e) {
+      throw new SAXException(e);
+    }
+  }
+
+  private void write(char c) throws SAXException {
+    try {
+      writer.write(c);
+    } catch (IOException e) {
+      throw new SAXException(e);
+    }
+  }
+
+  @Override
+  public void setDocumentLocator(Locator locator) {
+    // not needed for writing
+  }
+
+  @Override
+  public void startPrefixMapping(String prefix, String uri) {
+    // CDXML does not use namespaces
+  }
+
+  @Override
+  public void endPrefixMapping(String prefix) {
+    // CDXML does not use namespaces
+  }
+
+  @Override
+  public void processingInstruction(String target, String data) throws SAXException {
+    closeStartTag();
+    write("<?");
+    write(target);
+    if (data != null && !data.isEmpty()) {
+      write(' ');
+      write(data);
+    }
+    write("?>");
+  }
+
+  @Override
+  public void skippedEntity(String name) {
+    // entities are never skipped when writing
+  }
+
+  @Override
+  public void startEntity(String name) {
+    // entities are written as character data
+  }
+
+  @Override
+  public void endEntity(String name) {
+    // entities are written as character data
+  }
+
+  @Override
+  public void startCDATA() {
+    // character data is always escaped
+  }
+
+  @Override
+  public void endCDATA() {
+    // character data is always escaped
+  }
+
+  @Override
+  public void comment(char[] ch, int start, int length) throws SAXException {
+    closeStartTag();
+    write("<!--");
+    write(new String(ch, start, length));
+    write("-->");
+  }
+}
@@ -26,9 +26,10 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 import org.beilstein.chemxtract.cdx.CDAltGroup;
@@ -68,6 +69,7 @@ import org.beilstein.chemxtract.cdx.datatypes.CDAtomSubstituentType;
 import org.beilstein.chemxtract.cdx.datatypes.CDColor;
 import org.beilstein.chemxtract.cdx.datatypes.CDFont;
 import org.beilstein.chemxtract.cdx.datatypes.CDFontFace;
+import org.beilstein.chemxtract.cdx.datatypes.CDInterner;
 import org.beilstein.chemxtract.cdx.datatypes.CDSplineType;
 import org.beilstein.chemxtract.cdx.datatypes.CDStyledString;
 import org.beilstein.chemxtract.io.XMLEntityCatalog;
@@ -84,6 +86,9 @@ public class CDXMLReader {
   private Map<Integer, CDColor> colors = new HashMap<>();
   private Map<Integer, CDFont> fonts = new HashMap<>();
 
+  /** Optional listener notified as soon as a page and all of its content are populated. */
+  private Consumer<CDPage> pageListener;
+
   protected static final boolean RIGID = false;
 
   private CDXMLReader() {}
@@ -96,6 +101,22 @@ public class CDXMLReader {
    * @throws IOException Occurs if the reader couldn't read the input from the {@link InputStream}
    */
   public static CDDocument readDocument(InputStream in) throws IOException {
+    return readDocument(in, null);
+  }
+
+  /**
+   * This method reads a {@link CDDocument} from a {@link InputStream} and hands every page to the
+   * given listener as soon as the page and all of its content are populated, while later pages
+   * are still being populated.
+   *
+   * @param in {@link InputStream} from which the input are read
+   * @param pageListener called on the reading thread for each populated page, in document order;
+   *     may be {@code null}
+   * @return ChemDraw document instance
+   * @throws IOException Occurs if the reader couldn't read the input from the {@link InputStream}
+   */
+  public static CDDocument readDocument(InputStream in, Consumer<CDPage> pageListener)
+      throws IOException {
 
     XMLEntityCatalog catalog = new XMLEntityCatalog();
     catalog.addSystemId(CDXMLConstants.DTD, "org/beilstein/chemxtract/cdx/reader/cdxml.dtd");
@@ -104,6 +125,7 @@ public class CDXMLReader {
     XMLObject root = XMLUtils.parse(in, catalog, false);
 
     CDXMLReader reader = new CDXMLReader();
+    reader.pageListener = pageListener;
     CDDocument document = reader.createDocumentObject(root);
     reader.populateDocumentObject(root);
     return document;
@@ -162,7 +184,7 @@ public class CDXMLReader {
         handleMissingAttribute(root, name);
       }
     }
-    return color;
+    return CDInterner.COLORS.intern(color);
   }
 
   private void createFontTableObject(XMLObject root) throws IOException {
@@ -194,7 +216,7 @@ public class CDXMLReader {
     if (id < 0) {
       throw new IOException();
     }
-    fonts.put(id, font);
+    fonts.put(id, CDInterner.FONTS.intern(font));
   }
 
   private void populateDocumentObject(XMLObject root) throws IOException {
@@ -435,6 +457,10 @@ public class CDXMLReader {
     }
 
     populateChildren(root);
+
+    if (pageListener != null) {
+      pageListener.accept(page);
+    }
   }
 
   private CDFragment createFragmentObject(XMLObject root) throws IOException {
@@ -740,7 +766,7 @@ public class CDXMLReader {
         bond.getSettings().setShowBondStereo(root.getAttributeAsBoolean(name));
       } else if (name.equals(CDXMLConstants.CDXMLProp_Bond_CrossingBonds)) {
         bond.setCrossingBonds(
-            new HashSet<CDBond>(
+            new LinkedHashSet<CDBond>(
                 CDXMLUtils.convertStringToObjectRefList(
                     root.getAttribute(name), CDBond.class, refManager)));
       } else if (name.equals(CDXMLConstants.CDXMLProp_Bond_ShowRxn)) {
@@ -2293,7 +2319,7 @@ public class CDXMLReader {
       } else if (name.equals(CDXMLConstants.CDXMLProp_Curve_Type)) {
         CDSplineType curveType = CDXUtils.convertIntToSplineType(root.getAttributeAsInt(name));
         spline.setFillType(curveType.getFillType());
-        spline.setLineType(curveType.getLineType());
+        spline.setLineType(CDInterner.LINE_TYPES.intern(curveType.getLineType()));
         spline.setClosed(curveType.isClosed());
       } else if (name.equals(CDXMLConstants.CDXMLProp_Curve_Points)) {
         spline.setPoints2D(CDXMLUtils.convertStringToPoint2DArray(root.getAttribute(name)));
@@ -2328,7 +2354,7 @@ public class CDXMLReader {
           CDXUtils.convertIntToSplineType(
               root.getAttributeAsInt(CDXMLConstants.CDXMLProp_Curve_Type));
       spline.setFillType(curveType.getFillType());
-      spline.setLineType(curveType.getLineType());
+      spline.setLineType(CDInterner.LINE_TYPES.intern(curveType.getLineType()));
       spline.setClosed(curveType.isClosed());
     }
 
@@ -2551,12 +2577,13 @@ public class CDXMLReader {
         object.hasAttribute(CDXMLConstants.CDXMLProp_FontFace)
             ? CDXUtils.convertIntToFontFace(
                 object.getAttributeAsInt(CDXMLConstants.CDXMLProp_FontFace))
-            : new CDFontFace();
+            : CDInterner.FONT_FACES.intern(new CDFontFace());
     CDColor color = readColorAttribute(object, CDXMLConstants.CDXMLProp_ForegroundColor);
 
     CDStyledString string = new CDStyledString();
     string.addChunk(
-        new CDStyledString.CDXChunk(font, size, fontType, color, object.getTextsAsString()));
+        CDInterner.internChunk(
+            new CDStyledString.CDXChunk(font, size, fontType, color, object.getTextsAsString())));
     return string;
   }
 
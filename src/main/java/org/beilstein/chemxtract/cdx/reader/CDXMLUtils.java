@@ -58,6 +58,7 @@ import org.beilstein.chemxtract.cdx.datatypes.CDFillType;
 import org.beilstein.chemxtract.cdx.datatypes.CDGenericList;
 import org.beilstein.chemxtract.cdx.datatypes.CDGeometryType;
 import org.beilstein.chemxtract.cdx.datatypes.CDGraphicType;
+import org.beilstein.chemxtract.cdx.datatypes.CDInterner;
 import org.beilstein.chemxtract.cdx.datatypes.CDIsotopicAbundance;
 import org.beilstein.chemxtract.cdx.datatypes.CDJustification;
 import org.beilstein.chemxtract.cdx.datatypes.CDLabelDisplay;
@@ -69,7 +70,9 @@ import org.beilstein.chemxtract.cdx.datatypes.CDOrbitalType;
 import org.beilstein.chemxtract.cdx.datatypes.CDOvalType;
 import org.beilstein.chemxtract.cdx.datatypes.CDPageDefinition;
 import org.beilstein.chemxtract.cdx.datatypes.CDPoint2D;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint2DList;
 import org.beilstein.chemxtract.cdx.datatypes.CDPoint3D;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint3DList;
 import org.beilstein.chemxtract.cdx.datatypes.CDPolymerFlipType;
 import org.beilstein.chemxtract.cdx.datatypes.CDPolymerRepeatPattern;
 import org.beilstein.chemxtract.cdx.datatypes.CDPositioningType;
@@ -303,7 +306,7 @@ public class CDXMLUtils {
     } else if (value.indexOf(CDXMLConstants.CDXLineType_Wavy) >= 0) {
       lineType.setWavy(true);
     }
-    return lineType;
+    return CDInterner.LINE_TYPES.intern(lineType);
   }
 
   public static String convertArrowTypeToString(CDArrowType value) throws IOException {
@@ -679,6 +682,14 @@ public class CDXMLUtils {
 
   public static String convertPoint2DListToString(List<CDPoint2D> value) {
     StringBuilder sb = new StringBuilder();
+    if (value instanceof CDPoint2DList points) {
+      // read the packed coordinates without creating point objects
+      for (int i = 0; i < points.size(); i++) {
+        appendSeparator(sb);
+        sb.append(points.getX(i)).append(' ').append(points.getY(i));
+      }
+      return sb.toString();
+    }
     for (CDPoint2D element : value) {
       appendSeparator(sb);
       sb.append(convertPoint2DToString(element));
@@ -686,22 +697,18 @@ public class CDXMLUtils {
     return sb.toString();
   }
 
-  public static List<CDPoint2D> convertStringToPoint2DArray(String value) {
+  public static CDPoint2DList convertStringToPoint2DArray(String value) {
     List<String> list = convertStringToStringList(value);
-    int count = list.size() / 2;
-    List<CDPoint2D> pointList = new ArrayList<>(count);
-    for (int i = 0, offset = 0; i < count; i++, offset += 2) {
-      CDPoint2D point = new CDPoint2D();
+    float[] coordinates = new float[list.size() / 2 * 2];
+    for (int i = 0; i < coordinates.length; i++) {
       try {
-        point.setX(Float.parseFloat(list.get(offset)));
-        point.setY(Float.parseFloat(list.get(offset + 1)));
+        coordinates[i] = Float.parseFloat(list.get(i));
       } catch (NumberFormatException e) {
         throw new IllegalArgumentException(
-            "Invalid 2D point at index " + i + " in \"" + value + "\"", e);
+            "Invalid 2D point at index " + i / 2 + " in \"" + value + "\"", e);
       }
-      pointList.add(point);
     }
-    return pointList;
+    return CDPoint2DList.wrap(coordinates);
   }
 
   public static String convertPoint3DToString(CDPoint3D value) {
@@ -723,6 +730,15 @@ public class CDXMLUtils {
 
   public static String convertPoint3DListToString(List<CDPoint3D> value) {
     StringBuilder sb = new StringBuilder();
+    if (value instanceof CDPoint3DList points) {
+      // read the packed coordinates without creating point objects
+      for (int i = 0; i < points.size(); i++) {
+        appendSeparator(sb);
+        sb.append(points.getX(i)).append(' ').append(points.getY(i)).append(' ');
+        sb.append(points.getZ(i));
+      }
+      return sb.toString();
+    }
     for (CDPoint3D element : value) {
       appendSeparator(sb);
       sb.append(convertPoint3DToString(element));
@@ -730,23 +746,18 @@ public class CDXMLUtils {
     return sb.toString();
   }
 
-  public static List<CDPoint3D> convertStringToPoint3DArray(String value) {
+  public static CDPoint3DList convertStringToPoint3DArray(String value) {
     List<String> list = convertStringToStringList(value);
-    int count = list.size() / 3;
-    List<CDPoint3D> pointList = new ArrayList<>(count);
-    for (int i = 0, offset = 0; i < count; i++, offset += 3) {
-      CDPoint3D point = new CDPoint3D();
+    float[] coordinates = new float[list.size() / 3 * 3];
+    for (int i = 0; i < coordinates.length; i++) {
       try {
-        point.setX(Float.parseFloat(list.get(offset)));
-        point.setY(Float.parseFloat(list.get(offset + 1)));
-        point.setZ(Float.parseFloat(list.get(offset + 2)));
+        coordinates[i] = Float.parseFloat(list.get(i));
       } catch (NumberFormatException e) {
         throw new IllegalArgumentException(
-            "Invalid 3D point at index " + i + " in \"" + value + "\"", e);
+            "Invalid 3D point at index " + i / 3 + " in \"" + value + "\"", e);
       }
-      pointList.add(point);
     }
-    return pointList;
+    return CDPoint3DList.wrap(coordinates);
   }
 
   public static String convertElementListToString(CDElementList value) {
@@ -26,13 +26,16 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.Set;
 import javax.xml.XMLConstants;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.TransformerConfigurationException;
@@ -56,6 +59,7 @@ import org.beilstein.chemxtract.cdx.CDFragment;
 import org.beilstein.chemxtract.cdx.CDGeometry;
 import org.beilstein.chemxtract.cdx.CDGraphic;
 import org.beilstein.chemxtract.cdx.CDGroup;
+import org.beilstein.chemxtract.cdx.CDObject;
 import org.beilstein.chemxtract.cdx.CDObjectTag;
 import org.beilstein.chemxtract.cdx.CDPage;
 import org.beilstein.chemxtract.cdx.CDPicture;
@@ -131,6 +135,7 @@ import org.beilstein.chemxtract.cdx.datatypes.CDUnsaturation;
 import org.beilstein.chemxtract.io.IOUtils;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
 import org.xml.sax.helpers.AttributesImpl;
 
 /** Experimental writer for ChemDraw CDXML files. */
@@ -138,12 +143,25 @@ import org.xml.sax.helpers.AttributesImpl;
 public class CDXMLWriter {
   private ContentHandler handler;
 
-  private Map<Object, Integer> references = new LinkedHashMap<>();
+  /** Object ids, keyed by identity since every model object is a distinct reference target. */
+  private Map<Object, Integer> references = new IdentityHashMap<>();
+
   private Map<CDColor, Integer> colors = new LinkedHashMap<>();
   private Map<Integer, CDColor> colorsInverse = new LinkedHashMap<>();
   private Map<CDFont, Integer> fonts = new LinkedHashMap<>();
   private Map<Integer, CDFont> fontsInverse = new LinkedHashMap<>();
 
+  /**
+   * Identity caches in front of the color and font tables. Equal colors and fonts still share one
+   * table entry, but the instances shared by many objects are only hashed by value once.
+   */
+  private Map<CDColor, Integer> colorsByInstance = new IdentityHashMap<>();
+
+  private Map<CDFont, Integer> fontsByInstance = new IdentityHashMap<>();
+
+  /** Whether only a subset of the document is written, so references may point outside of it. */
+  private boolean scoped;
+
   private CDXMLWriter(ContentHandler handler) {
     this.handler = handler;
 
@@ -190,6 +208,43 @@ public class CDXMLWriter {
    */
   public static String writeDocument(CDDocument document, OutputStream out)
       throws IOException, IOException {
+    CharArrayWriter writer = new CharArrayWriter();
+    serialize(document, createTransformerHandler(new StreamResult(writer), true));
+
+    String text = writer.toString();
+    if (out != null) {
+      IOUtils.writeText(out, text);
+    }
+    return text;
+  }
+
+  /**
+   * This method streams the {@link CDDocument} as UTF-8 encoded CDXML into a {@link OutputStream}
+   * without building the text in memory. The stream is flushed but not closed.
+   *
+   * @param document ChemDraw document, which should be written
+   * @param out {@link OutputStream}, which retrieves the generated output
+   * @param indent {@code true} to write nested elements on indented lines, {@code false} for
+   *     compact output
+   * @param lightweight {@code true} to use the built-in emitter instead of the JAXP serializer
+   * @throws IOException Occurs if the writer couldn't write the output into the {@link
+   *     OutputStream} or an exception occur during the generation of the output
+   */
+  public static void writeDocument(
+      CDDocument document, OutputStream out, boolean indent, boolean lightweight)
+      throws IOException {
+    if (lightweight) {
+      CDXMLEmitter emitter = new CDXMLEmitter(out, indent);
+      serialize(document, null, emitter, emitter);
+    } else {
+      TransformerHandler handler = createTransformerHandler(new StreamResult(out), indent);
+      serialize(document, handler);
+      out.flush();
+    }
+  }
+
+  private static TransformerHandler createTransformerHandler(StreamResult result, boolean indent)
+      throws IOException {
     SAXTransformerFactory serializerfactory =
         (SAXTransformerFactory) SAXTransformerFactory.newInstance();
 
@@ -201,7 +256,7 @@ public class CDXMLWriter {
 
     Properties format = new Properties();
     format.put(OutputKeys.ENCODING, "UTF-8");
-    format.put(OutputKeys.INDENT, "yes");
+    format.put(OutputKeys.INDENT, indent ? "yes" : "no");
     format.put(OutputKeys.METHOD, "xml");
 
     TransformerHandler handler;
@@ -211,58 +266,136 @@ public class CDXMLWriter {
       throw new IOException("Could not create XML serializer", e);
     }
     handler.getTransformer().setOutputProperties(format);
+    handler.setResult(result);
+    return handler;
+  }
 
-    CharArrayWriter writer = new CharArrayWriter();
-    handler.setResult(new StreamResult(writer));
+  /**
+   * This method writes a standalone CDXML document containing only the given fragment. Only the
+   * fonts, colors and references used by the fragment are written.
+   *
+   * @param document ChemDraw document the fragment belongs to, which provides the settings
+   * @param fragment fragment, which should be written
+   * @param out {@link OutputStream}, which retrieves the generated output
+   * @throws IOException Occurs if the writer couldn't write the output into the {@link
+   *     OutputStream} or an exception occur during the generation of the output
+   */
+  public static void writeFragment(CDDocument document, CDFragment fragment, OutputStream out)
+      throws IOException {
+    writeObjects(document, List.of(fragment), out);
+  }
+
+  /**
+   * This method writes a standalone CDXML document containing the given reaction step together with
+   * its reactants, products, plusses, arrows and the objects above and below the arrows.
+   *
+   * @param document ChemDraw document the reaction step belongs to, which provides the settings
+   * @param reactionStep reaction step, which should be written
+   * @param out {@link OutputStream}, which retrieves the generated output
+   * @throws IOException Occurs if the writer couldn't write the output into the {@link
+   *     OutputStream} or an exception occur during the generation of the output
+   */
+  public static void writeReactionStep(
+      CDDocument document, CDReactionStep reactionStep, OutputStream out) throws IOException {
+    Set<Object> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Object> ordered = new ArrayList<>();
+    for (List<Object> participants :
+        List.of(
+            reactionStep.getReactants(),
+            reactionStep.getProducts(),
+            reactionStep.getPlusses(),
+            reactionStep.getArrows(),
+            reactionStep.getObjectsAboveArrow(),
+            reactionStep.getObjectsBelowArrow())) {
+      for (Object participant : participants) {
+        if (participant instanceof CDObject && objects.add(participant)) {
+          ordered.add(participant);
+        }
+      }
+    }
+    ordered.add(reactionStep);
+    writeObjects(document, ordered, out);
+  }
+
+  /**
+   * This method writes a standalone CDXML document containing only the given page level objects,
+   * e.g. fragments, groups, texts, graphics, arrows or reaction steps, on a single page. Only the
+   * fonts, colors and references used by these objects are collected; references to objects outside
+   * of the set are omitted. The output is written compact with the built-in emitter.
+   *
+   * @param document ChemDraw document the objects belong to, which provides the settings
+   * @param objects page level objects, which should be written
+   * @param out {@link OutputStream}, which retrieves the generated output
+   * @throws IOException Occurs if the writer couldn't write the output into the {@link
+   *     OutputStream}, an object type cannot be written on its own or an exception occur during the
+   *     generation of the output
+   */
+  public static void writeObjects(CDDocument document, Collection<?> objects, OutputStream out)
+      throws IOException {
+    CDXMLEmitter emitter = new CDXMLEmitter(out, false);
+    serialize(document, new ArrayList<>(objects), emitter, emitter);
+  }
+
+  private static void serialize(CDDocument document, TransformerHandler handler)
+      throws IOException {
+    serialize(document, null, handler, handler);
+  }
 
+  private static void serialize(
+      CDDocument document,
+      List<Object> objects,
+      ContentHandler handler,
+      LexicalHandler lexicalHandler)
+      throws IOException {
     try {
       handler.startDocument();
-      handler.startDTD(CDXMLConstants.CDXMLObj_Document, null, CDXMLConstants.DTD);
-      handler.endDTD();
+      lexicalHandler.startDTD(CDXMLConstants.CDXMLObj_Document, null, CDXMLConstants.DTD);
+      lexicalHandler.endDTD();
 
       CDXMLWriter documentWriter = new CDXMLWriter(handler);
-      documentWriter.collectDocument(document);
-      documentWriter.writeDocument(document);
+      if (objects == null) {
+        documentWriter.collectDocument(document);
+        documentWriter.writeDocument(document);
+      } else {
+        documentWriter.scoped = true;
+        CDPage page = new CDPage();
+        documentWriter.collectObjects(document, page, objects);
+        documentWriter.writeObjects(document, page, objects);
+      }
 
       handler.endDocument();
     } catch (SAXException e) {
       throw new IOException("Could not serialize XML document", e);
     }
-
-    String text = writer.toString();
-    if (out != null) {
-      IOUtils.writeText(out, text);
-    }
-    return text;
   }
 
   private void collectFont(CDFont font) {
-    if (font == null) {
+    if (font == null || fontsByInstance.containsKey(font)) {
       return;
     }
     if (!fonts.keySet().contains(font)) {
       fontsInverse.put(fonts.keySet().size(), font);
       fonts.put(font, fonts.keySet().size());
     }
+    fontsByInstance.put(font, fonts.get(font));
   }
 
   private void collectColor(CDColor color) {
-    if (color == null) {
+    if (color == null || colorsByInstance.containsKey(color)) {
       return;
     }
     if (!colors.keySet().contains(color)) {
       colorsInverse.put(colors.keySet().size() + 2, color);
       colors.put(color, colors.keySet().size() + 2);
     }
+    colorsByInstance.put(color, colors.get(color));
   }
 
   private void collectReference(Object object) {
     if (object == null) {
       return;
     }
-    if (!references.keySet().contains(object)) {
-      references.put(object, references.keySet().size());
-    }
+    references.putIfAbsent(object, references.size());
   }
 
   private void collectDocument(CDDocument document) {
@@ -280,7 +413,7 @@ public class CDXMLWriter {
     }
   }
 
-  private void writeDocument(CDDocument document) throws SAXException, IOException {
+  private AttributesImpl createDocumentAttributes(CDDocument document) throws IOException {
     AttributesImpl attributes = new AttributesImpl();
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, document.getBoundingBox());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_MacPrintInfo, document.getMacPrintInfo());
@@ -458,6 +591,11 @@ public class CDXMLWriter {
     addAttribute(
         attributes, CDXMLConstants.CDXMLProp_FixInplaceExtent, document.getFixInPlaceExtent());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_FixInplaceGap, document.getFixInPlaceGap());
+    return attributes;
+  }
+
+  private void writeDocument(CDDocument document) throws SAXException, IOException {
+    AttributesImpl attributes = createDocumentAttributes(document);
 
     handler.startElement(
         CDXMLConstants.NS,
@@ -479,6 +617,127 @@ public class CDXMLWriter {
         CDXMLConstants.NS, CDXMLConstants.CDXMLObj_Document, CDXMLConstants.CDXMLObj_Document);
   }
 
+  private void collectObjects(CDDocument document, CDPage page, List<Object> objects)
+      throws IOException {
+    collectReference(document);
+    collectFont(document.getSettings().getLabelFont());
+    collectColor(document.getSettings().getLabelColor());
+    collectFont(document.getSettings().getCaptionFont());
+    collectColor(document.getSettings().getCaptionColor());
+    collectReference(page);
+
+    for (Object object : objects) {
+      if (object instanceof CDFragment fragment) {
+        collectFragment(fragment);
+      } else if (object instanceof CDGroup group) {
+        collectGroup(group);
+      } else if (object instanceof CDText text) {
+        collectText(text);
+      } else if (object instanceof CDGraphic graphic) {
+        collectGraphic(graphic);
+      } else if (object instanceof CDArrow arrow) {
+        collectArrow(arrow);
+      } else if (object instanceof CDAltGroup altGroup) {
+        collectNamedAlternativeGroup(altGroup);
+      } else if (object instanceof CDSpline curve) {
+        collectCurve(curve);
+      } else if (object instanceof CDReactionStep reactionStep) {
+        collectReactionStep(reactionStep);
+      } else if (object instanceof CDReactionScheme reactionScheme) {
+        collectReactionScheme(reactionScheme);
+      } else if (object instanceof CDSpectrum spectrum) {
+        collectSpectrum(spectrum);
+      } else if (object instanceof CDPicture embeddedObject) {
+        collectEmbeddedObject(embeddedObject);
+      } else if (object instanceof CDTable table) {
+        collectTable(table);
+      } else if (object instanceof CDBracket bracketedGroup) {
+        collectBracketedGroup(bracketedGroup);
+      } else if (object instanceof CDBorder border) {
+        collectBorder(border);
+      } else if (object instanceof CDGeometry geometry) {
+        collectGeometry(geometry);
+      } else if (object instanceof CDConstraint constraint) {
+        collectConstraint(constraint);
+      } else if (object instanceof CDChemicalProperty chemicalProperty) {
+        collectChemicalProperty(chemicalProperty);
+      } else {
+        throw new IOException(
+            "Object type "
+                + (object == null ? null : object.getClass().getSimpleName())
+                + " cannot be written on its own");
+      }
+    }
+  }
+
+  private void writeObjects(CDDocument document, CDPage page, List<Object> objects)
+      throws SAXException, IOException {
+    AttributesImpl attributes = createDocumentAttributes(document);
+    // the bounding box of the whole document doesn't apply to a subset of its objects
+    int boundingBox = attributes.getIndex(CDXMLConstants.CDXMLProp_BoundingBox);
+    if (boundingBox >= 0) {
+      attributes.removeAttribute(boundingBox);
+    }
+
+    handler.startElement(
+        CDXMLConstants.NS,
+        CDXMLConstants.CDXMLObj_Document,
+        CDXMLConstants.CDXMLObj_Document,
+        attributes);
+
+    writeColorTable();
+    writeFontTable();
+
+    handler.startElement(
+        CDXMLConstants.NS,
+        CDXMLConstants.CDXMLObj_Page,
+        CDXMLConstants.CDXMLObj_Page,
+        createPageAttributes(page));
+
+    for (Object object : objects) {
+      if (object instanceof CDFragment fragment) {
+        writeFragment(fragment);
+      } else if (object instanceof CDGroup group) {
+        writeGroup(group);
+      } else if (object instanceof CDText text) {
+        writeText(text);
+      } else if (object instanceof CDGraphic graphic) {
+        writeGraphic(graphic);
+      } else if (object instanceof CDArrow arrow) {
+        writeArrow(arrow);
+      } else if (object instanceof CDAltGroup altGroup) {
+        writeNamedAlternativeGroup(altGroup);
+      } else if (object instanceof CDSpline curve) {
+        writeCurve(curve);
+      } else if (object instanceof CDReactionStep reactionStep) {
+        writeReactionStep(reactionStep);
+      } else if (object instanceof CDReactionScheme reactionScheme) {
+        writeReactionScheme(reactionScheme);
+      } else if (object instanceof CDSpectrum spectrum) {
+        writeSpectrum(spectrum);
+      } else if (object instanceof CDPicture embeddedObject) {
+        writeEmbeddedObject(embeddedObject);
+      } else if (object instanceof CDTable table) {
+        writeTable(table);
+      } else if (object instanceof CDBracket bracketedGroup) {
+        writeBracketedGroup(bracketedGroup);
+      } else if (object instanceof CDBorder border) {
+        writeBorder(border);
+      } else if (object instanceof CDGeometry geometry) {
+        writeGeometry(geometry);
+      } else if (object instanceof CDConstraint constraint) {
+        writeConstraint(constraint);
+      } else if (object instanceof CDChemicalProperty chemicalProperty) {
+        writeChemicalProperty(chemicalProperty);
+      }
+    }
+
+    handler.endElement(
+        CDXMLConstants.NS, CDXMLConstants.CDXMLObj_Page, CDXMLConstants.CDXMLObj_Page);
+    handler.endElement(
+        CDXMLConstants.NS, CDXMLConstants.CDXMLObj_Document, CDXMLConstants.CDXMLObj_Document);
+  }
+
   private void writeColorTable() throws SAXException {
     AttributesImpl attributes = new AttributesImpl();
     handler.startElement(
@@ -540,7 +799,7 @@ public class CDXMLWriter {
 
   private void collectPage(CDPage page) {
     collectReference(page);
-    collectColor(page.getSettings().getBackgroundColor());
+    collectColor(page.getEffectiveSettings().getBackgroundColor());
 
     for (CDText text : page.getTexts()) {
       collectText(text);
@@ -607,7 +866,7 @@ public class CDXMLWriter {
     }
   }
 
-  private void writePage(CDPage page) throws SAXException, IOException {
+  private AttributesImpl createPageAttributes(CDPage page) throws IOException {
     AttributesImpl attributes = new AttributesImpl();
     addReferenceAttribute(attributes, CDXMLConstants.CDXMLProp_Id, page);
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, page.getBounds());
@@ -615,7 +874,7 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        page.getSettings().getBackgroundColor());
+        page.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_WidthPages, page.getWidthPages());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_HeightPages, page.getHeightPages());
     if (page.isPrintTrimMarks()) {
@@ -641,6 +900,11 @@ public class CDXMLWriter {
     if (page.getPageDefinition() != CDPageDefinition.Undefined) {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_PageDefinition, page.getPageDefinition());
     }
+    return attributes;
+  }
+
+  private void writePage(CDPage page) throws SAXException, IOException {
+    AttributesImpl attributes = createPageAttributes(page);
 
     handler.startElement(
         CDXMLConstants.NS, CDXMLConstants.CDXMLObj_Page, CDXMLConstants.CDXMLObj_Page, attributes);
@@ -891,10 +1155,10 @@ public class CDXMLWriter {
   private void collectText(CDText text) {
     collectReference(text);
     collectColor(text.getColor());
-    collectFont(text.getSettings().getLabelFont());
-    collectColor(text.getSettings().getLabelColor());
-    collectFont(text.getSettings().getCaptionFont());
-    collectColor(text.getSettings().getCaptionColor());
+    collectFont(text.getEffectiveSettings().getLabelFont());
+    collectColor(text.getEffectiveSettings().getLabelColor());
+    collectFont(text.getEffectiveSettings().getCaptionFont());
+    collectColor(text.getEffectiveSettings().getCaptionColor());
 
     if (text.getText() != null) {
       collectStyledString(text.getText());
@@ -935,56 +1199,68 @@ public class CDXMLWriter {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Visible, text.isVisible());
     }
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFont, text.getSettings().getLabelFont());
-    if (text.getSettings().getLabelSize() > 0) {
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFont,
+        text.getEffectiveSettings().getLabelFont());
+    if (text.getEffectiveSettings().getLabelSize() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_LabelStyleSize, text.getSettings().getLabelSize());
+          attributes,
+          CDXMLConstants.CDXMLProp_LabelStyleSize,
+          text.getEffectiveSettings().getLabelSize());
     }
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFace, text.getSettings().getLabelFace());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFace,
+        text.getEffectiveSettings().getLabelFace());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleColor, text.getSettings().getLabelColor());
-    if (text.getSettings().getLabelJustification() != CDJustification.Left) {
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleColor,
+        text.getEffectiveSettings().getLabelColor());
+    if (text.getEffectiveSettings().getLabelJustification() != CDJustification.Left) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_LabelJustification,
-          text.getSettings().getLabelJustification());
+          text.getEffectiveSettings().getLabelJustification());
     }
     addLineHeightAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_LabelLineHeight,
-        text.getSettings().getLabelLineHeight());
+        text.getEffectiveSettings().getLabelLineHeight());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_CaptionStyleFont, text.getSettings().getCaptionFont());
-    if (text.getSettings().getCaptionSize() > 0) {
+        attributes,
+        CDXMLConstants.CDXMLProp_CaptionStyleFont,
+        text.getEffectiveSettings().getCaptionFont());
+    if (text.getEffectiveSettings().getCaptionSize() > 0) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_CaptionStyleSize,
-          text.getSettings().getCaptionSize());
+          text.getEffectiveSettings().getCaptionSize());
     }
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_CaptionStyleFace, text.getSettings().getCaptionFace());
+        attributes,
+        CDXMLConstants.CDXMLProp_CaptionStyleFace,
+        text.getEffectiveSettings().getCaptionFace());
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_CaptionStyleColor,
-        text.getSettings().getCaptionColor());
-    if (text.getSettings().getCaptionLineHeight() != CDSettings.LineHeight_Automatic) {
+        text.getEffectiveSettings().getCaptionColor());
+    if (text.getEffectiveSettings().getCaptionLineHeight() != CDSettings.LineHeight_Automatic) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_CaptionLineHeight,
-          text.getSettings().getCaptionLineHeight());
+          text.getEffectiveSettings().getCaptionLineHeight());
     }
-    if (text.getSettings().getCaptionJustification() != CDJustification.Left) {
+    if (text.getEffectiveSettings().getCaptionJustification() != CDJustification.Left) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_CaptionJustification,
-          text.getSettings().getCaptionJustification());
+          text.getEffectiveSettings().getCaptionJustification());
     }
-    if (!text.getSettings().isInterpretChemically()) {
+    if (!text.getEffectiveSettings().isInterpretChemically()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_InterpretChemically,
-          text.getSettings().isInterpretChemically());
+          text.getEffectiveSettings().isInterpretChemically());
     }
 
     handler.startElement(
@@ -1058,9 +1334,9 @@ public class CDXMLWriter {
   private void collectNode(CDAtom node) {
     collectReference(node);
     collectColor(node.getColor());
-    collectColor(node.getSettings().getBackgroundColor());
-    collectColor(node.getSettings().getHighlightColor());
-    collectFont(node.getSettings().getLabelFont());
+    collectColor(node.getEffectiveSettings().getBackgroundColor());
+    collectColor(node.getEffectiveSettings().getHighlightColor());
+    collectFont(node.getEffectiveSettings().getLabelFont());
 
     if (node.getText() != null) {
       collectText(node.getText());
@@ -1082,11 +1358,11 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        node.getSettings().getBackgroundColor());
+        node.getEffectiveSettings().getBackgroundColor());
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_HighlightColor,
-        node.getSettings().getHighlightColor());
+        node.getEffectiveSettings().getHighlightColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, node.getZOrder());
     if (node.getElementNumber() != 6) {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Node_Element, node.getElementNumber());
@@ -1204,60 +1480,68 @@ public class CDXMLWriter {
     if (!node.isVisible()) {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Visible, node.isVisible());
     }
-    if (!node.getSettings().isShowAtomQuery()) {
+    if (!node.getEffectiveSettings().isShowAtomQuery()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_Atom_ShowQuery,
-          node.getSettings().isShowAtomQuery());
+          node.getEffectiveSettings().isShowAtomQuery());
     }
-    if (node.getSettings().isShowAtomStereo()) {
+    if (node.getEffectiveSettings().isShowAtomStereo()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_Atom_ShowStereo,
-          node.getSettings().isShowAtomStereo());
+          node.getEffectiveSettings().isShowAtomStereo());
     }
-    if (!node.getSettings().isShowAtomEnhancedStereo()) {
+    if (!node.getEffectiveSettings().isShowAtomEnhancedStereo()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_Atom_ShowEnhancedStereo,
-          node.getSettings().isShowAtomEnhancedStereo());
+          node.getEffectiveSettings().isShowAtomEnhancedStereo());
     }
-    if (node.getSettings().isShowAtomNumber()) {
+    if (node.getEffectiveSettings().isShowAtomNumber()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_Atom_ShowAtomNumber,
-          node.getSettings().isShowAtomNumber());
+          node.getEffectiveSettings().isShowAtomNumber());
     }
-    if (node.getSettings().isShowTerminalCarbonLabels()) {
+    if (node.getEffectiveSettings().isShowTerminalCarbonLabels()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_ShowTerminalCarbonLabels,
-          node.getSettings().isShowTerminalCarbonLabels());
+          node.getEffectiveSettings().isShowTerminalCarbonLabels());
     }
-    if (node.getSettings().isShowNonTerminalCarbonLabels()) {
+    if (node.getEffectiveSettings().isShowNonTerminalCarbonLabels()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_ShowNonTerminalCarbonLabels,
-          node.getSettings().isShowNonTerminalCarbonLabels());
+          node.getEffectiveSettings().isShowNonTerminalCarbonLabels());
     }
-    if (node.getSettings().isHideImplicitHydrogens()) {
+    if (node.getEffectiveSettings().isHideImplicitHydrogens()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_HideImplicitHydrogens,
-          node.getSettings().isHideImplicitHydrogens());
+          node.getEffectiveSettings().isHideImplicitHydrogens());
     }
-    if (node.getSettings().getLineWidth() > 0) {
+    if (node.getEffectiveSettings().getLineWidth() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_LineWidth, node.getSettings().getLineWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_LineWidth,
+          node.getEffectiveSettings().getLineWidth());
     }
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFont, node.getSettings().getLabelFont());
-    if (node.getSettings().getLabelSize() > 0) {
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFont,
+        node.getEffectiveSettings().getLabelFont());
+    if (node.getEffectiveSettings().getLabelSize() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_LabelStyleSize, node.getSettings().getLabelSize());
+          attributes,
+          CDXMLConstants.CDXMLProp_LabelStyleSize,
+          node.getEffectiveSettings().getLabelSize());
     }
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFace, node.getSettings().getLabelFace());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFace,
+        node.getEffectiveSettings().getLabelFace());
     if (node.getLinkCountLow() > 0) {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Atom_LinkCountLow, node.getLinkCountLow());
     }
@@ -1286,9 +1570,9 @@ public class CDXMLWriter {
   private void collectBond(CDBond bond) {
     collectReference(bond);
     collectColor(bond.getColor());
-    collectColor(bond.getSettings().getBackgroundColor());
-    collectColor(bond.getSettings().getHighlightColor());
-    collectFont(bond.getSettings().getLabelFont());
+    collectColor(bond.getEffectiveSettings().getBackgroundColor());
+    collectColor(bond.getEffectiveSettings().getHighlightColor());
+    collectFont(bond.getEffectiveSettings().getLabelFont());
 
     for (CDObjectTag objectTag : bond.getObjectTags()) {
       collectObjectTag(objectTag);
@@ -1302,11 +1586,11 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        bond.getSettings().getBackgroundColor());
+        bond.getEffectiveSettings().getBackgroundColor());
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_HighlightColor,
-        bond.getSettings().getHighlightColor());
+        bond.getEffectiveSettings().getHighlightColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, bond.getZOrder());
     addBondOrderAttribute(attributes, CDXMLConstants.CDXMLProp_Bond_Order, bond.getBondOrder());
     if (bond.getBondDisplay() != CDBondDisplay.Solid) {
@@ -1353,62 +1637,80 @@ public class CDXMLWriter {
     if (!bond.isVisible()) {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Visible, bond.isVisible());
     }
-    if (!bond.getSettings().isShowBondQuery()) {
+    if (!bond.getEffectiveSettings().isShowBondQuery()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_Bond_ShowQuery,
-          bond.getSettings().isShowBondQuery());
+          bond.getEffectiveSettings().isShowBondQuery());
     }
-    if (bond.getSettings().isShowBondStereo()) {
+    if (bond.getEffectiveSettings().isShowBondStereo()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_Bond_ShowStereo,
-          bond.getSettings().isShowBondStereo());
+          bond.getEffectiveSettings().isShowBondStereo());
     }
-    if (!bond.getSettings().isShowBondReaction()) {
+    if (!bond.getEffectiveSettings().isShowBondReaction()) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_Bond_ShowRxn,
-          bond.getSettings().isShowBondReaction());
+          bond.getEffectiveSettings().isShowBondReaction());
     }
-    if (bond.getSettings().getBondSpacing() > 0) {
+    if (bond.getEffectiveSettings().getBondSpacing() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_BondSpacing, bond.getSettings().getBondSpacing());
+          attributes,
+          CDXMLConstants.CDXMLProp_BondSpacing,
+          bond.getEffectiveSettings().getBondSpacing());
     }
-    if (bond.getSettings().getBondSpacingAbs() > 0) {
+    if (bond.getEffectiveSettings().getBondSpacingAbs() > 0) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_BondSpacingAbs,
-          bond.getSettings().getBondSpacingAbs());
+          bond.getEffectiveSettings().getBondSpacingAbs());
     }
-    if (bond.getSettings().getBondLength() > 0) {
+    if (bond.getEffectiveSettings().getBondLength() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_BondLength, bond.getSettings().getBondLength());
+          attributes,
+          CDXMLConstants.CDXMLProp_BondLength,
+          bond.getEffectiveSettings().getBondLength());
     }
-    if (bond.getSettings().getBoldWidth() > 0) {
+    if (bond.getEffectiveSettings().getBoldWidth() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_BoldWidth, bond.getSettings().getBoldWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_BoldWidth,
+          bond.getEffectiveSettings().getBoldWidth());
     }
-    if (bond.getSettings().getLineWidth() > 0) {
+    if (bond.getEffectiveSettings().getLineWidth() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_LineWidth, bond.getSettings().getLineWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_LineWidth,
+          bond.getEffectiveSettings().getLineWidth());
     }
-    if (bond.getSettings().getMarginWidth() > 0) {
+    if (bond.getEffectiveSettings().getMarginWidth() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_MarginWidth, bond.getSettings().getMarginWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_MarginWidth,
+          bond.getEffectiveSettings().getMarginWidth());
     }
-    if (bond.getSettings().getHashSpacing() > 0) {
+    if (bond.getEffectiveSettings().getHashSpacing() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_HashSpacing, bond.getSettings().getHashSpacing());
+          attributes,
+          CDXMLConstants.CDXMLProp_HashSpacing,
+          bond.getEffectiveSettings().getHashSpacing());
     }
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFont, bond.getSettings().getLabelFont());
-    if (bond.getSettings().getLabelSize() > 0) {
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFont,
+        bond.getEffectiveSettings().getLabelFont());
+    if (bond.getEffectiveSettings().getLabelSize() > 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_LabelStyleSize, bond.getSettings().getLabelSize());
+          attributes,
+          CDXMLConstants.CDXMLProp_LabelStyleSize,
+          bond.getEffectiveSettings().getLabelSize());
     }
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFace, bond.getSettings().getLabelFace());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFace,
+        bond.getEffectiveSettings().getLabelFace());
 
     handler.startElement(
         CDXMLConstants.NS, CDXMLConstants.CDXMLObj_Bond, CDXMLConstants.CDXMLObj_Bond, attributes);
@@ -1424,8 +1726,8 @@ public class CDXMLWriter {
   private void collectGraphic(CDGraphic graphic) {
     collectReference(graphic);
     collectColor(graphic.getColor());
-    collectColor(graphic.getSettings().getBackgroundColor());
-    collectFont(graphic.getSettings().getCaptionFont());
+    collectColor(graphic.getEffectiveSettings().getBackgroundColor());
+    collectFont(graphic.getEffectiveSettings().getCaptionFont());
 
     for (CDObjectTag objectTag : graphic.getObjectTags()) {
       collectObjectTag(objectTag);
@@ -1439,7 +1741,7 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        graphic.getSettings().getBackgroundColor());
+        graphic.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, graphic.getZOrder());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, graphic.getBounds());
     if (graphic.getGraphicType() != CDGraphicType.Undefined) {
@@ -1472,32 +1774,38 @@ public class CDXMLWriter {
     if (!graphic.isVisible()) {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Visible, graphic.isVisible());
     }
-    if (graphic.getSettings().getBoldWidth() != 0) {
+    if (graphic.getEffectiveSettings().getBoldWidth() != 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_BoldWidth, graphic.getSettings().getBoldWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_BoldWidth,
+          graphic.getEffectiveSettings().getBoldWidth());
     }
-    if (graphic.getSettings().getLineWidth() != 0) {
+    if (graphic.getEffectiveSettings().getLineWidth() != 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_LineWidth, graphic.getSettings().getLineWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_LineWidth,
+          graphic.getEffectiveSettings().getLineWidth());
     }
-    if (graphic.getSettings().getHashSpacing() != 0) {
+    if (graphic.getEffectiveSettings().getHashSpacing() != 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_HashSpacing, graphic.getSettings().getHashSpacing());
+          attributes,
+          CDXMLConstants.CDXMLProp_HashSpacing,
+          graphic.getEffectiveSettings().getHashSpacing());
     }
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_CaptionStyleFont,
-        graphic.getSettings().getCaptionFont());
-    if (graphic.getSettings().getCaptionSize() != 0) {
+        graphic.getEffectiveSettings().getCaptionFont());
+    if (graphic.getEffectiveSettings().getCaptionSize() != 0) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_CaptionStyleSize,
-          graphic.getSettings().getCaptionSize());
+          graphic.getEffectiveSettings().getCaptionSize());
     }
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_CaptionStyleFace,
-        graphic.getSettings().getCaptionFace());
+        graphic.getEffectiveSettings().getCaptionFace());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BracketUsage, graphic.getBracketUsage());
     addAttribute(
         attributes,
@@ -1541,8 +1849,8 @@ public class CDXMLWriter {
   private void collectArrow(CDArrow arrow) {
     collectReference(arrow);
     collectColor(arrow.getColor());
-    collectColor(arrow.getSettings().getBackgroundColor());
-    collectFont(arrow.getSettings().getCaptionFont());
+    collectColor(arrow.getEffectiveSettings().getBackgroundColor());
+    collectFont(arrow.getEffectiveSettings().getCaptionFont());
 
     for (CDObjectTag objectTag : arrow.getObjectTags()) {
       collectObjectTag(objectTag);
@@ -1556,7 +1864,7 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        arrow.getSettings().getBackgroundColor());
+        arrow.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, arrow.getZOrder());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, arrow.getBounds());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_Line_Type, arrow.getLineType());
@@ -1571,32 +1879,38 @@ public class CDXMLWriter {
     if (!arrow.isVisible()) {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Visible, arrow.isVisible());
     }
-    if (arrow.getSettings().getBoldWidth() != 0) {
+    if (arrow.getEffectiveSettings().getBoldWidth() != 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_BoldWidth, arrow.getSettings().getBoldWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_BoldWidth,
+          arrow.getEffectiveSettings().getBoldWidth());
     }
-    if (arrow.getSettings().getLineWidth() != 0) {
+    if (arrow.getEffectiveSettings().getLineWidth() != 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_LineWidth, arrow.getSettings().getLineWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_LineWidth,
+          arrow.getEffectiveSettings().getLineWidth());
     }
-    if (arrow.getSettings().getHashSpacing() != 0) {
+    if (arrow.getEffectiveSettings().getHashSpacing() != 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_HashSpacing, arrow.getSettings().getHashSpacing());
+          attributes,
+          CDXMLConstants.CDXMLProp_HashSpacing,
+          arrow.getEffectiveSettings().getHashSpacing());
     }
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_CaptionStyleFont,
-        arrow.getSettings().getCaptionFont());
-    if (arrow.getSettings().getCaptionSize() != 0) {
+        arrow.getEffectiveSettings().getCaptionFont());
+    if (arrow.getEffectiveSettings().getCaptionSize() != 0) {
       addAttribute(
           attributes,
           CDXMLConstants.CDXMLProp_CaptionStyleSize,
-          arrow.getSettings().getCaptionSize());
+          arrow.getEffectiveSettings().getCaptionSize());
     }
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_CaptionStyleFace,
-        arrow.getSettings().getCaptionFace());
+        arrow.getEffectiveSettings().getCaptionFace());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_Head3D, arrow.getHead3D());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_Tail3D, arrow.getTail3D());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_Center3D, arrow.getCenter3D());
@@ -1670,7 +1984,7 @@ public class CDXMLWriter {
   private void collectCurve(CDSpline curve) {
     collectReference(curve);
     collectColor(curve.getColor());
-    collectColor(curve.getSettings().getBackgroundColor());
+    collectColor(curve.getEffectiveSettings().getBackgroundColor());
 
     for (CDObjectTag objectTag : curve.getObjectTags()) {
       collectObjectTag(objectTag);
@@ -1684,7 +1998,7 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        curve.getSettings().getBackgroundColor());
+        curve.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, curve.getZOrder());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, curve.getBounds());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_Curve_FillType, curve.getFillType());
@@ -1708,13 +2022,17 @@ public class CDXMLWriter {
     if (curve.isClosed()) {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Closed, curve.isClosed());
     }
-    if (curve.getSettings().getLineWidth() != 0) {
+    if (curve.getEffectiveSettings().getLineWidth() != 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_LineWidth, curve.getSettings().getLineWidth());
+          attributes,
+          CDXMLConstants.CDXMLProp_LineWidth,
+          curve.getEffectiveSettings().getLineWidth());
     }
-    if (curve.getSettings().getHashSpacing() != 0) {
+    if (curve.getEffectiveSettings().getHashSpacing() != 0) {
       addAttribute(
-          attributes, CDXMLConstants.CDXMLProp_HashSpacing, curve.getSettings().getHashSpacing());
+          attributes,
+          CDXMLConstants.CDXMLProp_HashSpacing,
+          curve.getEffectiveSettings().getHashSpacing());
     }
 
     handler.startElement(
@@ -1734,7 +2052,7 @@ public class CDXMLWriter {
   private void collectNamedAlternativeGroup(CDAltGroup altGroup) {
     collectReference(altGroup);
     collectColor(altGroup.getColor());
-    collectColor(altGroup.getSettings().getBackgroundColor());
+    collectColor(altGroup.getEffectiveSettings().getBackgroundColor());
 
     for (CDObjectTag objectTag : altGroup.getObjectTags()) {
       collectObjectTag(objectTag);
@@ -1757,7 +2075,7 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        altGroup.getSettings().getBackgroundColor());
+        altGroup.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, altGroup.getZOrder());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, altGroup.getBounds());
     addAttribute(
@@ -1898,7 +2216,9 @@ public class CDXMLWriter {
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ForegroundColor, geometry.getColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_Name, geometry.getName());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LineWidth, geometry.getSettings().getLineWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_LineWidth,
+        geometry.getEffectiveSettings().getLineWidth());
     if (geometry.getGeometricType() != CDGeometryType.Undefined) {
       addAttribute(
           attributes, CDXMLConstants.CDXMLProp_GeometricFeature, geometry.getGeometricType());
@@ -1931,7 +2251,9 @@ public class CDXMLWriter {
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ForegroundColor, constraint.getColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_Name, constraint.getName());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LineWidth, constraint.getSettings().getLineWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_LineWidth,
+        constraint.getEffectiveSettings().getLineWidth());
     if (constraint.getConstraintType() != CDConstraintType.Undefined) {
       addAttribute(
           attributes, CDXMLConstants.CDXMLProp_ConstraintType, constraint.getConstraintType());
@@ -1989,8 +2311,8 @@ public class CDXMLWriter {
   private void collectSpectrum(CDSpectrum spectrum) {
     collectReference(spectrum);
     collectColor(spectrum.getColor());
-    collectColor(spectrum.getSettings().getBackgroundColor());
-    collectFont(spectrum.getSettings().getLabelFont());
+    collectColor(spectrum.getEffectiveSettings().getBackgroundColor());
+    collectFont(spectrum.getEffectiveSettings().getLabelFont());
 
     for (CDObjectTag objectTag : spectrum.getObjectTags()) {
       collectObjectTag(objectTag);
@@ -2004,7 +2326,7 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        spectrum.getSettings().getBackgroundColor());
+        spectrum.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, spectrum.getZOrder());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, spectrum.getBounds());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_Spectrum_XSpacing, spectrum.getXSpacing());
@@ -2039,15 +2361,25 @@ public class CDXMLWriter {
       addAttribute(attributes, CDXMLConstants.CDXMLProp_Visible, spectrum.isVisible());
     }
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_BoldWidth, spectrum.getSettings().getBoldWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_BoldWidth,
+        spectrum.getEffectiveSettings().getBoldWidth());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LineWidth, spectrum.getSettings().getLineWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_LineWidth,
+        spectrum.getEffectiveSettings().getLineWidth());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFont, spectrum.getSettings().getLabelFont());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFont,
+        spectrum.getEffectiveSettings().getLabelFont());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleSize, spectrum.getSettings().getLabelSize());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleSize,
+        spectrum.getEffectiveSettings().getLabelSize());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFace, spectrum.getSettings().getLabelFace());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFace,
+        spectrum.getEffectiveSettings().getLabelFace());
 
     handler.startElement(
         CDXMLConstants.NS,
@@ -2076,7 +2408,7 @@ public class CDXMLWriter {
   private void collectEmbeddedObject(CDPicture embeddedObject) {
     collectReference(embeddedObject);
     collectColor(embeddedObject.getColor());
-    collectColor(embeddedObject.getSettings().getBackgroundColor());
+    collectColor(embeddedObject.getEffectiveSettings().getBackgroundColor());
 
     for (CDObjectTag objectTag : embeddedObject.getObjectTags()) {
       collectObjectTag(objectTag);
@@ -2091,7 +2423,7 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        embeddedObject.getSettings().getBackgroundColor());
+        embeddedObject.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, embeddedObject.getZOrder());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, embeddedObject.getBounds());
     addAttribute(
@@ -2294,8 +2626,8 @@ public class CDXMLWriter {
   private void collectTable(CDTable table) {
     collectReference(table);
     collectColor(table.getColor());
-    collectColor(table.getSettings().getBackgroundColor());
-    collectFont(table.getSettings().getLabelFont());
+    collectColor(table.getEffectiveSettings().getBackgroundColor());
+    collectFont(table.getEffectiveSettings().getLabelFont());
 
     for (CDPage page : table.getPages()) {
       collectPage(page);
@@ -2315,21 +2647,33 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        table.getSettings().getBackgroundColor());
+        table.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, table.getZOrder());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, table.getBounds());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_BoldWidth, table.getSettings().getBoldWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_BoldWidth,
+        table.getEffectiveSettings().getBoldWidth());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LineWidth, table.getSettings().getLineWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_LineWidth,
+        table.getEffectiveSettings().getLineWidth());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFont, table.getSettings().getLabelFont());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFont,
+        table.getEffectiveSettings().getLabelFont());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleSize, table.getSettings().getLabelSize());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleSize,
+        table.getEffectiveSettings().getLabelSize());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFace, table.getSettings().getLabelFace());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFace,
+        table.getEffectiveSettings().getLabelFace());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_MarginWidth, table.getSettings().getMarginWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_MarginWidth,
+        table.getEffectiveSettings().getMarginWidth());
 
     handler.startElement(
         CDXMLConstants.NS,
@@ -2351,8 +2695,8 @@ public class CDXMLWriter {
   private void collectTLCPlate(CDTLCPlate tlcPlate) {
     collectReference(tlcPlate);
     collectColor(tlcPlate.getColor());
-    collectColor(tlcPlate.getSettings().getBackgroundColor());
-    collectFont(tlcPlate.getSettings().getLabelFont());
+    collectColor(tlcPlate.getEffectiveSettings().getBackgroundColor());
+    collectFont(tlcPlate.getEffectiveSettings().getLabelFont());
 
     for (CDTLCLane tlcLane : tlcPlate.getLanes()) {
       collectTLCLane(tlcLane);
@@ -2372,21 +2716,33 @@ public class CDXMLWriter {
     addAttribute(
         attributes,
         CDXMLConstants.CDXMLProp_BackgroundColor,
-        tlcPlate.getSettings().getBackgroundColor());
+        tlcPlate.getEffectiveSettings().getBackgroundColor());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_ZOrder, tlcPlate.getZOrder());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BoundingBox, tlcPlate.getBounds());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_BoldWidth, tlcPlate.getSettings().getBoldWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_BoldWidth,
+        tlcPlate.getEffectiveSettings().getBoldWidth());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LineWidth, tlcPlate.getSettings().getLineWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_LineWidth,
+        tlcPlate.getEffectiveSettings().getLineWidth());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFont, tlcPlate.getSettings().getLabelFont());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFont,
+        tlcPlate.getEffectiveSettings().getLabelFont());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleSize, tlcPlate.getSettings().getLabelSize());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleSize,
+        tlcPlate.getEffectiveSettings().getLabelSize());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_LabelStyleFace, tlcPlate.getSettings().getLabelFace());
+        attributes,
+        CDXMLConstants.CDXMLProp_LabelStyleFace,
+        tlcPlate.getEffectiveSettings().getLabelFace());
     addAttribute(
-        attributes, CDXMLConstants.CDXMLProp_MarginWidth, tlcPlate.getSettings().getMarginWidth());
+        attributes,
+        CDXMLConstants.CDXMLProp_MarginWidth,
+        tlcPlate.getEffectiveSettings().getMarginWidth());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_TopLeft, tlcPlate.getTopLeft());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_TopRight, tlcPlate.getTopRight());
     addAttribute(attributes, CDXMLConstants.CDXMLProp_BottomRight, tlcPlate.getBottomRight());
@@ -2791,10 +3147,15 @@ public class CDXMLWriter {
     if (value == null) {
       return;
     }
-    if (fonts.get(value) == null) {
-      throw new IOException("Font wasn't collected in the first place");
+    Integer index = fontsByInstance.get(value);
+    if (index == null) {
+      index = fonts.get(value);
+      if (index == null) {
+        throw new IOException("Font wasn't collected in the first place");
+      }
+      fontsByInstance.put(value, index);
     }
-    attributes.addAttribute("", name, name, CDXMLConstants.CDATA, String.valueOf(fonts.get(value)));
+    attributes.addAttribute("", name, name, CDXMLConstants.CDATA, String.valueOf(index));
   }
 
   private void addAttribute(AttributesImpl attributes, String name, CDCharSet value)
@@ -2815,11 +3176,15 @@ public class CDXMLWriter {
     if (value == null) {
       return;
     }
-    if (colors.get(value) == null) {
-      throw new IOException("Color wasn't collected in the first place");
+    Integer index = colorsByInstance.get(value);
+    if (index == null) {
+      index = colors.get(value);
+      if (index == null) {
+        throw new IOException("Color wasn't collected in the first place");
+      }
+      colorsByInstance.put(value, index);
     }
-    attributes.addAttribute(
-        "", name, name, CDXMLConstants.CDATA, String.valueOf(colors.get(value)));
+    attributes.addAttribute("", name, name, CDXMLConstants.CDATA, String.valueOf(index));
   }
 
   private void addAttribute(AttributesImpl attributes, String name, CDFontFace value) {
@@ -3244,7 +3609,7 @@ public class CDXMLWriter {
 
   private void addReferenceAttribute(AttributesImpl attributes, String name, Object value)
       throws IOException {
-    if (value == null) {
+    if (value == null || (scoped && !references.containsKey(value))) {
       return;
     }
     attributes.addAttribute(
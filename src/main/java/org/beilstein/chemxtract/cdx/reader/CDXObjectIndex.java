@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx.reader;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offset index of the objects in a binary CDX document. A single scan records the id, tag, byte
+ * span and parent of every object without copying any property data, so that a single object
+ * subtree can later be parsed on its own (see {@link CDXReader#readObject(byte[], CDXObjectIndex,
+ * int, Class)}) and independent subtrees can be tokenised in parallel (see {@link
+ * CDXReader#readDocument(byte[], CDXObjectIndex)}).
+ *
+ * <p>Entries are stored in document order in parallel arrays; entry {@code 0} is the root document
+ * object. The index can be written to and read from a compact binary sidecar.
+ */
+public class CDXObjectIndex {
+
+  /** Magic number of the sidecar format ("CDXI"). */
+  private static final int MAGIC = 0x43445849;
+
+  /** Version of the sidecar format. */
+  private static final int VERSION = 1;
+
+  /** Length of the indexed document in bytes, used to detect a stale sidecar. */
+  private final int length;
+
+  private int size;
+  private int[] ids;
+  private int[] tags;
+  private int[] starts;
+  private int[] ends;
+  private int[] parents;
+
+  /** Maps an object id to the first entry carrying this id. */
+  private final Map<Integer, Integer> entriesById = new HashMap<>();
+
+  private CDXObjectIndex(int length, int capacity) {
+    this.length = length;
+    this.ids = new int[capacity];
+    this.tags = new int[capacity];
+    this.starts = new int[capacity];
+    this.ends = new int[capacity];
+    this.parents = new int[capacity];
+  }
+
+  /**
+   * Scans a binary CDX document and builds the offset index of all of its objects.
+   *
+   * @param bytes the raw CDX document bytes
+   * @return the offset index
+   * @throws IOException if the header is not recognized or the document is truncated
+   */
+  public static CDXObjectIndex build(byte[] bytes) throws IOException {
+    for (int i = 0; i < CDXConstants.getCdxSignature().length; i++) {
+      if (bytes.length <= i || bytes[i] != CDXConstants.getCdxSignature()[i]) {
+        throw new IOException("Header not recognized");
+      }
+    }
+    CDXObjectIndex index = new CDXObjectIndex(bytes.length, 64);
+    // signature, 4 bytes kept for backward compatibility and 10 reserved bytes
+    int[] position = new int[] {CDXConstants.getCdxSignature().length + 14};
+    int tag = CDXUtils.readUInt16(bytes, position[0]);
+    position[0] += 2;
+    index.scanObject(tag, -1, bytes, position);
+    return index;
+  }
+
+  private void scanObject(int tag, int parent, byte[] bytes, int[] position) throws IOException {
+    int entry = add(CDXUtils.readInt32(bytes, position[0]), tag, position[0] - 2, parent);
+    position[0] += 4;
+
+    while (position[0] < bytes.length) {
+      int childTag = CDXUtils.readUInt16(bytes, position[0]);
+      position[0] += 2;
+      if (childTag == CDXConstants.CDXProp_EndObject) {
+        break;
+      } else if (childTag >= CDXConstants.CDXTag_Object) {
+        scanObject(childTag, entry, bytes, position);
+      } else {
+        int propertyLength = CDXUtils.readUInt16(bytes, position[0]);
+        position[0] += 2;
+        if (propertyLength == 0xFFFF) {
+          propertyLength = CDXUtils.readInt32(bytes, position[0]);
+          position[0] += 4;
+        }
+        if (propertyLength < 0 || position[0] + propertyLength >= bytes.length) {
+          throw new IOException(
+              "Property size doesn't fit into the remaining data at " + (position[0] - 4));
+        }
+        position[0] += propertyLength;
+      }
+    }
+    ends[entry] = position[0];
+  }
+
+  private int add(int id, int tag, int start, int parent) {
+    if (size == ids.length) {
+      int capacity = size * 2;
+      ids = Arrays.copyOf(ids, capacity);
+      tags = Arrays.copyOf(tags, capacity);
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+      parents = Arrays.copyOf(parents, capacity);
+    }
+    ids[size] = id;
+    tags[size] = tag;
+    starts[size] = start;
+    parents[size] = parent;
+    entriesById.putIfAbsent(id, size);
+    return size++;
+  }
+
+  /**
+   * Writes this index as a compact binary sidecar.
+   *
+   * @param out the stream to write to; not closed by this method
+   * @throws IOException if writing fails
+   */
+  public void write(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeInt(length);
+    data.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      data.writeInt(ids[i]);
+      data.writeShort(tags[i]);
+      data.writeInt(starts[i]);
+      data.writeInt(ends[i]);
+      data.writeInt(parents[i]);
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads an index previously stored with {@link #write(OutputStream)}.
+   *
+   * @param in the stream to read from; not closed by this method
+   * @return the offset index
+   * @throws IOException if the sidecar is not recognized or truncated
+   */
+  public static CDXObjectIndex read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("CDX index header not recognized");
+    }
+    int version = data.readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported CDX index version " + version);
+    }
+    int length = data.readInt();
+    int size = data.readInt();
+    if (size <= 0) {
+      throw new IOException("CDX index is empty");
+    }
+    // every object starts with a two-byte tag, so a larger size cannot belong to the document
+    if (length <= 0 || size > length / 2) {
+      throw new IOException("CDX index size " + size + " exceeds document length " + length);
+    }
+    CDXObjectIndex index = new CDXObjectIndex(length, size);
+    for (int i = 0; i < size; i++) {
+      int id = data.readInt();
+      int tag = data.readUnsignedShort();
+      int start = data.readInt();
+      int end = data.readInt();
+      int parent = data.readInt();
+      index.ends[index.add(id, tag, start, parent)] = end;
+    }
+    return index;
+  }
+
+  /**
+   * Checks whether this index was built for the given document.
+   *
+   * @param bytes the raw CDX document bytes
+   * @return {@code true} if the document has the indexed length
+   */
+  public boolean matches(byte[] bytes) {
+    return bytes != null && bytes.length == length;
+  }
+
+  /**
+   * Returns the number of indexed objects.
+   *
+   * @return number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the entry of the object with the given id.
+   *
+   * @param id the CDX object id
+   * @return the entry, or {@code -1} if no object carries this id
+   */
+  public int find(int id) {
+    Integer entry = entriesById.get(id);
+    return entry == null ? -1 : entry;
+  }
+
+  /**
+   * Returns the entry of the object starting at the given byte offset.
+   *
+   * @param start byte offset of an object's tag
+   * @return the entry, or {@code -1} if no object starts there
+   */
+  public int findByStart(int start) {
+    int entry = Arrays.binarySearch(starts, 0, size, start);
+    return entry < 0 ? -1 : entry;
+  }
+
+  /**
+   * Returns the CDX object id of the entry.
+   *
+   * @param entry the entry
+   * @return the object id
+   */
+  public int getId(int entry) {
+    return ids[entry];
+  }
+
+  /**
+   * Returns the CDX object tag of the entry, one of the {@code CDXObj_} constants of {@link
+   * CDXConstants}.
+   *
+   * @param entry the entry
+   * @return the object tag
+   */
+  public int getTag(int entry) {
+    return tags[entry];
+  }
+
+  /**
+   * Returns the byte offset of the object's tag, equal to {@link CDXObject#getPosition()}.
+   *
+   * @param entry the entry
+   * @return start offset (inclusive)
+   */
+  public int getStart(int entry) {
+    return starts[entry];
+  }
+
+  /**
+   * Returns the byte offset directly after the object's end marker.
+   *
+   * @param entry the entry
+   * @return end offset (exclusive)
+   */
+  public int getEnd(int entry) {
+    return ends[entry];
+  }
+
+  /**
+   * Returns the parent entry of an object.
+   *
+   * @param entry the entry
+   * @return the parent entry, or {@code -1} for the root
+   */
+  public int getParent(int entry) {
+    return parents[entry];
+  }
+
+  /**
+   * Returns the direct child entries of an object in document order.
+   *
+   * @param entry the entry
+   * @return child entries
+   */
+  public int[] getChildren(int entry) {
+    int[] children = new int[8];
+    int count = 0;
+    // children follow their parent in document order and lie inside its byte span
+    for (int i = entry + 1; i < size && starts[i] < ends[entry]; i++) {
+      if (parents[i] == entry) {
+        if (count == children.length) {
+          children = Arrays.copyOf(children, count * 2);
+        }
+        children[count++] = i;
+      }
+    }
+    return Arrays.copyOf(children, count);
+  }
+}
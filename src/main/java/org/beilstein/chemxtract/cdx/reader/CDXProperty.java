@@ -37,8 +37,11 @@ import org.beilstein.chemxtract.cdx.datatypes.CDElementList;
 import org.beilstein.chemxtract.cdx.datatypes.CDFont;
 import org.beilstein.chemxtract.cdx.datatypes.CDFontFace;
 import org.beilstein.chemxtract.cdx.datatypes.CDGenericList;
+import org.beilstein.chemxtract.cdx.datatypes.CDInterner;
 import org.beilstein.chemxtract.cdx.datatypes.CDPoint2D;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint2DList;
 import org.beilstein.chemxtract.cdx.datatypes.CDPoint3D;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint3DList;
 import org.beilstein.chemxtract.cdx.datatypes.CDStyledString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -272,7 +275,7 @@ public class CDXProperty {
     return rectangle;
   }
 
-  public List<CDPoint2D> getDataAsPoint2DArray() throws IOException {
+  public CDPoint2DList getDataAsPoint2DArray() throws IOException {
     int count = CDXUtils.readUInt16(data, 0);
     if (count * 8 + 2 != length) {
       throw new IOException(
@@ -284,14 +287,16 @@ public class CDXProperty {
               + " at "
               + getPositionAsString());
     }
-    List<CDPoint2D> array = new ArrayList<>(count);
-    for (int i = 2; i < length; i += 8) {
-      array.add(readPoint2D(i));
+    // decoded straight into the packed x/y array, Y-coordinate first in the payload !!
+    float[] coordinates = new float[count * 2];
+    for (int i = 0, offset = 2; i < coordinates.length; i += 2, offset += 8) {
+      coordinates[i + 1] = readCoordinate(offset);
+      coordinates[i] = readCoordinate(offset + 4);
     }
-    return array;
+    return CDPoint2DList.wrap(coordinates);
   }
 
-  public List<CDPoint3D> getDataAsPoint3DArray() throws IOException {
+  public CDPoint3DList getDataAsPoint3DArray() throws IOException {
     int count = CDXUtils.readUInt16(data, 0);
     if (count * 12 + 2 != length) {
       throw new IOException(
@@ -303,11 +308,14 @@ public class CDXProperty {
               + " at "
               + getPositionAsString());
     }
-    List<CDPoint3D> array = new ArrayList<>(count);
-    for (int i = 2; i < length; i += 12) {
-      array.add(readPoint3D(i));
+    // decoded straight into the packed x/y/z array, Z-coordinate first in the payload !!
+    float[] coordinates = new float[count * 3];
+    for (int i = 0, offset = 2; i < coordinates.length; i += 3, offset += 12) {
+      coordinates[i + 2] = readCoordinate(offset);
+      coordinates[i + 1] = readCoordinate(offset + 4);
+      coordinates[i] = readCoordinate(offset + 8);
     }
-    return array;
+    return CDPoint3DList.wrap(coordinates);
   }
 
   private <T> T readObjectByRef(Class<T> clazz, int offset, RefManager refManager)
@@ -494,23 +502,6 @@ public class CDXProperty {
     return CDXUtils.readFixedPoint(data, offset);
   }
 
-  private CDPoint2D readPoint2D(int offset) {
-    CDPoint2D point2D = new CDPoint2D();
-    // Y-coordinate first !!
-    point2D.setY(readCoordinate(offset + 0));
-    point2D.setX(readCoordinate(offset + 4));
-    return point2D;
-  }
-
-  private CDPoint3D readPoint3D(int offset) {
-    CDPoint3D point3D = new CDPoint3D();
-    // Z-coordinate first, then Y and X !!
-    point3D.setZ(readCoordinate(offset + 0));
-    point3D.setY(readCoordinate(offset + 4));
-    point3D.setX(readCoordinate(offset + 8));
-    return point3D;
-  }
-
   private CDFont readFontRef(int offset, Map<Integer, CDFont> fonts) {
     int index = CDXUtils.readUInt16(data, offset);
     CDFont font = fonts.get(index);
@@ -519,6 +510,7 @@ public class CDXProperty {
       font = new CDFont();
       font.setName("Arial");
       font.setCharSet(CDCharSet.Win31Latin1);
+      font = CDInterner.FONTS.intern(font);
     }
     return font;
   }
@@ -542,7 +534,7 @@ public class CDXProperty {
       CDFont font = new CDFont();
       font.setCharSet(charSet);
       font.setName(sb.toString());
-      fonts.put(id, font);
+      fonts.put(id, CDInterner.FONTS.intern(font));
     }
     return fonts;
   }
@@ -612,7 +604,7 @@ public class CDXProperty {
       color.setRed(red / 65536f);
       color.setGreen(green / 65536f);
       color.setBlue(blue / 65536f);
-      colors.put(index++, color);
+      colors.put(index++, CDInterner.COLORS.intern(color));
     }
     return colors;
   }
@@ -861,12 +853,13 @@ public class CDXProperty {
       }
     } else {
       string.addChunk(
-          new CDStyledString.CDXChunk(
-              fonts.get(0),
-              12,
-              new CDFontFace(),
-              colors.get(0),
-              new String(text, CDX_FALLBACK_CHARSET)));
+          CDInterner.internChunk(
+              new CDStyledString.CDXChunk(
+                  fonts.get(0),
+                  12,
+                  CDInterner.FONT_FACES.intern(new CDFontFace()),
+                  colors.get(0),
+                  new String(text, CDX_FALLBACK_CHARSET))));
     }
     return string;
   }
@@ -893,12 +886,15 @@ public class CDXProperty {
     }
     try {
       string.addChunk(
-          new CDStyledString.CDXChunk(
-              fontStyle.getFont(),
-              fontStyle.getSize(),
-              fontStyle.getFontType(),
-              fontStyle.getColor(),
-              fallback != null ? new String(bytes, fallback) : new String(bytes, charSetName)));
+          CDInterner.internChunk(
+              new CDStyledString.CDXChunk(
+                  fontStyle.getFont(),
+                  fontStyle.getSize(),
+                  fontStyle.getFontType(),
+                  fontStyle.getColor(),
+                  fallback != null
+                      ? new String(bytes, fallback)
+                      : new String(bytes, charSetName))));
     } catch (UnsupportedEncodingException exception) {
       LOGGER.warn("Found unsupported encoding; text chunk discarded.", exception);
     }
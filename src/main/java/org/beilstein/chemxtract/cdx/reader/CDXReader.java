@@ -23,9 +23,12 @@ package org.beilstein.chemxtract.cdx.reader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.zip.DataFormatException;
 import org.beilstein.chemxtract.cdx.CDAltGroup;
 import org.beilstein.chemxtract.cdx.CDArrow;
@@ -63,6 +66,7 @@ import org.beilstein.chemxtract.cdx.CDText;
 import org.beilstein.chemxtract.cdx.datatypes.CDAtomSubstituentType;
 import org.beilstein.chemxtract.cdx.datatypes.CDColor;
 import org.beilstein.chemxtract.cdx.datatypes.CDFont;
+import org.beilstein.chemxtract.cdx.datatypes.CDInterner;
 import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
 import org.beilstein.chemxtract.cdx.datatypes.CDSplineType;
 import org.beilstein.chemxtract.io.IOUtils;
@@ -79,6 +83,14 @@ public class CDXReader {
   private Map<Integer, CDColor> colors = new HashMap<>();
   private Map<Integer, CDFont> fonts = new HashMap<>();
 
+  /** Document bytes and offset index, only set when single objects are read on demand. */
+  private byte[] bytes;
+
+  private CDXObjectIndex index;
+
+  /** Optional listener notified as soon as a page and all of its content are populated. */
+  private Consumer<CDPage> pageListener;
+
   protected static final boolean RIGID = false;
 
   private CDXReader() {}
@@ -92,16 +104,110 @@ public class CDXReader {
    * @throws IOException Occurs if an exception occur during the generation of the instance
    */
   public static CDDocument readDocument(InputStream in) throws IOException, IOException {
+    return readDocument(in, null);
+  }
+
+  /**
+   * This method reads a {@link CDDocument} from a {@link InputStream} and hands every page to the
+   * given listener as soon as the page and all of its content are populated, while later pages
+   * are still being populated. This allows downstream processing to overlap with reading.
+   *
+   * @param in {@link InputStream} from which the input are read
+   * @param pageListener called on the reading thread for each populated page, in document order;
+   *     may be {@code null}
+   * @return ChemDraw document instance
+   * @throws IOException Occurs if the reader couldn't read the input from the {@link InputStream}
+   */
+  public static CDDocument readDocument(InputStream in, Consumer<CDPage> pageListener)
+      throws IOException {
     byte[] bytes = IOUtils.readBytes(in);
-    CDXReader reader = new CDXReader();
     LOGGER.debug("Create object tree");
     CDXObject object = CDXUtils.readCDXDocument(bytes, new int[] {0});
+    CDXReader reader = new CDXReader();
+    reader.pageListener = pageListener;
+    return reader.buildDocument(object);
+  }
+
+  /**
+   * This method reads a {@link CDDocument} from the raw bytes of a CDX file using a previously
+   * built {@link CDXObjectIndex}. The top-level objects of the document are tokenised in parallel;
+   * the model tree is then built as by {@link #readDocument(InputStream)}.
+   *
+   * @param bytes the raw CDX document bytes
+   * @param index offset index of the document
+   * @return ChemDraw document instance
+   * @throws IOException Occurs if the index does not match the document or the input is malformed
+   */
+  public static CDDocument readDocument(byte[] bytes, CDXObjectIndex index) throws IOException {
+    checkIndex(bytes, index);
+    LOGGER.debug("Create object tree");
+    CDXObject root = CDXUtils.readCDXObjectAt(bytes, index.getStart(0), index);
+    try {
+      root.setObjects(
+          Arrays.stream(index.getChildren(0))
+              .parallel()
+              .mapToObj(
+                  entry -> {
+                    try {
+                      return CDXUtils.readCDXObjectAt(bytes, index.getStart(entry));
+                    } catch (IOException e) {
+                      throw new UncheckedIOException(e);
+                    }
+                  })
+              .toList());
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return new CDXReader().buildDocument(root);
+  }
 
+  /**
+   * This method reads a single object, e.g. a fragment or a reaction step, from the raw bytes of a
+   * CDX file without parsing the rest of the document. Only the subtree of the object is parsed;
+   * objects it refers to outside this subtree are parsed on demand when the reference is resolved.
+   *
+   * @param bytes the raw CDX document bytes
+   * @param index offset index of the document
+   * @param id the CDX id of the object
+   * @param clazz the expected class of the object
+   * @param <T> the type of the object
+   * @return the object, or {@code null} if no object with this id exists
+   * @throws IOException Occurs if the index does not match the document, the object is not an
+   *     instance of {@code clazz} or the input is malformed
+   */
+  public static <T> T readObject(byte[] bytes, CDXObjectIndex index, int id, Class<T> clazz)
+      throws IOException {
+    checkIndex(bytes, index);
+    CDXReader reader = new CDXReader();
+    reader.bytes = bytes;
+    reader.index = index;
+    reader.readTables(CDXUtils.readCDXObjectAt(bytes, index.getStart(0), index), null);
+    reader.refManager.setResolver(reader::resolve);
+    Object object = reader.resolve(id);
+    if (object != null && !clazz.isInstance(object)) {
+      throw new IOException(
+          "Object with id 0x"
+              + Integer.toHexString(id)
+              + " is not instance of "
+              + clazz.getName()
+              + " instead instance of "
+              + object.getClass().getName());
+    }
+    return clazz.cast(object);
+  }
+
+  private static void checkIndex(byte[] bytes, CDXObjectIndex index) throws IOException {
+    if (!index.matches(bytes)) {
+      throw new IOException("Index does not match the document");
+    }
+  }
+
+  private CDDocument buildDocument(CDXObject object) throws IOException {
     LOGGER.debug("Create model tree");
-    CDDocument document = reader.createDocumentObject(object);
+    CDDocument document = createDocumentObject(object);
 
     LOGGER.debug("Populate model tree");
-    reader.populateDocumentObject(object);
+    populateDocumentObject(object);
 
     LOGGER.debug("Finished reading document");
     return document;
@@ -137,30 +243,7 @@ public class CDXReader {
     handlePopulation("document", root);
     CDDocument document = (CDDocument) root.getInstance();
 
-    // first color table
-    for (CDXProperty property : root.getProperties()) {
-      switch (property.getTag()) {
-        case CDXConstants.CDXProp_ColorTable:
-          colors = property.getDataAsColorTable();
-          // Color 2 & 3 are the standard foreground and background color
-          document.getSettings().setColor(colors.get(3));
-          document.getSettings().setBackgroundColor(colors.get(2));
-          break;
-        default:
-          break;
-      }
-    }
-
-    // second font table
-    for (CDXProperty property : root.getProperties()) {
-      switch (property.getTag()) {
-        case CDXConstants.CDXProp_FontTable:
-          fonts = property.getDataAsFontTable();
-          break;
-        default:
-          break;
-      }
-    }
+    readTables(root, document);
 
     for (CDXProperty property : root.getProperties()) {
       handleProperty(property);
@@ -349,6 +432,42 @@ public class CDXReader {
     populateChildren(root);
   }
 
+  /**
+   * Reads the color and font tables of the document object, which are needed before any styled
+   * property can be decoded.
+   *
+   * @param root the document object
+   * @param document the document to receive the standard colors, may be {@code null}
+   */
+  private void readTables(CDXObject root, CDDocument document) throws IOException {
+    // first color table
+    for (CDXProperty property : root.getProperties()) {
+      switch (property.getTag()) {
+        case CDXConstants.CDXProp_ColorTable:
+          colors = property.getDataAsColorTable();
+          // Color 2 & 3 are the standard foreground and background color
+          if (document != null) {
+            document.getSettings().setColor(colors.get(3));
+            document.getSettings().setBackgroundColor(colors.get(2));
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    // second font table
+    for (CDXProperty property : root.getProperties()) {
+      switch (property.getTag()) {
+        case CDXConstants.CDXProp_FontTable:
+          fonts = property.getDataAsFontTable();
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
   private CDPage createPageObject(CDXObject root) throws IOException {
     handleCreation("page", root);
     CDPage page = new CDPage();
@@ -490,6 +609,10 @@ public class CDXReader {
     }
 
     populateChildren(root);
+
+    if (pageListener != null) {
+      pageListener.accept(page);
+    }
   }
 
   private CDFragment createFragmentObject(CDXObject root) throws IOException {
@@ -881,7 +1004,8 @@ public class CDXReader {
           break;
         case CDXConstants.CDXProp_Bond_CrossingBonds:
           bond.setCrossingBonds(
-              new HashSet<CDBond>(property.getDataAsObjectRefArray(CDBond.class, refManager)));
+              new LinkedHashSet<CDBond>(
+                  property.getDataAsObjectRefArray(CDBond.class, refManager)));
           break;
         case CDXConstants.CDXProp_Bond_ShowRxn:
           bond.getSettings().setShowBondReaction(property.getDataAsBoolean());
@@ -2692,7 +2816,7 @@ public class CDXReader {
         case CDXConstants.CDXProp_Curve_Type:
           CDSplineType curveType = CDXUtils.readCurveTypeProperty(property);
           spline.setFillType(curveType.getFillType());
-          spline.setLineType(curveType.getLineType());
+          spline.setLineType(CDInterner.LINE_TYPES.intern(curveType.getLineType()));
           spline.setClosed(curveType.isClosed());
           break;
         case CDXConstants.CDXProp_Curve_Points:
@@ -2872,6 +2996,102 @@ public class CDXReader {
     populateChildren(root);
   }
 
+  /**
+   * Creates the model object for a single object subtree, independent of its parent. Used to
+   * resolve objects from a {@link CDXObjectIndex}.
+   */
+  private Object createObject(CDXObject object) throws IOException {
+    switch (object.getTag()) {
+      case CDXConstants.CDXObj_Page:
+        return createPageObject(object);
+      case CDXConstants.CDXObj_Group:
+        return createGroupObject(object);
+      case CDXConstants.CDXObj_Fragment:
+        return createFragmentObject(object);
+      case CDXConstants.CDXObj_Node:
+        return createNodeObject(object);
+      case CDXConstants.CDXObj_Bond:
+        return createBondObject(object);
+      case CDXConstants.CDXObj_Text:
+        return createTextObject(object);
+      case CDXConstants.CDXObj_Graphic:
+        return createGraphicObject(object);
+      case CDXConstants.CDXObj_Curve:
+        return createSplineObject(object);
+      case CDXConstants.CDXObj_EmbeddedObject:
+        return createEmbeddedObjectObject(object);
+      case CDXConstants.CDXObj_NamedAlternativeGroup:
+        return createNamedAlternativeGroupObject(object);
+      case CDXConstants.CDXObj_TemplateGrid:
+        return createTemplateGridObject(object);
+      case CDXConstants.CDXObj_ReactionScheme:
+        return createReactionSchemeObject(object);
+      case CDXConstants.CDXObj_ReactionStep:
+        return createReactionStepObject(object);
+      case CDXConstants.CDXObj_Spectrum:
+        return createSpectrumObject(object);
+      case CDXConstants.CDXObj_ObjectTag:
+        return createObjectTagObject(object);
+      case CDXConstants.CDXObj_Sequence:
+        return createSequenceObject(object);
+      case CDXConstants.CDXObj_CrossReference:
+        return createCrossReferenceObject(object);
+      case CDXConstants.CDXObj_Splitter:
+        return createSplitterObject(object);
+      case CDXConstants.CDXObj_Table:
+        return createTableObject(object);
+      case CDXConstants.CDXObj_BracketedGroup:
+        return createBracketedGroupObject(object);
+      case CDXConstants.CDXObj_BracketAttachment:
+        return createBracketAttachmentObject(object);
+      case CDXConstants.CDXObj_CrossingBond:
+        return createCrossingBondObject(object);
+      case CDXConstants.CDXObj_Border:
+        return createBorderObject(object);
+      case CDXConstants.CDXObj_Geometry:
+        return createGeometryObject(object);
+      case CDXConstants.CDXObj_Constraint:
+        return createConstraintObject(object);
+      case CDXConstants.CDXObj_TLCPlate:
+        return createTLCPlateObject(object);
+      case CDXConstants.CDXObj_TLCLane:
+        return createTLCLaneObject(object);
+      case CDXConstants.CDXObj_TLCSpot:
+        return createTLCSpotObject(object);
+      case CDXConstants.CDXObj_ChemicalProperty:
+        return createChemicalPropertyObject(object);
+      case CDXConstants.CDXObj_Arrow:
+        return createArrowObject(object);
+      case CDXConstants.CDXObj_ColoredMolecularArea:
+        return createColoredMolecularArea(object);
+
+      default:
+        handleMissingTag(object);
+        return null;
+    }
+  }
+
+  /**
+   * Parses the object with the given id from the index and registers it, creating and populating
+   * only its own subtree. Called by the {@link RefManager} for references that point outside the
+   * subtrees read so far.
+   */
+  private Object resolve(int id) throws IOException {
+    int entry = index.find(id);
+    if (entry < 0 || entry == 0) {
+      return null;
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("resolve object with id {}(0x{})", id, Integer.toHexString(id));
+    }
+    CDXObject object = CDXUtils.readCDXObjectAt(bytes, index.getStart(entry));
+    Object instance = createObject(object);
+    if (instance != null) {
+      populateObject(object);
+    }
+    return instance;
+  }
+
   private void populateChildren(CDXObject root) throws IOException {
     for (CDXObject object : root.getObjects()) {
       if (object.getInstance() == null) {
@@ -2881,109 +3101,113 @@ public class CDXReader {
             CDXUtils.getPositionAsString(object));
         continue;
       }
-      switch (object.getTag()) {
-        case CDXConstants.CDXObj_Document:
-          populateDocumentObject(object);
-          break;
-        case CDXConstants.CDXObj_Page:
-          populatePageObject(object);
-          break;
-        case CDXConstants.CDXObj_Group:
-          populateGroupObject(object);
-          break;
-        case CDXConstants.CDXObj_Fragment:
-          populateFragmentObject(object);
-          break;
-        case CDXConstants.CDXObj_Node:
-          populateNodeObject(object);
-          break;
-        case CDXConstants.CDXObj_Bond:
-          populateBondObject(object);
-          break;
-        case CDXConstants.CDXObj_Text:
-          populateTextObject(object);
-          break;
-        case CDXConstants.CDXObj_Graphic:
-          populateGraphicObject(object);
-          break;
-        case CDXConstants.CDXObj_Curve:
-          populateSplineObject(object);
-          break;
-        case CDXConstants.CDXObj_EmbeddedObject:
-          populateEmbeddedObjectObject(object);
-          break;
-        case CDXConstants.CDXObj_NamedAlternativeGroup:
-          populateNamedAlternativeGroupObject(object);
-          break;
-        case CDXConstants.CDXObj_TemplateGrid:
-          populateTemplateGridObject(object);
-          break;
-        case CDXConstants.CDXObj_ReactionScheme:
-          populateReactionSchemeObject(object);
-          break;
-        case CDXConstants.CDXObj_ReactionStep:
-          populateReactionStepObject(object);
-          break;
-        case CDXConstants.CDXObj_Spectrum:
-          populateSpectrumObject(object);
-          break;
-        case CDXConstants.CDXObj_ObjectTag:
-          populateObjectTagObject(object);
-          break;
-        case CDXConstants.CDXObj_Sequence:
-          populateSequenceObject(object);
-          break;
-        case CDXConstants.CDXObj_CrossReference:
-          populateCrossReferenceObject(object);
-          break;
-        case CDXConstants.CDXObj_Splitter:
-          populateSplitterObject(object);
-          break;
-        case CDXConstants.CDXObj_Table:
-          populateTableObject(object);
-          break;
-        case CDXConstants.CDXObj_BracketedGroup:
-          populateBracketedGroupObject(object);
-          break;
-        case CDXConstants.CDXObj_BracketAttachment:
-          populateBracketAttachmentObject(object);
-          break;
-        case CDXConstants.CDXObj_CrossingBond:
-          populateCrossingBondObject(object);
-          break;
-        case CDXConstants.CDXObj_Border:
-          populateBorderObject(object);
-          break;
-        case CDXConstants.CDXObj_Geometry:
-          populateGeometryObject(object);
-          break;
-        case CDXConstants.CDXObj_Constraint:
-          populateConstraintObject(object);
-          break;
-        case CDXConstants.CDXObj_TLCPlate:
-          populateTLCPlateObject(object);
-          break;
-        case CDXConstants.CDXObj_TLCLane:
-          populateTLCLaneObject(object);
-          break;
-        case CDXConstants.CDXObj_TLCSpot:
-          populateTLCSpotObject(object);
-          break;
-        case CDXConstants.CDXObj_ChemicalProperty:
-          populateChemicalPropertyObject(object);
-          break;
-
-        case CDXConstants.CDXObj_Arrow:
-          populateArrowObject(object);
-          break;
-
-        case CDXConstants.CDXObj_ColoredMolecularArea:
-          populateColoredMolecularArea(object);
-          break;
-
-        default:
-          handleMissingTag(object);
-      }
+      populateObject(object);
+    }
+  }
+
+  private void populateObject(CDXObject object) throws IOException {
+    switch (object.getTag()) {
+      case CDXConstants.CDXObj_Document:
+        populateDocumentObject(object);
+        break;
+      case CDXConstants.CDXObj_Page:
+        populatePageObject(object);
+        break;
+      case CDXConstants.CDXObj_Group:
+        populateGroupObject(object);
+        break;
+      case CDXConstants.CDXObj_Fragment:
+        populateFragmentObject(object);
+        break;
+      case CDXConstants.CDXObj_Node:
+        populateNodeObject(object);
+        break;
+      case CDXConstants.CDXObj_Bond:
+        populateBondObject(object);
+        break;
+      case CDXConstants.CDXObj_Text:
+        populateTextObject(object);
+        break;
+      case CDXConstants.CDXObj_Graphic:
+        populateGraphicObject(object);
+        break;
+      case CDXConstants.CDXObj_Curve:
+        populateSplineObject(object);
+        break;
+      case CDXConstants.CDXObj_EmbeddedObject:
+        populateEmbeddedObjectObject(object);
+        break;
+      case CDXConstants.CDXObj_NamedAlternativeGroup:
+        populateNamedAlternativeGroupObject(object);
+        break;
+      case CDXConstants.CDXObj_TemplateGrid:
+        populateTemplateGridObject(object);
+        break;
+      case CDXConstants.CDXObj_ReactionScheme:
+        populateReactionSchemeObject(object);
+        break;
+      case CDXConstants.CDXObj_ReactionStep:
+        populateReactionStepObject(object);
+        break;
+      case CDXConstants.CDXObj_Spectrum:
+        populateSpectrumObject(object);
+        break;
+      case CDXConstants.CDXObj_ObjectTag:
+        populateObjectTagObject(object);
+        break;
+      case CDXConstants.CDXObj_Sequence:
+        populateSequenceObject(object);
+        break;
+      case CDXConstants.CDXObj_CrossReference:
+        populateCrossReferenceObject(object);
+        break;
+      case CDXConstants.CDXObj_Splitter:
+        populateSplitterObject(object);
+        break;
+      case CDXConstants.CDXObj_Table:
+        populateTableObject(object);
+        break;
+      case CDXConstants.CDXObj_BracketedGroup:
+        populateBracketedGroupObject(object);
+        break;
+      case CDXConstants.CDXObj_BracketAttachment:
+        populateBracketAttachmentObject(object);
+        break;
+      case CDXConstants.CDXObj_CrossingBond:
+        populateCrossingBondObject(object);
+        break;
+      case CDXConstants.CDXObj_Border:
+        populateBorderObject(object);
+        break;
+      case CDXConstants.CDXObj_Geometry:
+        populateGeometryObject(object);
+        break;
+      case CDXConstants.CDXObj_Constraint:
+        populateConstraintObject(object);
+        break;
+      case CDXConstants.CDXObj_TLCPlate:
+        populateTLCPlateObject(object);
+        break;
+      case CDXConstants.CDXObj_TLCLane:
+        populateTLCLaneObject(object);
+        break;
+      case CDXConstants.CDXObj_TLCSpot:
+        populateTLCSpotObject(object);
+        break;
+      case CDXConstants.CDXObj_ChemicalProperty:
+        populateChemicalPropertyObject(object);
+        break;
+
+      case CDXConstants.CDXObj_Arrow:
+        populateArrowObject(object);
+        break;
+
+      case CDXConstants.CDXObj_ColoredMolecularArea:
+        populateColoredMolecularArea(object);
+        break;
+
+      default:
+        handleMissingTag(object);
     }
   }
 
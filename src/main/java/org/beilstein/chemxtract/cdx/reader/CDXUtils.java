@@ -51,6 +51,7 @@ import org.beilstein.chemxtract.cdx.datatypes.CDFillType;
 import org.beilstein.chemxtract.cdx.datatypes.CDFontFace;
 import org.beilstein.chemxtract.cdx.datatypes.CDGeometryType;
 import org.beilstein.chemxtract.cdx.datatypes.CDGraphicType;
+import org.beilstein.chemxtract.cdx.datatypes.CDInterner;
 import org.beilstein.chemxtract.cdx.datatypes.CDIsotopicAbundance;
 import org.beilstein.chemxtract.cdx.datatypes.CDJustification;
 import org.beilstein.chemxtract.cdx.datatypes.CDLabelDisplay;
@@ -127,6 +128,57 @@ public class CDXUtils {
     return readCDXObject(tag, bytes, position);
   }
 
+  /**
+   * Reads the complete object subtree starting at the given offset, e.g. taken from a {@link
+   * CDXObjectIndex}. Only the given byte span is read, so subtrees may be read concurrently.
+   *
+   * @param bytes the raw CDX document bytes
+   * @param start offset of the object's tag
+   * @return the {@link CDXObject} subtree
+   * @throws IOException if the object data is malformed
+   */
+  public static CDXObject readCDXObjectAt(byte[] bytes, int start) throws IOException {
+    int tag = readUInt16(bytes, start);
+    return readCDXObject(tag, bytes, new int[] {start + 2});
+  }
+
+  /**
+   * Reads only the properties of the object starting at the given offset; its child objects are
+   * skipped using their spans in the index.
+   *
+   * @param bytes the raw CDX document bytes
+   * @param start offset of the object's tag
+   * @param index offset index of the document
+   * @return the {@link CDXObject} without child objects
+   * @throws IOException if the object data is malformed or does not match the index
+   */
+  public static CDXObject readCDXObjectAt(byte[] bytes, int start, CDXObjectIndex index)
+      throws IOException {
+    int[] position = new int[] {start + 2};
+    CDXObject object = new CDXObject();
+    object.setTag(readUInt16(bytes, start));
+    object.setId(readInt32(bytes, position[0]));
+    object.setPosition(start);
+    position[0] += 4;
+
+    while (position[0] < bytes.length) {
+      int tag = readUInt16(bytes, position[0]);
+      position[0] += 2;
+      if (tag == CDXConstants.CDXProp_EndObject) {
+        break;
+      } else if (tag >= CDXConstants.CDXTag_Object) {
+        int entry = index.findByStart(position[0] - 2);
+        if (entry < 0) {
+          throw new IOException("Object at " + (position[0] - 2) + " not found in index");
+        }
+        position[0] = index.getEnd(entry);
+      } else {
+        object.addProperty(readCDXProperty(tag, bytes, position));
+      }
+    }
+    return object;
+  }
+
   private static CDXObject readCDXObject(int rootTag, byte[] bytes, int[] position)
       throws IOException {
     // read object id
@@ -291,7 +343,7 @@ public class CDXUtils {
     } else if ((type & CDXConstants.CDXFontFace_Superscript) != 0) {
       fontType.setSuperscript(true);
     }
-    return fontType;
+    return CDInterner.FONT_FACES.intern(fontType);
   }
 
   public static int convertFontType(CDFontFace fontType) {
@@ -1011,7 +1063,7 @@ public class CDXUtils {
     if ((value & CDXConstants.CDXLineType_Wavy) == CDXConstants.CDXLineType_Wavy) {
       lineType.setWavy(true);
     }
-    return lineType;
+    return CDInterner.LINE_TYPES.intern(lineType);
   }
 
   public static CDArrowType readArrowTypeProperty(CDXProperty property) throws IOException {
@@ -33,12 +33,40 @@ public class RefManager {
 
   private Map<Integer, Object> references = new HashMap<>();
 
+  /** Optional fallback for ids that have not been registered yet. */
+  private Resolver resolver;
+
+  /**
+   * Resolves an object by id when it has not been registered, e.g. by parsing it from a {@link
+   * CDXObjectIndex}.
+   */
+  @FunctionalInterface
+  public interface Resolver {
+    /**
+     * Resolves the object with the given id. The resolved object is expected to be registered via
+     * {@link RefManager#putObjectRef(int, Object)} as a side effect.
+     *
+     * @param id the object id
+     * @return the object, or {@code null} if it cannot be resolved
+     * @throws IOException if reading the object fails
+     */
+    Object resolve(int id) throws IOException;
+  }
+
+  public void setResolver(Resolver resolver) {
+    this.resolver = resolver;
+  }
+
   @SuppressWarnings("unchecked")
   public <T> T getObjectRef(int id, Class<T> clazz, boolean rigid) throws IOException {
     if (id == 0) {
       return null;
     }
     Object object = references.get(id);
+    if (object == null && resolver != null) {
+      resolver.resolve(id);
+      object = references.get(id);
+    }
     if (object == null) {
       String message =
           "Object for id "
@@ -28,13 +28,18 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.vecmath.Point2d;
+import org.beilstein.chemxtract.lookups.SmilesTemplates;
 import org.beilstein.chemxtract.utils.Definitions;
 import org.openscience.cdk.exception.CDKException;
 import org.openscience.cdk.interfaces.IAtom;
 import org.openscience.cdk.interfaces.IAtomContainer;
 import org.openscience.cdk.interfaces.IBond;
+import org.openscience.cdk.interfaces.IChemObjectBuilder;
+import org.openscience.cdk.interfaces.IPseudoAtom;
 import org.openscience.cdk.layout.StructureDiagramGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,12 +57,30 @@ import org.slf4j.LoggerFactory;
  * <p>Only the atoms explicitly passed in are laid out; the caller is responsible for supplying
  * exactly the atoms produced by abbreviation resubstitution so unrelated collapsed-coordinate
  * structures (e.g. ChemDraw "Multiple Group" sgroups) are never touched.
+ *
+ * <p>The same few hundred dictionary abbreviations recur constantly, so the layout of each
+ * abbreviation SMILES is computed once and kept as a template. An {@link Expansion} is placed by
+ * rotating and scaling its template onto the bond to the scaffold; only expansions whose template
+ * would collide with already positioned atoms, and atoms without a template (e.g. grafted R-group
+ * substituents), go through partial layout.
  */
 public final class AbbreviationLayout {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(AbbreviationLayout.class);
   private static final double DEFAULT_BOND_LENGTH = 1.5;
 
+  /**
+   * Minimum distance, in bond lengths, between a template atom and any other positioned atom. A
+   * template that comes closer in both orientations collides and is laid out instead.
+   */
+  private static final double MIN_CLEARANCE = 0.5;
+
+  /**
+   * The layouts of the abbreviation SMILES, or an empty optional for SMILES without a usable
+   * template. The keys are the SMILES of the abbreviation dictionary, so the map stays small.
+   */
+  private static final Map<String, Optional<Template>> TEMPLATES = new ConcurrentHashMap<>();
+
   private AbbreviationLayout() {
     // static utility
   }
@@ -140,6 +163,196 @@ public final class AbbreviationLayout {
     }
   }
 
+  /**
+   * Spreads out the given expanded-abbreviation atoms like {@link
+   * #layoutExpandedAbbreviations(IAtomContainer, Set)}, but first places each of the given
+   * expansions with the precomputed layout of its SMILES. Partial layout is run only for the free
+   * atoms that could not be placed this way, and skipped entirely if all of them were.
+   *
+   * @param container the atom container to lay out; modified in place
+   * @param freeAtoms the atoms produced by abbreviation resubstitution (the atoms to place)
+   * @param expansions the abbreviations the free atoms were expanded from
+   * @throws CDKException if coordinate generation fails
+   */
+  public static void layoutExpandedAbbreviations(
+      IAtomContainer container, Set<IAtom> freeAtoms, List<Expansion> expansions)
+      throws CDKException {
+    if (container == null || freeAtoms == null || freeAtoms.isEmpty()) {
+      return;
+    }
+    if (container.getAtomCount() > Definitions.MAX_ATOM_COUNT) {
+      return;
+    }
+    Set<IAtom> placed = placeTemplates(container, freeAtoms, expansions);
+    if (placed.isEmpty()) {
+      layoutExpandedAbbreviations(container, freeAtoms);
+      return;
+    }
+    Set<IAtom> remaining = new HashSet<>();
+    for (IAtom atom : freeAtoms) {
+      if (!placed.contains(atom)) {
+        remaining.add(atom);
+      }
+    }
+    if (remaining.isEmpty()) {
+      // partial layout ends by assigning the wedges from the stereo elements, so do that here too
+      new StructureDiagramGenerator().generateWedges(container);
+      return;
+    }
+    layoutExpandedAbbreviations(container, remaining);
+  }
+
+  /**
+   * Places expansions with the templates of their SMILES. Each template is rotated onto the
+   * direction of the bond from the scaffold atom to the collapsed abbreviation and scaled to the
+   * scaffold's bond length; of the two mirror images the one further away from the positioned
+   * atoms is used. Expansions without a template, or that would collide, are left unplaced.
+   *
+   * @param container the atom container to lay out
+   * @param freeAtoms the atoms that still need coordinates
+   * @param expansions the expansions to place
+   * @return the atoms that were placed
+   */
+  private static Set<IAtom> placeTemplates(
+      IAtomContainer container, Set<IAtom> freeAtoms, List<Expansion> expansions) {
+    Set<IAtom> placed = new HashSet<>();
+    if (expansions == null || expansions.isEmpty()) {
+      return placed;
+    }
+
+    Set<IAtom> fixedAtoms = new HashSet<>();
+    for (IAtom atom : container.atoms()) {
+      if (!freeAtoms.contains(atom) && atom.getPoint2d() != null) {
+        fixedAtoms.add(atom);
+      }
+    }
+    if (fixedAtoms.isEmpty()) {
+      return placed;
+    }
+    double bondLength = averageFixedBondLength(container, fixedAtoms);
+    // hashed by bond length, so the clearance of a template is found in the cells around it
+    SpatialGrid<IAtom> positioned = new SpatialGrid<>(bondLength, false);
+    for (IAtom atom : fixedAtoms) {
+      positioned.add(atom.getPoint2d().x, atom.getPoint2d().y, 0.0, atom);
+    }
+
+    for (Expansion expansion : expansions) {
+      Template template = getTemplate(expansion.smiles(), container.getBuilder());
+      List<IAtom> atoms = expansion.atoms();
+      if (template == null
+          || template.size() != atoms.size()
+          || !isPlaceable(expansion, template, freeAtoms, fixedAtoms, placed)) {
+        continue;
+      }
+      Point2d origin = atoms.get(template.attachment).getPoint2d();
+      Point2d collapsed = atoms.get(template.inner).getPoint2d();
+      double dx = collapsed.x - origin.x;
+      double dy = collapsed.y - origin.y;
+      double length = Math.hypot(dx, dy);
+      if (length == 0.0) {
+        continue; // no direction to place the template along
+      }
+
+      double[] points = null;
+      double clearance = -1.0;
+      for (boolean mirrored : new boolean[] {false, true}) {
+        double[] candidate = template.place(origin, dx / length, dy / length, bondLength, mirrored);
+        double candidateClearance = template.clearance(candidate, positioned);
+        if (candidateClearance > clearance) {
+          points = candidate;
+          clearance = candidateClearance;
+        }
+      }
+      if (clearance < MIN_CLEARANCE * bondLength) {
+        continue; // collides in both orientations
+      }
+      for (int i = 0; i < atoms.size(); i++) {
+        if (i != template.attachment) {
+          Point2d point = new Point2d(points[2 * i], points[2 * i + 1]);
+          atoms.get(i).setPoint2d(point);
+          positioned.add(point.x, point.y, 0.0, atoms.get(i));
+          placed.add(atoms.get(i));
+        }
+      }
+    }
+    if (!placed.isEmpty()) {
+      LOGGER.debug("Placed {} expanded abbreviation atom(s) from templates.", placed.size());
+    }
+    return placed;
+  }
+
+  /**
+   * Checks that an expansion can be placed with its template: it has to be attached to a
+   * positioned atom, and all of its other atoms have to be free atoms not placed yet.
+   */
+  private static boolean isPlaceable(
+      Expansion expansion,
+      Template template,
+      Set<IAtom> freeAtoms,
+      Set<IAtom> fixedAtoms,
+      Set<IAtom> placed) {
+    List<IAtom> atoms = expansion.atoms();
+    IAtom origin = atoms.get(template.attachment);
+    if (!fixedAtoms.contains(origin) && !placed.contains(origin)) {
+      return false;
+    }
+    for (int i = 0; i < atoms.size(); i++) {
+      IAtom atom = atoms.get(i);
+      if (i != template.attachment
+          && (!freeAtoms.contains(atom) || placed.contains(atom) || atom.getPoint2d() == null)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the template for an abbreviation SMILES, laying it out on first use.
+   *
+   * @param smiles the SMILES of the abbreviation
+   * @param builder the builder to parse the SMILES with
+   * @return the template, or {@code null} if the SMILES has no usable layout
+   */
+  private static Template getTemplate(String smiles, IChemObjectBuilder builder) {
+    if (smiles == null) {
+      return null;
+    }
+    return TEMPLATES.computeIfAbsent(smiles, key -> createTemplate(key, builder)).orElse(null);
+  }
+
+  private static Optional<Template> createTemplate(String smiles, IChemObjectBuilder builder) {
+    IAtomContainer structure = SmilesTemplates.getInstance(builder).get(smiles);
+    if (structure == null) {
+      return Optional.empty();
+    }
+    int attachment = -1;
+    for (int i = 0; i < structure.getAtomCount(); i++) {
+      if (structure.getAtom(i) instanceof IPseudoAtom) {
+        if (attachment >= 0) {
+          return Optional.empty(); // only abbreviations with a single attachment point
+        }
+        attachment = i;
+      }
+    }
+    if (attachment < 0 || structure.getAtom(attachment).getBondCount() != 1) {
+      return Optional.empty();
+    }
+    try {
+      new StructureDiagramGenerator().generateCoordinates(structure);
+    } catch (CDKException | RuntimeException e) {
+      LOGGER.debug("No layout template for abbreviation: {}", smiles, e);
+      return Optional.empty();
+    }
+    for (IAtom atom : structure.atoms()) {
+      if (atom.getPoint2d() == null) {
+        return Optional.empty();
+      }
+    }
+    IAtom connectionPoint = structure.getAtom(attachment);
+    IAtom inner = connectionPoint.bonds().iterator().next().getOther(connectionPoint);
+    return Optional.of(new Template(structure, attachment, structure.indexOf(inner)));
+  }
+
   /**
    * Scales each connected group of newly-placed atoms so its bond lengths approximate {@code
    * targetBondLength}, anchored on the fixed scaffold atom(s) it attaches to. Because this is a
@@ -248,4 +461,76 @@ public final class AbbreviationLayout {
     }
     return sum / count;
   }
+
+  /**
+   * An abbreviation expanded from a SMILES with a single attachment point ({@code *}).
+   *
+   * @param smiles the SMILES the abbreviation was expanded from
+   * @param atoms the expanded atoms in the atom order of the SMILES, with the attachment point
+   *     replaced by the scaffold atom the abbreviation is bonded to
+   */
+  public record Expansion(String smiles, List<IAtom> atoms) {}
+
+  /**
+   * Layout of an abbreviation SMILES, normalised so that the attachment point lies at the origin
+   * and the atom bonded to it at {@code (1, 0)}.
+   */
+  private static final class Template {
+
+    private final int attachment;
+    private final int inner;
+    private final double[] points;
+
+    Template(IAtomContainer structure, int attachment, int inner) {
+      this.attachment = attachment;
+      this.inner = inner;
+      Point2d origin = structure.getAtom(attachment).getPoint2d();
+      Point2d bonded = structure.getAtom(inner).getPoint2d();
+      double dx = bonded.x - origin.x;
+      double dy = bonded.y - origin.y;
+      double lengthSquared = dx * dx + dy * dy;
+      // rotate the attachment bond onto the x-axis and scale it to unit length
+      double cos = dx / lengthSquared;
+      double sin = dy / lengthSquared;
+      points = new double[2 * structure.getAtomCount()];
+      for (int i = 0; i < structure.getAtomCount(); i++) {
+        Point2d point = structure.getAtom(i).getPoint2d();
+        double x = point.x - origin.x;
+        double y = point.y - origin.y;
+        points[2 * i] = cos * x + sin * y;
+        points[2 * i + 1] = cos * y - sin * x;
+      }
+    }
+
+    int size() {
+      return points.length / 2;
+    }
+
+    /**
+     * Transforms the template so that the attachment point lies at {@code origin} and the bonded
+     * atom in direction {@code (cos, sin)} at distance {@code bondLength}.
+     */
+    double[] place(Point2d origin, double cos, double sin, double bondLength, boolean mirrored) {
+      double[] placed = new double[points.length];
+      for (int i = 0; i < points.length; i += 2) {
+        double x = points[i] * bondLength;
+        double y = (mirrored ? -points[i + 1] : points[i + 1]) * bondLength;
+        placed[i] = origin.x + cos * x - sin * y;
+        placed[i + 1] = origin.y + sin * x + cos * y;
+      }
+      return placed;
+    }
+
+    /** Smallest distance between a placed template atom and any of the positioned atoms. */
+    double clearance(double[] placed, SpatialGrid<IAtom> positioned) {
+      double clearance = Double.MAX_VALUE;
+      for (int i = 0; i < placed.length; i += 2) {
+        if (i != 2 * attachment) {
+          double distance = positioned.nearestDistance(placed[i], placed[i + 1], 0.0);
+          clearance = Math.min(clearance, distance);
+        }
+      }
+      return clearance;
+    }
+  }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cheminf;
+
+import java.util.Arrays;
+import org.openscience.cdk.graph.GraphUtil;
+import org.openscience.cdk.graph.GraphUtil.EdgeToBondMap;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.ringsearch.RingSearch;
+
+/**
+ * Adjacency and ring membership of an {@link IAtomContainer}, computed once and shared by the
+ * analyses of one converted container, such as stereo perception and sugar projection detection.
+ *
+ * <p>The adjacency list is built on construction, the ring search, the isolated rings and the
+ * coordinate analysis on first use. The graph reflects the connectivity of the container at
+ * construction time, so it must not be used after atoms or bonds have been added or removed;
+ * coordinates and bond orders may change, but are not reflected by a coordinate analysis that has
+ * already been performed. Instances are not thread-safe.
+ */
+public final class ContainerGraph {
+
+  private final IAtomContainer container;
+  private final int[][] adjacency;
+  private final EdgeToBondMap bondMap;
+  private RingSearch ringSearch;
+  private int[][] isolatedRings;
+  private CoordinateAnalysis coordinateAnalysis;
+
+  /**
+   * Creates the graph of the given container.
+   *
+   * @param container the atom container
+   */
+  public ContainerGraph(IAtomContainer container) {
+    this.container = container;
+    this.bondMap = EdgeToBondMap.withSpaceFor(container);
+    this.adjacency = GraphUtil.toAdjList(container, bondMap);
+  }
+
+  /**
+   * Returns the container this graph was built from.
+   *
+   * @return the atom container
+   */
+  public IAtomContainer getContainer() {
+    return container;
+  }
+
+  /**
+   * Returns the adjacency list, indexed by atom index. Must not be modified.
+   *
+   * @return the adjacency list
+   */
+  public int[][] getAdjacency() {
+    return adjacency;
+  }
+
+  /**
+   * Returns the lookup of bonds by the indices of their atoms.
+   *
+   * @return the bond map
+   */
+  public EdgeToBondMap getBondMap() {
+    return bondMap;
+  }
+
+  /**
+   * Returns the ring search of the container, performing it on first use.
+   *
+   * @return the ring search
+   */
+  public RingSearch getRingSearch() {
+    if (ringSearch == null) {
+      ringSearch = new RingSearch(container, adjacency);
+    }
+    return ringSearch;
+  }
+
+  /**
+   * Returns the analysis of the coordinates of the container, performing it on first use.
+   *
+   * @return the coordinate analysis
+   */
+  public CoordinateAnalysis getCoordinateAnalysis() {
+    if (coordinateAnalysis == null) {
+      coordinateAnalysis = new CoordinateAnalysis(container);
+    }
+    return coordinateAnalysis;
+  }
+
+  /**
+   * Returns the isolated rings, i.e. the rings that are neither fused nor bridged, as the indices
+   * of their atoms in ring order. Must not be modified.
+   *
+   * @return the isolated rings
+   */
+  public int[][] getIsolatedRings() {
+    if (isolatedRings == null) {
+      int[][] rings = getRingSearch().isolated();
+      for (int i = 0; i < rings.length; i++) {
+        // GraphUtil.cycle closes the path by repeating the first atom
+        rings[i] = Arrays.copyOf(GraphUtil.cycle(adjacency, rings[i]), rings[i].length);
+      }
+      isolatedRings = rings;
+    }
+    return isolatedRings;
+  }
+
+  /**
+   * Indicates whether the container has an isolated ring of the given size range.
+   *
+   * @param minSize the minimum number of ring atoms
+   * @param maxSize the maximum number of ring atoms
+   * @return {@code true} if at least one isolated ring has between {@code minSize} and {@code
+   *     maxSize} atoms
+   */
+  public boolean hasIsolatedRing(int minSize, int maxSize) {
+    for (int[] ring : getIsolatedRings()) {
+      if (ring.length >= minSize && ring.length <= maxSize) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cheminf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.vecmath.Point2d;
+import javax.vecmath.Point3d;
+import org.openscience.cdk.interfaces.IAtom;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.interfaces.IBond;
+
+/**
+ * Quality of the coordinates of an {@link IAtomContainer}: atoms without coordinates, atoms
+ * sharing their coordinates with another atom, atoms overlapping another atom, and the statistics
+ * of the bond lengths.
+ *
+ * <p>The analysis is performed on construction, with a single pass over the atoms that hashes
+ * their coordinates into a {@link SpatialGrid}, so it takes linear time. The 3D coordinates of an
+ * atom are used if present, otherwise its 2D coordinates; atoms are only compared with atoms of
+ * the same dimension. The analysis reflects the coordinates at construction time.
+ */
+public final class CoordinateAnalysis {
+
+  /**
+   * Distance, in median bond lengths, below which two atoms with different coordinates overlap.
+   */
+  public static final double OVERLAP_TOLERANCE = 0.1;
+
+  /**
+   * Resolution at which coordinates are compared: atoms whose coordinates agree to six decimal
+   * places share their coordinates.
+   */
+  private static final double QUANTUM = 1e-6;
+
+  private final int missingCoordinateCount;
+  private final List<IAtom> duplicateAtoms;
+  private final List<IAtom> overlappingAtoms;
+  private final double[] bondLengths;
+
+  /**
+   * Analyses the coordinates of the given container.
+   *
+   * @param container the atom container
+   */
+  public CoordinateAnalysis(IAtomContainer container) {
+    this.bondLengths = measureBonds(container);
+    double tolerance = OVERLAP_TOLERANCE * getMedianBondLength();
+
+    int missing = 0;
+    List<IAtom> duplicates = new ArrayList<>();
+    List<IAtom> overlapping = new ArrayList<>();
+    Map<Position, IAtom> positions = new HashMap<>();
+    SpatialGrid<IAtom> grid2d = tolerance > QUANTUM ? new SpatialGrid<>(tolerance, false) : null;
+    SpatialGrid<IAtom> grid3d = tolerance > QUANTUM ? new SpatialGrid<>(tolerance, true) : null;
+    for (IAtom atom : container.atoms()) {
+      Point3d p3 = atom.getPoint3d();
+      Point2d p2 = atom.getPoint2d();
+      double x;
+      double y;
+      double z;
+      SpatialGrid<IAtom> grid;
+      if (p3 != null) {
+        x = p3.x;
+        y = p3.y;
+        z = p3.z;
+        grid = grid3d;
+      } else if (p2 != null) {
+        x = p2.x;
+        y = p2.y;
+        z = 0.0;
+        grid = grid2d;
+      } else {
+        missing++;
+        continue;
+      }
+      if (positions.putIfAbsent(Position.of(x, y, z, p3 != null), atom) != null) {
+        duplicates.add(atom);
+        continue; // an atom at the same position is already in the grid
+      }
+      if (grid != null) {
+        if (grid.findWithin(x, y, z, tolerance) != null) {
+          overlapping.add(atom);
+        }
+        grid.add(x, y, z, atom);
+      }
+    }
+    this.missingCoordinateCount = missing;
+    this.duplicateAtoms = Collections.unmodifiableList(duplicates);
+    this.overlappingAtoms = Collections.unmodifiableList(overlapping);
+  }
+
+  /**
+   * Returns the number of atoms without 2D and 3D coordinates.
+   *
+   * @return the number of atoms without coordinates
+   */
+  public int getMissingCoordinateCount() {
+    return missingCoordinateCount;
+  }
+
+  /**
+   * Indicates whether any atom lacks both 2D and 3D coordinates.
+   *
+   * @return {@code true} if coordinates are missing
+   */
+  public boolean hasMissingCoordinates() {
+    return missingCoordinateCount > 0;
+  }
+
+  /**
+   * Returns the atoms that share their coordinates with an atom preceding them in the container.
+   *
+   * @return the duplicate atoms, in container order
+   */
+  public List<IAtom> getDuplicateAtoms() {
+    return duplicateAtoms;
+  }
+
+  /**
+   * Indicates whether two atoms share their coordinates.
+   *
+   * @return {@code true} if duplicate coordinates exist
+   */
+  public boolean hasDuplicateCoordinates() {
+    return !duplicateAtoms.isEmpty();
+  }
+
+  /**
+   * Returns the atoms that are closer than {@link #OVERLAP_TOLERANCE} median bond lengths to an
+   * atom preceding them in the container, without sharing its coordinates. Empty if no bond length
+   * could be measured.
+   *
+   * @return the overlapping atoms, in container order
+   */
+  public List<IAtom> getOverlappingAtoms() {
+    return overlappingAtoms;
+  }
+
+  /**
+   * Returns the number of bonds whose length could be measured, i.e. whose atoms both have
+   * coordinates of the same dimension.
+   *
+   * @return the number of measured bonds
+   */
+  public int getMeasuredBondCount() {
+    return bondLengths.length;
+  }
+
+  /**
+   * Returns the shortest measured bond length.
+   *
+   * @return the minimum bond length, or 0 if no bond was measured
+   */
+  public double getMinBondLength() {
+    return bondLengths.length == 0 ? 0.0 : bondLengths[0];
+  }
+
+  /**
+   * Returns the longest measured bond length.
+   *
+   * @return the maximum bond length, or 0 if no bond was measured
+   */
+  public double getMaxBondLength() {
+    return bondLengths.length == 0 ? 0.0 : bondLengths[bondLengths.length - 1];
+  }
+
+  /**
+   * Returns the mean of the measured bond lengths.
+   *
+   * @return the mean bond length, or 0 if no bond was measured
+   */
+  public double getMeanBondLength() {
+    if (bondLengths.length == 0) {
+      return 0.0;
+    }
+    double sum = 0.0;
+    for (double length : bondLengths) {
+      sum += length;
+    }
+    return sum / bondLengths.length;
+  }
+
+  /**
+   * Returns the median of the measured bond lengths.
+   *
+   * @return the median bond length, or 0 if no bond was measured
+   */
+  public double getMedianBondLength() {
+    int n = bondLengths.length;
+    if (n == 0) {
+      return 0.0;
+    }
+    return n % 2 == 1 ? bondLengths[n / 2] : (bondLengths[n / 2 - 1] + bondLengths[n / 2]) / 2.0;
+  }
+
+  /** Sorted lengths of the bonds whose atoms both have coordinates of the same dimension. */
+  private static double[] measureBonds(IAtomContainer container) {
+    double[] lengths = new double[container.getBondCount()];
+    int count = 0;
+    for (IBond bond : container.bonds()) {
+      IAtom begin = bond.getBegin();
+      IAtom end = bond.getEnd();
+      if (begin.getPoint3d() != null && end.getPoint3d() != null) {
+        lengths[count++] = begin.getPoint3d().distance(end.getPoint3d());
+      } else if (begin.getPoint3d() == null
+          && end.getPoint3d() == null
+          && begin.getPoint2d() != null
+          && end.getPoint2d() != null) {
+        lengths[count++] = begin.getPoint2d().distance(end.getPoint2d());
+      }
+    }
+    lengths = Arrays.copyOf(lengths, count);
+    Arrays.sort(lengths);
+    return lengths;
+  }
+
+  /** Coordinates quantised to {@link #QUANTUM}. */
+  private record Position(long x, long y, long z, boolean threeD) {
+
+    static Position of(double x, double y, double z, boolean threeD) {
+      return new Position(
+          Math.round(x / QUANTUM), Math.round(y / QUANTUM), Math.round(z / QUANTUM), threeD);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cheminf;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial hash of points in 2D or 3D. Points are bucketed into cubic cells of a fixed size, so that
+ * the points near a query point are found by looking at the few cells around it instead of at
+ * every point. For 2D points the z coordinate is ignored.
+ *
+ * <p>Instances are not thread-safe.
+ *
+ * @param <T> the type of the values stored with the points
+ */
+final class SpatialGrid<T> {
+
+  private final double cellSize;
+  private final boolean threeD;
+  private final Map<Cell, List<Entry<T>>> cells = new HashMap<>();
+  private long minX = Long.MAX_VALUE;
+  private long maxX = Long.MIN_VALUE;
+  private long minY = Long.MAX_VALUE;
+  private long maxY = Long.MIN_VALUE;
+  private long minZ = Long.MAX_VALUE;
+  private long maxZ = Long.MIN_VALUE;
+
+  /**
+   * Creates an empty grid.
+   *
+   * @param cellSize the edge length of the cells, must be positive
+   * @param threeD whether the z coordinates of the points are used
+   */
+  SpatialGrid(double cellSize, boolean threeD) {
+    if (!(cellSize > 0.0)) {
+      throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+    }
+    this.cellSize = cellSize;
+    this.threeD = threeD;
+  }
+
+  /**
+   * Adds a point to the grid.
+   *
+   * @param x the x coordinate
+   * @param y the y coordinate
+   * @param z the z coordinate, ignored for a 2D grid
+   * @param value the value stored with the point
+   */
+  void add(double x, double y, double z, T value) {
+    Cell cell = cellOf(x, y, z);
+    cells.computeIfAbsent(cell, key -> new ArrayList<>(2)).add(new Entry<>(x, y, z, value));
+    minX = Math.min(minX, cell.x());
+    maxX = Math.max(maxX, cell.x());
+    minY = Math.min(minY, cell.y());
+    maxY = Math.max(maxY, cell.y());
+    minZ = Math.min(minZ, cell.z());
+    maxZ = Math.max(maxZ, cell.z());
+  }
+
+  /**
+   * Returns the first value whose point is closer than the given distance to the query point. The
+   * distance must not exceed the cell size.
+   *
+   * @param x the x coordinate of the query point
+   * @param y the y coordinate of the query point
+   * @param z the z coordinate of the query point, ignored for a 2D grid
+   * @param distance the exclusive maximum distance, at most the cell size
+   * @return the value of a point within the distance, or {@code null} if there is none
+   */
+  T findWithin(double x, double y, double z, double distance) {
+    Cell center = cellOf(x, y, z);
+    int zRange = threeD ? 1 : 0;
+    for (int dx = -1; dx <= 1; dx++) {
+      for (int dy = -1; dy <= 1; dy++) {
+        for (int dz = -zRange; dz <= zRange; dz++) {
+          List<Entry<T>> entries =
+              cells.get(new Cell(center.x() + dx, center.y() + dy, center.z() + dz));
+          if (entries == null) {
+            continue;
+          }
+          for (Entry<T> entry : entries) {
+            if (distance(entry, x, y, z) < distance) {
+              return entry.value();
+            }
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the distance from the query point to the nearest point of the grid. The cells are
+   * searched in growing shells around the query point, until no unvisited cell can hold a closer
+   * point.
+   *
+   * @param x the x coordinate of the query point
+   * @param y the y coordinate of the query point
+   * @param z the z coordinate of the query point, ignored for a 2D grid
+   * @return the distance to the nearest point, or {@link Double#MAX_VALUE} if the grid is empty
+   */
+  double nearestDistance(double x, double y, double z) {
+    double nearest = Double.MAX_VALUE;
+    if (cells.isEmpty()) {
+      return nearest;
+    }
+    Cell center = cellOf(x, y, z);
+    long maxShell =
+        Math.max(
+            Math.max(Math.abs(center.x() - minX), Math.abs(center.x() - maxX)),
+            Math.max(Math.abs(center.y() - minY), Math.abs(center.y() - maxY)));
+    if (threeD) {
+      maxShell =
+          Math.max(maxShell, Math.max(Math.abs(center.z() - minZ), Math.abs(center.z() - maxZ)));
+    }
+    for (long shell = 0; shell <= maxShell; shell++) {
+      // points in cells of this shell are at least (shell - 1) cells away
+      if (nearest <= (shell - 1) * cellSize) {
+        break;
+      }
+      long zRange = threeD ? shell : 0;
+      for (long dx = -shell; dx <= shell; dx++) {
+        for (long dy = -shell; dy <= shell; dy++) {
+          for (long dz = -zRange; dz <= zRange; dz++) {
+            if (Math.max(Math.abs(dx), Math.max(Math.abs(dy), Math.abs(dz))) != shell) {
+              continue; // inner cell, visited in a previous shell
+            }
+            List<Entry<T>> entries =
+                cells.get(new Cell(center.x() + dx, center.y() + dy, center.z() + dz));
+            if (entries == null) {
+              continue;
+            }
+            for (Entry<T> entry : entries) {
+              nearest = Math.min(nearest, distance(entry, x, y, z));
+            }
+          }
+        }
+      }
+    }
+    return nearest;
+  }
+
+  private double distance(Entry<T> entry, double x, double y, double z) {
+    if (!threeD) {
+      return Math.hypot(entry.x() - x, entry.y() - y);
+    }
+    double dx = entry.x() - x;
+    double dy = entry.y() - y;
+    double dz = entry.z() - z;
+    return Math.sqrt(dx * dx + dy * dy + dz * dz);
+  }
+
+  private Cell cellOf(double x, double y, double z) {
+    return new Cell(
+        (long) Math.floor(x / cellSize),
+        (long) Math.floor(y / cellSize),
+        threeD ? (long) Math.floor(z / cellSize) : 0L);
+  }
+
+  private record Cell(long x, long y, long z) {}
+
+  private record Entry<T>(double x, double y, double z, T value) {}
+}
@@ -27,9 +27,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import javax.vecmath.Point2d;
-import org.openscience.cdk.graph.GraphUtil;
 import org.openscience.cdk.interfaces.IAtomContainer;
-import org.openscience.cdk.ringsearch.RingSearch;
 
 /**
  * Detector for identifying sugar rings in Chair or Haworth projections.
@@ -47,8 +45,14 @@ public class SugarProjectionDetector {
    */
   public static final double CARDINALITY_THRESHOLD = Math.toRadians(5);
 
+  /** Minimum size of a sugar ring (furanose). */
+  public static final int MIN_RING_SIZE = 5;
+
+  /** Maximum size of a sugar ring (septanose). */
+  public static final int MAX_RING_SIZE = 7;
+
   private final IAtomContainer container;
-  private final int[][] graph;
+  private final ContainerGraph graph;
 
   /**
    * Create a detector for the given molecular structure.
@@ -56,8 +60,28 @@ public class SugarProjectionDetector {
    * @param container input structure
    */
   public SugarProjectionDetector(IAtomContainer container) {
-    this.container = container;
-    this.graph = GraphUtil.toAdjList(container);
+    this(new ContainerGraph(container));
+  }
+
+  /**
+   * Create a detector for a molecular structure whose graph is already known.
+   *
+   * @param graph the graph of the input structure
+   */
+  public SugarProjectionDetector(ContainerGraph graph) {
+    this.container = graph.getContainer();
+    this.graph = graph;
+  }
+
+  /**
+   * Cheap pre-check whether a structure can contain sugar projections at all, i.e. whether it has
+   * an isolated ring of 5-7 atoms. Structures failing it need not be analysed further.
+   *
+   * @param graph the graph of the structure
+   * @return {@code false} if the structure cannot contain sugar projections
+   */
+  public static boolean hasCandidateRings(ContainerGraph graph) {
+    return graph.hasIsolatedRing(MIN_RING_SIZE, MAX_RING_SIZE);
   }
 
   /**
@@ -114,14 +138,11 @@ public class SugarProjectionDetector {
   private Set<int[]> findProjections(Projection projectionType) {
     Set<int[]> projections = new HashSet<>();
 
-    RingSearch ringSearch = new RingSearch(container, graph);
-    for (int[] isolated : ringSearch.isolated()) {
-      // Sugar rings are typically 5-7 atoms (furanose/pyranose)
-      if (isolated.length < 5 || isolated.length > 7) {
+    for (int[] cycle : graph.getIsolatedRings()) {
+      if (cycle.length < MIN_RING_SIZE || cycle.length > MAX_RING_SIZE) {
         continue;
       }
 
-      int[] cycle = Arrays.copyOf(GraphUtil.cycle(graph, isolated), isolated.length);
       Point2d[] points = coordinatesOfCycle(cycle, container);
 
       // Check if the ring is aligned correctly for Haworth
@@ -136,7 +157,7 @@ public class SugarProjectionDetector {
 
       WoundProjection projection = WoundProjection.ofTurns(turns);
       if (projection.projection == projectionType) {
-        projections.add(cycle);
+        projections.add(cycle.clone());
       }
     }
 
@@ -22,8 +22,6 @@
 package org.beilstein.chemxtract.converter;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import javax.vecmath.Point2d;
 import javax.vecmath.Point3d;
@@ -68,7 +66,7 @@ public class AtomConverter {
   private final IChemObjectBuilder builder;
   private final IChemObjectReader.Mode mode;
   private static final Logger LOGGER = LoggerFactory.getLogger(AtomConverter.class);
-  private final Map<CDAtom, IAtom> atomMap;
+  private final ConversionMap<CDAtom, IAtom> atomMap;
 
   /**
    * Constructs an {@code AtomConverter} with the given {@link IChemObjectBuilder} and mode.
@@ -80,7 +78,7 @@ public class AtomConverter {
   public AtomConverter(IChemObjectBuilder builder, IChemObjectReader.Mode mode) {
     this.builder = builder;
     this.mode = mode;
-    this.atomMap = new HashMap<>();
+    this.atomMap = new ConversionMap<>();
   }
 
   /**
@@ -294,11 +292,12 @@ public class AtomConverter {
   }
 
   /**
-   * Returns the internal mapping between source {@link CDAtom} and created {@link IAtom}.
+   * Returns the internal mapping between source {@link CDAtom} and created {@link IAtom}. Atoms are
+   * indexed in the order of conversion.
    *
-   * @return an unmodifiable view of the atom map
+   * @return the atom map
    */
-  public Map<CDAtom, IAtom> getAtomMap() {
+  public ConversionMap<CDAtom, IAtom> getAtomMap() {
     return atomMap;
   }
 }
@@ -21,7 +21,6 @@
  */
 package org.beilstein.chemxtract.converter;
 
-import java.util.HashMap;
 import java.util.Map;
 import org.beilstein.chemxtract.cdx.CDAtom;
 import org.beilstein.chemxtract.cdx.CDBond;
@@ -61,7 +60,7 @@ public class BondConverter {
 
   private final IChemObjectBuilder builder;
   private final Map<CDAtom, IAtom> atomMap;
-  private final Map<CDBond, IBond> bondMap;
+  private final ConversionMap<CDBond, IBond> bondMap;
 
   /**
    * Constructs a new {@code BondConverter} using the given {@link IChemObjectBuilder} and atom
@@ -74,7 +73,7 @@ public class BondConverter {
   public BondConverter(IChemObjectBuilder builder, Map<CDAtom, IAtom> atomMap) {
     this.builder = builder;
     this.atomMap = atomMap;
-    this.bondMap = new HashMap<>();
+    this.bondMap = new ConversionMap<>();
   }
 
   /**
@@ -161,11 +160,12 @@ public class BondConverter {
   }
 
   /**
-   * Returns the internal mapping between source {@link CDBond} and generated {@link IBond}.
+   * Returns the internal mapping between source {@link CDBond} and generated {@link IBond}. Bonds
+   * are indexed in the order of conversion.
    *
-   * @return an unmodifiable view of the bond map
+   * @return the bond map
    */
-  public Map<CDBond, IBond> getBondMap() {
+  public ConversionMap<CDBond, IBond> getBondMap() {
     return bondMap;
   }
 }
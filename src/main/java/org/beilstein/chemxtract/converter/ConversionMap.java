@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.converter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapping from ChemDraw objects to the CDK objects converted from them, used by {@link
+ * AtomConverter} and {@link BondConverter}. Every source object is assigned a dense index in the
+ * order of conversion; sources and targets are stored in parallel arrays by index, and the index of
+ * a source is found with an open-addressing table over the identity hash codes of the sources.
+ *
+ * <p>Keys are matched by object identity, which is the equality of ChemDraw objects. No entry
+ * objects are created on insertion or lookup, and the map is iterated in the order of conversion.
+ * Entries cannot be removed.
+ *
+ * @param <K> the type of the ChemDraw objects
+ * @param <V> the type of the CDK objects
+ */
+public final class ConversionMap<K, V> extends AbstractMap<K, V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private Object[] keys;
+  private Object[] values;
+  private int size;
+
+  /** Index plus one of the key hashed to each slot, {@code 0} for an empty slot. */
+  private int[] slots;
+
+  /** Creates an empty map. */
+  public ConversionMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty map for the given number of entries.
+   *
+   * @param expectedSize the number of entries that can be added without growing the map
+   */
+  public ConversionMap(int expectedSize) {
+    int capacity = Math.max(expectedSize, 1);
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    slots = new int[Integer.highestOneBit(capacity) << 2];
+  }
+
+  /**
+   * Returns the index of a source object.
+   *
+   * @param key the source object
+   * @return the index, or {@code -1} if the object has not been added
+   */
+  public int indexOf(Object key) {
+    if (key == null) {
+      return -1;
+    }
+    int mask = slots.length - 1;
+    for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+      int entry = slots[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (keys[entry - 1] == key) {
+        return entry - 1;
+      }
+    }
+  }
+
+  /**
+   * Returns the source object with the given index.
+   *
+   * @param index the index
+   * @return the source object
+   */
+  @SuppressWarnings("unchecked")
+  public K getKey(int index) {
+    Objects.checkIndex(index, size);
+    return (K) keys[index];
+  }
+
+  /**
+   * Returns the converted object with the given index.
+   *
+   * @param index the index
+   * @return the converted object
+   */
+  @SuppressWarnings("unchecked")
+  public V getValue(int index) {
+    Objects.checkIndex(index, size);
+    return (V) values[index];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    int index = indexOf(key);
+    return index < 0 ? null : (V) values[index];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(K key, V value) {
+    int index = indexOf(Objects.requireNonNull(key));
+    if (index < 0) {
+      add(key, value);
+      return null;
+    }
+    V previous = (V) values[index];
+    values[index] = value;
+    return previous;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V putIfAbsent(K key, V value) {
+    int index = indexOf(Objects.requireNonNull(key));
+    if (index < 0) {
+      add(key, value);
+      return null;
+    }
+    V current = (V) values[index];
+    if (current == null) {
+      values[index] = value;
+    }
+    return current;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(keys, 0, size, null);
+    Arrays.fill(values, 0, size, null);
+    Arrays.fill(slots, 0);
+    size = 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    for (int i = 0; i < size; i++) {
+      action.accept((K) keys[i], (V) values[i]);
+    }
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<K, V>> iterator() {
+        return new Iterator<>() {
+          private int next;
+
+          @Override
+          public boolean hasNext() {
+            return next < size;
+          }
+
+          @Override
+          public Entry<K, V> next() {
+            if (next >= size) {
+              throw new NoSuchElementException();
+            }
+            int index = next++;
+            return new SimpleImmutableEntry<>(getKey(index), getValue(index));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  private void add(K key, V value) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+    }
+    keys[size] = key;
+    values[size] = value;
+    size++;
+    // keep the table at most half full
+    if (size * 2 > slots.length) {
+      slots = new int[slots.length * 2];
+      for (int i = 0; i < size; i++) {
+        insert(i);
+      }
+    } else {
+      insert(size - 1);
+    }
+  }
+
+  private void insert(int index) {
+    int mask = slots.length - 1;
+    int slot = hash(keys[index]) & mask;
+    while (slots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    slots[slot] = index + 1;
+  }
+
+  private static int hash(Object key) {
+    int hash = System.identityHashCode(key);
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -23,6 +23,7 @@ package org.beilstein.chemxtract.converter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -36,13 +37,15 @@ import org.beilstein.chemxtract.cdx.datatypes.CDBondOrder;
 import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
 import org.beilstein.chemxtract.cdx.datatypes.CDRadical;
 import org.beilstein.chemxtract.cheminf.AbbreviationLayout;
+import org.beilstein.chemxtract.cheminf.ContainerGraph;
 import org.beilstein.chemxtract.lookups.SmilesAbbreviations;
+import org.beilstein.chemxtract.lookups.SmilesTemplates;
 import org.beilstein.chemxtract.utils.StereoHandler;
 import org.beilstein.chemxtract.visitor.AtomVisitor;
 import org.beilstein.chemxtract.visitor.BondVisitor;
+import org.openscience.cdk.BondRef;
 import org.openscience.cdk.atomtype.CDKAtomTypeMatcher;
 import org.openscience.cdk.exception.CDKException;
-import org.openscience.cdk.exception.InvalidSmilesException;
 import org.openscience.cdk.interfaces.IAtom;
 import org.openscience.cdk.interfaces.IAtomContainer;
 import org.openscience.cdk.interfaces.IAtomType;
@@ -50,9 +53,9 @@ import org.openscience.cdk.interfaces.IBond;
 import org.openscience.cdk.interfaces.IChemObjectBuilder;
 import org.openscience.cdk.interfaces.IPseudoAtom;
 import org.openscience.cdk.interfaces.ISingleElectron;
+import org.openscience.cdk.interfaces.IStereoElement;
 import org.openscience.cdk.io.IChemObjectReader;
 import org.openscience.cdk.io.MDLV2000Writer;
-import org.openscience.cdk.smiles.SmilesParser;
 import org.openscience.cdk.tools.CDKHydrogenAdder;
 import org.openscience.cdk.tools.manipulator.AtomContainerManipulator;
 import org.slf4j.Logger;
@@ -79,7 +82,7 @@ public class FragmentConverter {
 
   private final IChemObjectBuilder builder;
   private final IChemObjectReader.Mode mode;
-  private final SmilesParser smilesParser;
+  private final SmilesTemplates smilesTemplates;
   private static final Logger LOGGER = LoggerFactory.getLogger(FragmentConverter.class);
 
   /**
@@ -93,7 +96,7 @@ public class FragmentConverter {
   public FragmentConverter(IChemObjectBuilder builder, IChemObjectReader.Mode mode) {
     this.builder = builder;
     this.mode = mode;
-    this.smilesParser = new SmilesParser(this.builder);
+    this.smilesTemplates = SmilesTemplates.getInstance(this.builder);
   }
 
   /**
@@ -133,6 +136,10 @@ public class FragmentConverter {
    */
   public IAtomContainer convert(CDFragment fragment, boolean rawMode) throws CDKException {
     Objects.requireNonNull(fragment, "Instance of CDFragment must not be null.");
+    // work on an overlay, so that the document is left unchanged by the conversion
+    if (!fragment.isOverlay()) {
+      fragment = fragment.overlay();
+    }
 
     // check for and "clean" dot allene
     checkForDotAllene(fragment);
@@ -167,22 +174,26 @@ public class FragmentConverter {
     }
     // create IAtomContainer from the structural (non-coordination) skeleton
     Set<IAtom> abbreviationAtoms = new HashSet<>();
+    List<AbbreviationLayout.Expansion> expansions = new ArrayList<>();
     IAtomContainer atomContainer =
-        createAtomContainer(
-            atoms.toArray(IAtom[]::new), structuralBonds.toArray(IBond[]::new), abbreviationAtoms);
+        createAtomContainer(atoms, structuralBonds, abbreviationAtoms, expansions);
     // check for radicals
     setRadicals(atomContainer, atomConverter.getAtomMap());
     // add implicit hydrogens (ligands are still free of their coordinating metal here)
     addImplicitHydrogens(atomContainer);
-    // perceive atom types and configure atoms
+    // perceive atom types and configure atoms; this has to be a second, sequential pass, as the
+    // types depend on the new hydrogen counts and on the hybridisation of configured neighbours
     AtomContainerManipulator.percieveAtomTypesAndConfigureAtoms(atomContainer);
     // restore connectivity for coordination bonds now that ligand valences are fixed
     addCoordinationBonds(atomContainer, coordinationBonds);
-    // check for tetrahedral stereo
-    StereoHandler.setStereo(atomContainer, bondConverter.getBondMap(), atomConverter.getAtomMap());
+    // check for tetrahedral stereo; the connectivity is final from here on, so the graph and its
+    // rings are computed once for the stereo and sugar projection analyses
+    StereoHandler.setStereo(
+        new ContainerGraph(atomContainer), bondConverter.getBondMap(), atomConverter.getAtomMap());
     // generate coordinates for expanded-abbreviation atoms (after stereo perception)
     try {
-      AbbreviationLayout.layoutExpandedAbbreviations(atomContainer, abbreviationAtoms);
+      AbbreviationLayout.layoutExpandedAbbreviations(
+          atomContainer, abbreviationAtoms, expansions);
     } catch (CDKException | RuntimeException e) {
       LOGGER.warn("Abbreviation layout failed; keeping collapsed coordinates.", e);
     }
@@ -198,15 +209,17 @@ public class FragmentConverter {
    * @param coordinationBonds the coordination bonds to add
    */
   private void addCoordinationBonds(IAtomContainer atomContainer, List<IBond> coordinationBonds) {
+    Map<IAtom, IAtom> atomIndex = indexAtoms(atomContainer);
+    Set<IBond> added = new HashSet<>();
     for (IBond bond : coordinationBonds) {
       IAtom begin = bond.getBegin();
       IAtom end = bond.getEnd();
       if (begin != null
           && end != null
-          && atomContainer.contains(begin)
-          && atomContainer.contains(end)
-          && !atomContainer.contains(bond)) {
-        atomContainer.addBond(bond);
+          && atomIndex.containsKey(begin)
+          && atomIndex.containsKey(end)
+          && added.add(bond)) {
+        addBond(atomContainer, atomIndex, bond);
       }
     }
   }
@@ -239,64 +252,124 @@ public class FragmentConverter {
    * @param fragment the {@link CDFragment} to clean
    */
   private void checkForDotAllene(CDFragment fragment) {
-    fragment.getAtoms().stream()
-        .filter(this::isDotAlleneCandidate)
-        .forEach(
-            dot -> {
-              List<CDBond> connectedBonds = getConnectedBonds(fragment, dot);
-              if (formsAllene(connectedBonds)) {
-                dot.setNodeType(CDNodeType.Element);
-                dot.setText(null);
-                dot.setChemicalWarning(null);
-              }
-            });
+    List<CDAtom> dots =
+        fragment.getAtoms().stream()
+            .filter(this::isDotAlleneCandidate)
+            .filter(dot -> formsAllene(getConnectedBonds(fragment, dot)))
+            .toList();
+    for (CDAtom dot : dots) {
+      CDAtom writable = fragment.getWritable(dot);
+      writable.setNodeType(CDNodeType.Element);
+      writable.setText(null);
+      writable.setChemicalWarning(null);
+    }
   }
 
   /**
-   * Creates a new {@link IAtomContainer} from the provided atoms and bonds. Performs a
-   * post-processing step to re-substitute abbreviations into full structures.
+   * Creates a new {@link IAtomContainer} from the provided atoms and bonds. Abbreviations are
+   * re-substituted into full structures before the container is assembled, so that the container
+   * is built in a single pass that is linear in the number of atoms and bonds.
    *
-   * @param atoms array of {@link IAtom}
-   * @param bonds array of {@link IBond}
+   * @param atoms list of {@link IAtom}
+   * @param bonds list of {@link IBond}
    * @param abbreviationAtomsOut collector for atoms produced by abbreviation resubstitution
+   * @param expansionsOut collector for the abbreviations these atoms were expanded from
    * @return the assembled {@link IAtomContainer}
    */
   private IAtomContainer createAtomContainer(
-      IAtom[] atoms, IBond[] bonds, Set<IAtom> abbreviationAtomsOut) {
-    IAtomContainer atomContainer = builder.newAtomContainer();
-    atomContainer.setAtoms(atoms);
+      List<IAtom> atoms,
+      List<IBond> bonds,
+      Set<IAtom> abbreviationAtomsOut,
+      List<AbbreviationLayout.Expansion> expansionsOut) {
+    List<IAtom> containerAtoms = new ArrayList<>(atoms);
 
     // only bonds with atoms that are part of the atom container will be added
+    Set<IAtom> members = new HashSet<>(atoms);
+    Set<IBond> added = new HashSet<>();
+    List<IBond> containerBonds = new ArrayList<>(bonds.size());
     for (IBond bond : bonds) {
       IAtom a0 = bond.getAtom(0);
       IAtom a1 = bond.getAtom(1); // always exists for a valid bond
-      int idx0 = atomContainer.indexOf(a0);
-      int idx1 = atomContainer.indexOf(a1);
-      if (idx0 >= 0 && idx1 >= 0 && !atomContainer.contains(bond)) {
-        atomContainer.addBond(bond);
+      if (members.contains(a0) && members.contains(a1) && added.add(bond)) {
+        containerBonds.add(bond);
       }
     }
 
-    abbreviationAtomsOut.addAll(resubstituteAbbreviation(atomContainer));
+    List<IStereoElement<?, ?>> stereoElements = new ArrayList<>();
+    abbreviationAtomsOut.addAll(
+        resubstituteAbbreviation(containerAtoms, containerBonds, stereoElements, expansionsOut));
+
+    IAtomContainer atomContainer = builder.newAtomContainer();
+    atomContainer.setAtoms(containerAtoms.toArray(IAtom[]::new));
+    Map<IAtom, IAtom> atomIndex = indexAtoms(atomContainer);
+    for (IBond bond : containerBonds) {
+      addBond(atomContainer, atomIndex, bond);
+    }
+    stereoElements.forEach(atomContainer::addStereoElement);
     return atomContainer;
   }
 
+  /**
+   * Maps the atoms of a container to themselves. CDK atoms are equal to the atoms wrapping them, so
+   * the map also finds the container's own atom object for an atom that was added to it.
+   *
+   * @param atomContainer the container to index
+   * @return a map from atoms to the atoms of the container
+   */
+  private static Map<IAtom, IAtom> indexAtoms(IAtomContainer atomContainer) {
+    Map<IAtom, IAtom> atomIndex = new HashMap<>(2 * atomContainer.getAtomCount());
+    for (IAtom atom : atomContainer.atoms()) {
+      atomIndex.put(atom, atom);
+    }
+    return atomIndex;
+  }
+
+  /**
+   * Adds a bond between two atoms of the container. The container searches its atoms for the end
+   * points of a new bond unless they are its own atom objects, so the bond is handed over as a view
+   * on these objects, taken from the index.
+   *
+   * @param atomContainer the container to add the bond to
+   * @param atomIndex the atoms of the container, see {@link #indexAtoms(IAtomContainer)}
+   * @param bond the bond to add
+   */
+  private static void addBond(
+      IAtomContainer atomContainer, Map<IAtom, IAtom> atomIndex, IBond bond) {
+    IAtom begin = atomIndex.get(bond.getBegin());
+    IAtom end = atomIndex.get(bond.getEnd());
+    if (begin == bond.getBegin() && end == bond.getEnd()) {
+      atomContainer.addBond(bond);
+    } else {
+      atomContainer.addBond(new ContainedBond(bond, begin, end));
+    }
+  }
+
   /**
    * Expands pseudoatom abbreviations (e.g., "Ph", "Ac") into explicit substructures defined in
    * {@link SmilesAbbreviations}.
    *
-   * <p>
+   * <p>The substructures are copies of the templates in {@link SmilesTemplates}, so the SMILES of
+   * an abbreviation is parsed only once and not for each of its occurrences.
    *
-   * @param atomContainer the container in which abbreviations are replaced
-   * @return the set of atoms added to {@code atomContainer} by this resubstitution
+   * @param atoms the atoms in which abbreviations are replaced
+   * @param bonds the bonds between {@code atoms}
+   * @param stereoElements collector for the stereo elements of the expanded abbreviations
+   * @param expansions collector for the expanded abbreviations, used to lay out their atoms
+   * @return the set of atoms added to {@code atoms} by this resubstitution
    */
-  private Set<IAtom> resubstituteAbbreviation(IAtomContainer atomContainer) {
-    List<IBond> bondsToRemove = new ArrayList<>();
-    List<IAtom> atomsToRemove = new ArrayList<>();
+  private Set<IAtom> resubstituteAbbreviation(
+      List<IAtom> atoms,
+      List<IBond> bonds,
+      List<IStereoElement<?, ?>> stereoElements,
+      List<AbbreviationLayout.Expansion> expansions) {
+    Set<IAtom> atomsToRemove = new HashSet<>();
     Set<IAtom> addedAtoms = new HashSet<>();
+    Map<IAtom, List<IBond>> pseudoAtomBonds = getPseudoAtomBonds(bonds);
 
-    for (IAtom atom : atomContainer.atoms()) {
-      if (!(atom instanceof IPseudoAtom pseudoAtom)) {
+    // atoms added by the expansion are not abbreviations themselves
+    int atomCount = atoms.size();
+    for (int i = 0; i < atomCount; i++) {
+      if (!(atoms.get(i) instanceof IPseudoAtom pseudoAtom)) {
         continue; // only process pseudo atoms
       }
 
@@ -312,10 +385,8 @@ public class FragmentConverter {
         continue; // unknown abbreviation
       }
 
-      IAtomContainer expandedStructure;
-      try {
-        expandedStructure = smilesParser.parseSmiles(smiles);
-      } catch (InvalidSmilesException e) {
+      IAtomContainer expandedStructure = smilesTemplates.get(smiles);
+      if (expandedStructure == null) {
         LOGGER.error("SMILES could not be parsed to AtomContainer: {}: {}", abbreviation, smiles);
         continue;
       }
@@ -326,33 +397,78 @@ public class FragmentConverter {
       }
 
       if (expandedStructure.getAtomCount() == 1) {
-        replaceSingleAtom(atomContainer, pseudoAtom, expandedStructure.getAtom(0), atomsToRemove);
+        replaceSingleAtom(
+            atoms, pseudoAtom, expandedStructure.getAtom(0), pseudoAtomBonds, atomsToRemove);
       } else {
-        replaceMultiAtom(
-            atomContainer, pseudoAtom, expandedStructure, bondsToRemove, atomsToRemove, addedAtoms);
+        List<IAtom> expandedAtoms =
+            replaceMultiAtom(
+                atoms,
+                bonds,
+                stereoElements,
+                pseudoAtom,
+                expandedStructure,
+                pseudoAtomBonds,
+                atomsToRemove,
+                addedAtoms);
+        if (expandedAtoms != null) {
+          expansions.add(new AbbreviationLayout.Expansion(smiles, expandedAtoms));
+        }
       }
     }
-    bondsToRemove.forEach(atomContainer::removeBond);
-    atomsToRemove.forEach(atomContainer::removeAtom);
+    // removing an atom removes its bonds, which includes the bonds replaced by the expansion
+    bonds.removeIf(
+        bond -> atomsToRemove.contains(bond.getBegin()) || atomsToRemove.contains(bond.getEnd()));
+    atoms.removeIf(atomsToRemove::contains);
     return addedAtoms;
   }
 
   /**
-   * Replaces the given single R-Atom with the given new IAtom in the IAtomContainer and adds the
-   * R-Atom to the list of atoms to be removed
+   * Collects the bonds of every pseudo atom, in the order of the bond list.
+   *
+   * @param bonds the bonds to inspect
+   * @return a map from pseudo atoms to their bonds
+   */
+  private Map<IAtom, List<IBond>> getPseudoAtomBonds(List<IBond> bonds) {
+    Map<IAtom, List<IBond>> pseudoAtomBonds = new HashMap<>();
+    for (IBond bond : bonds) {
+      for (IAtom atom : bond.atoms()) {
+        if (atom instanceof IPseudoAtom) {
+          pseudoAtomBonds.computeIfAbsent(atom, a -> new ArrayList<>()).add(bond);
+        }
+      }
+    }
+    return pseudoAtomBonds;
+  }
+
+  /**
+   * Replaces the given single R-Atom with the given new IAtom and adds the R-Atom to the set of
+   * atoms to be removed
    *
-   * @param atomContainer IAtomContainer
+   * @param atoms the atoms of the structure
    * @param pseudoAtom abbreviation/R atom (IAtom) to be replaced
    * @param newAtom IAtom to replace the rAtom
-   * @param atomsToRemove list of atoms that will be removed from the IAtomContainer
+   * @param pseudoAtomBonds the bonds of the pseudo atoms, updated by the replacement
+   * @param atomsToRemove set of atoms that will be removed from the structure
    */
   private void replaceSingleAtom(
-      IAtomContainer atomContainer, IAtom pseudoAtom, IAtom newAtom, List<IAtom> atomsToRemove) {
-    atomContainer.addAtom(newAtom);
-
-    List<IBond> connectedBonds = new ArrayList<>();
-    pseudoAtom.bonds().forEach(connectedBonds::add);
-    connectedBonds.forEach(bond -> bond.setAtoms(new IAtom[] {bond.getOther(pseudoAtom), newAtom}));
+      List<IAtom> atoms,
+      IAtom pseudoAtom,
+      IAtom newAtom,
+      Map<IAtom, List<IBond>> pseudoAtomBonds,
+      Set<IAtom> atomsToRemove) {
+    atoms.add(newAtom);
+
+    List<IBond> connectedBonds = pseudoAtomBonds.getOrDefault(pseudoAtom, new ArrayList<>());
+    pseudoAtomBonds.remove(pseudoAtom);
+    for (IBond bond : connectedBonds) {
+      IAtom other = bond.getOther(pseudoAtom);
+      bond.setAtoms(new IAtom[] {other, newAtom});
+      // a rewired bond becomes the last bond of its other atom
+      List<IBond> otherBonds = pseudoAtomBonds.get(other);
+      if (otherBonds != null && otherBonds.remove(bond)) {
+        otherBonds.add(bond);
+      }
+    }
     newAtom.setValency(connectedBonds.size());
     newAtom.setImplicitHydrogenCount(
         Math.max(newAtom.getImplicitHydrogenCount() - connectedBonds.size(), 0));
@@ -362,21 +478,27 @@ public class FragmentConverter {
 
   /**
    * Replaces and reconnects the given IAtomContainer parsed from a SMILES with the residue IAtoms
-   * in the original IAtomContainer.
+   * in the original structure.
    *
-   * @param atomContainer IAtomContainer
+   * @param atoms the atoms of the structure
+   * @param bonds the bonds of the structure
+   * @param stereoElements collector for the stereo elements of the expanded structure
    * @param pseudoAtom List of residue IAtoms
    * @param expandedStructure IAtomContainer of the structure parsed from the abbreviation SMILES
-   * @param bondsToRemove list of bonds that will be removed from the IAtomContainer
-   * @param atomsToRemove list of atoms that will be removed from the IAtomContainer
-   * @param addedAtoms collector for atoms added to the IAtomContainer
+   * @param pseudoAtomBonds the bonds of the pseudo atoms, updated by the replacement
+   * @param atomsToRemove set of atoms that will be removed from the structure
+   * @param addedAtoms collector for atoms added to the structure
+   * @return the atoms of the expanded structure in their original order, with the connection point
+   *     replaced by the origin atom, or {@code null} if the pseudo atom could not be replaced
    */
-  private void replaceMultiAtom(
-      IAtomContainer atomContainer,
+  private List<IAtom> replaceMultiAtom(
+      List<IAtom> atoms,
+      List<IBond> bonds,
+      List<IStereoElement<?, ?>> stereoElements,
       IAtom pseudoAtom,
       IAtomContainer expandedStructure,
-      List<IBond> bondsToRemove,
-      List<IAtom> atomsToRemove,
+      Map<IAtom, List<IBond>> pseudoAtomBonds,
+      Set<IAtom> atomsToRemove,
       Set<IAtom> addedAtoms) {
     List<IAtom> connectionPoints = new ArrayList<>();
     for (IAtom atom : expandedStructure.atoms()) {
@@ -386,11 +508,12 @@ public class FragmentConverter {
     }
     if (connectionPoints.size() != 1) {
       LOGGER.error("Expected exactly one connection point for abbreviation.");
-      return;
+      return null;
     }
     IAtom connectionPoint = connectionPoints.get(0);
     // Find bond between pseudoAtom and its origin
-    IBond bondOrigin = pseudoAtom.bonds().iterator().next();
+    IBond bondOrigin =
+        pseudoAtomBonds.getOrDefault(pseudoAtom, new ArrayList<>()).iterator().next();
     IAtom originAtom = bondOrigin.getOther(pseudoAtom);
     // Find bond inside abbreviation connecting to connection point
     IBond bondInsideAbbr = connectionPoint.bonds().iterator().next();
@@ -401,28 +524,71 @@ public class FragmentConverter {
       newBond = bondOrigin.clone();
     } catch (CloneNotSupportedException e) {
       LOGGER.error("Bond could not be cloned.");
-      return;
+      return null;
     }
     newBond.setAtoms(new IAtom[] {originAtom, atomInsideAbbr});
+    List<IBond> originBonds = pseudoAtomBonds.get(originAtom);
+    if (originBonds != null) {
+      originBonds.add(newBond);
+    }
 
-    atomContainer.add(expandedStructure);
-    atomContainer.addBond(newBond);
+    List<IAtom> expandedAtoms = new ArrayList<>(expandedStructure.getAtomCount());
+    for (IAtom atom : expandedStructure.atoms()) {
+      expandedAtoms.add(atom.equals(connectionPoint) ? originAtom : atom);
+    }
+
+    // the connection point is dropped from the small expanded structure, which also updates its
+    // stereo elements, before the structure is merged
+    expandedStructure.removeBond(bondInsideAbbr);
+    expandedStructure.removeAtom(connectionPoint);
     for (IAtom expandedAtom : expandedStructure.atoms()) {
-      if (expandedAtom != connectionPoint) {
-        addedAtoms.add(expandedAtom);
-      }
+      atoms.add(expandedAtom);
+      addedAtoms.add(expandedAtom);
     }
+    expandedStructure.bonds().forEach(bonds::add);
+    bonds.add(newBond);
+    expandedStructure.stereoElements().forEach(stereoElements::add);
 
-    bondsToRemove.add(bondOrigin);
-    bondsToRemove.add(bondInsideAbbr);
+    // removing the pseudo atom also removes the bond to its origin
     atomsToRemove.add(pseudoAtom);
-    atomsToRemove.add(connectionPoint);
+    return expandedAtoms;
+  }
+
+  /**
+   * View of a bond whose end points are the atom objects of the container it is added to. CDK
+   * containers wrap the atoms and bonds added to them; for a bond given with the wrapped atoms the
+   * container finds the end points without a linear search, and it stores the viewed bond itself.
+   */
+  private static final class ContainedBond extends BondRef {
+
+    private final IAtom begin;
+    private final IAtom end;
+
+    ContainedBond(IBond bond, IAtom begin, IAtom end) {
+      super(bond);
+      this.begin = begin;
+      this.end = end;
+    }
+
+    @Override
+    public IAtom getBegin() {
+      return begin;
+    }
+
+    @Override
+    public IAtom getEnd() {
+      return end;
+    }
   }
 
   /**
    * Adds implicit hydrogens accordingly. It does not create 2D or 3D coordinates for the new
    * hydrogens.
    *
+   * <p>Atoms are typed one at a time: the matcher builds a ring search only for the few atoms that
+   * need one, which is cheaper than typing the whole container in one batch. The types are
+   * perceived again once the hydrogens are known, see {@link #convert(CDFragment, boolean)}.
+   *
    * @param container to which implicit hydrogens are added. Copied from CDK
    */
   private void addImplicitHydrogens(IAtomContainer container) {
@@ -471,9 +637,7 @@ public class FragmentConverter {
    * @return a list of connected {@link CDBond}
    */
   private List<CDBond> getConnectedBonds(CDFragment fragment, CDAtom atom) {
-    return fragment.getBonds().stream()
-        .filter(b -> b.getBegin().equals(atom) || b.getEnd().equals(atom))
-        .toList();
+    return fragment.getGraph().getBonds(atom);
   }
 
   /**
@@ -500,12 +664,14 @@ public class FragmentConverter {
    * @param atomContainer the {@link IAtomContainer} to modify
    * @param atomMap the mapping from {@link CDAtom} to {@link IAtom}
    */
-  private void setRadicals(IAtomContainer atomContainer, Map<CDAtom, IAtom> atomMap) {
+  private void setRadicals(IAtomContainer atomContainer, ConversionMap<CDAtom, IAtom> atomMap) {
     try {
-      List<CDAtom> cdRadicals =
-          atomMap.keySet().stream().filter(a -> !CDRadical.None.equals(a.getRadical())).toList();
-      for (CDAtom cdRadical : cdRadicals) {
-        IAtom radical = atomMap.get(cdRadical);
+      for (int index = 0; index < atomMap.size(); index++) {
+        CDAtom cdRadical = atomMap.getKey(index);
+        if (CDRadical.None.equals(cdRadical.getRadical())) {
+          continue;
+        }
+        IAtom radical = atomMap.getValue(index);
         if (!atomContainer.contains(radical)) {
           continue;
         }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.lookups;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openscience.cdk.exception.InvalidSmilesException;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.interfaces.IChemObjectBuilder;
+import org.openscience.cdk.smiles.SmilesParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread-safe cache of structures parsed from SMILES, such as the expansions of abbreviations
+ * ("Ph", "OMe", "Boc", ...) and of R-group substituents.
+ *
+ * <p>Each SMILES is parsed only once per {@link IChemObjectBuilder}. The parsed structure is kept
+ * as a template that is never handed out: {@link #get(String)} returns a clone of it, which the
+ * caller may modify freely. SMILES that cannot be parsed are remembered as well, so they are not
+ * parsed again either.
+ *
+ * <h2>Example Usage:</h2>
+ *
+ * <pre>{@code
+ * SmilesTemplates templates = SmilesTemplates.getInstance(builder);
+ * IAtomContainer phenyl = templates.get(SmilesAbbreviations.get("Ph"));
+ * }</pre>
+ */
+public class SmilesTemplates {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SmilesTemplates.class);
+
+  /**
+   * Maximum number of cached SMILES per builder. Abbreviations are a fixed set, but R-group
+   * definitions come from the documents, so the cache must not grow with the number of documents
+   * processed. Once it is full, further SMILES are parsed on every request.
+   */
+  private static final int MAX_SIZE = 4096;
+
+  private static final Map<IChemObjectBuilder, SmilesTemplates> INSTANCES =
+      new ConcurrentHashMap<>();
+
+  private final IChemObjectBuilder builder;
+
+  /** The parsed templates, or an empty optional for SMILES that cannot be parsed. */
+  private final Map<String, Optional<IAtomContainer>> templates = new ConcurrentHashMap<>();
+
+  private SmilesTemplates(IChemObjectBuilder builder) {
+    this.builder = builder;
+  }
+
+  /**
+   * Returns the template cache for structures created with the given builder.
+   *
+   * @param builder the CDK chem object builder of the parsed structures
+   * @return the shared template cache of {@code builder}
+   */
+  public static SmilesTemplates getInstance(IChemObjectBuilder builder) {
+    return INSTANCES.computeIfAbsent(builder, SmilesTemplates::new);
+  }
+
+  /**
+   * Returns the structure of the given SMILES. The structure is a copy of the cached template, so
+   * it may be modified by the caller.
+   *
+   * @param smiles the SMILES to parse
+   * @return a new structure for {@code smiles}, or {@code null} if the SMILES cannot be parsed
+   */
+  public IAtomContainer get(String smiles) {
+    Optional<IAtomContainer> template = templates.get(smiles);
+    if (template == null) {
+      template = parse(smiles);
+      if (templates.size() >= MAX_SIZE) {
+        // not cached, so the parsed structure can be handed out directly
+        return template.orElse(null);
+      }
+      // keep the first template if another thread parsed the same SMILES concurrently
+      Optional<IAtomContainer> previous = templates.putIfAbsent(smiles, template);
+      if (previous != null) {
+        template = previous;
+      }
+    }
+    return template.isPresent() ? copy(template.get(), smiles) : null;
+  }
+
+  private Optional<IAtomContainer> parse(String smiles) {
+    // SmilesParser is not thread-safe and only needed on a cache miss
+    try {
+      return Optional.of(new SmilesParser(builder).parseSmiles(smiles));
+    } catch (InvalidSmilesException e) {
+      LOGGER.debug("SMILES could not be parsed: {}", smiles);
+      return Optional.empty();
+    }
+  }
+
+  private IAtomContainer copy(IAtomContainer template, String smiles) {
+    try {
+      return template.clone();
+    } catch (CloneNotSupportedException e) {
+      LOGGER.warn("Could not copy template, parsing SMILES again: {}", smiles);
+      return parse(smiles).orElse(null);
+    }
+  }
+}
@@ -21,15 +21,27 @@
  */
 package org.beilstein.chemxtract.model;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.openscience.cdk.interfaces.IAtomContainer;
 
-/** A substance with structure and Inchi that could be extracted from a CDX file. */
+/**
+ * A substance with structure and Inchi that could be extracted from a CDX file.
+ *
+ * <p>The descriptors (InChI, InChIKey, AuxInfo, SMILES, extended SMILES, molecular formula and MDL
+ * V3000 mol file) are either set as values or, in lazy mode, as suppliers that compute them from
+ * the atom container on first access. Lazy descriptors are computed once and thread-safely; as
+ * they share the atom container, the computations of one substance never run concurrently. The
+ * atom container must not be modified while descriptors are pending.
+ */
 public class BCXSubstance implements Serializable {
 
   private static final long serialVersionUID = -7849256075801495625L;
@@ -76,6 +88,15 @@ public class BCXSubstance implements Serializable {
    */
   private Map<String, String> abbreviations = new HashMap<String, String>();
 
+  // pending descriptors, null if the descriptor is set as a value
+  private transient Lazy lazyInchi;
+  private transient Lazy lazyInchiKey;
+  private transient Lazy lazySmiles;
+  private transient Lazy lazyExtendedSmiles;
+  private transient Lazy lazyMolecularFormula;
+  private transient Lazy lazyAuxInfo;
+  private transient Lazy lazyMdlv3000;
+
   public BCXSubstance() {
     super();
   }
@@ -86,35 +107,59 @@ public class BCXSubstance implements Serializable {
   }
 
   public String getInchi() {
-    return inchi;
+    return lazyInchi != null ? lazyInchi.get() : inchi;
   }
 
   public void setInchi(String inchi) {
     this.inchi = inchi;
+    this.lazyInchi = null;
+  }
+
+  public void setInchiSupplier(Supplier<String> supplier) {
+    this.inchi = null;
+    this.lazyInchi = new Lazy(supplier);
   }
 
   public String getInchiKey() {
-    return inchiKey;
+    return lazyInchiKey != null ? lazyInchiKey.get() : inchiKey;
   }
 
   public void setInchiKey(String inchiKey) {
     this.inchiKey = inchiKey;
+    this.lazyInchiKey = null;
+  }
+
+  public void setInchiKeySupplier(Supplier<String> supplier) {
+    this.inchiKey = null;
+    this.lazyInchiKey = new Lazy(supplier);
   }
 
   public String getSmiles() {
-    return smiles;
+    return lazySmiles != null ? lazySmiles.get() : smiles;
   }
 
   public void setSmiles(String smiles) {
     this.smiles = smiles;
+    this.lazySmiles = null;
+  }
+
+  public void setSmilesSupplier(Supplier<String> supplier) {
+    this.smiles = null;
+    this.lazySmiles = new Lazy(supplier);
   }
 
   public String getExtendedSmiles() {
-    return extendedSmiles;
+    return lazyExtendedSmiles != null ? lazyExtendedSmiles.get() : extendedSmiles;
   }
 
   public void setExtendedSmiles(String extendedSmiles) {
     this.extendedSmiles = extendedSmiles;
+    this.lazyExtendedSmiles = null;
+  }
+
+  public void setExtendedSmilesSupplier(Supplier<String> supplier) {
+    this.extendedSmiles = null;
+    this.lazyExtendedSmiles = new Lazy(supplier);
   }
 
   public String getIupacName() {
@@ -126,19 +171,31 @@ public class BCXSubstance implements Serializable {
   }
 
   public String getMolecularFormula() {
-    return molecularFormula;
+    return lazyMolecularFormula != null ? lazyMolecularFormula.get() : molecularFormula;
   }
 
   public void setMolecularFormula(String molecularFormula) {
     this.molecularFormula = molecularFormula;
+    this.lazyMolecularFormula = null;
+  }
+
+  public void setMolecularFormulaSupplier(Supplier<String> supplier) {
+    this.molecularFormula = null;
+    this.lazyMolecularFormula = new Lazy(supplier);
   }
 
   public String getAuxInfo() {
-    return auxInfo;
+    return lazyAuxInfo != null ? lazyAuxInfo.get() : auxInfo;
   }
 
   public void setAuxInfo(String auxInfo) {
     this.auxInfo = auxInfo;
+    this.lazyAuxInfo = null;
+  }
+
+  public void setAuxInfoSupplier(Supplier<String> supplier) {
+    this.auxInfo = null;
+    this.lazyAuxInfo = new Lazy(supplier);
   }
 
   public Set<BCXSubstanceOccurrence> getOccurrences() {
@@ -166,16 +223,22 @@ public class BCXSubstance implements Serializable {
   }
 
   public String getMdlv3000() {
-    return mdlv3000;
+    return lazyMdlv3000 != null ? lazyMdlv3000.get() : mdlv3000;
   }
 
   public void setMdlv3000(String mdlv3000) {
     this.mdlv3000 = mdlv3000;
+    this.lazyMdlv3000 = null;
+  }
+
+  public void setMdlv3000Supplier(Supplier<String> supplier) {
+    this.mdlv3000 = null;
+    this.lazyMdlv3000 = new Lazy(supplier);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(inchiKey);
+    return Objects.hash(getInchiKey());
   }
 
   @Override
@@ -190,7 +253,7 @@ public class BCXSubstance implements Serializable {
       return false;
     }
     BCXSubstance other = (BCXSubstance) obj;
-    return Objects.equals(inchiKey, other.inchiKey);
+    return Objects.equals(getInchiKey(), other.getInchiKey());
   }
 
   public IAtomContainer getAtomContainer() {
@@ -204,11 +267,54 @@ public class BCXSubstance implements Serializable {
   @Override
   public String toString() {
     return "BCXSubstance [inchiKey="
-        + inchiKey
+        + getInchiKey()
         + ", smiles="
-        + smiles
+        + getSmiles()
         + ", molecularFormula="
-        + molecularFormula
+        + getMolecularFormula()
         + "]";
   }
+
+  /**
+   * Computes the pending descriptors before serialisation, as their suppliers are not serializable.
+   *
+   * @param out the stream to write to
+   * @throws IOException if writing fails
+   */
+  @Serial
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    inchi = getInchi();
+    inchiKey = getInchiKey();
+    smiles = getSmiles();
+    extendedSmiles = getExtendedSmiles();
+    molecularFormula = getMolecularFormula();
+    auxInfo = getAuxInfo();
+    mdlv3000 = getMdlv3000();
+    out.defaultWriteObject();
+  }
+
+  /** A descriptor computed on first access, synchronised on the substance. */
+  private final class Lazy {
+
+    private Supplier<String> supplier;
+    private volatile boolean computed;
+    private String value;
+
+    private Lazy(Supplier<String> supplier) {
+      this.supplier = Objects.requireNonNull(supplier, "Supplier must not be null.");
+    }
+
+    private String get() {
+      if (!computed) {
+        synchronized (BCXSubstance.this) {
+          if (!computed) {
+            value = supplier.get();
+            supplier = null;
+            computed = true;
+          }
+        }
+      }
+      return value;
+    }
+  }
 }
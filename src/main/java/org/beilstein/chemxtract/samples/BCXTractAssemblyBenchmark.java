@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.samples;
+
+import org.beilstein.chemxtract.cdx.CDAtom;
+import org.beilstein.chemxtract.cdx.CDBond;
+import org.beilstein.chemxtract.cdx.CDFragment;
+import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint2D;
+import org.beilstein.chemxtract.converter.FragmentConverter;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.silent.SilentChemObjectBuilder;
+
+/**
+ * A simple benchmark measuring how the conversion of a {@link CDFragment} into an {@link
+ * IAtomContainer} scales with the size of the fragment. Synthetic chain fragments of 1,000 to
+ * 20,000 atoms are generated, every tenth chain atom carrying an abbreviation ("Ph" or "OMe") that
+ * is expanded during the conversion.
+ *
+ * <p>The conversion runs on a thread with a large stack, as the ring perception of the CDK recurses
+ * along the chain. The stereo perception of the CDK is limited to structures of about 10,000 atoms;
+ * failing conversions are reported instead of timed.
+ */
+public class BCXTractAssemblyBenchmark {
+
+  private static final int[] SIZES = {1_000, 2_000, 5_000, 10_000, 20_000};
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int ROUNDS = 5;
+  private static final long STACK_SIZE = 1L << 29;
+
+  public static void main(String[] args) throws Exception {
+    Thread thread = new Thread(null, BCXTractAssemblyBenchmark::runAll, "benchmark", STACK_SIZE);
+    thread.start();
+    thread.join();
+  }
+
+  private static void runAll() {
+    FragmentConverter converter = new FragmentConverter(SilentChemObjectBuilder.getInstance());
+    for (int size : SIZES) {
+      CDFragment fragment = generateFragment(size);
+      try {
+        IAtomContainer result = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+          result = converter.convert(fragment);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+          result = converter.convert(fragment);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / ROUNDS;
+        System.out.printf(
+            "%6d atoms %10.3f ms (%d atoms, %d bonds)%n",
+            size, millis, result.getAtomCount(), result.getBondCount());
+      } catch (Exception e) {
+        System.out.printf("%6d atoms     failed (%s)%n", size, e);
+      }
+    }
+  }
+
+  private static CDFragment generateFragment(int atomCount) {
+    CDFragment fragment = new CDFragment();
+    CDAtom previous = null;
+    for (int i = 0; fragment.getAtoms().size() < atomCount; i++) {
+      CDAtom atom = new CDAtom();
+      atom.setElementNumber(i % 7 == 3 ? 8 : 6);
+      atom.setPosition2D(new CDPoint2D(i * 14.4f, (i % 2) * 8.3f));
+      fragment.addAtom(atom);
+      if (previous != null) {
+        fragment.addBond(createBond(previous, atom));
+      }
+      if (i % 10 == 5) {
+        CDAtom abbreviation = new CDAtom();
+        abbreviation.setNodeType(CDNodeType.Unspecified);
+        abbreviation.setLabelText(i % 20 == 5 ? "Ph" : "OMe");
+        abbreviation.setChemicalWarning("Unrecognized label");
+        abbreviation.setPosition2D(new CDPoint2D(i * 14.4f, 20f));
+        fragment.addAtom(abbreviation);
+        fragment.addBond(createBond(atom, abbreviation));
+      }
+      previous = atom;
+    }
+    return fragment;
+  }
+
+  private static CDBond createBond(CDAtom begin, CDAtom end) {
+    CDBond bond = new CDBond();
+    bond.setBegin(begin);
+    bond.setEnd(end);
+    return bond;
+  }
+
+  private BCXTractAssemblyBenchmark() {
+    // static entry point only
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.samples;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.beilstein.chemxtract.cdx.CDAtom;
+import org.beilstein.chemxtract.cdx.CDBond;
+import org.beilstein.chemxtract.cdx.CDFragment;
+import org.beilstein.chemxtract.cdx.CDGroup;
+import org.beilstein.chemxtract.cdx.CDPage;
+import org.beilstein.chemxtract.cdx.CDVisitor;
+import org.beilstein.chemxtract.cdx.reader.CDXReader;
+import org.beilstein.chemxtract.visitor.FragmentVisitor;
+
+/**
+ * A simple benchmark comparing queries on the object tree written as {@link CDVisitor}s with the
+ * equivalent sequential and parallel {@link CDPage#objects(Class)} streams. Takes an optional CDX
+ * file as input; without one, a page with 200 groups of 50 chain fragments is generated.
+ */
+public class BCXTractTraversalBenchmark {
+
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int ROUNDS = 50;
+
+  public static void main(String[] args) throws Exception {
+    CDPage page;
+    if (args.length == 1) {
+      try (InputStream in = new FileInputStream(args[0])) {
+        page = CDXReader.readDocument(in).getPages().get(0);
+      }
+    } else {
+      page = generatePage(200, 50, 20);
+    }
+
+    run("fragments, FragmentVisitor", () -> new FragmentVisitor(page).getAllFragments().size());
+    run("fragments, sequential stream", () -> page.objects(CDFragment.class).toList().size());
+    run(
+        "fragments, parallel stream",
+        () -> page.objects(CDFragment.class).parallel().toList().size());
+
+    run("charged atoms, visitor", () -> countChargedAtoms(page));
+    run("charged atoms, sequential stream", () -> countCharged(page.objects(CDAtom.class)));
+    run(
+        "charged atoms, parallel stream",
+        () -> countCharged(page.objects(CDAtom.class).parallel()));
+  }
+
+  private static void run(String name, Supplier<Integer> query) {
+    int result = 0;
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      result = query.get();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      result = query.get();
+    }
+    double millis = (System.nanoTime() - start) / 1e6 / ROUNDS;
+    System.out.printf("%-36s %10.3f ms (%d results)%n", name, millis, result);
+  }
+
+  private static int countCharged(Stream<CDAtom> atoms) {
+    return (int) atoms.filter(atom -> atom.getCharge() != 0).count();
+  }
+
+  private static int countChargedAtoms(CDPage page) {
+    int[] count = new int[1];
+    page.accept(
+        new CDVisitor() {
+          @Override
+          public void visitAtom(CDAtom atom) {
+            if (atom.getCharge() != 0) {
+              count[0]++;
+            }
+          }
+        });
+    return count[0];
+  }
+
+  private static CDPage generatePage(int groups, int fragmentsPerGroup, int atomsPerFragment) {
+    CDPage page = new CDPage();
+    for (int g = 0; g < groups; g++) {
+      CDGroup group = new CDGroup();
+      for (int f = 0; f < fragmentsPerGroup; f++) {
+        CDFragment fragment = new CDFragment();
+        CDAtom previous = null;
+        for (int a = 0; a < atomsPerFragment; a++) {
+          CDAtom atom = new CDAtom();
+          atom.setCharge(a % 7 == 0 ? 1 : 0);
+          fragment.addAtom(atom);
+          if (previous != null) {
+            CDBond bond = new CDBond();
+            bond.setBegin(previous);
+            bond.setEnd(atom);
+            fragment.addBond(bond);
+          }
+          previous = atom;
+        }
+        group.addFragment(fragment);
+      }
+      page.addGroup(group);
+    }
+    return page;
+  }
+
+  private BCXTractTraversalBenchmark() {
+    // static entry point only
+  }
+}
@@ -22,7 +22,10 @@
 package org.beilstein.chemxtract.utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import org.beilstein.chemxtract.cdx.CDAtom;
 import org.beilstein.chemxtract.cdx.CDBond;
 import org.beilstein.chemxtract.cdx.CDFragment;
@@ -108,9 +111,9 @@ public final class AttachmentHandler {
       }
     }
 
-    bondsToRemove.forEach(fragment::removeBond);
+    fragment.removeBonds(bondsToRemove);
     bondsToAdd.forEach(fragment::addBond);
-    multiNodes.forEach(fragment::removeAtom);
+    fragment.removeAtoms(multiNodes);
   }
 
   /**
@@ -161,14 +164,16 @@ public final class AttachmentHandler {
 
     // Atoms and bonds that are common to every variant: everything except the variable nodes and
     // the bonds incident to them.
+    Set<CDAtom> variableNodeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    variableNodeSet.addAll(variableNodes);
     List<CDAtom> baseAtoms =
-        fragment.getAtoms().stream().filter(atom -> !variableNodes.contains(atom)).toList();
+        fragment.getAtoms().stream().filter(atom -> !variableNodeSet.contains(atom)).toList();
     List<CDBond> baseBonds =
         fragment.getBonds().stream()
             .filter(
                 bond ->
-                    !variableNodes.contains(bond.getBegin())
-                        && !variableNodes.contains(bond.getEnd()))
+                    !variableNodeSet.contains(bond.getBegin())
+                        && !variableNodeSet.contains(bond.getEnd()))
             .toList();
 
     List<List<CDAtom>> selections = new ArrayList<>();
@@ -232,9 +237,7 @@ public final class AttachmentHandler {
 
   /** Returns all bonds in the fragment incident to the given atom (by object identity). */
   private static List<CDBond> incidentBonds(CDFragment fragment, CDAtom atom) {
-    return fragment.getBonds().stream()
-        .filter(bond -> atom.equals(bond.getBegin()) || atom.equals(bond.getEnd()))
-        .toList();
+    return fragment.getGraph().getBonds(atom);
   }
 
   /**
@@ -23,10 +23,7 @@ package org.beilstein.chemxtract.utils;
 
 import io.github.dan2097.jnainchi.InchiFlag;
 import io.github.dan2097.jnainchi.InchiStatus;
-import java.util.HashSet;
-import java.util.Set;
-import javax.vecmath.Point2d;
-import javax.vecmath.Point3d;
+import org.beilstein.chemxtract.cheminf.CoordinateAnalysis;
 import org.openscience.cdk.DefaultChemObjectBuilder;
 import org.openscience.cdk.aromaticity.Kekulization;
 import org.openscience.cdk.exception.CDKException;
@@ -35,6 +32,7 @@ import org.openscience.cdk.inchi.InChIGenerator;
 import org.openscience.cdk.inchi.InChIGeneratorFactory;
 import org.openscience.cdk.interfaces.IAtom;
 import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.interfaces.IBond;
 import org.openscience.cdk.interfaces.IPseudoAtom;
 import org.openscience.cdk.interfaces.IReaction;
 import org.openscience.cdk.rinchi.RInChIGenerator;
@@ -52,6 +50,12 @@ public class ChemicalUtils {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ChemicalUtils.class);
 
+  /**
+   * The CXSMILES flavor bits that only add layers after the SMILES. Some CXSMILES flavors include
+   * stereo flavors, which change the SMILES itself and are excluded.
+   */
+  private static final int CX_LAYERS = SmiFlavor.CxSmilesWithCoords & ~SmiFlavor.Stereo;
+
   private ChemicalUtils() {
     // hide implicit public constructor
   }
@@ -130,45 +134,72 @@ public class ChemicalUtils {
 
   /**
    * Creates a CXSMILES with coordinates for the given AtomContainer. Only if all atoms have
-   * coordinates SMILES will be returned otherwise null is returned.
+   * distinct coordinates SMILES will be returned otherwise null is returned.
    *
    * @param atomContainer AtomContainer for which to generate an absolute SMILES representation
-   * @return CXSMILES with coordinates, if all atoms have coordinates, otherwise null.
+   * @return CXSMILES with coordinates, if all atoms have distinct coordinates, otherwise null.
    */
   public static String createExtendedSmiles(IAtomContainer atomContainer) throws CDKException {
-    for (IAtom atom : atomContainer.atoms()) {
-      if ((atom.getPoint2d() == null && atom.getPoint3d() == null)
-          || hasDuplicateCoordinates(atomContainer)) {
-        return null;
-      }
+    if (!hasDistinctCoordinates(atomContainer)) {
+      return null;
     }
     return createSmiles(atomContainer, SmiFlavor.CxSmilesWithCoords);
   }
 
   /**
-   * Checks whether the AtomContainer contains duplicate 2D or 3D coordinates.
+   * Creates the absolute SMILES and a canonical CXSMILES with coordinates of the given
+   * AtomContainer. Both come from a single SMILES generation, the CXSMILES being the absolute
+   * SMILES followed by the coordinate layer, so they share the canonical atom order. This differs
+   * from {@link #createExtendedSmiles}, whose CXSMILES lists the atoms in input order. Structures
+   * with more than {@link Definitions#MAX_ATOM_COUNT} atoms are not canonically labelled and get an
+   * isomeric SMILES instead. A CXSMILES is only created if all atoms have distinct coordinates.
+   *
+   * @param atomContainer AtomContainer for which to generate the SMILES representations
+   * @param smiles whether to create the absolute SMILES
+   * @param extendedSmiles whether to create the CXSMILES
+   * @return the absolute SMILES and the CXSMILES, each {@code null} if not requested or not created
+   * @throws CDKException if SMILES generation fails
+   */
+  public static String[] createSmilesAndExtendedSmiles(
+      IAtomContainer atomContainer, boolean smiles, boolean extendedSmiles) throws CDKException {
+    int flavor =
+        atomContainer.getAtomCount() > Definitions.MAX_ATOM_COUNT
+            ? SmiFlavor.Isomeric
+            : SmiFlavor.Absolute;
+    boolean coordinates = extendedSmiles && hasDistinctCoordinates(atomContainer);
+    if (smiles && coordinates) {
+      return createSmiles(atomContainer, new int[] {flavor, flavor | SmiFlavor.CxSmilesWithCoords});
+    }
+    String[] created = new String[2];
+    if (smiles) {
+      created[0] = createSmiles(atomContainer, flavor);
+    } else if (coordinates) {
+      created[1] = createSmiles(atomContainer, flavor | SmiFlavor.CxSmilesWithCoords);
+    }
+    return created;
+  }
+
+  /**
+   * Checks whether all atoms of the AtomContainer have coordinates and no two of them share them.
+   *
+   * @param container AtomContainer to check
+   * @return {@code true} if a CXSMILES with coordinates can be created
+   */
+  private static boolean hasDistinctCoordinates(IAtomContainer container) {
+    CoordinateAnalysis analysis = new CoordinateAnalysis(container);
+    return !analysis.hasMissingCoordinates() && !analysis.hasDuplicateCoordinates();
+  }
+
+  /**
+   * Checks whether the AtomContainer contains duplicate 2D or 3D coordinates, i.e. atoms whose
+   * coordinates agree to six decimal places.
    *
    * @param container AtomContainer to check
    * @return {@code true} if duplicates exist, {@code false} otherwise
+   * @see CoordinateAnalysis#hasDuplicateCoordinates()
    */
   public static boolean hasDuplicateCoordinates(IAtomContainer container) {
-    Set<String> seen = new HashSet<>();
-    for (IAtom atom : container.atoms()) {
-      Point3d p3 = atom.getPoint3d();
-      Point2d p2 = atom.getPoint2d();
-      String key;
-      if (p3 != null) {
-        key = String.format("3D:%.6f,%.6f,%.6f", p3.x, p3.y, p3.z);
-      } else if (p2 != null) {
-        key = String.format("2D:%.6f,%.6f", p2.x, p2.y);
-      } else {
-        continue;
-      }
-      if (!seen.add(key)) {
-        return true; // duplicate found
-      }
-    }
-    return false; // all unique
+    return new CoordinateAnalysis(container).hasDuplicateCoordinates();
   }
 
   /**
@@ -179,17 +210,59 @@ public class ChemicalUtils {
    * @return absolute SMILES string representing the structure of the AtomContainer
    */
   public static String createSmiles(IAtomContainer atomContainer, int flavor) throws CDKException {
-    String smiles = null;
-    // flag absolute generates a canonical SMILES with stereochemistry and atomic masses (isomers)
-    SmilesGenerator smilesGen = new SmilesGenerator(flavor);
+    return createSmiles(atomContainer, new int[] {flavor})[0];
+  }
+
+  /**
+   * Creates SMILES representations for the given AtomContainer in several SmiFlavors at once.
+   * Flavors that only differ in their CXSMILES layers are generated together, so the structure is
+   * converted and canonically labelled once: the SMILES without layers is the part of the CXSMILES
+   * before its layers. Whether the structure has to be kekulized is decided up front, from its
+   * aromatic bonds without a bond order, and a kekulized copy is shared by all flavors.
+   *
+   * @param atomContainer AtomContainer for which to generate the SMILES representations
+   * @param flavors the CDK {@code SmiFlavor} bitmasks of the requested SMILES
+   * @return the SMILES strings, in the order of the flavors
+   * @throws CDKException if SMILES generation fails
+   */
+  public static String[] createSmiles(IAtomContainer atomContainer, int[] flavors)
+      throws CDKException {
+    String[] smiles = new String[flavors.length];
     try {
-      try {
-        smiles = smilesGen.create(atomContainer);
-      } catch (CDKException exception) {
-        IAtomContainer clone = atomContainer.clone();
-        Kekulization.kekulize(clone);
-        smiles = smilesGen.create(clone);
-        LOGGER.info("Kekulized structure: {}", smiles);
+      IAtomContainer container = atomContainer;
+      if (needsKekulization(atomContainer, flavors)) {
+        container = atomContainer.clone();
+        Kekulization.kekulize(container);
+        LOGGER.info("Kekulized structure for SMILES generation");
+      }
+      for (int i = 0; i < flavors.length; i++) {
+        if (smiles[i] != null) {
+          continue;
+        }
+        int core = flavors[i] & ~CX_LAYERS;
+        int layers = 0;
+        for (int j = i; j < flavors.length; j++) {
+          if (smiles[j] == null && (flavors[j] & ~CX_LAYERS) == core) {
+            layers |= flavors[j] & CX_LAYERS;
+          }
+        }
+        String generated = new SmilesGenerator(core | layers).create(container);
+        int end = generated.indexOf(' ');
+        String withoutLayers = end < 0 ? generated : generated.substring(0, end);
+        for (int j = i; j < flavors.length; j++) {
+          if (smiles[j] == null && (flavors[j] & ~CX_LAYERS) == core) {
+            int flavorLayers = flavors[j] & CX_LAYERS;
+            if (flavorLayers == layers) {
+              smiles[j] = generated;
+            } else if (flavorLayers == 0) {
+              smiles[j] = withoutLayers;
+            }
+          }
+        }
+        if (smiles[i] == null) {
+          // only a part of the layers of the group, generated on its own
+          smiles[i] = new SmilesGenerator(flavors[i]).create(container);
+        }
       }
     } catch (CDKException
         | NullPointerException
@@ -202,6 +275,30 @@ public class ChemicalUtils {
     return smiles;
   }
 
+  /**
+   * Checks whether the AtomContainer has to be kekulized before SMILES generation: a SMILES
+   * without aromatic symbols cannot be written for an aromatic bond without a bond order.
+   *
+   * @param atomContainer AtomContainer to check
+   * @param flavors the CDK {@code SmiFlavor} bitmasks of the requested SMILES
+   * @return {@code true} if the AtomContainer has to be kekulized
+   */
+  private static boolean needsKekulization(IAtomContainer atomContainer, int[] flavors) {
+    boolean kekule = false;
+    for (int flavor : flavors) {
+      kekule |= (flavor & SmiFlavor.UseAromaticSymbols) == 0;
+    }
+    if (!kekule) {
+      return false;
+    }
+    for (IBond bond : atomContainer.bonds()) {
+      if (bond.isAromatic() && (bond.getOrder() == null || bond.getOrder() == IBond.Order.UNSET)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Finds the nearest residue atom to the given residueAtom within the provided AtomContainer.
    *
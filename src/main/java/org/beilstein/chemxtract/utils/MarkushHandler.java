@@ -32,9 +32,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.beilstein.chemxtract.cdx.CDPage;
+import org.beilstein.chemxtract.cdx.CDSpatialIndex;
 import org.beilstein.chemxtract.cdx.CDRectangle;
 import org.beilstein.chemxtract.cheminf.AbbreviationLayout;
 import org.beilstein.chemxtract.lookups.SmilesAbbreviations;
+import org.beilstein.chemxtract.lookups.SmilesTemplates;
 import org.beilstein.chemxtract.visitor.CorrelatedGroup;
 import org.beilstein.chemxtract.visitor.RGroupDefinitionBlock;
 import org.beilstein.chemxtract.visitor.TextVisitor;
@@ -46,7 +48,6 @@ import org.openscience.cdk.interfaces.IAtomContainer;
 import org.openscience.cdk.interfaces.IBond;
 import org.openscience.cdk.interfaces.IChemObjectBuilder;
 import org.openscience.cdk.interfaces.IPseudoAtom;
-import org.openscience.cdk.smiles.SmilesParser;
 import org.openscience.cdk.tools.manipulator.AtomContainerManipulator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +62,10 @@ import org.slf4j.LoggerFactory;
  * <p>The replacement handles single-bonded residues as well as dual-bonded residues, reconnecting
  * the generated structures properly.
  *
+ * <p>Substituents are copied from the templates in {@link SmilesTemplates}. Once all definitions
+ * have been added, {@code replaceRGroups} only reads the state of the handler, so a handler may be
+ * shared by threads converting the fragments of the same page.
+ *
  * <h2>Example usage:</h2>
  *
  * <pre>{@code
@@ -78,7 +83,8 @@ public class MarkushHandler {
   private final Map<String, List<String>> residueLabels;
   private final Map<String, List<String>> structuralDefinitions = new LinkedHashMap<>();
   private final List<RGroupDefinitionBlock> blocks;
-  private final SmilesParser smilesParser;
+  private final CDSpatialIndex<RGroupDefinitionBlock> blockIndex;
+  private final SmilesTemplates smilesTemplates;
 
   /**
    * Constructs a MarkushHandler using a CDPage and a CDK builder.
@@ -87,10 +93,11 @@ public class MarkushHandler {
    * @param builder CDK object builder for creating atom containers
    */
   public MarkushHandler(CDPage page, IChemObjectBuilder builder) {
-    TextVisitor textVisitor = new TextVisitor(page);
+    TextVisitor textVisitor = new TextVisitor(page.getIndex().getTexts());
     residueLabels = textVisitor.getRgroups();
     blocks = textVisitor.getBlocks();
-    smilesParser = new SmilesParser(builder);
+    blockIndex = new CDSpatialIndex<>(blocks, RGroupDefinitionBlock::bounds);
+    smilesTemplates = SmilesTemplates.getInstance(builder);
   }
 
   /**
@@ -217,30 +224,35 @@ public class MarkushHandler {
    */
   private List<CorrelatedGroup> nearestCorrelatedGroups(
       Set<String> present, CDRectangle scaffoldBounds) {
+    // the first applicable group per label set, used when no block with a position defines it
     Map<List<String>, CorrelatedGroup> chosen = new LinkedHashMap<>();
-    Map<List<String>, Double> bestDistance = new HashMap<>();
     for (RGroupDefinitionBlock block : blocks) {
       for (CorrelatedGroup group : block.correlatedGroups()) {
-        if (!present.containsAll(group.labels())) {
-          continue;
-        }
-        double distance = blockDistance(scaffoldBounds, block.bounds());
-        Double current = bestDistance.get(group.labels());
-        if (current == null || distance < current) {
-          bestDistance.put(group.labels(), distance);
-          chosen.put(group.labels(), group);
+        if (present.containsAll(group.labels())) {
+          chosen.putIfAbsent(group.labels(), group);
         }
       }
     }
+    for (Map.Entry<List<String>, CorrelatedGroup> entry : chosen.entrySet()) {
+      List<String> labels = entry.getKey();
+      RGroupDefinitionBlock nearest =
+          blockIndex.nearest(
+              scaffoldBounds, Double.MAX_VALUE, block -> correlatedGroup(block, labels) != null);
+      if (nearest != null) {
+        entry.setValue(correlatedGroup(nearest, labels));
+      }
+    }
     return new ArrayList<>(chosen.values());
   }
 
-  /** Distance from a scaffold to a block, treating a block with no bounds as maximally far. */
-  private static double blockDistance(CDRectangle scaffoldBounds, CDRectangle blockBounds) {
-    if (scaffoldBounds == null || blockBounds == null) {
-      return Double.MAX_VALUE;
+  /** The first correlated group of a block with the given labels, or {@code null}. */
+  private static CorrelatedGroup correlatedGroup(RGroupDefinitionBlock block, List<String> labels) {
+    for (CorrelatedGroup group : block.correlatedGroups()) {
+      if (group.labels().equals(labels)) {
+        return group;
+      }
     }
-    return rectangleDistance(scaffoldBounds, blockBounds);
+    return null;
   }
 
   private List<IAtomContainer> replaceRGroups(
@@ -278,8 +290,9 @@ public class MarkushHandler {
 
       for (Map.Entry<String, String> entry : combination.entrySet()) {
         String smiles = resolveSmiles(entry.getValue());
-        if (ChemicalUtils.isValidSmiles(smiles)) {
-          replaceRGroup(clone, entry.getKey(), smiles);
+        IAtomContainer substituent = smilesTemplates.get(smiles);
+        if (substituent != null) {
+          replaceRGroup(clone, entry.getKey(), smiles, substituent);
           substituted = true;
         }
       }
@@ -403,12 +416,15 @@ public class MarkushHandler {
    * @param atomContainer molecule to modify
    * @param residueKey label of the R-group to replace
    * @param smiles SMILES string defining the substituent
-   * @throws InvalidSmilesException if SMILES parsing fails
+   * @param extendedStructure the structure parsed from {@code smiles}, modified by this method
    * @throws CloneNotSupportedException if cloning fails
    */
-  private void replaceRGroup(IAtomContainer atomContainer, String residueKey, String smiles)
-      throws CDKException, CloneNotSupportedException {
-    IAtomContainer extendedStructure = smilesParser.parseSmiles(smiles);
+  private void replaceRGroup(
+      IAtomContainer atomContainer,
+      String residueKey,
+      String smiles,
+      IAtomContainer extendedStructure)
+      throws CloneNotSupportedException {
     AtomContainerManipulator.suppressHydrogens(extendedStructure);
     long nStars = smiles.chars().filter(c -> '*' == c).count();
     if (nStars == 2) {
@@ -674,35 +690,8 @@ public class MarkushHandler {
    * @return the nearest block defining the label, or {@code null} if none has a usable position
    */
   private RGroupDefinitionBlock nearestBlockDefining(String label, CDRectangle scaffoldBounds) {
-    if (scaffoldBounds == null) {
-      return null;
-    }
-    RGroupDefinitionBlock best = null;
-    double bestDistance = Double.MAX_VALUE;
-    for (RGroupDefinitionBlock block : blocks) {
-      if (block.bounds() == null || !block.definitions().containsKey(label)) {
-        continue;
-      }
-      double distance = rectangleDistance(scaffoldBounds, block.bounds());
-      if (distance < bestDistance) {
-        bestDistance = distance;
-        best = block;
-      }
-    }
-    return best;
-  }
-
-  /**
-   * Returns the gap between two rectangles (0 if they overlap).
-   *
-   * @param a first rectangle
-   * @param b second rectangle
-   * @return the Euclidean gap between the rectangles
-   */
-  private static double rectangleDistance(CDRectangle a, CDRectangle b) {
-    double dx = Math.max(0, Math.max(a.getLeft() - b.getRight(), b.getLeft() - a.getRight()));
-    double dy = Math.max(0, Math.max(a.getTop() - b.getBottom(), b.getTop() - a.getBottom()));
-    return Math.hypot(dx, dy);
+    return blockIndex.nearest(
+        scaffoldBounds, Math.nextDown(Double.MAX_VALUE), b -> b.definitions().containsKey(label));
   }
 
   /**
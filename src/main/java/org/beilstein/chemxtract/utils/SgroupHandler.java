@@ -21,14 +21,19 @@
  */
 package org.beilstein.chemxtract.utils;
 
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.beilstein.chemxtract.cdx.CDAtom;
 import org.beilstein.chemxtract.cdx.CDBond;
 import org.beilstein.chemxtract.cdx.CDBracket;
 import org.beilstein.chemxtract.cdx.CDCrossingBond;
 import org.beilstein.chemxtract.cdx.CDFragment;
+import org.beilstein.chemxtract.cdx.CDFragmentGraph;
 import org.beilstein.chemxtract.cdx.CDPage;
 import org.beilstein.chemxtract.visitor.BracketVisitor;
 
@@ -49,18 +54,18 @@ public class SgroupHandler {
   /**
    * Adds and connects atoms from multiple-atom groups (brackets) to the given fragment.
    *
-   * <p>This method scans the specified {@link CDPage} for all multiple-group brackets using a
-   * {@link BracketVisitor}. For each bracket, it collects the contained {@link CDAtom} instances
-   * and integrates them into the provided {@link CDFragment} if they are relevant.
+   * <p>This method looks up all multiple-group brackets of the specified {@link CDPage} in its
+   * {@link CDPage#getIndex() index}. For each bracket, it collects the contained {@link CDAtom}
+   * instances and integrates them into the provided {@link CDFragment} if they are relevant.
    *
    * @param fragment the fragment to which the bracketed atoms will be added and connected
    * @param page the page containing the chemical structure and bracket information
    */
   public static void addMultipleGroupBrackets(CDFragment fragment, CDPage page) {
-    BracketVisitor bracketVisitor = new BracketVisitor(page);
-    List<CDBracket> brackets = bracketVisitor.getMultipleGroups();
-
-    for (CDBracket bracket : brackets) {
+    for (CDBracket bracket : page.getIndex().getBrackets()) {
+      if (!BracketVisitor.isMultipleGroup(bracket)) {
+        continue;
+      }
       // Collect bracketed atoms
       List<CDAtom> bracketAtoms =
           bracket.getBracketedObjects().stream()
@@ -68,7 +73,7 @@ public class SgroupHandler {
               .map(CDAtom.class::cast)
               .toList();
 
-      if (!bracketAtoms.isEmpty() && !fragment.getAtoms().contains(bracketAtoms.get(0))) {
+      if (!bracketAtoms.isEmpty() && !fragment.getGraph().contains(bracketAtoms.get(0))) {
         continue;
       }
 
@@ -107,6 +112,7 @@ public class SgroupHandler {
     if (crossingBond == null) {
       return;
     }
+    crossingBond = fragment.getCurrent(crossingBond);
 
     int repeatCount = (int) bracket.getRepeatCount();
     CDAtom atom1 = atom;
@@ -122,10 +128,11 @@ public class SgroupHandler {
       fragment.addBond(newBond);
       atom1 = atom2;
       if (i == repeatCount - 2) {
-        if (crossingBond.getBegin().equals(atom)) {
-          crossingBond.setBegin(atom2);
+        CDBond writable = fragment.getWritable(crossingBond);
+        if (writable.getBegin().equals(atom)) {
+          writable.setBegin(atom2);
         } else {
-          crossingBond.setEnd(atom2);
+          writable.setEnd(atom2);
         }
       }
     }
@@ -146,12 +153,20 @@ public class SgroupHandler {
   private static void addAndConnectMultipleGroupStructure(
       CDFragment fragment, CDBracket bracket, List<CDAtom> bracketAtoms) {
     // Collect bonds that are part of the multiple group
+    CDFragmentGraph graph = fragment.getGraph();
+    Set<CDAtom> bracketAtomSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    bracketAtomSet.addAll(bracketAtoms);
+    BitSet bracketBondIndices = new BitSet(graph.getBonds().size());
+    for (CDAtom atom : bracketAtomSet) {
+      for (CDBond bond : graph.getBonds(atom)) {
+        if (bracketAtomSet.contains(bond.getBegin()) && bracketAtomSet.contains(bond.getEnd())) {
+          bracketBondIndices.set(graph.indexOf(bond));
+        }
+      }
+    }
+    // keep the fragment order of the bonds
     List<CDBond> bracketBonds =
-        fragment.getBonds().stream()
-            .filter(
-                bond ->
-                    bracketAtoms.contains(bond.getBegin()) && bracketAtoms.contains(bond.getEnd()))
-            .toList();
+        bracketBondIndices.stream().mapToObj(graph.getBonds()::get).toList();
 
     int repeatCount = (int) bracket.getRepeatCount();
 
@@ -159,7 +174,7 @@ public class SgroupHandler {
         i < repeatCount - 1;
         i++) { // repeat count -1, as the multiple group already exists once
       // Map to ensure unique copies of atoms
-      Map<CDAtom, CDAtom> atomMap = new HashMap<>();
+      Map<CDAtom, CDAtom> atomMap = new LinkedHashMap<>();
 
       // Copy bonds and corresponding atoms
       for (CDBond bond : bracketBonds) {
@@ -197,8 +212,12 @@ public class SgroupHandler {
   private static void reconnectInternalMultipleGroup(
       CDFragment fragment, CDBracket bracket, Map<CDAtom, CDAtom> atomMap) {
     // Identify the first and last bonds as connection points
-    CDBond firstBond = bracket.getBracketAttachments().get(0).getCrossingBonds().get(0).getBond();
-    CDBond lastBond = bracket.getBracketAttachments().get(1).getCrossingBonds().get(0).getBond();
+    CDBond firstBond =
+        fragment.getCurrent(
+            bracket.getBracketAttachments().get(0).getCrossingBonds().get(0).getBond());
+    CDBond lastBond =
+        fragment.getWritable(
+            bracket.getBracketAttachments().get(1).getCrossingBonds().get(0).getBond());
 
     // Determine the copied and original atoms involved in the last bond
     CDAtom firstCopyAtom =
@@ -29,6 +29,7 @@ import org.beilstein.chemxtract.cdx.CDBond;
 import org.beilstein.chemxtract.cdx.datatypes.CDAtomCIPType;
 import org.beilstein.chemxtract.cdx.datatypes.CDAtomGeometry;
 import org.beilstein.chemxtract.cdx.datatypes.CDBondDisplay;
+import org.beilstein.chemxtract.cheminf.ContainerGraph;
 import org.beilstein.chemxtract.cheminf.SugarProjectionDetector;
 import org.openscience.cdk.interfaces.IAtom;
 import org.openscience.cdk.interfaces.IAtomContainer;
@@ -50,6 +51,13 @@ import org.openscience.cdk.stereo.TetrahedralChirality;
  */
 public class StereoHandler {
 
+  /**
+   * Container property set to {@link Boolean#TRUE} if the wedge and hash bonds of the container are
+   * the ones its stereo elements were perceived from. Such a container can be written to a mol file
+   * as it is; otherwise wedges have to be assigned from the stereo elements first.
+   */
+  public static final String DRAWN_WEDGES_PROPERTY = "bcx.drawnWedges";
+
   private StereoHandler() {
     // utility class, prevent instantiation
   }
@@ -67,25 +75,44 @@ public class StereoHandler {
    */
   public static void setStereo(
       IAtomContainer atomContainer, Map<CDBond, IBond> bondMap, Map<CDAtom, IAtom> atomMap) {
-    List<IStereoElement> stereoElements = getStereoElements(atomContainer, atomMap, bondMap);
+    setStereo(new ContainerGraph(atomContainer), bondMap, atomMap);
+  }
+
+  /**
+   * Sets stereochemistry elements on the container of the given {@link ContainerGraph}, see {@link
+   * #setStereo(IAtomContainer, Map, Map)}. The graph is reused for the sugar projection detection.
+   *
+   * @param graph the graph of the {@link IAtomContainer} to set stereochemistry on
+   * @param bondMap mapping of {@link CDBond} to {@link IBond} used to identify wavy bonds
+   * @param atomMap mapping of {@link CDAtom} to {@link IAtom} used for tetrahedral stereochemistry
+   */
+  public static void setStereo(
+      ContainerGraph graph, Map<CDBond, IBond> bondMap, Map<CDAtom, IAtom> atomMap) {
+    IAtomContainer atomContainer = graph.getContainer();
+    atomContainer.removeProperty(DRAWN_WEDGES_PROPERTY);
+    List<IStereoElement> stereoElements = getStereoElements(graph, atomMap, bondMap);
     //
     stereoElements.forEach(atomContainer::addStereoElement);
   }
 
   /**
    * Determines and returns all stereochemical elements for the given atom container. Handles sugars
-   * differently from non-sugar structures.
+   * differently from non-sugar structures. Structures without a ring of sugar size skip the sugar
+   * projection detection.
    *
-   * @param atomContainer the {@link IAtomContainer} to analyze
+   * @param graph the graph of the {@link IAtomContainer} to analyze
    * @param atomMap mapping of {@link CDAtom} to {@link IAtom} for tetrahedral stereochemistry
    * @return list of stereochemical elements
    */
   private static List<IStereoElement> getStereoElements(
-      IAtomContainer atomContainer, Map<CDAtom, IAtom> atomMap, Map<CDBond, IBond> bondMap) {
-    SugarProjectionDetector detector = new SugarProjectionDetector(atomContainer);
-    return detector.containsChairProjections()
+      ContainerGraph graph, Map<CDAtom, IAtom> atomMap, Map<CDBond, IBond> bondMap) {
+    IAtomContainer atomContainer = graph.getContainer();
+    boolean sugar =
+        SugarProjectionDetector.hasCandidateRings(graph)
+            && new SugarProjectionDetector(graph).containsChairProjections();
+    return sugar
         ? extractSugarStereoElements(atomContainer, bondMap)
-        : extractNonSugarStereoElements(atomContainer, atomMap);
+        : extractNonSugarStereoElements(graph, atomMap);
   }
 
   /**
@@ -119,18 +146,25 @@ public class StereoHandler {
    * Extracts stereochemical elements for non-sugar molecules.
    *
    * <p>Sets bond stereo from display types if necessary and determines tetrahedral chirality from
-   * {@link CDAtom} CIP types if coordinates are duplicated or stereo elements are empty.
+   * {@link CDAtom} CIP types if coordinates are duplicated or stereo elements are empty. Unless CIP
+   * types contribute, the stereo elements are those of the drawn wedges, which is recorded as
+   * {@link #DRAWN_WEDGES_PROPERTY}.
    *
-   * @param atomContainer the {@link IAtomContainer} to analyze
+   * @param graph the graph of the {@link IAtomContainer} to analyze
    * @param atomMap mapping of {@link CDAtom} to {@link IAtom} for tetrahedral stereochemistry
    * @return list of stereochemical elements
    */
   private static List<IStereoElement> extractNonSugarStereoElements(
-      IAtomContainer atomContainer, Map<CDAtom, IAtom> atomMap) {
+      ContainerGraph graph, Map<CDAtom, IAtom> atomMap) {
+    IAtomContainer atomContainer = graph.getContainer();
     List<IStereoElement> elements = selectFactory(atomContainer).createAll();
-    if (ChemicalUtils.hasDuplicateCoordinates(atomContainer) || elements.isEmpty()) {
-      //      return
-      elements.addAll(getTetrahedralStereoByCDAtomCIPType(atomContainer, atomMap));
+    List<IStereoElement> cipElements = List.of();
+    if (graph.getCoordinateAnalysis().hasDuplicateCoordinates() || elements.isEmpty()) {
+      cipElements = getTetrahedralStereoByCDAtomCIPType(atomContainer, atomMap);
+      elements.addAll(cipElements);
+    }
+    if (cipElements.isEmpty()) {
+      atomContainer.setProperty(DRAWN_WEDGES_PROPERTY, Boolean.TRUE);
     }
     return elements;
   }
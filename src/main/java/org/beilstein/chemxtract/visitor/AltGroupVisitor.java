@@ -24,7 +24,11 @@ package org.beilstein.chemxtract.visitor;
 import java.util.ArrayList;
 import java.util.List;
 import org.beilstein.chemxtract.cdx.CDAltGroup;
+import org.beilstein.chemxtract.cdx.CDGroup;
+import org.beilstein.chemxtract.cdx.CDObject;
 import org.beilstein.chemxtract.cdx.CDPage;
+import org.beilstein.chemxtract.cdx.CDTable;
+import org.beilstein.chemxtract.cdx.CDVisitResult;
 import org.beilstein.chemxtract.cdx.CDVisitor;
 
 /**
@@ -46,6 +50,24 @@ public class AltGroupVisitor extends CDVisitor {
     page.accept(this);
   }
 
+  /**
+   * Skips the parts of the page that cannot contain alternative groups, which are only found on
+   * pages, in groups, in other alternative groups and in tables.
+   *
+   * @param object the entered object
+   * @return {@link CDVisitResult#CONTINUE} for objects that may contain alternative groups,
+   *     otherwise {@link CDVisitResult#SKIP_SUBTREE}
+   */
+  @Override
+  protected CDVisitResult enterDefault(CDObject object) {
+    return object instanceof CDPage
+            || object instanceof CDGroup
+            || object instanceof CDAltGroup
+            || object instanceof CDTable
+        ? CDVisitResult.CONTINUE
+        : CDVisitResult.SKIP_SUBTREE;
+  }
+
   @Override
   public void visitNamedAlternativeGroup(CDAltGroup namedAlternativeGroup) {
     altGroups.add(namedAlternativeGroup);
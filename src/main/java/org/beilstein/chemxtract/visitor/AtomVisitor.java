@@ -31,7 +31,9 @@ import java.util.Optional;
 import java.util.Set;
 import org.beilstein.chemxtract.cdx.CDAtom;
 import org.beilstein.chemxtract.cdx.CDFragment;
+import org.beilstein.chemxtract.cdx.CDObject;
 import org.beilstein.chemxtract.cdx.CDText;
+import org.beilstein.chemxtract.cdx.CDVisitResult;
 import org.beilstein.chemxtract.cdx.CDVisitor;
 import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
 import org.beilstein.chemxtract.cdx.datatypes.CDStyledString;
@@ -90,6 +92,21 @@ public class AtomVisitor extends CDVisitor {
     fragment.accept(this);
   }
 
+  /**
+   * Only descends into the fragment, its atoms and the fragments nested in them; all other objects
+   * cannot contain atoms.
+   *
+   * @param object the entered object
+   * @return {@link CDVisitResult#CONTINUE} for fragments and atoms, otherwise {@link
+   *     CDVisitResult#SKIP_SUBTREE}
+   */
+  @Override
+  protected CDVisitResult enterDefault(CDObject object) {
+    return object instanceof CDFragment || object instanceof CDAtom
+        ? CDVisitResult.CONTINUE
+        : CDVisitResult.SKIP_SUBTREE;
+  }
+
   /**
    * Visits a {@link CDAtom} node during the fragment traversal.
    *
@@ -30,7 +30,9 @@ import java.util.Set;
 import org.beilstein.chemxtract.cdx.CDAtom;
 import org.beilstein.chemxtract.cdx.CDBond;
 import org.beilstein.chemxtract.cdx.CDFragment;
+import org.beilstein.chemxtract.cdx.CDObject;
 import org.beilstein.chemxtract.cdx.CDText;
+import org.beilstein.chemxtract.cdx.CDVisitResult;
 import org.beilstein.chemxtract.cdx.CDVisitor;
 import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
 import org.beilstein.chemxtract.cdx.datatypes.CDStyledString;
@@ -42,6 +44,7 @@ import org.slf4j.LoggerFactory;
 /** Visitor class for traversing a ChemDraw fragment and collecting bond-related information. */
 public class BondVisitor extends CDVisitor {
 
+  private final CDFragment fragment;
   private final List<CDBond> bonds;
   private final Set<CDBond> skip;
   private static final Logger LOGGER = LoggerFactory.getLogger(BondVisitor.class);
@@ -62,6 +65,7 @@ public class BondVisitor extends CDVisitor {
    *     standard bond processing
    */
   public BondVisitor(CDFragment fragment, boolean rawMode) {
+    this.fragment = fragment;
     bonds = new ArrayList<>();
     skip = new HashSet<>();
     this.rawMode = rawMode;
@@ -78,6 +82,21 @@ public class BondVisitor extends CDVisitor {
     this(fragment, false);
   }
 
+  /**
+   * Only descends into the fragment, its atoms and the fragments nested in them; all other objects
+   * cannot contain bonds.
+   *
+   * @param object the entered object
+   * @return {@link CDVisitResult#CONTINUE} for fragments and atoms, otherwise {@link
+   *     CDVisitResult#SKIP_SUBTREE}
+   */
+  @Override
+  protected CDVisitResult enterDefault(CDObject object) {
+    return object instanceof CDFragment || object instanceof CDAtom
+        ? CDVisitResult.CONTINUE
+        : CDVisitResult.SKIP_SUBTREE;
+  }
+
   /**
    * Visits a {@link CDBond} node during the fragment traversal.
    *
@@ -88,6 +107,7 @@ public class BondVisitor extends CDVisitor {
     if (rawMode) {
       bonds.add(bond);
     } else {
+      CDBond visited = bond;
       // if one of the bonded atoms is fragment, add bonds of fragment and reconnect fragment to
       // structure
       if (hasNestedFragment(bond)) {
@@ -108,6 +128,8 @@ public class BondVisitor extends CDVisitor {
                                   + " atoms"));
 
           CDAtom conAtom = resolveConnectionAtom(fragment, extCon);
+          // the visited fragment gives an overlay's bond a private copy before it is rewired
+          bond = this.fragment.getWritable(bond);
           if (!bond.getBegin().getFragments().isEmpty()) {
             bond.setBegin(conAtom);
           } else {
@@ -119,7 +141,7 @@ public class BondVisitor extends CDVisitor {
               || isRGroupBond(bond)
               || isMultiAttachmentBond(bond)
               || isAbbreviationAtBond(bond))
-          && !skip.contains(bond)) {
+          && !skip.contains(visited)) {
         bonds.add(bond);
       }
     }
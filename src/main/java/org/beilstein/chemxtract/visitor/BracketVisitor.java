@@ -25,7 +25,10 @@ import java.util.ArrayList;
 import java.util.List;
 import org.beilstein.chemxtract.cdx.CDAtom;
 import org.beilstein.chemxtract.cdx.CDBracket;
+import org.beilstein.chemxtract.cdx.CDObject;
 import org.beilstein.chemxtract.cdx.CDPage;
+import org.beilstein.chemxtract.cdx.CDTable;
+import org.beilstein.chemxtract.cdx.CDVisitResult;
 import org.beilstein.chemxtract.cdx.CDVisitor;
 import org.beilstein.chemxtract.cdx.datatypes.CDBracketUsage;
 
@@ -45,6 +48,21 @@ public class BracketVisitor extends CDVisitor {
     page.accept(this);
   }
 
+  /**
+   * Skips the parts of the page that cannot contain brackets, which are only found on pages, in
+   * the pages of tables and nested in other brackets.
+   *
+   * @param object the entered object
+   * @return {@link CDVisitResult#CONTINUE} for objects that may contain brackets, otherwise {@link
+   *     CDVisitResult#SKIP_SUBTREE}
+   */
+  @Override
+  protected CDVisitResult enterDefault(CDObject object) {
+    return object instanceof CDPage || object instanceof CDTable || object instanceof CDBracket
+        ? CDVisitResult.CONTINUE
+        : CDVisitResult.SKIP_SUBTREE;
+  }
+
   /**
    * Visits a {@link CDBracket} node during traversal.
    *
@@ -56,14 +74,25 @@ public class BracketVisitor extends CDVisitor {
    */
   @Override
   public void visitBracketedGroup(CDBracket bracket) {
-    if (CDBracketUsage.MultipleGroup.equals(bracket.getBracketUsage())
-        && bracket.getBracketedObjects() != null
-        && !bracket.getBracketedObjects().isEmpty()
-        && bracket.getBracketedObjects().get(0) instanceof CDAtom) {
+    if (isMultipleGroup(bracket)) {
       multipleGroups.add(bracket);
     }
   }
 
+  /**
+   * Checks whether a bracket represents a multiple group of atoms, i.e. its usage is {@link
+   * CDBracketUsage#MultipleGroup} and its first bracketed object is a {@link CDAtom}.
+   *
+   * @param bracket the bracket to check
+   * @return {@code true} if the bracket is a multiple group of atoms
+   */
+  public static boolean isMultipleGroup(CDBracket bracket) {
+    return CDBracketUsage.MultipleGroup.equals(bracket.getBracketUsage())
+        && bracket.getBracketedObjects() != null
+        && !bracket.getBracketedObjects().isEmpty()
+        && bracket.getBracketedObjects().get(0) instanceof CDAtom;
+  }
+
   /**
    * Returns the list of multiple-group brackets collected during traversal.
    *
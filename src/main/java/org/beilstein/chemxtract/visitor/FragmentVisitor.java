@@ -23,8 +23,14 @@ package org.beilstein.chemxtract.visitor;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.beilstein.chemxtract.cdx.CDAltGroup;
+import org.beilstein.chemxtract.cdx.CDAtom;
 import org.beilstein.chemxtract.cdx.CDFragment;
+import org.beilstein.chemxtract.cdx.CDGroup;
+import org.beilstein.chemxtract.cdx.CDObject;
 import org.beilstein.chemxtract.cdx.CDPage;
+import org.beilstein.chemxtract.cdx.CDTable;
+import org.beilstein.chemxtract.cdx.CDVisitResult;
 import org.beilstein.chemxtract.cdx.CDVisitor;
 import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
 
@@ -45,6 +51,28 @@ public class FragmentVisitor extends CDVisitor {
     page.accept(this);
   }
 
+  /**
+   * Skips the parts of the page that cannot contain fragments. Fragments are found on pages, in
+   * groups, alternative groups and tables, and nested in the atoms of other fragments.
+   *
+   * @param object the entered object
+   * @return {@link CDVisitResult#CONTINUE} for objects that may contain fragments, otherwise {@link
+   *     CDVisitResult#SKIP_SUBTREE}
+   */
+  @Override
+  protected CDVisitResult enterDefault(CDObject object) {
+    if (object instanceof CDAtom atom) {
+      return atom.getFragments().isEmpty() ? CDVisitResult.SKIP_SUBTREE : CDVisitResult.CONTINUE;
+    }
+    return object instanceof CDPage
+            || object instanceof CDGroup
+            || object instanceof CDAltGroup
+            || object instanceof CDTable
+            || object instanceof CDFragment
+        ? CDVisitResult.CONTINUE
+        : CDVisitResult.SKIP_SUBTREE;
+  }
+
   /**
    * Visits a {@link CDFragment} node during traversal.
    *
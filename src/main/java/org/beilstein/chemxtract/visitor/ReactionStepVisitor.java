@@ -23,8 +23,12 @@ package org.beilstein.chemxtract.visitor;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.beilstein.chemxtract.cdx.CDObject;
 import org.beilstein.chemxtract.cdx.CDPage;
+import org.beilstein.chemxtract.cdx.CDReactionScheme;
 import org.beilstein.chemxtract.cdx.CDReactionStep;
+import org.beilstein.chemxtract.cdx.CDTable;
+import org.beilstein.chemxtract.cdx.CDVisitResult;
 import org.beilstein.chemxtract.cdx.CDVisitor;
 
 /** Visitor class for traversing a ChemDraw page and collecting reaction steps. */
@@ -43,6 +47,23 @@ public class ReactionStepVisitor extends CDVisitor {
     page.accept(this);
   }
 
+  /**
+   * Skips the parts of the page that cannot contain reaction steps, which are only found in the
+   * reaction schemes of a page or of the pages of a table.
+   *
+   * @param object the entered object
+   * @return {@link CDVisitResult#CONTINUE} for objects that may contain reaction steps, otherwise
+   *     {@link CDVisitResult#SKIP_SUBTREE}
+   */
+  @Override
+  protected CDVisitResult enterDefault(CDObject object) {
+    return object instanceof CDPage
+            || object instanceof CDTable
+            || object instanceof CDReactionScheme
+        ? CDVisitResult.CONTINUE
+        : CDVisitResult.SKIP_SUBTREE;
+  }
+
   /**
    * Visits a {@link CDReactionStep} node during traversal and adds it to the internal list of
    * reaction steps.
@@ -44,9 +44,21 @@ public class TextVisitor extends CDVisitor {
    * @param page the {@link CDPage} to traverse for text containing R-group definitions
    */
   public TextVisitor(CDPage page) {
+    this(page.getIndex().getTexts());
+  }
+
+  /**
+   * Constructs a {@code TextVisitor} and visits the given texts, e.g. the texts of a {@link
+   * org.beilstein.chemxtract.cdx.CDPageIndex}, to collect R-group definitions.
+   *
+   * @param texts the texts to scan for R-group definitions
+   */
+  public TextVisitor(List<CDText> texts) {
     rgroups = new LinkedHashMap<>();
     blocks = new ArrayList<>();
-    page.accept(this);
+    for (CDText text : texts) {
+      visitText(text);
+    }
   }
 
   /**
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.xtractor;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable selection of the work done by {@link SubstanceXtractor} and {@link ReactionXtractor}.
+ *
+ * <p>Only the selected {@link Descriptor}s are computed for each substance; the others remain
+ * {@code null}. Callers that only need, e.g., an InChIKey and a SMILES per structure thus avoid the
+ * cost of the mol file and the CXSMILES:
+ *
+ * <pre>{@code
+ * ExtractionOptions options =
+ *     ExtractionOptions.defaults().withDescriptors(Descriptor.INCHI, Descriptor.SMILES);
+ * SubstanceXtractor xtractor = new SubstanceXtractor(builder, options);
+ * }</pre>
+ *
+ * <p>The {@link #defaults() defaults} compute every descriptor and report abbreviations, but
+ * neither resolve R-groups nor sanitise reactions, as the extractors did before options were
+ * introduced.
+ */
+public final class ExtractionOptions {
+
+  /** The descriptors that can be computed for a substance. */
+  public enum Descriptor {
+    /** The MDL V3000 mol file, with wedge bonds assigned from the stereo elements. */
+    MDL_V3000,
+    /** The absolute SMILES. */
+    SMILES,
+    /** The CXSMILES including coordinates. */
+    EXTENDED_SMILES,
+    /** The InChI, InChIKey and InChI AuxInfo. */
+    INCHI,
+    /** The molecular formula. */
+    MOLECULAR_FORMULA
+  }
+
+  private static final ExtractionOptions DEFAULTS =
+      new ExtractionOptions(EnumSet.allOf(Descriptor.class), true, false, false, false);
+
+  private final EnumSet<Descriptor> descriptors;
+  private final boolean abbreviations;
+  private final boolean resolveRGroups;
+  private final boolean sanitize;
+  private final boolean lazyDescriptors;
+
+  private ExtractionOptions(
+      EnumSet<Descriptor> descriptors,
+      boolean abbreviations,
+      boolean resolveRGroups,
+      boolean sanitize,
+      boolean lazyDescriptors) {
+    this.descriptors = EnumSet.copyOf(descriptors);
+    this.abbreviations = abbreviations;
+    this.resolveRGroups = resolveRGroups;
+    this.sanitize = sanitize;
+    this.lazyDescriptors = lazyDescriptors;
+  }
+
+  /**
+   * Returns the default options: all descriptors computed eagerly, abbreviations reported, R-groups
+   * not resolved and reactions not sanitised.
+   *
+   * @return the default options
+   */
+  public static ExtractionOptions defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Returns a copy of these options computing only the given descriptors.
+   *
+   * @param descriptors the descriptors to compute, may be empty
+   * @return the modified options
+   */
+  public ExtractionOptions withDescriptors(Descriptor... descriptors) {
+    EnumSet<Descriptor> selected = EnumSet.noneOf(Descriptor.class);
+    for (Descriptor descriptor : descriptors) {
+      selected.add(Objects.requireNonNull(descriptor, "Descriptor must not be null."));
+    }
+    return new ExtractionOptions(
+        selected, abbreviations, resolveRGroups, sanitize, lazyDescriptors);
+  }
+
+  /**
+   * Returns a copy of these options with abbreviation reporting switched on or off. Resolving the
+   * abbreviations and nicknames of a fragment converts its nested fragments, so callers not reading
+   * {@code BCXSubstance.getAbbreviations()} should switch it off.
+   *
+   * @param abbreviations if {@code true}, the abbreviations and nicknames of a fragment are added
+   *     to its substances
+   * @return the modified options
+   */
+  public ExtractionOptions withAbbreviations(boolean abbreviations) {
+    return new ExtractionOptions(
+        descriptors, abbreviations, resolveRGroups, sanitize, lazyDescriptors);
+  }
+
+  /**
+   * Returns a copy of these options with R-group resolution switched on or off. It applies to the
+   * {@code xtract} methods of {@link SubstanceXtractor} that take no explicit flag.
+   *
+   * @param resolveRGroups if {@code true}, R-groups are resolved to generate all possible variants
+   * @return the modified options
+   */
+  public ExtractionOptions withRGroupResolution(boolean resolveRGroups) {
+    return new ExtractionOptions(
+        descriptors, abbreviations, resolveRGroups, sanitize, lazyDescriptors);
+  }
+
+  /**
+   * Returns a copy of these options with reaction sanitisation switched on or off.
+   *
+   * @param sanitize if {@code true}, only structures in line with the reaction arrow are considered
+   *     by {@link ReactionXtractor}
+   * @return the modified options
+   */
+  public ExtractionOptions withSanitization(boolean sanitize) {
+    return new ExtractionOptions(
+        descriptors, abbreviations, resolveRGroups, sanitize, lazyDescriptors);
+  }
+
+  /**
+   * Returns a copy of these options with lazy descriptors switched on or off. Lazy descriptors are
+   * computed when their getter on {@code BCXSubstance} is first called, so consumers that discard
+   * substances early, e.g. by atom count or formula, do not pay for the InChI or mol file of the
+   * discarded ones.
+   *
+   * <p>In lazy mode, a descriptor that cannot be generated is logged and returns {@code null}. This
+   * includes the InChI, so that substances are kept which eager extraction drops because their
+   * InChI generation fails. {@code SubstanceXtractor.xtractUnique} compares InChIs and thus
+   * computes them for all substances.
+   *
+   * @param lazyDescriptors if {@code true}, descriptors are computed on first access
+   * @return the modified options
+   */
+  public ExtractionOptions withLazyDescriptors(boolean lazyDescriptors) {
+    return new ExtractionOptions(
+        descriptors, abbreviations, resolveRGroups, sanitize, lazyDescriptors);
+  }
+
+  /**
+   * Returns the descriptors computed for each substance.
+   *
+   * @return an unmodifiable set of descriptors
+   */
+  public Set<Descriptor> getDescriptors() {
+    return Collections.unmodifiableSet(descriptors);
+  }
+
+  /**
+   * Indicates whether the given descriptor is computed.
+   *
+   * @param descriptor the descriptor
+   * @return {@code true} if the descriptor is selected
+   */
+  public boolean computes(Descriptor descriptor) {
+    return descriptors.contains(descriptor);
+  }
+
+  public boolean isAbbreviations() {
+    return abbreviations;
+  }
+
+  public boolean isResolveRGroups() {
+    return resolveRGroups;
+  }
+
+  public boolean isSanitize() {
+    return sanitize;
+  }
+
+  public boolean isLazyDescriptors() {
+    return lazyDescriptors;
+  }
+
+  @Override
+  public String toString() {
+    return "ExtractionOptions [descriptors="
+        + descriptors
+        + ", abbreviations="
+        + abbreviations
+        + ", resolveRGroups="
+        + resolveRGroups
+        + ", sanitize="
+        + sanitize
+        + ", lazyDescriptors="
+        + lazyDescriptors
+        + "]";
+  }
+}
@@ -27,11 +27,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import org.beilstein.chemxtract.cdx.CDDocument;
 import org.beilstein.chemxtract.cdx.CDFragment;
 import org.beilstein.chemxtract.cdx.CDPage;
+import org.beilstein.chemxtract.cdx.CDPageIndex;
 import org.beilstein.chemxtract.cdx.CDReactionStep;
 import org.beilstein.chemxtract.cdx.CDRectangle;
 import org.beilstein.chemxtract.converter.ReactionConverter;
@@ -40,8 +42,6 @@ import org.beilstein.chemxtract.model.BCXReactionComponent;
 import org.beilstein.chemxtract.model.BCXReactionInfo;
 import org.beilstein.chemxtract.model.BCXSubstance;
 import org.beilstein.chemxtract.utils.ChemicalUtils;
-import org.beilstein.chemxtract.visitor.FragmentVisitor;
-import org.beilstein.chemxtract.visitor.ReactionStepVisitor;
 import org.openscience.cdk.DefaultChemObjectBuilder;
 import org.openscience.cdk.exception.CDKException;
 import org.openscience.cdk.inchi.InChIGenerator;
@@ -57,13 +57,17 @@ import org.slf4j.LoggerFactory;
  * <p>This class traverses ChemDraw pages, fragments, and reaction steps to construct {@link
  * BCXReaction} objects, which contain reactants, products, agents, and associated identifiers such
  * as InChI and InChIKey.
+ *
+ * <p>Of the {@link ExtractionOptions}, reaction extraction uses the sanitisation setting. The
+ * structures of a reaction are converted like substances, but only their InChIs are computed, as
+ * these identify the reaction components.
  */
 public class ReactionXtractor {
 
   private final IChemObjectBuilder builder;
   private static final Logger LOGGER = LoggerFactory.getLogger(ReactionXtractor.class);
+  private final ExtractionOptions options;
   private Set<String> unknowns;
-  private boolean sanitize = false;
 
   /**
    * Constructs a {@code ReactionXtractor} with a custom {@link IChemObjectBuilder}.
@@ -71,7 +75,19 @@ public class ReactionXtractor {
    * @param builder the CDK chem object builder used for creating CDK objects
    */
   public ReactionXtractor(IChemObjectBuilder builder) {
+    this(builder, ExtractionOptions.defaults());
+  }
+
+  /**
+   * Constructs a {@code ReactionXtractor} with a custom {@link IChemObjectBuilder} and extraction
+   * options.
+   *
+   * @param builder the {@link IChemObjectBuilder} to be used for creating chemical objects
+   * @param options the extraction options, of which the sanitisation setting is used
+   */
+  public ReactionXtractor(IChemObjectBuilder builder, ExtractionOptions options) {
     this.builder = builder;
+    this.options = Objects.requireNonNull(options, "Options must not be null.");
   }
 
   /**
@@ -84,8 +100,7 @@ public class ReactionXtractor {
    *     reactions are processed as-is
    */
   public ReactionXtractor(IChemObjectBuilder builder, boolean sanitize) {
-    this.builder = builder;
-    this.sanitize = sanitize;
+    this(builder, ExtractionOptions.defaults().withSanitization(sanitize));
   }
 
   /**
@@ -99,8 +114,7 @@ public class ReactionXtractor {
    *     reactions are processed as-is
    */
   public ReactionXtractor(boolean sanitize) {
-    this(DefaultChemObjectBuilder.getInstance());
-    this.sanitize = sanitize;
+    this(DefaultChemObjectBuilder.getInstance(), sanitize);
   }
 
   /** Constructs a {@code ReactionXtractor} using the default CDK object builder. */
@@ -122,12 +136,20 @@ public class ReactionXtractor {
    */
   public List<BCXReaction> xtract(CDDocument document, BCXReactionInfo reactionInfo) {
     List<BCXReaction> reactions = new ArrayList<>();
-    SubstanceXtractor substanceXtractor = new SubstanceXtractor(this.builder);
+    // the components are identified by InChI, the other descriptors are not used; structures
+    // failing InChI generation are dropped, so it must not be deferred
+    SubstanceXtractor substanceXtractor =
+        new SubstanceXtractor(
+            this.builder,
+            options
+                .withDescriptors(ExtractionOptions.Descriptor.INCHI)
+                .withAbbreviations(false)
+                .withLazyDescriptors(false));
     this.unknowns = new HashSet<>();
 
     for (CDPage page : document.getPages()) {
-      FragmentVisitor fragmentVisitor = new FragmentVisitor(page);
-      List<CDFragment> fragments = fragmentVisitor.getFragments();
+      CDPageIndex index = page.getIndex();
+      List<CDFragment> fragments = index.getFragments();
       Map<CDFragment, BCXSubstance> fragmentSubstanceMap = new HashMap<>();
       Map<IAtomContainer, BCXReactionComponent> atomContainerReactionComponentMap = new HashMap<>();
       for (CDFragment fragment : fragments) {
@@ -138,20 +160,18 @@ public class ReactionXtractor {
             continue;
           }
           fragmentSubstanceMap.putIfAbsent(fragment, substance.get());
-          BCXReactionComponent component =
-              convertToReactionComponent(fragment, substance.get().getAtomContainer());
+          BCXReactionComponent component = convertToReactionComponent(fragment, substance.get());
           atomContainerReactionComponentMap.putIfAbsent(
               substance.get().getAtomContainer(), component);
         } catch (CDKException | IOException e) {
           LOGGER.error("Could not process fragment", e);
         }
       }
-      ReactionStepVisitor rsVisitor = new ReactionStepVisitor(page);
-      List<CDReactionStep> steps = rsVisitor.getReactionSteps();
+      List<CDReactionStep> steps = index.getReactionSteps();
       reactionInfo.setNoReactionSteps(steps.size());
       for (CDReactionStep step : steps) {
         ReactionConverter reactionConverter =
-            new ReactionConverter(fragmentSubstanceMap, builder, this.sanitize);
+            new ReactionConverter(fragmentSubstanceMap, builder, options.isSanitize());
         Optional<IReaction> cdkReaction = reactionConverter.convert(step);
         if (cdkReaction.isPresent()) {
           BCXReaction reaction =
@@ -198,27 +218,31 @@ public class ReactionXtractor {
   }
 
   /**
-   * Converts a {@link CDFragment} and its associated {@link IAtomContainer} into a {@link
+   * Converts a {@link CDFragment} and its associated {@link BCXSubstance} into a {@link
    * BCXReactionComponent}.
    *
-   * <p>This method attempts to generate InChI and InChIKey identifiers from the given atom
-   * container, and extracts the fragment's spatial bounds to populate the {@code
-   * ReactionComponent}.
+   * <p>This method takes the InChI and InChIKey identifiers of the substance, generating them from
+   * its atom container if the substance has none, and extracts the fragment's spatial bounds to
+   * populate the {@code ReactionComponent}.
    *
    * @param fragment the {@code CDFragment} representing the source structure
-   * @param atomContainer the corresponding CDK {@code IAtomContainer} for structure data
+   * @param substance the substance extracted from the fragment
    * @return a {@link BCXReactionComponent} containing InChI information and layout bounds
-   * @throws CDKException if InChI generation fails critically (non-recoverable)
    */
   private BCXReactionComponent convertToReactionComponent(
-      CDFragment fragment, IAtomContainer atomContainer) throws CDKException {
+      CDFragment fragment, BCXSubstance substance) {
     BCXReactionComponent component = new BCXReactionComponent();
-    try {
-      InChIGenerator gen = ChemicalUtils.getInChI(atomContainer);
-      component.setInchi(gen.getInchi());
-      component.setInchiKey(gen.getInchiKey());
-    } catch (CDKException e) {
-      LOGGER.error("Failed to generate InChI for reaction component: {}", e.getMessage(), e);
+    if (substance.getInchi() != null) {
+      component.setInchi(substance.getInchi());
+      component.setInchiKey(substance.getInchiKey());
+    } else {
+      try {
+        InChIGenerator gen = ChemicalUtils.getInChI(substance.getAtomContainer());
+        component.setInchi(gen.getInchi());
+        component.setInchiKey(gen.getInchiKey());
+      } catch (CDKException e) {
+        LOGGER.error("Failed to generate InChI for reaction component: {}", e.getMessage(), e);
+      }
     }
     Optional<CDRectangle> boundsOptional = Optional.ofNullable(fragment.getBounds());
     // add bounds
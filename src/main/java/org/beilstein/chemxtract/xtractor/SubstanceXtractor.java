@@ -22,7 +22,9 @@
 package org.beilstein.chemxtract.xtractor;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -31,6 +33,15 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import org.beilstein.chemxtract.cdx.CDAltGroup;
 import org.beilstein.chemxtract.cdx.CDDocument;
@@ -48,8 +59,7 @@ import org.beilstein.chemxtract.utils.ChemicalUtils;
 import org.beilstein.chemxtract.utils.Definitions;
 import org.beilstein.chemxtract.utils.MarkushHandler;
 import org.beilstein.chemxtract.utils.SgroupHandler;
-import org.beilstein.chemxtract.visitor.AltGroupVisitor;
-import org.beilstein.chemxtract.visitor.FragmentVisitor;
+import org.beilstein.chemxtract.utils.StereoHandler;
 import org.openscience.cdk.DefaultChemObjectBuilder;
 import org.openscience.cdk.exception.CDKException;
 import org.openscience.cdk.inchi.InChIGenerator;
@@ -70,20 +80,37 @@ import org.slf4j.LoggerFactory;
  *
  * <p>The {@code SubstanceXtractor} traverses ChemDraw pages and fragments, converting them into
  * {@link BCXSubstance} objects with associated chemical information such as SMILES, InChI,
- * InChIKey, molecular formula, and occurrences in the document.
+ * InChIKey, molecular formula, and occurrences in the document. Which of these are computed is
+ * selected by the {@link ExtractionOptions} of the extractor.
  */
 public class SubstanceXtractor {
 
   private final IChemObjectBuilder builder;
+  private final ExtractionOptions options;
   private static final Logger LOGGER = LoggerFactory.getLogger(SubstanceXtractor.class);
 
+  /** Capacity of the pipeline queue per worker, bounding the number of fragments read ahead. */
+  private static final int QUEUE_SIZE_PER_WORKER = 4;
+
   /**
    * Constructs a {@code SubstanceXtractor} using a custom CDK {@link IChemObjectBuilder}.
    *
    * @param builder the CDK chem object builder used for creating atom containers
    */
   public SubstanceXtractor(IChemObjectBuilder builder) {
+    this(builder, ExtractionOptions.defaults());
+  }
+
+  /**
+   * Constructs a {@code SubstanceXtractor} using a custom CDK {@link IChemObjectBuilder} that only
+   * computes what the given options select.
+   *
+   * @param builder the CDK chem object builder used for creating atom containers
+   * @param options the outputs to compute
+   */
+  public SubstanceXtractor(IChemObjectBuilder builder, ExtractionOptions options) {
     this.builder = builder;
+    this.options = Objects.requireNonNull(options, "Options must not be null.");
   }
 
   /** Constructs a {@code SubstanceXtractor} using the default CDK object builder. */
@@ -108,8 +135,7 @@ public class SubstanceXtractor {
     List<BCXSubstance> substances = new ArrayList<>();
     for (CDPage page : document.getPages()) {
 
-      FragmentVisitor fragmentVisitor = new FragmentVisitor(page);
-      List<CDFragment> fragments = fragmentVisitor.getFragments();
+      List<CDFragment> fragments = page.getIndex().getFragments();
       MarkushHandler markushHandler = null;
       if (resolveRGroups) {
         markushHandler = new MarkushHandler(page, this.builder);
@@ -129,14 +155,190 @@ public class SubstanceXtractor {
   }
 
   /**
-   * Extracts all chemical substances without resolving R-groups.
+   * Reads a document and extracts its chemical substances in a pipeline: as soon as the reader has
+   * populated a page, its fragments are prepared on the reading thread and published to a bounded
+   * queue, from which {@code workers} threads convert them and compute their descriptors while the
+   * following pages are still being read. The result is identical to {@link #xtract(CDDocument,
+   * BCXSubstanceInfo, boolean)}, in the same order. Like there, a runtime exception thrown while
+   * converting a fragment fails the extraction: the first one is rethrown once the workers have
+   * finished.
+   *
+   * <pre>{@code
+   * try (InputStream in = new FileInputStream(file)) {
+   *   substances = xtractor.xtract(l -> CDXReader.readDocument(in, l), info, false, 4);
+   * }
+   * }</pre>
+   *
+   * @param source reads the document and reports each populated page to the given listener
+   * @param substanceInfo object for tracking extraction metadata (e.g., number of fragments)
+   * @param resolveRGroups if {@code true}, R-groups are resolved to generate all possible variants
+   * @param workers the number of conversion threads
+   * @return a list of extracted {@link BCXSubstance} objects
+   * @throws IOException if the document cannot be read or reading is interrupted
+   */
+  public List<BCXSubstance> xtract(
+      DocumentSource source, BCXSubstanceInfo substanceInfo, boolean resolveRGroups, int workers)
+      throws IOException {
+    Objects.requireNonNull(source, "Document source must not be null.");
+    if (workers < 1) {
+      throw new IllegalArgumentException("At least one worker is required.");
+    }
+    BlockingQueue<FragmentTask> queue = new ArrayBlockingQueue<>(workers * QUEUE_SIZE_PER_WORKER);
+    Map<Integer, List<BCXSubstance>> results = new ConcurrentHashMap<>();
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    for (int i = 0; i < workers; i++) {
+      executor.execute(() -> convertQueuedFragments(queue, results, failure));
+    }
+
+    int[] sequence = new int[1];
+    boolean read = false;
+    try {
+      source.read(
+          page -> {
+            List<CDFragment> fragments = page.getIndex().getFragments();
+            MarkushHandler markushHandler = null;
+            if (resolveRGroups) {
+              markushHandler = new MarkushHandler(page, this.builder);
+              markushHandler.addResidueDefinitions(resolveAltGroupDefinitions(page));
+            }
+            substanceInfo.setNoFragments(fragments.size());
+            // prepare the whole page first: preparation visits the page, which must not happen
+            // while workers convert fragments of the same page
+            List<CDFragment> prepared = new ArrayList<>(fragments.size());
+            for (CDFragment fragment : fragments) {
+              CDFragment overlay = prepareFragment(fragment, page);
+              if (overlay != null) {
+                prepared.add(overlay);
+              }
+            }
+            for (CDFragment fragment : prepared) {
+              publish(queue, new FragmentTask(sequence[0]++, fragment, markushHandler));
+            }
+          });
+      read = true;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      if (!read) {
+        // interrupt the workers instead of queueing end markers, which could block or throw and
+        // mask the exception being thrown
+        executor.shutdownNow();
+      }
+    }
+    try {
+      for (int i = 0; i < workers; i++) {
+        queue.put(FragmentTask.END);
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Extraction interrupted");
+    }
+    executor.shutdown();
+    awaitTermination(executor);
+    if (failure.get() != null) {
+      // fail like the sequential extraction, which does not catch runtime exceptions
+      throw failure.get();
+    }
+
+    List<BCXSubstance> substances = new ArrayList<>();
+    for (int i = 0; i < sequence[0]; i++) {
+      substances.addAll(results.getOrDefault(i, List.of()));
+    }
+    return substances;
+  }
+
+  /**
+   * Worker loop of the pipeline: converts queued fragments until the end marker is taken. The
+   * first runtime exception is recorded for the reading thread to rethrow, and the worker carries
+   * on so that the reading thread cannot block on a full queue.
+   *
+   * @param queue the queue of prepared fragments
+   * @param results the substances per task sequence number
+   * @param failure the first runtime exception thrown by a conversion
+   */
+  private void convertQueuedFragments(
+      BlockingQueue<FragmentTask> queue,
+      Map<Integer, List<BCXSubstance>> results,
+      AtomicReference<RuntimeException> failure) {
+    try {
+      FragmentTask task;
+      while ((task = queue.take()) != FragmentTask.END) {
+        try {
+          results.put(task.sequence(), convertFragment(task.fragment(), task.markushHandler()));
+        } catch (IOException | CDKException e) {
+          LOGGER.error("Could not extract structures from fragment.", e);
+        } catch (RuntimeException e) {
+          failure.compareAndSet(null, e);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void publish(BlockingQueue<FragmentTask> queue, FragmentTask task) {
+    try {
+      queue.put(task);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UncheckedIOException(new InterruptedIOException("Extraction interrupted"));
+    }
+  }
+
+  private static void awaitTermination(ExecutorService executor) throws IOException {
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOGGER.debug("Waiting for fragment conversion to finish");
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Extraction interrupted");
+    }
+  }
+
+  /**
+   * Reads a {@link CDDocument} and reports each page to a listener as soon as it is populated, e.g.
+   * {@code listener -> CDXReader.readDocument(in, listener)}.
+   */
+  @FunctionalInterface
+  public interface DocumentSource {
+    /**
+     * Reads the document.
+     *
+     * @param pageListener to be called for each populated page, in document order
+     * @return the document
+     * @throws IOException if the document cannot be read
+     */
+    CDDocument read(Consumer<CDPage> pageListener) throws IOException;
+  }
+
+  /** A prepared fragment queued for conversion, with its position in document order. */
+  private record FragmentTask(int sequence, CDFragment fragment, MarkushHandler markushHandler) {
+    /** Marker telling a worker to stop. */
+    private static final FragmentTask END = new FragmentTask(-1, null, null);
+  }
+
+  /**
+   * Extracts all chemical substances, resolving R-groups if the {@link ExtractionOptions} say so.
    *
    * @param document the ChemDraw {@link CDDocument} to extract substances from
    * @param substanceInfo object for tracking extraction metadata
    * @return a list of extracted {@link BCXSubstance} objects
    */
   public List<BCXSubstance> xtract(CDDocument document, BCXSubstanceInfo substanceInfo) {
-    return this.xtract(document, substanceInfo, false);
+    return this.xtract(document, substanceInfo, options.isResolveRGroups());
+  }
+
+  /**
+   * Returns the options selecting what this extractor computes.
+   *
+   * @return the extraction options
+   */
+  public ExtractionOptions getOptions() {
+    return options;
   }
 
   /**
@@ -149,7 +351,7 @@ public class SubstanceXtractor {
    */
   private Map<String, List<String>> resolveAltGroupDefinitions(CDPage page) {
     Map<String, List<String>> definitions = new LinkedHashMap<>();
-    for (CDAltGroup altGroup : new AltGroupVisitor(page).getAltGroups()) {
+    for (CDAltGroup altGroup : page.getIndex().getAltGroups()) {
       String label = altGroupLabel(altGroup);
       if (label == null) {
         continue;
@@ -196,7 +398,9 @@ public class SubstanceXtractor {
   /**
    * Extracts unique chemical substances from the given document.
    *
-   * <p>Substances are considered unique based on their InChI identifiers.
+   * <p>Substances are considered unique based on their InChI identifiers, or on their SMILES if
+   * the {@link ExtractionOptions} do not select InChIs. Substances without that identifier, because
+   * it could not be generated or the options select neither, are all kept.
    *
    * @param document the ChemDraw {@link CDDocument} to extract substances from
    * @param substanceInfo object for tracking extraction metadata
@@ -212,10 +416,13 @@ public class SubstanceXtractor {
             substances.stream()
                 .filter(s -> s.getInchi() != null && !s.getInchi().isEmpty())
                 .count());
+    boolean inchis = options.computes(ExtractionOptions.Descriptor.INCHI);
     Set<String> seen = new HashSet<>(substanceInfo.getNoInchis());
     substances.forEach(
         s -> {
-          if (seen.add(s.getInchi())) {
+          // substances without a key cannot be compared and are all kept
+          String key = inchis ? s.getInchi() : s.getSmiles();
+          if (key == null || seen.add(key)) {
             result.add(s);
           }
         });
@@ -224,14 +431,15 @@ public class SubstanceXtractor {
   }
 
   /**
-   * Extracts unique chemical substances without resolving R-groups.
+   * Extracts unique chemical substances, resolving R-groups if the {@link ExtractionOptions} say
+   * so.
    *
    * @param document the ChemDraw {@link CDDocument} to extract substances from
    * @param substanceInfo object for tracking extraction metadata
    * @return a list of unique {@link BCXSubstance} objects
    */
   public List<BCXSubstance> xtractUnique(CDDocument document, BCXSubstanceInfo substanceInfo) {
-    return xtractUnique(document, substanceInfo, false);
+    return xtractUnique(document, substanceInfo, options.isResolveRGroups());
   }
 
   /**
@@ -271,17 +479,50 @@ public class SubstanceXtractor {
       CDFragment fragment, CDPage page, MarkushHandler markushHandler)
       throws IOException, CDKException {
     Objects.requireNonNull(fragment, "Fragment must not be null.");
-    List<BCXSubstance> substances = new ArrayList<>();
+    CDFragment overlay = prepareFragment(fragment, page);
+    if (overlay == null) {
+      return new ArrayList<>();
+    }
+    return convertFragment(overlay, markushHandler);
+  }
 
+  /**
+   * Validates a fragment and applies the page-dependent preparation steps (multiple-group brackets
+   * and multicenter attachments) to a copy-on-write overlay of it, leaving the document unchanged.
+   * These steps read the whole page, so in pipelined mode they run on the reading thread before
+   * the fragment is handed to a worker.
+   *
+   * @param fragment the {@link CDFragment} to prepare
+   * @param page the {@link CDPage} containing the fragment
+   * @return the prepared overlay, or {@code null} if the fragment is not valid
+   */
+  private CDFragment prepareFragment(CDFragment fragment, CDPage page) {
     // validate fragment
     if (!fragment.isValid()) {
       LOGGER.info("Fragment validation failed: The fragment has one or zero atoms.");
-      return substances;
+      return null;
     }
 
-    SgroupHandler.addMultipleGroupBrackets(fragment, page);
-    // Materialise multicenter (haptic) bonds in place before conversion.
-    AttachmentHandler.resolveMultiAttachments(fragment);
+    CDFragment overlay = fragment.overlay();
+    SgroupHandler.addMultipleGroupBrackets(overlay, page);
+    // Materialise multicenter (haptic) bonds before conversion.
+    AttachmentHandler.resolveMultiAttachments(overlay);
+    return overlay;
+  }
+
+  /**
+   * Converts a prepared fragment into {@link BCXSubstance} objects. Only the prepared overlay is
+   * changed, so fragments may be converted concurrently and the document extracted repeatedly.
+   *
+   * @param fragment the prepared {@link CDFragment}
+   * @param markushHandler the {@link MarkushHandler} used to resolve R-groups; may be {@code null}
+   * @return a list of extracted {@link BCXSubstance} objects
+   * @throws IOException if IO operations fail
+   * @throws CDKException if CDK operations fail
+   */
+  private List<BCXSubstance> convertFragment(CDFragment fragment, MarkushHandler markushHandler)
+      throws IOException, CDKException {
+    List<IAtomContainer> structures = new ArrayList<>();
 
     // A position-variation scaffold may legitimately retain unresolved R-groups across its
     // enumerated isomers, so those substances are emitted even when InChI cannot represent them.
@@ -304,19 +545,28 @@ public class SubstanceXtractor {
           && variant.hasRGroup()
           && !markushHandler.getResidueLabels().isEmpty()) {
         try {
-          for (IAtomContainer container :
-              markushHandler.replaceRGroups(atomContainer, fragment.getBounds())) {
-            substances.add(buildSubstance(container, fragment, variablePosition));
-          }
+          // the handler is shared by all fragments of a page and only read while replacing
+          structures.addAll(markushHandler.replaceRGroups(atomContainer, fragment.getBounds()));
           expandedRGroups = true;
         } catch (IOException | CloneNotSupportedException e) {
           LOGGER.error("R-group replacement failed", e);
         }
       }
       if (!expandedRGroups) {
-        substances.add(buildSubstance(atomContainer, fragment, variablePosition));
+        structures.add(atomContainer);
       }
     }
+    if (structures.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    // all structures of a fragment share its abbreviations, so they are resolved only once
+    Map<String, String> abbreviations =
+        options.isAbbreviations() ? getAbbreviations(fragment) : Map.of();
+    List<BCXSubstance> substances = new ArrayList<>(structures.size());
+    for (IAtomContainer structure : structures) {
+      substances.add(buildSubstance(structure, fragment, abbreviations, variablePosition));
+    }
     return substances;
   }
 
@@ -325,16 +575,19 @@ public class SubstanceXtractor {
    * fragment's document occurrence and abbreviations.
    *
    * @param atomContainer the CDK atom container for the substance
-   * @param fragment the source fragment providing occurrence bounds and abbreviations
+   * @param fragment the source fragment providing occurrence bounds
+   * @param abbreviations the abbreviations of the fragment, see {@link #getAbbreviations}
    * @param tolerateMissingInchi when {@code true}, a substance whose unresolved pseudo-atoms
    *     prevent InChI generation is still produced (carrying SMILES and molecular formula)
    * @return the populated {@link BCXSubstance}
-   * @throws IOException if abbreviation resolution fails
-   * @throws CDKException if InChI generation or nested fragment conversion fails
+   * @throws CDKException if InChI generation fails
    */
   private BCXSubstance buildSubstance(
-      IAtomContainer atomContainer, CDFragment fragment, boolean tolerateMissingInchi)
-      throws IOException, CDKException {
+      IAtomContainer atomContainer,
+      CDFragment fragment,
+      Map<String, String> abbreviations,
+      boolean tolerateMissingInchi)
+      throws CDKException {
     BCXSubstance substance = createAndFillBCXSubstance(atomContainer, tolerateMissingInchi);
     Optional<CDRectangle> boundsOptional = Optional.ofNullable(fragment.getBounds());
     if (boundsOptional.isPresent()) {
@@ -343,12 +596,15 @@ public class SubstanceXtractor {
           new BCXSubstanceOccurrence(
               bounds.getTop(), bounds.getLeft(), bounds.getBottom(), bounds.getRight()));
     }
-    addAbbreviations(substance, fragment);
+    abbreviations.forEach(substance::addAbbreviation);
     return substance;
   }
 
   /**
-   * Creates and populates a {@link BCXSubstance} from the given {@link IAtomContainer}.
+   * Creates and populates a {@link BCXSubstance} from the given {@link IAtomContainer} with the
+   * descriptors selected by the {@link ExtractionOptions}. With {@link
+   * ExtractionOptions#isLazyDescriptors() lazy descriptors} the substance only receives suppliers,
+   * see {@link #setDescriptorSuppliers}.
    *
    * @param atomContainer the CDK atom container
    * @param tolerateMissingInchi when {@code true}, an InChI failure caused by unresolved
@@ -363,39 +619,31 @@ public class SubstanceXtractor {
     BCXSubstance substance = new BCXSubstance();
     // add AtomContainer
     substance.setAtomContainer(atomContainer);
+    if (options.isLazyDescriptors()) {
+      setDescriptorSuppliers(substance, atomContainer);
+      return substance;
+    }
     // add MDLV3000 mol file as string
-    final StringWriter sw = new StringWriter();
-    try (MDLV3000Writer mdlw = new MDLV3000Writer(sw)) {
-      mdlw.write(withWedgeBonds(atomContainer));
-      substance.setMdlv3000(sw.toString());
-    } catch (IOException e) {
-      LOGGER.error("Could not generate MDL V3000 mol file;");
+    if (options.computes(ExtractionOptions.Descriptor.MDL_V3000)) {
+      substance.setMdlv3000(createMdlv3000(atomContainer));
     }
     // set SMILES
-    String smiles;
-    if (atomContainer.getAtomCount() > Definitions.MAX_ATOM_COUNT) {
-      smiles = ChemicalUtils.createSmiles(atomContainer, SmiFlavor.Isomeric);
-    } else {
-      smiles = ChemicalUtils.createAbsoluteSmiles(atomContainer);
+    if (options.computes(ExtractionOptions.Descriptor.SMILES)) {
+      substance.setSmiles(createSmiles(atomContainer));
     }
-    if (smiles == null) {
-      // Fallback to canonical SMILES
-      smiles = ChemicalUtils.createSmiles(atomContainer, SmiFlavor.Canonical);
-      LOGGER.error("Generated canonical SMILES instead of absolute.");
+    if (options.computes(ExtractionOptions.Descriptor.EXTENDED_SMILES)) {
+      substance.setExtendedSmiles(ChemicalUtils.createExtendedSmiles(atomContainer));
     }
-    substance.setSmiles(smiles);
-    substance.setExtendedSmiles(ChemicalUtils.createExtendedSmiles(atomContainer));
     // set InChI, InChIKey and AuxInfo. A structure containing unresolved pseudo-atoms (e.g. an
     // R-group whose attachment position varies) cannot be represented in InChI, but is still a
     // valid extraction carrying SMILES and a molecular formula; other InChI failures remain fatal.
-    if (atomContainer.getAtomCount() <= Definitions.MAX_ATOM_COUNT) {
+    if (options.computes(ExtractionOptions.Descriptor.INCHI)
+        && atomContainer.getAtomCount() <= Definitions.MAX_ATOM_COUNT) {
       try {
         InChIGenerator gen = ChemicalUtils.getInChI(atomContainer);
         substance.setInchi(gen.getInchi());
         substance.setInchiKey(gen.getInchiKey());
-        if (gen.getAuxInfo().length() < 4000) {
-          substance.setAuxInfo(gen.getAuxInfo());
-        }
+        substance.setAuxInfo(auxInfo(gen));
       } catch (CDKException e) {
         if (!(tolerateMissingInchi && containsPseudoAtom(atomContainer))) {
           throw e;
@@ -404,33 +652,193 @@ public class SubstanceXtractor {
       }
     }
     // set molecular formula
+    if (options.computes(ExtractionOptions.Descriptor.MOLECULAR_FORMULA)) {
+      substance.setMolecularFormula(createMolecularFormula(atomContainer));
+    }
+    return substance;
+  }
+
+  /**
+   * Sets suppliers for the selected descriptors, so that they are computed on first access. A
+   * descriptor that cannot be generated is logged and left {@code null}; in particular, a substance
+   * whose InChI generation fails is kept, unlike in eager mode.
+   *
+   * @param substance the substance to fill
+   * @param atomContainer the atom container of the substance
+   */
+  private void setDescriptorSuppliers(BCXSubstance substance, IAtomContainer atomContainer) {
+    if (options.computes(ExtractionOptions.Descriptor.MDL_V3000)) {
+      substance.setMdlv3000Supplier(lazily(() -> createMdlv3000(atomContainer), "mol file"));
+    }
+    if (options.computes(ExtractionOptions.Descriptor.SMILES)) {
+      substance.setSmilesSupplier(lazily(() -> createSmiles(atomContainer), "SMILES"));
+    }
+    if (options.computes(ExtractionOptions.Descriptor.EXTENDED_SMILES)) {
+      substance.setExtendedSmilesSupplier(
+          lazily(() -> ChemicalUtils.createExtendedSmiles(atomContainer), "extended SMILES"));
+    }
+    if (options.computes(ExtractionOptions.Descriptor.INCHI)
+        && atomContainer.getAtomCount() <= Definitions.MAX_ATOM_COUNT) {
+      LazyInchi inchi = new LazyInchi(atomContainer);
+      substance.setInchiSupplier(() -> inchi.generate().inchi);
+      substance.setInchiKeySupplier(() -> inchi.generate().inchiKey);
+      substance.setAuxInfoSupplier(() -> inchi.generate().auxInfo);
+    }
+    if (options.computes(ExtractionOptions.Descriptor.MOLECULAR_FORMULA)) {
+      substance.setMolecularFormulaSupplier(() -> createMolecularFormula(atomContainer));
+    }
+  }
+
+  /**
+   * The lazily computed InChI, InChIKey and AuxInfo of a substance, which are generated together on
+   * first access to any of them. Needs no synchronisation, as a substance runs its suppliers one at
+   * a time.
+   */
+  private static final class LazyInchi {
+
+    private final IAtomContainer atomContainer;
+    private boolean generated;
+    private String inchi;
+    private String inchiKey;
+    private String auxInfo;
+
+    private LazyInchi(IAtomContainer atomContainer) {
+      this.atomContainer = atomContainer;
+    }
+
+    private LazyInchi generate() {
+      if (!generated) {
+        generated = true;
+        try {
+          InChIGenerator gen = ChemicalUtils.getInChI(atomContainer);
+          inchi = gen.getInchi();
+          inchiKey = gen.getInchiKey();
+          auxInfo = auxInfo(gen);
+        } catch (CDKException e) {
+          LOGGER.warn("Could not generate InChI for lazily computed substance", e);
+        }
+      }
+      return this;
+    }
+  }
+
+  /** A descriptor computation that may fail with a {@link CDKException}. */
+  @FunctionalInterface
+  private interface Computation {
+    String compute() throws CDKException;
+  }
+
+  /**
+   * Adapts a computation to a supplier that logs a failure and returns {@code null}.
+   *
+   * @param computation the computation
+   * @param descriptor the name of the descriptor, for logging
+   * @return the supplier
+   */
+  private static Supplier<String> lazily(Computation computation, String descriptor) {
+    return () -> {
+      try {
+        return computation.compute();
+      } catch (CDKException e) {
+        LOGGER.warn("Could not generate {} for lazily computed substance", descriptor, e);
+        return null;
+      }
+    };
+  }
+
+  /**
+   * Writes the MDL V3000 mol file of the atom container.
+   *
+   * @param atomContainer the atom container
+   * @return the mol file, or {@code null} if it cannot be written
+   * @throws CDKException if the structure cannot be converted to a mol file
+   */
+  private static String createMdlv3000(IAtomContainer atomContainer) throws CDKException {
+    final StringWriter sw = new StringWriter();
+    try (MDLV3000Writer mdlw = new MDLV3000Writer(sw)) {
+      mdlw.write(withWedgeBonds(atomContainer));
+      return sw.toString();
+    } catch (IOException e) {
+      LOGGER.error("Could not generate MDL V3000 mol file;");
+      return null;
+    }
+  }
+
+  /**
+   * Creates the absolute SMILES of the atom container, falling back to a canonical SMILES.
+   *
+   * @param atomContainer the atom container
+   * @return the SMILES
+   * @throws CDKException if SMILES generation fails
+   */
+  private static String createSmiles(IAtomContainer atomContainer) throws CDKException {
+    String smiles;
+    if (atomContainer.getAtomCount() > Definitions.MAX_ATOM_COUNT) {
+      smiles = ChemicalUtils.createSmiles(atomContainer, SmiFlavor.Isomeric);
+    } else {
+      smiles = ChemicalUtils.createAbsoluteSmiles(atomContainer);
+    }
+    if (smiles == null) {
+      // Fallback to canonical SMILES
+      smiles = ChemicalUtils.createSmiles(atomContainer, SmiFlavor.Canonical);
+      LOGGER.error("Generated canonical SMILES instead of absolute.");
+    }
+    return smiles;
+  }
+
+  /**
+   * Returns the AuxInfo of an InChI generator, unless it is too long to be stored.
+   *
+   * @param gen the InChI generator
+   * @return the AuxInfo, or {@code null}
+   */
+  private static String auxInfo(InChIGenerator gen) {
+    return gen.getAuxInfo().length() < 4000 ? gen.getAuxInfo() : null;
+  }
+
+  /**
+   * Creates the molecular formula string of the atom container.
+   *
+   * @param atomContainer the atom container
+   * @return the molecular formula
+   */
+  private static String createMolecularFormula(IAtomContainer atomContainer) {
     IMolecularFormula molecularFormula =
         MolecularFormulaManipulator.getMolecularFormula(atomContainer);
-    substance.setMolecularFormula(MolecularFormulaManipulator.getString(molecularFormula));
-    return substance;
+    return MolecularFormulaManipulator.getString(molecularFormula);
   }
 
   /**
-   * Returns a copy of {@code atomContainer} with up/down wedge bonds assigned from its stereo
-   * elements, for writing the MDL V3000 mol file.
+   * Returns the structure to write the MDL V3000 mol file from: the container itself if its wedge
+   * bonds are those its stereo elements were perceived from (see {@link
+   * StereoHandler#DRAWN_WEDGES_PROPERTY}), otherwise a copy of it with up/down wedge bonds assigned
+   * from its stereo elements.
    *
    * <p>CDK's {@code MDLV3000Reader} deliberately ignores the atom parity ({@code CFG}) field for
    * structures that carry 2D coordinates and instead re-perceives tetrahedral stereochemistry from
-   * wedge/hash bonds. The extractor's containers hold {@link
-   * org.openscience.cdk.interfaces.ITetrahedralChirality} elements but no wedge bonds, so {@code
-   * MDLV3000Writer} emits stereo only as atom {@code CFG} — which the reader discards, losing the
-   * stereo on round-trip. {@link StructureDiagramGenerator#generateWedges} assigns the wedge bonds
-   * from the stereo elements without altering the existing layout, making the mol file round-trip
-   * (and interoperate with other toolkits) correctly.
+   * wedge/hash bonds. Containers whose {@link
+   * org.openscience.cdk.interfaces.ITetrahedralChirality} elements come from Haworth/chair
+   * projections or from ChemDraw's CIP annotations have no matching wedge bonds, so {@code
+   * MDLV3000Writer} emits their stereo only as atom {@code CFG} — which the reader discards,
+   * losing the stereo on round-trip. {@link StructureDiagramGenerator#generateWedges} assigns the
+   * wedge bonds from the stereo elements without altering the existing layout, making the mol file
+   * round-trip (and interoperate with other toolkits) correctly.
    *
    * <p>Wedges are assigned on a clone so the shared container used for SMILES/InChI generation and
    * exposed via {@link BCXSubstance#getAtomContainer()} is not mutated. If cloning or wedge
    * assignment fails the original container is returned, preserving the previous behaviour.
    *
+   * <p>The drawn wedges of all other containers are reused as they are, which keeps the mol file
+   * closer to the drawing and avoids the copy for most structures.
+   *
    * @param atomContainer the container to derive the mol-file structure from
-   * @return a wedge-annotated copy, or the original container if wedge assignment is not possible
+   * @return the container with its drawn wedges, a wedge-annotated copy, or the original container
+   *     if wedge assignment is not possible
    */
   private static IAtomContainer withWedgeBonds(IAtomContainer atomContainer) {
+    if (Boolean.TRUE.equals(atomContainer.getProperty(StereoHandler.DRAWN_WEDGES_PROPERTY))) {
+      return atomContainer;
+    }
     try {
       IAtomContainer copy = atomContainer.clone();
       new StructureDiagramGenerator().generateWedges(copy);
@@ -459,14 +867,16 @@ public class SubstanceXtractor {
   }
 
   /**
-   * Adds abbreviations and nicknames from the fragment to the substance.
+   * Resolves the abbreviations and nicknames of a fragment to their SMILES.
    *
-   * @param substance the {@link BCXSubstance} to populate
    * @param fragment the {@link CDFragment} containing abbreviations/nicknames
-   * @throws IOException if fragment conversion fails
+   * @return a map of SMILES to abbreviation or nickname, as added to the substances
+   * @throws IOException if the abbreviation lookup cannot be loaded
+   * @throws CDKException if SMILES generation fails for a nested fragment
    */
-  private void addAbbreviations(BCXSubstance substance, CDFragment fragment)
+  private Map<String, String> getAbbreviations(CDFragment fragment)
       throws IOException, CDKException {
+    Map<String, String> abbreviations = new LinkedHashMap<>();
     FragmentConverter fragmentConverter = new FragmentConverter(builder);
 
     for (String abbreviation : fragmentConverter.getAbbreviations(fragment)) {
@@ -475,7 +885,7 @@ public class SubstanceXtractor {
         LOGGER.info("No SMILES found for: {}", abbreviation);
         continue;
       }
-      substance.addAbbreviation(smiles, abbreviation);
+      abbreviations.put(smiles, abbreviation);
     }
 
     for (Map.Entry<String, CDFragment> entry :
@@ -489,7 +899,8 @@ public class SubstanceXtractor {
         LOGGER.error("Nested fragment could not be converted: {}", nickname);
         continue;
       }
-      substance.addAbbreviation(ChemicalUtils.createAbsoluteSmiles(nestedAc), nickname);
+      abbreviations.put(ChemicalUtils.createAbsoluteSmiles(nestedAc), nickname);
     }
+    return abbreviations;
   }
 }
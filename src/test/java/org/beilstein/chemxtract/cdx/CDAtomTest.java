@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import org.beilstein.chemxtract.cdx.datatypes.CDAtomCIPType;
+import org.beilstein.chemxtract.cdx.datatypes.CDAtomGeometry;
+import org.beilstein.chemxtract.cdx.datatypes.CDAtomSubstituentType;
+import org.beilstein.chemxtract.cdx.datatypes.CDExternalConnectionType;
+import org.beilstein.chemxtract.cdx.datatypes.CDIsotopicAbundance;
+import org.beilstein.chemxtract.cdx.datatypes.CDLabelDisplay;
+import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
+import org.beilstein.chemxtract.cdx.datatypes.CDRadical;
+import org.beilstein.chemxtract.cdx.datatypes.CDReactionStereo;
+import org.beilstein.chemxtract.cdx.datatypes.CDRingBondCount;
+import org.beilstein.chemxtract.cdx.datatypes.CDTranslation;
+import org.beilstein.chemxtract.cdx.datatypes.CDUnsaturation;
+import org.junit.jupiter.api.Test;
+
+public class CDAtomTest {
+
+  /** Geometry, label display, node type, radical, CIP type and the five flags of a new atom. */
+  private static final List<Object> DEFAULT_PACKED =
+      Arrays.asList(
+          CDAtomGeometry.Unknown,
+          CDLabelDisplay.Auto,
+          CDNodeType.Element,
+          CDRadical.None,
+          CDAtomCIPType.Undetermined,
+          false,
+          false,
+          false,
+          false,
+          false);
+
+  @Test
+  public void testDefaults() throws Exception {
+    CDAtom atom = new CDAtom();
+    assertThat(packed(atom)).isEqualTo(DEFAULT_PACKED);
+    assertThat(atom.getElementNumber()).isEqualTo(6);
+    assertThat(atom.getFragments()).isEmpty();
+
+    // features
+    assertThat(atom.getAttachedAtoms()).isNull();
+    assertThat(atom.getAttachmentPointType()).isEqualTo(CDExternalConnectionType.Unspecified);
+    assertThat(atom.getIsotopicAbundance()).isEqualTo(CDIsotopicAbundance.Unspecified);
+    assertThat(atom.getLinkCountHigh()).isZero();
+    assertThat(atom.getLinkCountLow()).isZero();
+    assertThat(atom.getReactionStereo()).isEqualTo(CDReactionStereo.Unspecified);
+    assertThat(atom.getRingBondCount()).isEqualTo(CDRingBondCount.Unspecified);
+    assertThat(atom.getSubstituentCount()).isZero();
+    assertThat(atom.getSubstituentType()).isEqualTo(CDAtomSubstituentType.None);
+    assertThat(atom.getTranslation()).isEqualTo(CDTranslation.Equal);
+    assertThat(atom.getUnsaturatedBonds()).isEqualTo(CDUnsaturation.Unspecified);
+    assertThat(atom.getElementList()).isNull();
+    assertThat(atom.getFormula()).isNull();
+    assertThat(atom.getBondOrdering()).isNull();
+    assertThat(atom.getAltGroup()).isNull();
+    assertThat(atom.getGenericList()).isNull();
+  }
+
+  @Test
+  public void testPackedSlots() throws Exception {
+    // every value of a slot is stored without touching the neighbouring slots
+    assertSlot(0, CDAtomGeometry.values(), CDAtom::setAtomGeometry);
+    assertSlot(1, CDLabelDisplay.values(), CDAtom::setLabelDisplay);
+    assertSlot(2, CDNodeType.values(), CDAtom::setNodeType);
+    assertSlot(3, CDRadical.values(), CDAtom::setRadical);
+    assertSlot(4, CDAtomCIPType.values(), CDAtom::setStereochemistry);
+    Boolean[] flags = {true, false};
+    assertSlot(5, flags, CDAtom::setAbnormalValenceAllowed);
+    assertSlot(6, flags, CDAtom::setHDash);
+    assertSlot(7, flags, CDAtom::setHDot);
+    assertSlot(8, flags, CDAtom::setImplicitHydrogensAllowed);
+    assertSlot(9, flags, CDAtom::setRestrictReactionChange);
+  }
+
+  @Test
+  public void testCopy() throws Exception {
+    CDAtom atom = new CDAtom();
+    atom.setRadical(CDRadical.Doublet);
+    atom.setHDot(true);
+    atom.setLinkCountLow(2);
+    atom.setTranslation(CDTranslation.Any);
+    atom.setAttachedAtoms(List.of(new CDAtom()));
+    atom.setFormula(new byte[] {1, 2});
+
+    CDAtom copy = new CDAtom(atom);
+    atom.setRadical(CDRadical.Triplet);
+    atom.setLinkCountLow(3);
+    atom.setAttachedAtoms(List.of());
+    atom.getFormula()[0] = 0;
+
+    List<Object> expected = new ArrayList<>(DEFAULT_PACKED);
+    expected.set(3, CDRadical.Doublet);
+    expected.set(7, true);
+    assertThat(packed(copy)).isEqualTo(expected);
+    assertThat(copy.getLinkCountLow()).isEqualTo(2);
+    assertThat(copy.getTranslation()).isEqualTo(CDTranslation.Any);
+    assertThat(copy.getAttachedAtoms()).hasSize(1);
+    assertThat(copy.getFormula()).containsExactly(1, 2);
+    assertThat(copy.getRingBondCount()).isEqualTo(CDRingBondCount.Unspecified);
+  }
+
+  @Test
+  public void testFeatures() throws Exception {
+    CDAtom atom = new CDAtom();
+    CDAtom other = new CDAtom();
+    atom.setSubstituentCount(4);
+    atom.setRingBondCount(CDRingBondCount.NoRingBonds);
+    assertThat(atom.getSubstituentCount()).isEqualTo(4);
+    assertThat(atom.getRingBondCount()).isEqualTo(CDRingBondCount.NoRingBonds);
+
+    // features of one atom are not shared with other atoms
+    assertThat(other.getSubstituentCount()).isZero();
+    assertThat(other.getRingBondCount()).isEqualTo(CDRingBondCount.Unspecified);
+
+    // setting defaults on an atom without features keeps them
+    other.setLinkCountHigh(0);
+    other.setTranslation(CDTranslation.Equal);
+    other.setFormula(null);
+    assertThat(other.getLinkCountHigh()).isZero();
+    assertThat(other.getTranslation()).isEqualTo(CDTranslation.Equal);
+    assertThat(new CDAtom().getSubstituentCount()).isZero();
+
+    atom.setSubstituentCount(0);
+    atom.setRingBondCount(CDRingBondCount.Unspecified);
+    assertThat(atom.getSubstituentCount()).isZero();
+    assertThat(atom.getRingBondCount()).isEqualTo(CDRingBondCount.Unspecified);
+  }
+
+  private static <T> void assertSlot(int index, T[] values, BiConsumer<CDAtom, T> setter) {
+    CDAtom atom = new CDAtom();
+    List<Object> expected = new ArrayList<>(DEFAULT_PACKED);
+    for (T value : values) {
+      setter.accept(atom, value);
+      expected.set(index, value);
+      assertThat(packed(atom)).isEqualTo(expected);
+    }
+    if (!(values[0] instanceof Boolean)) {
+      setter.accept(atom, null);
+      expected.set(index, null);
+      assertThat(packed(atom)).isEqualTo(expected);
+    }
+  }
+
+  private static List<Object> packed(CDAtom atom) {
+    return Arrays.asList(
+        atom.getAtomGeometry(),
+        atom.getLabelDisplay(),
+        atom.getNodeType(),
+        atom.getRadical(),
+        atom.getStereochemistry(),
+        atom.isAbnormalValenceAllowed(),
+        atom.isHDash(),
+        atom.isHDot(),
+        atom.isImplicitHydrogensAllowed(),
+        atom.isRestrictReactionChange());
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import org.beilstein.chemxtract.cdx.datatypes.CDBondCIPType;
+import org.beilstein.chemxtract.cdx.datatypes.CDBondDisplay;
+import org.beilstein.chemxtract.cdx.datatypes.CDBondDoublePosition;
+import org.beilstein.chemxtract.cdx.datatypes.CDBondOrder;
+import org.beilstein.chemxtract.cdx.datatypes.CDBondReactionParticipation;
+import org.beilstein.chemxtract.cdx.datatypes.CDBondTopology;
+import org.junit.jupiter.api.Test;
+
+public class CDBondTest {
+
+  /** Displays, double position, order, participation, CIP type, topology and coordination. */
+  private static final List<Object> DEFAULT_PACKED =
+      Arrays.asList(
+          CDBondDisplay.Solid,
+          CDBondDisplay.Solid,
+          CDBondDoublePosition.AutoLeft,
+          CDBondOrder.Single,
+          CDBondReactionParticipation.Unspecified,
+          CDBondCIPType.Undetermined,
+          CDBondTopology.Unspecified,
+          false);
+
+  @Test
+  public void testDefaults() throws Exception {
+    CDBond bond = new CDBond();
+    assertThat(packed(bond)).isEqualTo(DEFAULT_PACKED);
+    assertThat(bond.getCrossingBonds()).isNull();
+    assertThat(bond.getBondCircularOrdering()).isNull();
+  }
+
+  @Test
+  public void testPackedSlots() throws Exception {
+    // every value of a slot is stored without touching the neighbouring slots
+    assertSlot(0, CDBondDisplay.values(), CDBond::setBondDisplay);
+    assertSlot(1, CDBondDisplay.values(), CDBond::setBondDisplay2);
+    assertSlot(2, CDBondDoublePosition.values(), CDBond::setBondDoublePosition);
+    assertSlot(3, CDBondOrder.values(), CDBond::setBondOrder);
+    assertSlot(4, CDBondReactionParticipation.values(), CDBond::setReactionParticipation);
+    assertSlot(5, CDBondCIPType.values(), CDBond::setStereochemistry);
+    assertSlot(6, CDBondTopology.values(), CDBond::setTopology);
+    assertSlot(7, new Boolean[] {true, false}, CDBond::setCoordination);
+  }
+
+  @Test
+  public void testCopy() throws Exception {
+    CDBond bond = new CDBond();
+    bond.setBondOrder(CDBondOrder.Double);
+    bond.setBondDisplay2(CDBondDisplay.Dash);
+    bond.setCoordination(true);
+
+    CDBond copy = new CDBond(bond);
+    bond.setBondOrder(CDBondOrder.Triple);
+    bond.setCoordination(false);
+
+    List<Object> expected = new ArrayList<>(DEFAULT_PACKED);
+    expected.set(1, CDBondDisplay.Dash);
+    expected.set(3, CDBondOrder.Double);
+    expected.set(7, true);
+    assertThat(packed(copy)).isEqualTo(expected);
+  }
+
+  private static <T> void assertSlot(int index, T[] values, BiConsumer<CDBond, T> setter) {
+    CDBond bond = new CDBond();
+    List<Object> expected = new ArrayList<>(DEFAULT_PACKED);
+    for (T value : values) {
+      setter.accept(bond, value);
+      expected.set(index, value);
+      assertThat(packed(bond)).isEqualTo(expected);
+    }
+    if (!(values[0] instanceof Boolean)) {
+      setter.accept(bond, null);
+      expected.set(index, null);
+      assertThat(packed(bond)).isEqualTo(expected);
+    }
+  }
+
+  private static List<Object> packed(CDBond bond) {
+    return Arrays.asList(
+        bond.getBondDisplay(),
+        bond.getBondDisplay2(),
+        bond.getBondDoublePosition(),
+        bond.getBondOrder(),
+        bond.getReactionParticipation(),
+        bond.getStereochemistry(),
+        bond.getTopology(),
+        bond.isCoordination());
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class CDFragmentGraphTest {
+
+  @Test
+  public void testAdjacency() throws Exception {
+    CDFragment fragment = new CDFragment();
+    CDAtom a = new CDAtom();
+    CDAtom b = new CDAtom();
+    CDAtom c = new CDAtom();
+    fragment.setAtoms(List.of(a, b, c));
+    CDBond ab = bond(a, b);
+    CDBond bc = bond(b, c);
+    fragment.setBonds(List.of(ab, bc));
+
+    CDFragmentGraph graph = fragment.getGraph();
+    assertThat(fragment.getGraph()).isSameAs(graph);
+    assertThat(graph.getBonds(b)).containsExactlyElementsOf(List.of(ab, bc));
+    assertThat(graph.getNeighbors(b)).containsExactlyElementsOf(List.of(a, c));
+    assertThat(graph.getDegree(a)).isEqualTo(1);
+    assertThat(graph.getBond(c, b)).isSameAs(bc);
+    assertThat(graph.getBond(a, c)).isNull();
+    assertThat(graph.contains(new CDAtom())).isFalse();
+
+    // rewiring a bond invalidates the cached graph
+    bc.setEnd(a);
+    assertThat(fragment.getGraph()).isNotSameAs(graph);
+    assertThat(fragment.getGraph().getBonds(a)).containsExactlyElementsOf(List.of(ab, bc));
+    assertThat(fragment.getGraph().getDegree(c)).isZero();
+
+    fragment.removeBonds(List.of(ab, bc));
+    fragment.removeAtoms(List.of(a, c));
+    assertThat(fragment.getAtoms()).containsExactlyElementsOf(List.of(b));
+    assertThat(fragment.getGraph().getBonds(b)).isEmpty();
+  }
+
+  @Test
+  public void testSharedBond() throws Exception {
+    CDAtom a = new CDAtom();
+    CDAtom b = new CDAtom();
+    CDAtom c = new CDAtom();
+    CDBond ab = bond(a, b);
+    CDFragment first = new CDFragment();
+    first.setAtoms(List.of(a, b, c));
+    first.setBonds(List.of(ab));
+    CDFragment second = new CDFragment();
+    second.setAtoms(List.of(a, b, c));
+    second.setBonds(List.of(ab));
+
+    CDFragmentGraph firstGraph = first.getGraph();
+    CDFragmentGraph secondGraph = second.getGraph();
+    assertThat(firstGraph.getBond(a, b)).isSameAs(ab);
+    assertThat(secondGraph.getBond(a, b)).isSameAs(ab);
+
+    // rewiring the shared bond invalidates the cached graphs of both fragments
+    ab.setEnd(c);
+    assertThat(first.getGraph()).isNotSameAs(firstGraph);
+    assertThat(second.getGraph()).isNotSameAs(secondGraph);
+    assertThat(first.getGraph().getBond(a, c)).isSameAs(ab);
+    assertThat(second.getGraph().getBond(a, c)).isSameAs(ab);
+    assertThat(second.getGraph().getDegree(b)).isZero();
+  }
+
+  private static CDBond bond(CDAtom begin, CDAtom end) {
+    CDBond bond = new CDBond();
+    bond.setBegin(begin);
+    bond.setEnd(end);
+    return bond;
+  }
+}
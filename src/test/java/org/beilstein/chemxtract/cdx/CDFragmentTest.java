@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.beilstein.chemxtract.cdx.datatypes.CDBondOrder;
+import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
+import org.junit.jupiter.api.Test;
+
+public class CDFragmentTest {
+
+  @Test
+  public void testOverlayCopyOnWrite() throws Exception {
+    CDFragment fragment = new CDFragment();
+    CDAtom a = new CDAtom();
+    CDAtom b = new CDAtom();
+    b.setNodeType(CDNodeType.Unspecified);
+    CDBond ab = new CDBond();
+    ab.setBegin(a);
+    ab.setEnd(b);
+    fragment.setAtoms(List.of(a, b));
+    fragment.setBonds(List.of(ab));
+
+    CDFragment overlay = fragment.overlay();
+    assertThat(overlay.isOverlay()).isTrue();
+    assertThat(fragment.isOverlay()).isFalse();
+
+    // writing to a shared atom copies it and rewires its bonds in the overlay only
+    CDAtom writable = overlay.getWritable(b);
+    writable.setNodeType(CDNodeType.Element);
+    assertThat(writable).isNotSameAs(b);
+    assertThat(overlay.getCurrent(b)).isSameAs(writable);
+    assertThat(overlay.getWritable(b)).isSameAs(writable);
+    assertThat(overlay.getAtoms()).containsExactlyElementsOf(List.of(a, writable));
+    assertThat(overlay.getBonds().get(0).getEnd()).isSameAs(writable);
+    assertThat(b.getNodeType()).isEqualTo(CDNodeType.Unspecified);
+    assertThat(ab.getEnd()).isSameAs(b);
+
+    overlay.getWritable(ab).setBondOrder(CDBondOrder.Double);
+    assertThat(ab.getBondOrder()).isEqualTo(CDBondOrder.Single);
+
+    // objects added to the overlay belong to it and are changed in place
+    CDAtom c = new CDAtom();
+    overlay.addAtom(c);
+    assertThat(overlay.getWritable(c)).isSameAs(c);
+    assertThat(fragment.getAtoms()).containsExactlyElementsOf(List.of(a, b));
+
+    // a plain fragment is changed in place
+    assertThat(fragment.getWritable(b)).isSameAs(b);
+  }
+
+  @Test
+  public void testOverlayCopySettings() throws Exception {
+    CDFragment fragment = new CDFragment();
+    CDAtom a = new CDAtom();
+    a.getSettings().setLabelSize(10f);
+    CDRectangle bounds = new CDRectangle();
+    bounds.setRight(5f);
+    a.setBounds(bounds);
+    fragment.setAtoms(List.of(a));
+
+    CDAtom writable = fragment.overlay().getWritable(a);
+    // the copy reads the settings of the source until it changes them
+    assertThat(writable.getEffectiveSettings()).isSameAs(a.getEffectiveSettings());
+
+    writable.getSettings().setLabelSize(12f);
+    writable.getBounds().setRight(7f);
+    assertThat(writable.getEffectiveSettings().getLabelSize()).isEqualTo(12f);
+    assertThat(writable.getBounds().getRight()).isEqualTo(7f);
+    assertThat(a.getEffectiveSettings().getLabelSize()).isEqualTo(10f);
+    assertThat(a.getBounds().getRight()).isEqualTo(5f);
+  }
+}
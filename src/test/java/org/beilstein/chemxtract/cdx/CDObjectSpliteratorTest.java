@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import org.beilstein.chemxtract.cdx.reader.CDXReader;
+import org.beilstein.chemxtract.visitor.FragmentVisitor;
+import org.junit.jupiter.api.Test;
+
+public class CDObjectSpliteratorTest {
+
+  @Test
+  public void testStreamFollowsVisitorOrder() throws Exception {
+    InputStream in =
+        CDObjectSpliteratorTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    CDPage page = document.getPages().get(0);
+
+    List<CDObject> visited = new ArrayList<>();
+    page.accept(
+        new CDVisitor() {
+          @Override
+          protected CDVisitResult enterDefault(CDObject object) {
+            visited.add(object);
+            return CDVisitResult.CONTINUE;
+          }
+        });
+    assertThat(page.objects().toList()).containsExactlyElementsOf(visited);
+    assertThat(document.objects().toList()).containsExactlyElementsOf(visited);
+
+    // parallel streams split the tree but keep the encounter order
+    assertThat(page.objects().parallel().toList()).containsExactlyElementsOf(visited);
+    assertThat(page.objects(CDFragment.class).parallel().toList())
+        .containsExactlyElementsOf(new FragmentVisitor(page).getAllFragments());
+    assertThat(document.objects(CDAtom.class).parallel().count())
+        .isEqualTo(visited.stream().filter(CDAtom.class::isInstance).count());
+  }
+
+  @Test
+  public void testSplitKeepsFragmentsWhole() {
+    CDPage page = new CDPage();
+    for (int i = 0; i < 4; i++) {
+      CDFragment fragment = new CDFragment();
+      fragment.addAtom(new CDAtom());
+      fragment.addAtom(new CDAtom());
+      page.addFragment(fragment);
+    }
+
+    Spliterator<CDObject> spliterator = page.objects().spliterator();
+    Spliterator<CDObject> prefix = spliterator.trySplit();
+    assertThat(prefix).isNotNull();
+    List<CDObject> first = new ArrayList<>();
+    prefix.forEachRemaining(first::add);
+    List<CDObject> second = new ArrayList<>();
+    spliterator.forEachRemaining(second::add);
+
+    // the page comes first, and each fragment is followed by its two atoms in the same half
+    assertThat(first.get(0)).isSameAs(page);
+    assertThat(first).hasSize(1 + 2 * 3);
+    assertThat(second).hasSize(2 * 3);
+    assertThat(second.get(0)).isInstanceOf(CDFragment.class);
+  }
+}
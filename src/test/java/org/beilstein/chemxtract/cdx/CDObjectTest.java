@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class CDObjectTest {
+
+  @Test
+  public void testSharedDefaultSettings() throws Exception {
+    CDAtom atom = new CDAtom();
+    CDBond bond = new CDBond();
+    CDSettings defaults = atom.getEffectiveSettings();
+    assertThat(bond.getEffectiveSettings()).isSameAs(defaults);
+    assertThat(atom.getObjectTags()).isEmpty();
+
+    // modifying an object's settings must not leak into the shared defaults
+    atom.getSettings().setLabelSize(42f);
+    assertThat(atom.getEffectiveSettings()).isNotSameAs(defaults);
+    assertThat(atom.getEffectiveSettings().getLabelSize()).isEqualTo(42f);
+    assertThat(bond.getEffectiveSettings()).isSameAs(defaults);
+    assertThat(defaults.getLabelSize()).isZero();
+    assertThatThrownBy(() -> defaults.setLabelSize(42f))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.InputStream;
+import org.beilstein.chemxtract.cdx.reader.CDXReader;
+import org.beilstein.chemxtract.visitor.FragmentVisitor;
+import org.beilstein.chemxtract.visitor.ReactionStepVisitor;
+import org.junit.jupiter.api.Test;
+
+public class CDPageIndexTest {
+
+  @Test
+  public void testIndexMatchesVisitors() throws Exception {
+    InputStream in = CDPageIndexTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    CDPage page = document.getPages().get(0);
+
+    CDPageIndex index = page.getIndex();
+    assertThat(page.getIndex()).isSameAs(index);
+
+    FragmentVisitor fragmentVisitor = new FragmentVisitor(page);
+    assertThat(index.getFragments()).containsExactlyElementsOf(fragmentVisitor.getFragments());
+    assertThat(index.getAllFragments())
+        .containsExactlyElementsOf(fragmentVisitor.getAllFragments());
+    assertThat(index.getReactionSteps())
+        .containsExactlyElementsOf(new ReactionStepVisitor(page).getReactionSteps());
+    assertThat(index.getTexts()).isNotEmpty();
+
+    // parent links follow the nesting of the page
+    CDFragment fragment = page.getFragments().get(0);
+    assertThat(index.getParent(fragment)).isSameAs(page);
+    assertThat(index.getParent(fragment.getAtoms().get(0))).isSameAs(fragment);
+    assertThat(index.getParent(page)).isNull();
+
+    // modifying the page discards the cached index
+    page.addText(new CDText());
+    assertThat(page.getIndex()).isNotSameAs(index);
+    assertThat(page.getIndex().getTexts()).hasSize(index.getTexts().size() + 1);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class CDSpatialIndexTest {
+
+  @Test
+  public void testNearestMatchesLinearScan() throws Exception {
+    Random random = new Random(42);
+    List<CDRectangle> boxes = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      boxes.add(box(random, 1000, 40));
+    }
+    CDSpatialIndex<CDRectangle> index = new CDSpatialIndex<>(boxes, box -> box);
+
+    for (int i = 0; i < 200; i++) {
+      CDRectangle query = box(random, 1400, 20);
+      CDRectangle expected = null;
+      double bestDistance = Double.MAX_VALUE;
+      List<CDRectangle> expectedNear = new ArrayList<>();
+      for (CDRectangle box : boxes) {
+        double distance = gap(query, box);
+        if (distance < bestDistance && boxes.indexOf(box) % 3 != 0) {
+          bestDistance = distance;
+          expected = box;
+        }
+        if (distance <= 25) {
+          expectedNear.add(box);
+        }
+      }
+      assertThat(index.nearest(query, Double.MAX_VALUE, box -> boxes.indexOf(box) % 3 != 0))
+          .isSameAs(expected);
+      assertThat(index.withinDistance(query, 25)).containsExactlyElementsOf(expectedNear);
+    }
+    assertThat(index.nearest(box(random, 10, 1), 0.5, box -> false)).isNull();
+  }
+
+  private static CDRectangle box(Random random, double extent, double size) {
+    CDRectangle box = new CDRectangle();
+    box.setLeft((float) (random.nextDouble() * extent - 200));
+    box.setTop((float) (random.nextDouble() * extent - 200));
+    box.setRight(box.getLeft() + (float) (random.nextDouble() * size));
+    box.setBottom(box.getTop() + (float) (random.nextDouble() * size));
+    return box;
+  }
+
+  private static double gap(CDRectangle a, CDRectangle b) {
+    double dx = Math.max(0, Math.max(a.getLeft() - b.getRight(), b.getLeft() - a.getRight()));
+    double dy = Math.max(0, Math.max(a.getTop() - b.getBottom(), b.getTop() - a.getBottom()));
+    return Math.hypot(dx, dy);
+  }
+}
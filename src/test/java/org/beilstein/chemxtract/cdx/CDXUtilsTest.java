@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.util.List;
 import org.beilstein.chemxtract.cdx.datatypes.CDArrowHeadPositionType;
 import org.beilstein.chemxtract.cdx.datatypes.CDArrowHeadType;
 import org.beilstein.chemxtract.cdx.datatypes.CDArrowType;
@@ -57,6 +58,8 @@ import org.beilstein.chemxtract.cdx.datatypes.CDObjectTagType;
 import org.beilstein.chemxtract.cdx.datatypes.CDOrbitalType;
 import org.beilstein.chemxtract.cdx.datatypes.CDOvalType;
 import org.beilstein.chemxtract.cdx.datatypes.CDPageDefinition;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint2D;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint2DList;
 import org.beilstein.chemxtract.cdx.datatypes.CDPolymerFlipType;
 import org.beilstein.chemxtract.cdx.datatypes.CDPolymerRepeatPattern;
 import org.beilstein.chemxtract.cdx.datatypes.CDPositioningType;
@@ -72,6 +75,7 @@ import org.beilstein.chemxtract.cdx.datatypes.CDSplineType;
 import org.beilstein.chemxtract.cdx.datatypes.CDSymbolType;
 import org.beilstein.chemxtract.cdx.datatypes.CDTranslation;
 import org.beilstein.chemxtract.cdx.datatypes.CDUnsaturation;
+import org.beilstein.chemxtract.cdx.reader.CDXMLUtils;
 import org.beilstein.chemxtract.cdx.reader.CDXProperty;
 import org.beilstein.chemxtract.cdx.reader.CDXUtils;
 import org.junit.jupiter.api.Test;
@@ -344,6 +348,27 @@ public class CDXUtilsTest {
     assertEquals(0, CDXUtils.convertCurveTypeToInt(st));
   }
 
+  @Test
+  public void testReadPointArrayProperty() throws IOException {
+    CDXProperty property = new CDXProperty();
+    // two points, each stored as fixed-point y then x
+    property.setData(
+        new byte[] {2, 0, 0, 0, 1, 0, 0, 0, 2, 0, 0, 0, 3, 0, 0, (byte) 0x80, 4, 0});
+    property.setLength(18);
+
+    CDPoint2DList points = property.getDataAsPoint2DArray();
+    assertEquals(2, points.size());
+    assertEquals(2f, points.getX(0));
+    assertEquals(1f, points.getY(0));
+    assertEquals(4.5f, points.get(1).getX());
+    assertEquals(3f, points.get(1).getY());
+
+    CDSpline spline = new CDSpline();
+    spline.setPoints2D(List.of(new CDPoint2D(1f, 2f), new CDPoint2D(3f, 4f)));
+    assertEquals("1.0 2.0 3.0 4.0", CDXMLUtils.convertPoint2DListToString(spline.getPoints2D()));
+    assertEquals(4f, CDXMLUtils.convertStringToPoint2DArray("1 2 3 4").getY(1));
+  }
+
   @Test
   public void testReadBondCIPTypeProperty() throws IOException {
     CDXProperty property = new CDXProperty();
@@ -28,6 +28,9 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import org.beilstein.chemxtract.cdx.reader.CDXMLReader;
+import org.beilstein.chemxtract.visitor.AltGroupVisitor;
+import org.beilstein.chemxtract.visitor.FragmentVisitor;
+import org.beilstein.chemxtract.visitor.ReactionStepVisitor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,6 +82,52 @@ public class CDXVisitorTest extends CDVisitor {
     }
   }
 
+  @Test
+  public void testPruningVisitor() throws IOException {
+    InputStream in = CDXVisitorTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdxml");
+    assertThat(in).isNotNull();
+    CDPage page = CDXMLReader.readDocument(in).getPages().get(0);
+
+    // skipping the fragments hides their atoms
+    List<CDAtom> atoms = new ArrayList<>();
+    page.accept(
+        new CDVisitor() {
+          @Override
+          public void visitAtom(CDAtom atom) {
+            atoms.add(atom);
+          }
+
+          @Override
+          public CDVisitResult enterFragment(CDFragment fragment) {
+            return CDVisitResult.SKIP_SUBTREE;
+          }
+        });
+    assertThat(atoms).isEmpty();
+
+    // terminating stops the traversal at the first fragment
+    List<CDFragment> fragments = new ArrayList<>();
+    CDVisitor first =
+        new CDVisitor() {
+          @Override
+          public CDVisitResult enterFragment(CDFragment fragment) {
+            fragments.add(fragment);
+            return CDVisitResult.TERMINATE;
+          }
+        };
+    page.accept(first);
+    assertThat(first.isTerminated()).isTrue();
+    assertThat(fragments).hasSize(1);
+
+    // the pruning visitors find the same objects as the full traversal of the page index
+    CDPageIndex index = page.getIndex();
+    assertThat(new FragmentVisitor(page).getAllFragments())
+        .containsExactlyElementsOf(index.getAllFragments());
+    assertThat(new ReactionStepVisitor(page).getReactionSteps())
+        .containsExactlyElementsOf(index.getReactionSteps());
+    assertThat(new AltGroupVisitor(page).getAltGroups())
+        .containsExactlyElementsOf(index.getAltGroups());
+  }
+
   @Override
   public void visitAtom(CDAtom atom) {
     if (atom.getChemicalWarning() != null) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cdx.datatypes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.beilstein.chemxtract.cdx.datatypes.CDStyledString.CDXChunk;
+import org.junit.jupiter.api.Test;
+
+public class CDInternerTest {
+
+  @Test
+  public void testIdentity() {
+    CDColor color = new CDColor(0.25f, 0.5f, 0.75f);
+    assertThat(CDInterner.COLORS.intern(color)).isSameAs(color);
+    assertThat(CDInterner.COLORS.intern(new CDColor(0.25f, 0.5f, 0.75f))).isSameAs(color);
+    assertThat(CDInterner.COLORS.intern(new CDColor(0.25f, 0.5f, 0.5f))).isNotSameAs(color);
+    assertThat(CDInterner.COLORS.intern(null)).isNull();
+
+    CDFont font = CDInterner.FONTS.intern(font("CDInternerTest"));
+    assertThat(CDInterner.FONTS.intern(font("CDInternerTest"))).isSameAs(font);
+
+    CDFontFace face = new CDFontFace();
+    face.setBold(true);
+    face = CDInterner.FONT_FACES.intern(face);
+    CDFontFace other = new CDFontFace();
+    other.setBold(true);
+    assertThat(CDInterner.FONT_FACES.intern(other)).isSameAs(face);
+
+    CDLineType lineType = new CDLineType();
+    lineType.setDashed(true);
+    lineType = CDInterner.LINE_TYPES.intern(lineType);
+    CDLineType otherLineType = new CDLineType();
+    otherLineType.setDashed(true);
+    assertThat(CDInterner.LINE_TYPES.intern(otherLineType)).isSameAs(lineType);
+  }
+
+  @Test
+  public void testFrozen() {
+    CDColor color = CDInterner.COLORS.intern(new CDColor(0.1f, 0.2f, 0.3f));
+    assertThatThrownBy(() -> color.setRed(0)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> CDColor.BLACK.setRed(1))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    CDFont font = CDInterner.FONTS.intern(font("CDInternerTest frozen"));
+    assertThatThrownBy(() -> font.setName("Arial"))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    CDFontFace face = CDInterner.FONT_FACES.intern(new CDFontFace());
+    assertThatThrownBy(() -> face.setBold(true))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    CDLineType lineType = CDInterner.LINE_TYPES.intern(new CDLineType());
+    assertThatThrownBy(() -> lineType.setWavy(true))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    // values that are not interned stay mutable
+    CDFontFace other = new CDFontFace();
+    other.setBold(true);
+    assertThat(other.isBold()).isTrue();
+  }
+
+  @Test
+  public void testInternChunk() {
+    CDXChunk chunk = CDInterner.internChunk(chunk("OH"));
+    assertThat(CDInterner.internChunk(chunk("OH"))).isSameAs(chunk);
+    assertThatThrownBy(() -> chunk.setColor(CDColor.WHITE))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    // longer chunks are neither shared nor frozen
+    String text = "x".repeat(CDInterner.MAX_CHUNK_LENGTH + 1);
+    CDXChunk longChunk = chunk(text);
+    assertThat(CDInterner.internChunk(longChunk)).isSameAs(longChunk);
+    assertThat(CDInterner.internChunk(chunk(text))).isNotSameAs(longChunk);
+    longChunk.setColor(CDColor.WHITE);
+    assertThat(longChunk.getColor()).isSameAs(CDColor.WHITE);
+
+    CDXChunk empty = chunk(null);
+    assertThat(CDInterner.internChunk(empty)).isSameAs(empty);
+  }
+
+  @Test
+  public void testExpungeStaleEntries() throws Exception {
+    int size = CDInterner.COLORS.size();
+    int count = 10000;
+    for (int i = 0; i < count; i++) {
+      CDInterner.COLORS.intern(new CDColor(i / (float) count, 0.123f, 0.456f));
+    }
+    // none of the values is referenced anymore, so their entries are removed once collected
+    for (int i = 0; i < 50 && CDInterner.COLORS.size() > size; i++) {
+      System.gc();
+      Thread.sleep(20);
+    }
+    assertThat(CDInterner.COLORS.size()).isLessThanOrEqualTo(size);
+  }
+
+  private static CDFont font(String name) {
+    CDFont font = new CDFont();
+    font.setName(name);
+    return font;
+  }
+
+  private static CDXChunk chunk(String text) {
+    return new CDXChunk(null, 10f, null, CDColor.BLACK, text);
+  }
+}
@@ -21,13 +21,21 @@
  */
 package org.beilstein.chemxtract.cdx.reader;
 
+import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.beilstein.chemxtract.cdx.CDDocument;
+import org.beilstein.chemxtract.cdx.CDDocumentUtils;
+import org.beilstein.chemxtract.cdx.CDFragment;
+import org.beilstein.chemxtract.cdx.CDReactionStep;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -62,4 +70,63 @@ public class CDXMLWriterTest {
     fos.flush();
     fos.close();
   }
+
+  @Test
+  public void testWriteCDXMLStreaming() throws IOException {
+    InputStream in = CDXMLWriterTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+
+    String expected =
+        CDXMLWriter.writeDocument(
+            CDXMLReader.readDocument(
+                new ByteArrayInputStream(
+                    CDXMLWriter.writeDocument(document, null).getBytes(StandardCharsets.UTF_8))),
+            null);
+    for (boolean lightweight : new boolean[] {false, true}) {
+      for (boolean indent : new boolean[] {false, true}) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CDXMLWriter.writeDocument(document, out, indent, lightweight);
+        assertThat(out.size()).isPositive();
+
+        CDDocument copy = CDXMLReader.readDocument(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(copy.getPages()).hasSameSizeAs(document.getPages());
+        assertThat(CDXMLWriter.writeDocument(copy, null)).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void testWriteCDXMLSnippets() throws IOException {
+    InputStream in = CDXMLWriterTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    int documentSize = CDXMLWriter.writeDocument(document, null).length();
+
+    for (CDFragment fragment : CDDocumentUtils.getListOfFragments(document)) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      CDXMLWriter.writeFragment(document, fragment, out);
+      assertThat(out.size()).isLessThan(documentSize);
+
+      CDDocument snippet = CDXMLReader.readDocument(new ByteArrayInputStream(out.toByteArray()));
+      List<CDFragment> fragments = CDDocumentUtils.getListOfFragments(snippet);
+      assertThat(fragments).hasSize(1);
+      assertThat(fragments.get(0).getAtoms()).hasSameSizeAs(fragment.getAtoms());
+      assertThat(fragments.get(0).getBonds()).hasSameSizeAs(fragment.getBonds());
+    }
+
+    List<CDReactionStep> steps = CDDocumentUtils.getListOfReactionSteps(document);
+    assertThat(steps).isNotEmpty();
+    for (CDReactionStep step : steps) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      CDXMLWriter.writeReactionStep(document, step, out);
+
+      CDDocument snippet = CDXMLReader.readDocument(new ByteArrayInputStream(out.toByteArray()));
+      List<CDReactionStep> snippetSteps = CDDocumentUtils.getListOfReactionSteps(snippet);
+      assertThat(snippetSteps).hasSize(1);
+      assertThat(snippetSteps.get(0).getReactants()).hasSameSizeAs(step.getReactants());
+      assertThat(snippetSteps.get(0).getProducts()).hasSameSizeAs(step.getProducts());
+      assertThat(snippetSteps.get(0).getArrows()).hasSameSizeAs(step.getArrows());
+    }
+  }
 }
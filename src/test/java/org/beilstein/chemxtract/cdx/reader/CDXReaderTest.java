@@ -24,7 +24,11 @@ package org.beilstein.chemxtract.cdx.reader;
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import org.beilstein.chemxtract.cdx.CDBracket;
@@ -33,6 +37,8 @@ import org.beilstein.chemxtract.cdx.CDDocumentUtils;
 import org.beilstein.chemxtract.cdx.CDFragment;
 import org.beilstein.chemxtract.cdx.CDReactionStep;
 import org.beilstein.chemxtract.cdx.CDText;
+import org.beilstein.chemxtract.cdx.datatypes.CDStyledString;
+import org.beilstein.chemxtract.io.IOUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -69,4 +75,84 @@ public class CDXReaderTest {
     List<CDBracket> brackets = CDDocumentUtils.getBrackets(document);
     assertThat(brackets.size()).isEqualTo(3);
   }
+
+  @Test
+  public void testReadCDXWithIndex() throws Exception {
+    InputStream in = CDXReaderTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    byte[] bytes = IOUtils.readBytes(in);
+
+    CDXObjectIndex index = CDXObjectIndex.build(bytes);
+    assertThat(index.getStart(0))
+        .isEqualTo(CDXUtils.readCDXDocument(bytes, new int[] {0}).getPosition());
+
+    // sidecar round trip
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    index.write(out);
+    CDXObjectIndex sidecar = CDXObjectIndex.read(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(sidecar.size()).isEqualTo(index.size());
+    assertThat(sidecar.matches(bytes)).isTrue();
+
+    CDDocument document = CDXReader.readDocument(bytes, sidecar);
+    assertThat(CDDocumentUtils.getListOfFragments(document).size()).isEqualTo(14);
+    assertThat(CDDocumentUtils.getListOfReactionSteps(document).size()).isEqualTo(4);
+    assertThat(CDDocumentUtils.getTexts(document).size()).isEqualTo(8);
+
+    // a corrupt size is rejected before anything is allocated for it
+    byte[] corrupt = out.toByteArray();
+    ByteBuffer.wrap(corrupt).putInt(12, Integer.MAX_VALUE);
+    assertThatThrownBy(() -> CDXObjectIndex.read(new ByteArrayInputStream(corrupt)))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void testReadSingleObject() throws Exception {
+    InputStream in = CDXReaderTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    byte[] bytes = IOUtils.readBytes(in);
+    CDXObjectIndex index = CDXObjectIndex.build(bytes);
+
+    int fragmentEntry = -1;
+    int stepEntry = -1;
+    for (int i = 0; i < index.size(); i++) {
+      if (fragmentEntry < 0 && index.getTag(i) == CDXConstants.CDXObj_Fragment) {
+        fragmentEntry = i;
+      } else if (stepEntry < 0 && index.getTag(i) == CDXConstants.CDXObj_ReactionStep) {
+        stepEntry = i;
+      }
+    }
+
+    CDFragment fragment =
+        CDXReader.readObject(bytes, index, index.getId(fragmentEntry), CDFragment.class);
+    assertThat(fragment.getAtoms()).isNotEmpty();
+    assertThat(fragment.getBonds()).allMatch(bond -> fragment.getAtoms().contains(bond.getBegin()));
+
+    // reactants and products live outside the step and are resolved on demand
+    int stepId = index.getId(stepEntry);
+    CDReactionStep step = CDXReader.readObject(bytes, index, stepId, CDReactionStep.class);
+    assertThat(step.getReactants()).isNotEmpty().doesNotContainNull();
+    assertThat(step.getProducts()).isNotEmpty().doesNotContainNull();
+
+    assertThatThrownBy(() -> CDXReader.readObject(bytes, index, stepId, CDFragment.class))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void testInternedStyleValues() throws Exception {
+    InputStream in = CDXReaderTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    byte[] bytes = IOUtils.readBytes(in);
+    CDDocument document = CDXReader.readDocument(new ByteArrayInputStream(bytes));
+    CDStyledString first = CDDocumentUtils.getTexts(document).get(0).getText();
+    document = CDXReader.readDocument(new ByteArrayInputStream(bytes));
+    CDStyledString second = CDDocumentUtils.getTexts(document).get(0).getText();
+
+    // equal style values of independently read documents share one instance
+    CDStyledString.CDXChunk chunk = first.getChunks().get(0);
+    assertThat(chunk.getFont()).isSameAs(second.getChunks().get(0).getFont());
+    assertThat(chunk.getFontType()).isSameAs(second.getChunks().get(0).getFontType());
+    assertThat(chunk.getColor()).isSameAs(second.getChunks().get(0).getColor());
+    assertThatThrownBy(() -> chunk.getFontType().setBold(true))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
 }
@@ -26,8 +26,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import javax.vecmath.Point2d;
+import org.beilstein.chemxtract.lookups.SmilesTemplates;
 import org.beilstein.chemxtract.utils.ChemicalUtils;
 import org.junit.jupiter.api.Test;
 import org.openscience.cdk.interfaces.IAtom;
@@ -152,4 +156,44 @@ class AbbreviationLayoutTest {
     double average = sum / count;
     assertEquals(1.0, average, 0.3, "laid-out bonds should roughly match the scaffold bond length");
   }
+
+  @Test
+  void expansionIsPlacedFromTemplate() throws Exception {
+    // Scaffold c1-c2 with a phenyl expanded from "*c1ccccc1", collapsed onto (2,0).
+    String smiles = "*c1ccccc1";
+    IAtomContainer phenyl = SmilesTemplates.getInstance(BUILDER).get(smiles);
+    IAtomContainer mol = BUILDER.newAtomContainer();
+    mol.addAtom(carbon(0, 0));
+    mol.addAtom(carbon(1, 0));
+    mol.addBond(0, 1, IBond.Order.SINGLE);
+    List<IAtom> expanded = new ArrayList<>();
+    expanded.add(mol.getAtom(1)); // replaces the attachment point
+    for (int i = 1; i < phenyl.getAtomCount(); i++) {
+      IAtom atom = carbon(2, 0);
+      mol.addAtom(atom);
+      expanded.add(mol.getAtom(mol.getAtomCount() - 1));
+    }
+    mol.addBond(1, 2, IBond.Order.SINGLE);
+    for (IBond bond : phenyl.bonds()) {
+      int begin = phenyl.indexOf(bond.getBegin());
+      int end = phenyl.indexOf(bond.getEnd());
+      if (begin > 0 && end > 0) {
+        mol.addBond(begin + 1, end + 1, bond.getOrder());
+      }
+    }
+    Set<IAtom> free = new HashSet<>(expanded.subList(1, expanded.size()));
+
+    AbbreviationLayout.layoutExpandedAbbreviations(
+        mol, free, List.of(new AbbreviationLayout.Expansion(smiles, expanded)));
+
+    assertFalse(ChemicalUtils.hasDuplicateCoordinates(mol), "expanded atoms should be spread out");
+    assertTrue(new Point2d(1, 0).equals(mol.getAtom(1).getPoint2d()), "scaffold must not move");
+    // a rigid placement keeps the direction of the attachment bond and the scaffold bond length
+    assertEquals(2.0, mol.getAtom(2).getPoint2d().x, 1e-9);
+    assertEquals(0.0, mol.getAtom(2).getPoint2d().y, 1e-9);
+    for (IBond bond : mol.bonds()) {
+      double length = bond.getBegin().getPoint2d().distance(bond.getEnd().getPoint2d());
+      assertEquals(1.0, length, 0.01, "template bonds are scaled to the scaffold bond length");
+    }
+  }
 }
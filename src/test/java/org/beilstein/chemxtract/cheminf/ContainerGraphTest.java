@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cheminf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.openscience.cdk.DefaultChemObjectBuilder;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.smiles.SmilesParser;
+
+public class ContainerGraphTest {
+
+  @Test
+  public void isolatedRingsTest() throws Exception {
+    SmilesParser parser = new SmilesParser(DefaultChemObjectBuilder.getInstance());
+    // an isolated tetrahydrofuran and a fused naphthalene
+    IAtomContainer container = parser.parseSmiles("C1CCOC1CCc1ccc2ccccc2c1");
+    ContainerGraph graph = new ContainerGraph(container);
+
+    int[][] rings = graph.getIsolatedRings();
+    assertEquals(1, rings.length);
+    assertEquals(5, rings[0].length);
+    for (int i = 0; i < rings[0].length; i++) {
+      int next = rings[0][(i + 1) % rings[0].length];
+      assertNotNull(graph.getBondMap().get(rings[0][i], next)); // atoms are in ring order
+    }
+    assertSame(rings, graph.getIsolatedRings());
+    assertTrue(graph.hasIsolatedRing(5, 7));
+    assertFalse(graph.hasIsolatedRing(6, 6));
+    assertTrue(SugarProjectionDetector.hasCandidateRings(graph));
+
+    IAtomContainer acyclic = parser.parseSmiles("OCC(O)C(O)C=O");
+    assertFalse(SugarProjectionDetector.hasCandidateRings(new ContainerGraph(acyclic)));
+  }
+}
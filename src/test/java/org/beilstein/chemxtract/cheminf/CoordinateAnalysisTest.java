@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.cheminf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import javax.vecmath.Point2d;
+import org.junit.jupiter.api.Test;
+import org.openscience.cdk.DefaultChemObjectBuilder;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.smiles.SmilesParser;
+
+public class CoordinateAnalysisTest {
+
+  @Test
+  public void coordinateAnalysisTest() throws Exception {
+    SmilesParser parser = new SmilesParser(DefaultChemObjectBuilder.getInstance());
+    IAtomContainer container = parser.parseSmiles("CCCCC");
+    double[][] points = {{0, 0}, {1.5, 0}, {3, 0}, {3.0000001, 0}, {3.05, 0}};
+    for (int i = 0; i < points.length; i++) {
+      container.getAtom(i).setPoint2d(new Point2d(points[i][0], points[i][1]));
+    }
+
+    CoordinateAnalysis analysis = new CoordinateAnalysis(container);
+    assertFalse(analysis.hasMissingCoordinates());
+    assertTrue(analysis.hasDuplicateCoordinates());
+    assertEquals(List.of(container.getAtom(3)), analysis.getDuplicateAtoms());
+    assertEquals(List.of(container.getAtom(4)), analysis.getOverlappingAtoms());
+    assertEquals(4, analysis.getMeasuredBondCount());
+    assertEquals(1e-7, analysis.getMinBondLength(), 1e-9);
+    assertEquals(1.5, analysis.getMaxBondLength(), 1e-9);
+    assertEquals(0.775, analysis.getMedianBondLength(), 1e-6);
+    assertEquals(0.7625, analysis.getMeanBondLength(), 1e-6);
+
+    container.getAtom(3).setPoint2d(null);
+    analysis = new CoordinateAnalysis(container);
+    assertEquals(1, analysis.getMissingCoordinateCount());
+    assertFalse(analysis.hasDuplicateCoordinates());
+
+    ContainerGraph graph = new ContainerGraph(container);
+    assertSame(graph.getCoordinateAnalysis(), graph.getCoordinateAnalysis());
+  }
+
+  @Test
+  public void nearestDistanceTest() {
+    Random random = new Random(42);
+    SpatialGrid<Integer> grid = new SpatialGrid<>(1.5, false);
+    double[][] points = new double[200][];
+    for (int i = 0; i < points.length; i++) {
+      points[i] = new double[] {random.nextDouble() * 30, random.nextDouble() * 30};
+      grid.add(points[i][0], points[i][1], 0.0, i);
+    }
+    for (int k = 0; k < 100; k++) {
+      double x = random.nextDouble() * 50 - 10;
+      double y = random.nextDouble() * 50 - 10;
+      double nearest = Double.MAX_VALUE;
+      for (double[] point : points) {
+        nearest = Math.min(nearest, Math.hypot(point[0] - x, point[1] - y));
+      }
+      assertEquals(nearest, grid.nearestDistance(x, y, 0.0));
+    }
+  }
+}
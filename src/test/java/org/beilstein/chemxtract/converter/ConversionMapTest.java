@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.beilstein.chemxtract.cdx.CDAtom;
+import org.junit.jupiter.api.Test;
+
+public class ConversionMapTest {
+
+  @Test
+  public void indexesInInsertionOrderTest() {
+    ConversionMap<CDAtom, String> map = new ConversionMap<>(2);
+    List<CDAtom> atoms = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      CDAtom atom = new CDAtom();
+      atoms.add(atom);
+      assertNull(map.putIfAbsent(atom, "atom" + i));
+    }
+
+    assertEquals(100, map.size());
+    for (int i = 0; i < atoms.size(); i++) {
+      assertEquals(i, map.indexOf(atoms.get(i)));
+      assertSame(atoms.get(i), map.getKey(i));
+      assertEquals("atom" + i, map.get(atoms.get(i)));
+    }
+    assertEquals(atoms, new ArrayList<>(map.keySet()));
+    assertEquals(-1, map.indexOf(new CDAtom()));
+    assertFalse(map.containsKey(null));
+
+    // the first conversion of an atom is kept
+    assertEquals("atom0", map.putIfAbsent(atoms.get(0), "other"));
+    assertEquals("atom0", map.put(atoms.get(0), "other"));
+    assertEquals("other", map.getValue(0));
+  }
+}
@@ -21,4 +21,72 @@
  */
 package org.beilstein.chemxtract.converter;
 
-public class FragmentConverterTest {}
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.beilstein.chemxtract.cdx.CDAtom;
+import org.beilstein.chemxtract.cdx.CDBond;
+import org.beilstein.chemxtract.cdx.CDFragment;
+import org.beilstein.chemxtract.cdx.datatypes.CDNodeType;
+import org.beilstein.chemxtract.cdx.datatypes.CDPoint2D;
+import org.junit.jupiter.api.Test;
+import org.openscience.cdk.interfaces.IAtom;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.interfaces.IBond;
+import org.openscience.cdk.interfaces.IPseudoAtom;
+import org.openscience.cdk.silent.SilentChemObjectBuilder;
+import org.openscience.cdk.smiles.SmiFlavor;
+import org.openscience.cdk.smiles.SmilesGenerator;
+
+public class FragmentConverterTest {
+
+  private CDAtom addAtom(CDFragment fragment, float x, float y) {
+    CDAtom atom = new CDAtom();
+    atom.setPosition2D(new CDPoint2D(x, y));
+    fragment.addAtom(atom);
+    return atom;
+  }
+
+  private CDAtom addAbbreviation(CDFragment fragment, String label, float x, float y) {
+    CDAtom atom = addAtom(fragment, x, y);
+    atom.setNodeType(CDNodeType.Unspecified);
+    atom.setLabelText(label);
+    atom.setChemicalWarning("Unrecognized label");
+    return atom;
+  }
+
+  private void addBond(CDFragment fragment, CDAtom begin, CDAtom end) {
+    CDBond bond = new CDBond();
+    bond.setBegin(begin);
+    bond.setEnd(end);
+    fragment.addBond(bond);
+  }
+
+  @Test
+  public void convertExpandsAbbreviationsTest() throws Exception {
+    CDFragment fragment = new CDFragment();
+    CDAtom c1 = addAtom(fragment, 0f, 0f);
+    CDAtom c2 = addAtom(fragment, 14.4f, 8.3f);
+    CDAtom c3 = addAtom(fragment, 28.8f, 0f);
+    addBond(fragment, c1, c2);
+    addBond(fragment, c2, c3);
+    addBond(fragment, c1, addAbbreviation(fragment, "Ph", -14.4f, 8.3f));
+    addBond(fragment, c3, addAbbreviation(fragment, "OMe", 43.2f, 8.3f));
+
+    FragmentConverter converter = new FragmentConverter(SilentChemObjectBuilder.getInstance());
+    IAtomContainer container = converter.convert(fragment);
+
+    assertEquals(11, container.getAtomCount());
+    assertEquals(11, container.getBondCount());
+    for (IAtom atom : container.atoms()) {
+      assertFalse(atom instanceof IPseudoAtom);
+    }
+    for (IBond bond : container.bonds()) {
+      assertTrue(container.indexOf(bond.getBegin()) >= 0);
+      assertTrue(container.indexOf(bond.getEnd()) >= 0);
+      assertTrue(container.indexOf(bond) >= 0);
+    }
+    assertEquals("O(C)CCCC=1C=CC=CC1", new SmilesGenerator(SmiFlavor.Canonical).create(container));
+  }
+}
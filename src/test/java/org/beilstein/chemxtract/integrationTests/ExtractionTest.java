@@ -25,14 +25,22 @@ import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
 import java.util.List;
 import org.beilstein.chemxtract.cdx.CDDocument;
 import org.beilstein.chemxtract.cdx.reader.CDXReader;
 import org.beilstein.chemxtract.model.*;
+import org.beilstein.chemxtract.xtractor.ExtractionOptions;
 import org.beilstein.chemxtract.xtractor.ReactionXtractor;
 import org.beilstein.chemxtract.xtractor.SubstanceXtractor;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,6 +49,7 @@ import org.openscience.cdk.depict.Depiction;
 import org.openscience.cdk.depict.DepictionGenerator;
 import org.openscience.cdk.exception.CDKException;
 import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.interfaces.IChemObjectBuilder;
 import org.openscience.cdk.interfaces.IReaction;
 import org.openscience.cdk.silent.SilentChemObjectBuilder;
 import org.openscience.cdk.smiles.SmilesParser;
@@ -94,6 +103,201 @@ public class ExtractionTest {
     }
   }
 
+  @Test
+  public void testExtractSubstancesPipelined() throws IOException {
+    String fileName = "/cdx/reader/test_fixture.cdx";
+    InputStream in = ExtractionTest.class.getResourceAsStream(fileName);
+    assertNotNull(in);
+    SubstanceXtractor xtractor = new SubstanceXtractor(SilentChemObjectBuilder.getInstance());
+    List<BCXSubstance> expected =
+        xtractor.xtract(CDXReader.readDocument(in), new BCXSubstanceInfo());
+
+    InputStream pipelinedIn = ExtractionTest.class.getResourceAsStream(fileName);
+    assertNotNull(pipelinedIn);
+    BCXSubstanceInfo info = new BCXSubstanceInfo();
+    List<BCXSubstance> substances =
+        xtractor.xtract(listener -> CDXReader.readDocument(pipelinedIn, listener), info, false, 3);
+
+    assertThat(info.getNoFragments()).isEqualTo(14);
+    assertThat(substances)
+        .extracting(BCXSubstance::getSmiles)
+        .containsExactlyElementsOf(expected.stream().map(BCXSubstance::getSmiles).toList());
+  }
+
+  @Test
+  public void testExtractSubstancesPipelinedInterrupted() throws Exception {
+    InputStream in = ExtractionTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    SubstanceXtractor xtractor = new SubstanceXtractor(SilentChemObjectBuilder.getInstance());
+
+    Thread.currentThread().interrupt();
+    try {
+      assertThatThrownBy(
+              () ->
+                  xtractor.xtract(
+                      listener -> {
+                        document.getPages().forEach(listener);
+                        return document;
+                      },
+                      new BCXSubstanceInfo(),
+                      false,
+                      2))
+          .isInstanceOf(InterruptedIOException.class);
+    } finally {
+      Thread.interrupted();
+    }
+
+    // the workers are stopped rather than left waiting for fragments
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (hasConversionWorker() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertThat(hasConversionWorker()).isFalse();
+  }
+
+  @Test
+  public void testExtractSubstancesPipelinedFailure() throws Exception {
+    InputStream in = ExtractionTest.class.getResourceAsStream("/cdx/reader/test_fixture.cdx");
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    IChemObjectBuilder failing =
+        (IChemObjectBuilder)
+            Proxy.newProxyInstance(
+                IChemObjectBuilder.class.getClassLoader(),
+                new Class<?>[] {IChemObjectBuilder.class},
+                (proxy, method, args) -> {
+                  throw new IllegalStateException("No chem objects");
+                });
+    SubstanceXtractor xtractor = new SubstanceXtractor(failing);
+
+    // a conversion failure is reported by both modes instead of dropping the fragment
+    assertThatThrownBy(() -> xtractor.xtract(document, new BCXSubstanceInfo(), false))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(
+            () ->
+                xtractor.xtract(
+                    listener -> {
+                      document.getPages().forEach(listener);
+                      return document;
+                    },
+                    new BCXSubstanceInfo(),
+                    false,
+                    2))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("No chem objects");
+  }
+
+  private static boolean hasConversionWorker() {
+    return Thread.getAllStackTraces().values().stream()
+        .flatMap(Arrays::stream)
+        .anyMatch(frame -> frame.getMethodName().equals("convertQueuedFragments"));
+  }
+
+  @Test
+  public void testExtractSubstancesWithOptions() throws IOException {
+    String fileName = "/cdx/reader/test_fixture.cdx";
+    InputStream in = ExtractionTest.class.getResourceAsStream(fileName);
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    List<BCXSubstance> expected =
+        new SubstanceXtractor(SilentChemObjectBuilder.getInstance())
+            .xtractUnique(document, new BCXSubstanceInfo());
+
+    ExtractionOptions options =
+        ExtractionOptions.defaults()
+            .withDescriptors(
+                ExtractionOptions.Descriptor.INCHI, ExtractionOptions.Descriptor.SMILES)
+            .withAbbreviations(false);
+    SubstanceXtractor xtractor =
+        new SubstanceXtractor(SilentChemObjectBuilder.getInstance(), options);
+    List<BCXSubstance> substances = xtractor.xtractUnique(document, new BCXSubstanceInfo());
+
+    assertThat(substances)
+        .extracting(BCXSubstance::getInchiKey)
+        .containsExactlyElementsOf(expected.stream().map(BCXSubstance::getInchiKey).toList());
+    assertThat(substances)
+        .extracting(BCXSubstance::getSmiles)
+        .containsExactlyElementsOf(expected.stream().map(BCXSubstance::getSmiles).toList());
+    assertThat(substances)
+        .allSatisfy(
+            s -> {
+              assertThat(s.getMdlv3000()).isNull();
+              assertThat(s.getExtendedSmiles()).isNull();
+              assertThat(s.getMolecularFormula()).isNull();
+              assertThat(s.getAbbreviations()).isEmpty();
+            });
+  }
+
+  @Test
+  public void testExtractUniqueSubstancesWithoutKey() throws IOException {
+    String fileName = "/cdx/reader/test_fixture.cdx";
+    InputStream in = ExtractionTest.class.getResourceAsStream(fileName);
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    ExtractionOptions options =
+        ExtractionOptions.defaults()
+            .withDescriptors(ExtractionOptions.Descriptor.MOLECULAR_FORMULA);
+    SubstanceXtractor xtractor =
+        new SubstanceXtractor(SilentChemObjectBuilder.getInstance(), options);
+    List<BCXSubstance> all = xtractor.xtract(document, new BCXSubstanceInfo(), false);
+
+    // without InChIs or SMILES there is no key to tell substances apart, so none are dropped
+    List<BCXSubstance> substances = xtractor.xtractUnique(document, new BCXSubstanceInfo());
+
+    assertThat(all).hasSizeGreaterThan(1);
+    assertThat(substances)
+        .extracting(BCXSubstance::getMolecularFormula)
+        .containsExactlyElementsOf(all.stream().map(BCXSubstance::getMolecularFormula).toList());
+  }
+
+  @Test
+  public void testExtractSubstancesLazily() throws Exception {
+    String fileName = "/cdx/reader/test_fixture.cdx";
+    InputStream in = ExtractionTest.class.getResourceAsStream(fileName);
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    List<BCXSubstance> expected =
+        new SubstanceXtractor(SilentChemObjectBuilder.getInstance())
+            .xtract(document, new BCXSubstanceInfo());
+
+    SubstanceXtractor xtractor =
+        new SubstanceXtractor(
+            SilentChemObjectBuilder.getInstance(),
+            ExtractionOptions.defaults().withLazyDescriptors(true));
+    // structures failing InChI generation are only dropped by the eager extraction
+    List<BCXSubstance> substances =
+        xtractor.xtract(document, new BCXSubstanceInfo()).stream()
+            .filter(substance -> substance.getInchi() != null)
+            .toList();
+    assertThat(substances).hasSameSizeAs(expected);
+
+    // serializing a substance materialises its pending descriptors
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(substances.get(0));
+    }
+    BCXSubstance copy;
+    try (ObjectInputStream objectIn =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = (BCXSubstance) objectIn.readObject();
+    }
+    assertThat(copy.getInchi()).isNotNull().isEqualTo(expected.get(0).getInchi());
+    assertThat(copy.getMdlv3000()).isEqualTo(expected.get(0).getMdlv3000());
+
+    for (int i = 0; i < substances.size(); i++) {
+      BCXSubstance substance = substances.get(i);
+      BCXSubstance eager = expected.get(i);
+      assertThat(substance.getInchi()).isEqualTo(eager.getInchi());
+      assertThat(substance.getInchiKey()).isEqualTo(eager.getInchiKey());
+      assertThat(substance.getAuxInfo()).isEqualTo(eager.getAuxInfo());
+      assertThat(substance.getSmiles()).isEqualTo(eager.getSmiles());
+      assertThat(substance.getExtendedSmiles()).isEqualTo(eager.getExtendedSmiles());
+      assertThat(substance.getMolecularFormula()).isEqualTo(eager.getMolecularFormula());
+      assertThat(substance.getMdlv3000()).isEqualTo(eager.getMdlv3000());
+    }
+  }
+
   @Test
   public void testExtractReactions() throws IOException {
     String fileName = "test_fixture.cdx";
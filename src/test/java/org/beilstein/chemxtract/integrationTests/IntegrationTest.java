@@ -35,6 +35,7 @@ import org.beilstein.chemxtract.cdx.reader.CDXReader;
 import org.beilstein.chemxtract.model.BCXSubstance;
 import org.beilstein.chemxtract.model.BCXSubstanceInfo;
 import org.beilstein.chemxtract.utils.ChemicalUtils;
+import org.beilstein.chemxtract.utils.StereoHandler;
 import org.beilstein.chemxtract.xtractor.SubstanceXtractor;
 import org.junit.jupiter.api.Test;
 import org.openscience.cdk.exception.CDKException;
@@ -273,6 +274,30 @@ public class IntegrationTest {
     }
   }
 
+  @Test
+  public void mdlV3000DrawnWedgesRoundTripTest() throws IOException, CDKException {
+    // Stereo perceived from drawn wedges is written with those wedges, without reassigning them.
+    String[][] fixtures = {
+      {"D-lactic-acid.cdx", "JVTAAEKCZFNVCJ-UWTATZPHSA-N"},
+      {"L-lactic-acid.cdx", "JVTAAEKCZFNVCJ-REOHCLBHSA-N"},
+    };
+    for (String[] fixture : fixtures) {
+      InputStream in = IntegrationTest.class.getResourceAsStream("/integrationTests/" + fixture[0]);
+      assertNotNull(in, fixture[0]);
+      CDDocument document = CDXReader.readDocument(in);
+
+      SubstanceXtractor xtractor = new SubstanceXtractor(SilentChemObjectBuilder.getInstance());
+      BCXSubstance sub = xtractor.xtract(document, new BCXSubstanceInfo(), false).get(0);
+      assertEquals(
+          Boolean.TRUE,
+          sub.getAtomContainer().getProperty(StereoHandler.DRAWN_WEDGES_PROPERTY),
+          fixture[0]);
+      MDLV3000Reader reader = new MDLV3000Reader(new StringReader(sub.getMdlv3000()));
+      IAtomContainer molFileAc = reader.readMolecule(SilentChemObjectBuilder.getInstance());
+      assertEquals(fixture[1], ChemicalUtils.getInChI(molFileAc).getInchiKey(), fixture[0]);
+    }
+  }
+
   @Test
   public void isotopesTest() throws IOException {
     InputStream in =
@@ -31,6 +31,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.beilstein.chemxtract.cdx.CDDocument;
+import org.beilstein.chemxtract.cdx.CDDocumentUtils;
+import org.beilstein.chemxtract.cdx.CDFragment;
 import org.beilstein.chemxtract.cdx.reader.CDXReader;
 import org.beilstein.chemxtract.model.BCXSubstance;
 import org.beilstein.chemxtract.model.BCXSubstanceInfo;
@@ -166,4 +168,32 @@ public class SgroupTest {
           assertTrue(expectedInChIKeys.contains(s));
         });
   }
+
+  @Test
+  public void repeatedExtractionLeavesDocumentUnchangedTest() throws Exception {
+    String fileName = "multipleGroups.cdx";
+    InputStream in = SgroupTest.class.getResourceAsStream("/integrationTests/sgroups/" + fileName);
+    assertNotNull(in);
+    CDDocument document = CDXReader.readDocument(in);
+    assertNotNull(document);
+    int atoms = countAtoms(document);
+
+    SubstanceXtractor xtractor = new SubstanceXtractor(SilentChemObjectBuilder.getInstance());
+    List<BCXSubstance> first = xtractor.xtract(document, new BCXSubstanceInfo());
+    List<BCXSubstance> second = xtractor.xtract(document, new BCXSubstanceInfo());
+
+    assertEquals(atoms, countAtoms(document));
+    assertEquals(first.size(), second.size());
+    for (int i = 0; i < first.size(); i++) {
+      assertEquals(first.get(i).getInchiKey(), second.get(i).getInchiKey());
+    }
+  }
+
+  private static int countAtoms(CDDocument document) {
+    int atoms = 0;
+    for (CDFragment fragment : CDDocumentUtils.getListOfFragments(document)) {
+      atoms += fragment.getAtoms().size();
+    }
+    return atoms;
+  }
 }
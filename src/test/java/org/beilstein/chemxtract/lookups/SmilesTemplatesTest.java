@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.lookups;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.openscience.cdk.DefaultChemObjectBuilder;
+import org.openscience.cdk.interfaces.IAtomContainer;
+
+public class SmilesTemplatesTest {
+
+  @Test
+  public void returnsCopiesOfTemplatesTest() throws Exception {
+    SmilesTemplates templates = SmilesTemplates.getInstance(DefaultChemObjectBuilder.getInstance());
+    assertSame(templates, SmilesTemplates.getInstance(DefaultChemObjectBuilder.getInstance()));
+
+    String smiles = SmilesAbbreviations.get("Ph");
+    IAtomContainer first = templates.get(smiles);
+    assertEquals(7, first.getAtomCount()); // including the attachment point
+
+    // modifying a copy must not leak into the template
+    first.removeAtom(0);
+    IAtomContainer second = templates.get(smiles);
+    assertNotSame(first, second);
+    assertEquals(7, second.getAtomCount());
+    assertEquals(7, second.getBondCount());
+
+    assertNull(templates.get("C1CC"));
+    assertNull(templates.get("C1CC"));
+  }
+}
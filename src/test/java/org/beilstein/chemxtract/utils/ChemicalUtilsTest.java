@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025-2030 Beilstein-Institut
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package org.beilstein.chemxtract.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.vecmath.Point2d;
+import org.junit.jupiter.api.Test;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.interfaces.IBond;
+import org.openscience.cdk.silent.SilentChemObjectBuilder;
+import org.openscience.cdk.smiles.SmiFlavor;
+import org.openscience.cdk.smiles.SmilesParser;
+
+/** Tests for the SMILES generation of {@link ChemicalUtils}. */
+public class ChemicalUtilsTest {
+
+  @Test
+  public void createSmilesFlavorsTest() throws Exception {
+    SmilesParser parser = new SmilesParser(SilentChemObjectBuilder.getInstance());
+    IAtomContainer container = parser.parseSmiles("[13CH3]/C=C/C(O)=O");
+    for (int i = 0; i < container.getAtomCount(); i++) {
+      container.getAtom(i).setPoint2d(new Point2d(i, i % 2));
+    }
+
+    int withCoords = SmiFlavor.Absolute | SmiFlavor.CxSmilesWithCoords;
+    String[] smiles =
+        ChemicalUtils.createSmiles(
+            container, new int[] {SmiFlavor.Absolute, withCoords, SmiFlavor.Canonical});
+    assertEquals(ChemicalUtils.createAbsoluteSmiles(container), smiles[0]);
+    assertEquals(ChemicalUtils.createSmiles(container, withCoords), smiles[1]);
+    assertTrue(smiles[1].startsWith(smiles[0] + " |("), "CXSMILES extends the SMILES");
+    assertEquals(ChemicalUtils.createSmiles(container, SmiFlavor.Canonical), smiles[2]);
+  }
+
+  @Test
+  public void createExtendedSmilesTest() throws Exception {
+    SmilesParser parser = new SmilesParser(SilentChemObjectBuilder.getInstance());
+    IAtomContainer container = parser.parseSmiles("OC(=O)C/C=C/[13CH3]");
+    for (int i = 0; i < container.getAtomCount(); i++) {
+      container.getAtom(i).setPoint2d(new Point2d(i, i % 2));
+    }
+
+    // the CXSMILES lists the atoms in input order
+    assertEquals(
+        ChemicalUtils.createSmiles(container, SmiFlavor.CxSmilesWithCoords),
+        ChemicalUtils.createExtendedSmiles(container));
+
+    String[] smiles = ChemicalUtils.createSmilesAndExtendedSmiles(container, true, true);
+    assertEquals(ChemicalUtils.createAbsoluteSmiles(container), smiles[0]);
+    assertEquals(
+        ChemicalUtils.createSmiles(container, SmiFlavor.Absolute | SmiFlavor.CxSmilesWithCoords),
+        smiles[1]);
+    assertTrue(smiles[1].startsWith(smiles[0] + " |("), "CXSMILES extends the absolute SMILES");
+    assertNull(ChemicalUtils.createSmilesAndExtendedSmiles(container, false, true)[0]);
+
+    container.getAtom(1).setPoint2d(new Point2d(0, 0));
+    String[] overlapping = ChemicalUtils.createSmilesAndExtendedSmiles(container, true, true);
+    assertEquals(smiles[0], overlapping[0]);
+    assertNull(overlapping[1], "duplicate coordinates");
+    assertNull(ChemicalUtils.createExtendedSmiles(container), "duplicate coordinates");
+  }
+
+  @Test
+  public void createSmilesKekulizesTest() throws Exception {
+    SmilesParser parser = new SmilesParser(SilentChemObjectBuilder.getInstance());
+    parser.kekulise(false);
+    IAtomContainer container = parser.parseSmiles("c1ccncc1");
+    for (IBond bond : container.bonds()) {
+      bond.setOrder(IBond.Order.UNSET);
+    }
+
+    assertEquals("C1=CC=NC=C1", ChemicalUtils.createSmiles(container, SmiFlavor.Absolute));
+    assertEquals("c1ccncc1", ChemicalUtils.createSmiles(container, SmiFlavor.UseAromaticSymbols));
+    // the container itself is left as it is
+    for (IBond bond : container.bonds()) {
+      assertEquals(IBond.Order.UNSET, bond.getOrder());
+    }
+    assertNull(ChemicalUtils.createExtendedSmiles(container), "no coordinates");
+  }
+}
@@ -70,6 +70,9 @@ public class BondVisitorTest {
     when(bond.getEnd()).thenReturn(atom2);
     when(fragment.getBonds()).thenReturn(Collections.singletonList(bond));
     when(fragment.getAtoms()).thenReturn(Arrays.asList(atom1, atom2));
+    // like a fragment that is not an overlay, the bond itself may be changed
+    when(fragment.getWritable(any(CDBond.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
 
     // default: both atoms are plain elements without fragments
     when(atom1.getNodeType()).thenReturn(CDNodeType.Element);